@@ -34,10 +34,14 @@ import java.awt.image.IndexColorModel;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import javax.imageio.ImageIO;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -146,7 +150,8 @@ public final class ToolsAwt
     }
 
     /**
-     * Get an image from an input stream.
+     * Get an image from an input stream. Stream is cached in memory instead of temporary file, allowing concurrent
+     * decoding without disk access.
      * 
      * @param input The image input stream.
      * @return The loaded image.
@@ -155,7 +160,7 @@ public final class ToolsAwt
      */
     public static BufferedImage getImage(InputStream input) throws IOException
     {
-        final BufferedImage buffer = ImageIO.read(input);
+        final BufferedImage buffer = ImageIO.read(new MemoryCacheImageInputStream(input));
         if (buffer == null)
         {
             throw new IOException("Invalid image !");
@@ -461,7 +466,7 @@ public final class ToolsAwt
     }
 
     /**
-     * Get raster buffers from palette.
+     * Get raster buffers from palette. Rasters are generated in parallel.
      * 
      * @param image The image buffer (must not be <code>null</code>).
      * @param palette The raster palette (must not be <code>null</code>).
@@ -470,97 +475,73 @@ public final class ToolsAwt
      */
     public static BufferedImage[] getRasterBuffer(BufferedImage image, BufferedImage palette)
     {
-        final int rastersCount = palette.getHeight() - 1;
-        final BufferedImage[] rasters = new BufferedImage[rastersCount];
-        for (int rasterIndex = 0; rasterIndex < rastersCount; rasterIndex++)
-        {
-            rasters[rasterIndex] = getRasterBuffer(image, palette, rasterIndex);
-        }
-        return rasters;
-    }
-
-    /**
-     * Get raster buffers from palette with raster inside each line.
-     * 
-     * @param image The image buffer (must not be <code>null</code>).
-     * @param palette The raster palette (must not be <code>null</code>).
-     * @param th The tile height.
-     * @return The rastered images.
-     * @throws LionEngineException If invalid arguments.
-     */
-    public static BufferedImage[] getRasterBufferInside(BufferedImage image, BufferedImage palette, int th)
-    {
-        final int rastersCount = (int) Math.ceil((palette.getHeight() - 1.0) / th);
-        final BufferedImage[] rasters = new BufferedImage[rastersCount];
-        for (int rasterIndex = 0; rasterIndex < rastersCount; rasterIndex++)
-        {
-            rasters[rasterIndex] = getRasterBuffer(image, palette, th, rasterIndex);
-        }
-        return rasters;
-    }
-
-    /**
-     * Get raster buffer from palette at specified index.
-     * 
-     * @param image The image buffer (must not be <code>null</code>).
-     * @param palette The raster palette (must not be <code>null</code>).
-     * @param rasterIndex The raster index on palette.
-     * @return The rastered images.
-     * @throws LionEngineException If invalid arguments.
-     */
-    private static BufferedImage getRasterBuffer(BufferedImage image, BufferedImage palette, int rasterIndex)
-    {
-        final int width = image.getWidth();
-        final int height = image.getHeight();
         final int paletteColors = palette.getWidth();
+        final int[] pixels = getRgb(image);
+        final int[] colors = getRgb(palette);
+        final int[] columns = getPaletteColumns(pixels, colors, paletteColors);
 
-        final BufferedImage raster = createImage(width, height, image.getTransparency());
-        for (int x = 0; x < width; x++)
+        final int rastersCount = palette.getHeight() - 1;
+        final BufferedImage[] rasters = new BufferedImage[rastersCount];
+        IntStream.range(0, rastersCount).parallel().forEach(rasterIndex ->
         {
-            for (int y = 0; y < height; y++)
+            final int line = (rasterIndex + 1) * paletteColors;
+            final int[] data = new int[pixels.length];
+            for (int i = 0; i < data.length; i++)
             {
-                final int originalRgb = image.getRGB(x, y);
-                raster.setRGB(x, y, findRaster(paletteColors, palette, originalRgb, rasterIndex));
+                data[i] = getRaster(pixels, colors, columns, i, line);
             }
-        }
-        return raster;
+            rasters[rasterIndex] = createImage(image, data);
+        });
+        return rasters;
     }
 
     /**
-     * Get raster buffer from palette at specified index.
+     * Get raster buffers from palette with raster inside each line. Rasters are generated in parallel.
      * 
      * @param image The image buffer (must not be <code>null</code>).
      * @param palette The raster palette (must not be <code>null</code>).
      * @param th The tile height.
-     * @param rasterIndex The raster index on palette.
      * @return The rastered images.
      * @throws LionEngineException If invalid arguments.
      */
-    private static BufferedImage getRasterBuffer(BufferedImage image, BufferedImage palette, int th, int rasterIndex)
+    public static BufferedImage[] getRasterBufferInside(BufferedImage image, BufferedImage palette, int th)
     {
         final int width = image.getWidth();
         final int height = image.getHeight();
         final int paletteColors = palette.getWidth();
+        final int paletteHeight = palette.getHeight();
+        final int[] pixels = getRgb(image);
+        final int[] colors = getRgb(palette);
+        final int[] columns = getPaletteColumns(pixels, colors, paletteColors);
 
-        final BufferedImage raster = createImage(width, height, image.getTransparency());
-        for (int x = 0; x < width; x++)
+        final int rastersCount = (int) Math.ceil((paletteHeight - 1.0) / th);
+        final BufferedImage[] rasters = new BufferedImage[rastersCount];
+        IntStream.range(0, rastersCount).parallel().forEach(rasterIndex ->
         {
+            final int[] data = new int[pixels.length];
             for (int y = 0; y < height; y++)
             {
-                final int originalRgb = image.getRGB(x, y);
-                raster.setRGB(x,
-                              y,
-                              findRaster(paletteColors,
-                                         palette,
-                                         originalRgb,
-                                         (height - y - 1) % th + rasterIndex * th));
+                final int line = (height - y - 1) % th + rasterIndex * th + 1;
+                for (int x = 0; x < width; x++)
+                {
+                    final int i = x + y * width;
+                    if (line < paletteHeight)
+                    {
+                        data[i] = getRaster(pixels, colors, columns, i, line * paletteColors);
+                    }
+                    else
+                    {
+                        data[i] = pixels[i];
+                    }
+                }
             }
-        }
-        return raster;
+            rasters[rasterIndex] = createImage(image, data);
+        });
+        return rasters;
     }
 
     /**
-     * Get raster buffer from first palette, fill for each height until tile size.
+     * Get raster buffer from first palette, fill for each height until tile size. Rasters are generated in parallel.
      * 
      * @param image The image buffer (must not be <code>null</code>).
      * @param palette The raster palette (must not be <code>null</code>).
@@ -570,23 +551,12 @@ public final class ToolsAwt
      */
     public static BufferedImage[] getRasterBufferSmooth(BufferedImage image, BufferedImage palette, int tileHeight)
     {
-        final int height = image.getHeight();
-        final BufferedImage[] rasters = new BufferedImage[tileHeight];
-
-        for (int maxHeight = 0; maxHeight < tileHeight; maxHeight++)
-        {
-            final BufferedImage raster = createImage(image.getWidth(), height, image.getTransparency());
-            for (int ty = 0; ty < height / tileHeight; ty++)
-            {
-                fillBuffer(image, palette, raster, tileHeight, maxHeight, ty);
-            }
-            rasters[maxHeight] = raster;
-        }
-        return rasters;
+        final int rows = image.getHeight() / tileHeight * tileHeight;
+        return getRasterBufferRows(image, palette, tileHeight, rows);
     }
 
     /**
-     * Get raster buffer from first palette, fill for each height until tile size.
+     * Get raster buffer from first palette, fill for each height until tile size. Rasters are generated in parallel.
      * 
      * @param image The image buffer (must not be <code>null</code>).
      * @param palette The raster palette (must not be <code>null</code>).
@@ -597,80 +567,59 @@ public final class ToolsAwt
      */
     public static BufferedImage[] getRasterBufferSmooth(BufferedImage image, BufferedImage palette, int fh, int fv)
     {
-        final int height = image.getHeight();
-        final int frameHeight = height / fv;
-        final BufferedImage[] rasters = new BufferedImage[frameHeight];
-
-        for (int maxHeight = 0; maxHeight < frameHeight; maxHeight++)
-        {
-            final BufferedImage raster = createImage(image.getWidth(), height, image.getTransparency());
-            fillBuffer(image, palette, raster, frameHeight, maxHeight, 0);
-            rasters[maxHeight] = raster;
-        }
-        return rasters;
+        final int frameHeight = image.getHeight() / fv;
+        return getRasterBufferRows(image, palette, frameHeight, frameHeight);
     }
 
     /**
-     * Fill raster buffer from palette.
+     * Get raster buffer from first palette, fill for each height until tile size.
      * 
      * @param image The image buffer (must not be <code>null</code>).
      * @param palette The raster palette (must not be <code>null</code>).
-     * @param raster The raster to fill (must not be <code>null</code>).
      * @param tileHeight The tile height.
-     * @param maxHeight The max height for palette fill on raster tile.
-     * @param ty The vertical tile to fill.
+     * @param rows The number of image rows to fill from top, others are left empty.
+     * @return The rastered images.
      * @throws LionEngineException If invalid arguments.
      */
-    private static void fillBuffer(BufferedImage image,
-                                   BufferedImage palette,
-                                   BufferedImage raster,
-                                   int tileHeight,
-                                   int maxHeight,
-                                   int ty)
+    private static BufferedImage[] getRasterBufferRows(BufferedImage image,
+                                                      BufferedImage palette,
+                                                      int tileHeight,
+                                                      int rows)
     {
+        final int width = image.getWidth();
         final int paletteColors = palette.getWidth();
-        for (int y = 0; y < tileHeight; y++)
+        final int[] pixels = getRgb(image);
+        final int[] colors = getRgb(palette);
+        final int[] columns = getPaletteColumns(pixels, colors, paletteColors);
+        final boolean rastered = palette.getHeight() > 1;
+
+        final BufferedImage[] rasters = new BufferedImage[tileHeight];
+        IntStream.range(0, tileHeight).parallel().forEach(maxHeight ->
         {
-            for (int x = 0; x < image.getWidth(); x++)
+            final int[] data = new int[pixels.length];
+            for (int ry = 0; ry < rows; ry++)
             {
-                final int ry = tileHeight - 1 - y + ty * tileHeight;
-                final int originalRgb = image.getRGB(x, ry);
-                if (y <= maxHeight)
+                final int y = tileHeight - 1 - ry % tileHeight;
+                for (int x = 0; x < width; x++)
                 {
-                    final int rasterRgb = findRaster(paletteColors, palette, originalRgb, 0);
-                    raster.setRGB(x, ry, rasterRgb);
-                }
-                else
-                {
-                    raster.setRGB(x, ry, originalRgb);
+                    final int i = x + ry * width;
+                    if (rastered && y <= maxHeight)
+                    {
+                        data[i] = getRaster(pixels, colors, columns, i, paletteColors);
+                    }
+                    else
+                    {
+                        data[i] = pixels[i];
+                    }
                 }
             }
-        }
-    }
-
-    /**
-     * Find corresponding raster color from original one.
-     * 
-     * @param paletteColors The number of rasters in palette.
-     * @param palette The palette data.
-     * @param originalRgb The original color.
-     * @param rasterIndex The raster index to use.
-     * @return The associated raster color.
-     */
-    private static int findRaster(int paletteColors, BufferedImage palette, int originalRgb, int rasterIndex)
-    {
-        for (int p = 0; p < paletteColors; p++)
-        {
-            if (palette.getRGB(p, 0) == originalRgb && rasterIndex + 1 < palette.getHeight())
-            {
-                return palette.getRGB(p, rasterIndex + 1);
-            }
-        }
-        return originalRgb;
+            rasters[maxHeight] = createImage(image, data);
+        });
+        return rasters;
     }
 
     /**
-     * Get raster buffer with offsets applied.
+     * Get raster buffer with offsets applied. Rasters are generated in parallel.
      * 
      * @param image The image buffer (must not be <code>null</code>).
      * @param palette The palette offset (must not be <code>null</code>).
@@ -685,73 +634,143 @@ public final class ToolsAwt
                                                         int offsets)
     {
         final int rasterHeight = raster.getHeight();
-        final BufferedImage[] rasters = new BufferedImage[rasterHeight];
         final int width = image.getWidth();
         final int height = image.getHeight();
+        final int[] pixels = getRgb(image);
+        final int[] rasterColors = raster.getRGB(0, 0, 1, rasterHeight, null, 0, 1);
+        final int[] paletteOffsets = getPaletteOffsets(pixels, palette);
 
-        for (int rasterNumber = 0; rasterNumber < rasters.length; rasterNumber++)
+        final BufferedImage[] rasters = new BufferedImage[rasterHeight];
+        IntStream.range(0, rasterHeight).parallel().forEach(rasterNumber ->
         {
-            final BufferedImage buffer = createImage(width, height, image.getTransparency());
-            fillBufferOffset(image, palette, raster, buffer, offsets, rasterNumber);
-            rasters[rasterNumber] = buffer;
-        }
+            final int[] data = new int[pixels.length];
+            for (int y = 0; y < height; y++)
+            {
+                final int currentOffset = (height - 1 - y) / offsets;
+                for (int x = 0; x < width; x++)
+                {
+                    final int i = x + y * width;
+                    if (paletteOffsets[i] > -1)
+                    {
+                        final int py = rasterHeight - 1 - rasterNumber - currentOffset * offsets - paletteOffsets[i] * 3;
+                        data[i] = rasterColors[UtilMath.clamp(py, 0, rasterHeight - 1)];
+                    }
+                }
+            }
+            rasters[rasterNumber] = createImage(image, data);
+        });
         return rasters;
     }
 
     /**
-     * Fill buffer offset.
+     * Get all image pixels.
      * 
-     * @param image The image source reference.
-     * @param palette The palette reference.
-     * @param raster The raster colors.
-     * @param buffer The created buffer to fill.
-     * @param offsets The offsets value.
-     * @param rasterNumber The current raster number.
-     */
-    private static void fillBufferOffset(BufferedImage image,
-                                         BufferedImage palette,
-                                         BufferedImage raster,
-                                         BufferedImage buffer,
-                                         int offsets,
-                                         int rasterNumber)
+     * @param image The image reference.
+     * @return The image pixels.
+     */
+    private static int[] getRgb(BufferedImage image)
+    {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+
+    /**
+     * Create an image with the same size and transparency as the source image.
+     * 
+     * @param image The source image.
+     * @param data The image pixels.
+     * @return The created image.
+     */
+    private static BufferedImage createImage(BufferedImage image, int[] data)
     {
-        final int rasterHeight = raster.getHeight();
         final int width = image.getWidth();
-        final int height = image.getHeight();
+        final BufferedImage created = createImage(width, image.getHeight(), image.getTransparency());
+        created.setRGB(0, 0, width, image.getHeight(), data, 0, width);
+        return created;
+    }
 
-        for (int y = 0; y < height; y++)
+    /**
+     * Get the palette column of each pixel. Palette columns are identified by their first line color, first column
+     * kept if a color is present more than once.
+     * 
+     * @param pixels The image pixels.
+     * @param colors The palette pixels.
+     * @param paletteColors The number of colors in palette.
+     * @return The pixels palette column, <code>-1</code> if color not in palette.
+     */
+    private static int[] getPaletteColumns(int[] pixels, int[] colors, int paletteColors)
+    {
+        final Map<Integer, Integer> indexes = new HashMap<>();
+        for (int p = paletteColors - 1; p >= 0; p--)
         {
-            for (int x = 0; x < width; x++)
+            indexes.put(Integer.valueOf(colors[p]), Integer.valueOf(p));
+        }
+
+        final int[] columns = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++)
+        {
+            final Integer column = indexes.get(Integer.valueOf(pixels[i]));
+            if (column != null)
             {
-                final int color = image.getRGB(x, y);
-                if ((color >> Constant.BYTE_4 & 0xFF) != 0)
-                {
-                    final int currentOffset = (height - 1 - y) / offsets;
-                    final int paletteOffset = findPaletteOffset(palette, color);
-                    final int py = rasterHeight - 1 - rasterNumber - currentOffset * offsets - paletteOffset * 3;
-                    buffer.setRGB(x, y, raster.getRGB(0, UtilMath.clamp(py, 0, rasterHeight - 1)));
-                }
+                columns[i] = column.intValue();
+            }
+            else
+            {
+                columns[i] = -1;
             }
         }
+        return columns;
     }
 
     /**
-     * Find palette offset.
+     * Get the palette offset of each visible pixel. Offset is the first row of palette first column with pixel color.
      * 
+     * @param pixels The image pixels.
      * @param palette The palette reference.
-     * @param color The color to find.
-     * @return The palette offset.
+     * @return The pixels palette offset (<code>0</code> if color not in palette), <code>-1</code> if transparent.
      */
-    private static int findPaletteOffset(BufferedImage palette, int color)
+    private static int[] getPaletteOffsets(int[] pixels, BufferedImage palette)
     {
-        for (int y = 0; y < palette.getHeight(); y++)
+        final int paletteHeight = palette.getHeight();
+        final int[] colors = palette.getRGB(0, 0, 1, paletteHeight, null, 0, 1);
+        final Map<Integer, Integer> indexes = new HashMap<>();
+        for (int y = paletteHeight - 1; y >= 0; y--)
         {
-            if (palette.getRGB(0, y) == color)
+            indexes.put(Integer.valueOf(colors[y]), Integer.valueOf(y));
+        }
+
+        final int[] offsets = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++)
+        {
+            if ((pixels[i] >> Constant.BYTE_4 & 0xFF) != 0)
+            {
+                offsets[i] = indexes.getOrDefault(Integer.valueOf(pixels[i]), Integer.valueOf(0)).intValue();
+            }
+            else
             {
-                return y;
+                offsets[i] = -1;
             }
         }
-        return 0;
+        return offsets;
+    }
+
+    /**
+     * Get corresponding raster color from original one.
+     * 
+     * @param pixels The image pixels.
+     * @param colors The palette pixels.
+     * @param columns The pixels palette column.
+     * @param i The pixel index.
+     * @param line The raster line first index in palette pixels.
+     * @return The associated raster color.
+     */
+    private static int getRaster(int[] pixels, int[] colors, int[] columns, int i, int line)
+    {
+        final int column = columns[i];
+        if (column < 0)
+        {
+            return pixels[i];
+        }
+        return colors[line + column];
     }
 
     /**
@@ -17,6 +17,7 @@
 package com.b3dgs.lionengine.headless.graphic;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 
 import com.b3dgs.lionengine.Check;
@@ -25,7 +26,6 @@ import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.UtilConversion;
 import com.b3dgs.lionengine.UtilMath;
-import com.b3dgs.lionengine.geom.Rectangle;
 import com.b3dgs.lionengine.graphic.ColorRgba;
 import com.b3dgs.lionengine.graphic.FactoryGraphic;
 import com.b3dgs.lionengine.graphic.Graphic;
@@ -40,6 +40,9 @@ import com.b3dgs.lionengine.graphic.drawable.ImageInfo;
 
 /**
  * Graphic factory implementation.
+ * <p>
+ * PNG and BMP images are decoded, other formats are loaded as blank images of their size.
+ * </p>
  */
 // CHECKSTYLE IGNORE LINE: ClassDataAbstractionCoupling
 public final class FactoryGraphicHeadless implements FactoryGraphic
@@ -129,12 +132,17 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
     {
         Check.notNull(media);
 
-        try
+        try (InputStream input = media.getInputStream())
         {
+            final ImageBufferHeadless image = ToolsHeadless.getImage(input);
+            if (image != null)
+            {
+                return image;
+            }
             final ImageHeader info = ImageInfo.get(media);
             return new ImageBufferHeadless(info.getWidth(), info.getHeight(), Transparency.BITMASK);
         }
-        catch (final LionEngineException exception)
+        catch (final LionEngineException | IOException exception)
         {
             throw new LionEngineException(exception, media, ERROR_IMAGE_READING);
         }
@@ -185,10 +193,20 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
     {
         Check.notNull(image);
 
+        final int width = image.getWidth() / h;
+        final int height = image.getHeight() / v;
+        final int[] pixels = image.getRgbRef();
+        final int scan = image.getWidth();
         final ImageBuffer[] images = new ImageBuffer[h * v];
         for (int i = 0; i < images.length; i++)
         {
-            images[i] = new ImageBufferHeadless(image.getWidth() / h, image.getHeight() / v, image.getTransparency());
+            final int[] split = new int[width * height];
+            final int offset = i / h * height * scan + i % h * width;
+            for (int y = 0; y < height; y++)
+            {
+                System.arraycopy(pixels, offset + y * scan, split, y * width, width);
+            }
+            images[i] = new ImageBufferHeadless(width, height, split, image.getTransparency());
         }
         return images;
     }
@@ -196,16 +214,22 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
     @Override
     public ImageBuffer rotate(ImageBuffer image, int angle)
     {
-        final Rectangle rotated = new Rectangle(0, 0, image.getWidth(), image.getHeight());
-        rotated.rotate(angle);
+        Check.notNull(image);
 
-        return new ImageBufferHeadless(rotated.getWidth(), rotated.getHeight(), image.getTransparency());
+        return ToolsHeadless.rotate((ImageBufferHeadless) image, angle);
     }
 
     @Override
     public ImageBuffer resize(ImageBuffer image, int width, int height)
     {
-        return new ImageBufferHeadless(width, height, image.getTransparency());
+        Check.notNull(image);
+
+        final ImageBuffer resized = new ImageBufferHeadless(width, height, image.getTransparency());
+        final Graphic g = resized.createGraphic();
+        g.drawImage(image, 0, 0, width, height, 0, 0, image.getWidth(), image.getHeight());
+        g.dispose();
+
+        return resized;
     }
 
     @Override
@@ -213,16 +237,18 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
     {
         Check.notNull(image);
 
-        final ImageBuffer flip = new ImageBufferHeadless((ImageBufferHeadless) image);
+        final ImageBufferHeadless flip = new ImageBufferHeadless((ImageBufferHeadless) image);
         final int height = flip.getHeight();
         final int width = flip.getWidth();
+        final int[] src = image.getRgbRef();
+        final int[] dst = flip.getRgbRef();
 
         for (int y = 0; y < height; y++)
         {
+            final int row = y * width;
             for (int x = 0; x < width; x++)
             {
-                final int rgba = flip.getRgb(x, y);
-                flip.setRgb(width - x - 1, y, rgba);
+                dst[row + width - x - 1] = src[row + x];
             }
         }
         return flip;
@@ -233,17 +259,14 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
     {
         Check.notNull(image);
 
-        final ImageBuffer flip = new ImageBufferHeadless((ImageBufferHeadless) image);
+        final ImageBufferHeadless flip = new ImageBufferHeadless((ImageBufferHeadless) image);
         final int height = flip.getHeight();
         final int width = flip.getWidth();
+        final int[] src = image.getRgbRef();
 
         for (int y = 0; y < height; y++)
         {
-            for (int x = 0; x < width; x++)
-            {
-                final int rgba = flip.getRgb(x, y);
-                flip.setRgb(x, height - y - 1, rgba);
-            }
+            System.arraycopy(src, y * width, flip.getRgbRef(), (height - y - 1) * width, width);
         }
         return flip;
     }
@@ -16,25 +16,161 @@
  */
 package com.b3dgs.lionengine.headless.graphic;
 
+import java.util.Arrays;
+
 import com.b3dgs.lionengine.Origin;
+import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.Viewer;
 import com.b3dgs.lionengine.graphic.ColorGradient;
 import com.b3dgs.lionengine.graphic.ColorRgba;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.ImageSurface;
 import com.b3dgs.lionengine.graphic.Transform;
+import com.b3dgs.lionengine.graphic.Transparency;
 
 /**
  * Main interface with the graphic output, representing the screen buffer.
+ * <p>
+ * Software rasterizer working on {@link ImageBufferHeadless} pixels: drawing is clipped to buffer bounds, opaque images
+ * are copied row by row, other images and colors are blended (source over) with current alpha.
+ * </p>
  */
 final class GraphicHeadless implements Graphic
 {
+    /** Full channel value. */
+    private static final int FULL = 0xFF;
+    /** Opaque alpha mask. */
+    private static final int OPAQUE = 0xFF000000;
+    /** Red and blue channels mask. */
+    private static final int MASK_RB = 0x00FF00FF;
+    /** Green channel mask. */
+    private static final int MASK_G = 0x0000FF00;
+    /** Red and blue channels rounding. */
+    private static final int HALF_RB = 0x00800080;
+    /** Green channel rounding. */
+    private static final int HALF_G = 0x00008000;
+    /** Bilinear weight precision. */
+    private static final int WEIGHT_SHIFT = 8;
+    /** Bilinear weight unit. */
+    private static final int WEIGHT = 1 << WEIGHT_SHIFT;
+
+    /**
+     * Multiply two channel values.
+     * 
+     * @param a The first value [0-255].
+     * @param b The second value [0-255].
+     * @return The product [0-255].
+     */
+    private static int mul(int a, int b)
+    {
+        final int product = a * b + 128;
+        return product + (product >> Byte.SIZE) >> Byte.SIZE;
+    }
+
+    /**
+     * Blend source over destination.
+     * 
+     * @param src The source pixel.
+     * @param dst The destination pixel.
+     * @param a The source alpha, current alpha applied [1-254].
+     * @return The blended pixel.
+     */
+    private static int blend(int src, int dst, int a)
+    {
+        final int inv = FULL - a;
+        if (dst >>> 24 == FULL)
+        {
+            int rb = (src & MASK_RB) * a + (dst & MASK_RB) * inv + HALF_RB;
+            int g = (src & MASK_G) * a + (dst & MASK_G) * inv + HALF_G;
+            rb = rb + (rb >>> Byte.SIZE & MASK_RB) >>> Byte.SIZE & MASK_RB;
+            g = g + (g >>> Byte.SIZE & MASK_G) >>> Byte.SIZE & MASK_G;
+            return OPAQUE | rb | g;
+        }
+        final int da = mul(dst >>> 24, inv);
+        final int oa = a + da;
+        final int half = oa / 2;
+        final int r = ((src >> 16 & FULL) * a + (dst >> 16 & FULL) * da + half) / oa;
+        final int g = ((src >> 8 & FULL) * a + (dst >> 8 & FULL) * da + half) / oa;
+        final int b = ((src & FULL) * a + (dst & FULL) * da + half) / oa;
+        return oa << 24 | r << 16 | g << 8 | b;
+    }
+
+    /**
+     * Interpolate four pixels.
+     * 
+     * @param p00 The top left pixel.
+     * @param p10 The top right pixel.
+     * @param p01 The bottom left pixel.
+     * @param p11 The bottom right pixel.
+     * @param wx The horizontal weight [0-256].
+     * @param wy The vertical weight [0-256].
+     * @return The interpolated pixel.
+     */
+    private static int interpolate(int p00, int p10, int p01, int p11, int wx, int wy)
+    {
+        int pixel = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE)
+        {
+            final int top = (p00 >>> shift & FULL) * (WEIGHT - wx) + (p10 >>> shift & FULL) * wx;
+            final int bottom = (p01 >>> shift & FULL) * (WEIGHT - wx) + (p11 >>> shift & FULL) * wx;
+            final int value = top * (WEIGHT - wy) + bottom * wy + (1 << 2 * WEIGHT_SHIFT - 1) >> 2 * WEIGHT_SHIFT;
+            pixel |= value << shift;
+        }
+        return pixel;
+    }
+
+    /**
+     * Get gradient color at location.
+     * 
+     * @param gradient The gradient.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @return The gradient color.
+     */
+    private static int getGradient(ColorGradient gradient, int x, int y)
+    {
+        final double vx = gradient.getX2() - (double) gradient.getX1();
+        final double vy = gradient.getY2() - (double) gradient.getY1();
+        final double length = vx * vx + vy * vy;
+        final double t;
+        if (Double.compare(length, 0.0) == 0)
+        {
+            t = 0.0;
+        }
+        else
+        {
+            t = UtilMath.clamp(((x - gradient.getX1()) * vx + (y - gradient.getY1()) * vy) / length, 0.0, 1.0);
+        }
+        final int c1 = gradient.getColor1().getRgba();
+        final int c2 = gradient.getColor2().getRgba();
+        final int w = (int) Math.round(t * WEIGHT);
+        return interpolate(c1, c2, c1, c2, w, 0);
+    }
+
+    /**
+     * Get oval horizontal span at row.
+     * 
+     * @param width The oval width.
+     * @param height The oval height.
+     * @param j The row index in oval.
+     * @return The span left offset from oval left.
+     */
+    private static int getOvalSpan(int width, int height, int j)
+    {
+        final double ry = height / 2.0;
+        final double dy = (j + 0.5 - ry) / ry;
+        final double half = width / 2.0 * Math.sqrt(Math.max(0.0, 1.0 - dy * dy));
+        return (int) Math.round(width / 2.0 - half);
+    }
+
     /** Graphic representation. */
     private ImageBufferHeadless g;
     /** Current color. */
     private ColorRgba color = ColorRgba.WHITE;
     /** Color gradient. */
     private ColorGradient gradient;
+    /** Current alpha. */
+    private int alpha = FULL;
 
     /**
      * Internal constructor.
@@ -56,18 +192,317 @@ final class GraphicHeadless implements Graphic
         this.g = g;
     }
 
-    @Override
-    public void clear(int x, int y, int width, int height)
+    /**
+     * Write pixel with blending.
+     * 
+     * @param dst The destination pixels.
+     * @param index The destination index.
+     * @param pixel The source pixel.
+     */
+    private void put(int[] dst, int index, int pixel)
+    {
+        final int a = mul(pixel >>> 24, alpha);
+        if (a == FULL)
+        {
+            dst[index] = pixel;
+        }
+        else if (a > 0)
+        {
+            dst[index] = blend(pixel, dst[index], a);
+        }
+    }
+
+    /**
+     * Write pixel with blending if inside buffer.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param pixel The source pixel.
+     */
+    private void plot(int x, int y, int pixel)
+    {
+        final int width = g.getWidth();
+        if (x >= 0 && y >= 0 && x < width && y < g.getHeight())
+        {
+            put(g.getRgbRef(), y * width + x, pixel);
+        }
+    }
+
+    /**
+     * Fill area clipped to buffer.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param width The width.
+     * @param height The height.
+     * @param pixel The pixel value.
+     * @param blend <code>true</code> to blend, <code>false</code> to replace.
+     */
+    private void fill(int x, int y, int width, int height, int pixel, boolean blend)
+    {
+        if (g == null)
+        {
+            return;
+        }
+        final int left = Math.max(0, x);
+        final int top = Math.max(0, y);
+        final int right = Math.min(g.getWidth(), x + width);
+        final int bottom = Math.min(g.getHeight(), y + height);
+        final int[] dst = g.getRgbRef();
+        final int scan = g.getWidth();
+        final boolean replace = !blend || mul(pixel >>> 24, alpha) == FULL;
+
+        for (int j = top; j < bottom; j++)
+        {
+            final int row = j * scan;
+            if (replace)
+            {
+                Arrays.fill(dst, row + left, row + Math.max(left, right), pixel);
+            }
+            else
+            {
+                for (int i = left; i < right; i++)
+                {
+                    put(dst, row + i, pixel);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draw image area at location, clipped to buffer.
+     * 
+     * @param surface The image surface.
+     * @param sx The source horizontal location.
+     * @param sy The source vertical location.
+     * @param width The area width.
+     * @param height The area height.
+     * @param dx The destination horizontal location.
+     * @param dy The destination vertical location.
+     */
+    private void blit(ImageBufferHeadless surface, int sx, int sy, int width, int height, int dx, int dy)
+    {
+        final int clipLeft = Math.max(Math.max(0, -dx), -sx);
+        final int clipTop = Math.max(Math.max(0, -dy), -sy);
+        final int w = Math.min(Math.min(width, g.getWidth() - dx), surface.getWidth() - sx) - clipLeft;
+        final int h = Math.min(Math.min(height, g.getHeight() - dy), surface.getHeight() - sy) - clipTop;
+        if (w <= 0 || h <= 0)
+        {
+            return;
+        }
+
+        final int[] src = surface.getRgbRef();
+        final int[] dst = g.getRgbRef();
+        final int srcScan = surface.getWidth();
+        final int dstScan = g.getWidth();
+        int srcRow = (sy + clipTop) * srcScan + sx + clipLeft;
+        int dstRow = (dy + clipTop) * dstScan + dx + clipLeft;
+
+        if (alpha == FULL && surface.getTransparency() == Transparency.OPAQUE)
+        {
+            for (int j = 0; j < h; j++, srcRow += srcScan, dstRow += dstScan)
+            {
+                System.arraycopy(src, srcRow, dst, dstRow, w);
+            }
+        }
+        else
+        {
+            for (int j = 0; j < h; j++, srcRow += srcScan, dstRow += dstScan)
+            {
+                for (int i = 0; i < w; i++)
+                {
+                    final int pixel = src[srcRow + i];
+                    if (pixel >>> 24 == FULL && alpha == FULL)
+                    {
+                        dst[dstRow + i] = pixel;
+                    }
+                    else if (pixel >>> 24 != 0)
+                    {
+                        put(dst, dstRow + i, pixel);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Draw image area scaled to destination area, clipped to buffer. Areas are mirrored if their corners are inverted.
+     * 
+     * @param surface The image surface.
+     * @param dx1 The first destination corner horizontal location.
+     * @param dy1 The first destination corner vertical location.
+     * @param dx2 The second destination corner horizontal location.
+     * @param dy2 The second destination corner vertical location.
+     * @param sx1 The first source corner horizontal location.
+     * @param sy1 The first source corner vertical location.
+     * @param sx2 The second source corner horizontal location.
+     * @param sy2 The second source corner vertical location.
+     * @param bilinear <code>true</code> for bilinear interpolation, <code>false</code> for nearest neighbor.
+     */
+    // CHECKSTYLE IGNORE LINE: ParameterNumber
+    private void drawScaled(ImageBufferHeadless surface,
+                            int dx1,
+                            int dy1,
+                            int dx2,
+                            int dy2,
+                            int sx1,
+                            int sy1,
+                            int sx2,
+                            int sy2,
+                            boolean bilinear)
+    {
+        if (g == null || dx1 == dx2 || dy1 == dy2 || sx1 == sx2 || sy1 == sy2)
+        {
+            return;
+        }
+        final int left = Math.max(0, Math.min(dx1, dx2));
+        final int right = Math.min(g.getWidth(), Math.max(dx1, dx2));
+        final int top = Math.max(0, Math.min(dy1, dy2));
+        final int bottom = Math.min(g.getHeight(), Math.max(dy1, dy2));
+        if (left >= right || top >= bottom)
+        {
+            return;
+        }
+
+        final Axis columns = new Axis(left, right, dx1, dx2, sx1, sx2, surface.getWidth(), bilinear);
+        final Axis rows = new Axis(top, bottom, dy1, dy2, sy1, sy2, surface.getHeight(), bilinear);
+        final int[] src = surface.getRgbRef();
+        final int[] dst = g.getRgbRef();
+        final int srcScan = surface.getWidth();
+        final int dstScan = g.getWidth();
+
+        for (int j = 0; j < rows.length; j++)
+        {
+            final int v0 = rows.first[j];
+            if (v0 < 0)
+            {
+                continue;
+            }
+            final int row0 = v0 * srcScan;
+            final int row1 = rows.second[j] * srcScan;
+            final int dstRow = (top + j) * dstScan + left;
+            for (int i = 0; i < columns.length; i++)
+            {
+                final int u0 = columns.first[i];
+                if (u0 > -1)
+                {
+                    final int pixel;
+                    if (bilinear)
+                    {
+                        final int u1 = columns.second[i];
+                        pixel = interpolate(src[row0 + u0],
+                                            src[row0 + u1],
+                                            src[row1 + u0],
+                                            src[row1 + u1],
+                                            columns.weight[i],
+                                            rows.weight[j]);
+                    }
+                    else
+                    {
+                        pixel = src[row0 + u0];
+                    }
+                    put(dst, dstRow + i, pixel);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draw image area scaled to destination area and rotated around anchor, clipped to buffer.
+     * 
+     * @param surface The image surface.
+     * @param dx1 The first destination corner horizontal location.
+     * @param dy1 The first destination corner vertical location.
+     * @param dx2 The second destination corner horizontal location.
+     * @param dy2 The second destination corner vertical location.
+     * @param sx1 The first source corner horizontal location.
+     * @param sy1 The first source corner vertical location.
+     * @param sx2 The second source corner horizontal location.
+     * @param sy2 The second source corner vertical location.
+     * @param angle The angle in degree.
+     * @param ax The rotation anchor horizontal location.
+     * @param ay The rotation anchor vertical location.
+     */
+    // CHECKSTYLE IGNORE LINE: ParameterNumber|CyclomaticComplexity|NPathComplexity
+    private void drawRotated(ImageBufferHeadless surface,
+                             int dx1,
+                             int dy1,
+                             int dx2,
+                             int dy2,
+                             int sx1,
+                             int sy1,
+                             int sx2,
+                             int sy2,
+                             int angle,
+                             double ax,
+                             double ay)
     {
-        for (int i = x; i < width; i++)
+        if (g == null || dx1 == dx2 || dy1 == dy2 || sx1 == sx2 || sy1 == sy2)
         {
-            for (int j = y; j < height; j++)
+            return;
+        }
+        final double cos = UtilMath.cos(angle);
+        final double sin = UtilMath.sin(angle);
+        final int minX = Math.min(dx1, dx2);
+        final int maxX = Math.max(dx1, dx2);
+        final int minY = Math.min(dy1, dy2);
+        final int maxY = Math.max(dy1, dy2);
+
+        double boundLeft = Double.MAX_VALUE;
+        double boundRight = -Double.MAX_VALUE;
+        double boundTop = Double.MAX_VALUE;
+        double boundBottom = -Double.MAX_VALUE;
+        for (int corner = 0; corner < 4; corner++)
+        {
+            final double cx = (corner & 1) == 0 ? minX - ax : maxX - ax;
+            final double cy = (corner & 2) == 0 ? minY - ay : maxY - ay;
+            final double rx = cos * cx - sin * cy + ax;
+            final double ry = sin * cx + cos * cy + ay;
+            boundLeft = Math.min(boundLeft, rx);
+            boundRight = Math.max(boundRight, rx);
+            boundTop = Math.min(boundTop, ry);
+            boundBottom = Math.max(boundBottom, ry);
+        }
+        final int left = Math.max(0, (int) Math.floor(boundLeft));
+        final int right = Math.min(g.getWidth(), (int) Math.ceil(boundRight));
+        final int top = Math.max(0, (int) Math.floor(boundTop));
+        final int bottom = Math.min(g.getHeight(), (int) Math.ceil(boundBottom));
+
+        final double scaleX = (sx2 - sx1) / (double) (dx2 - dx1);
+        final double scaleY = (sy2 - sy1) / (double) (dy2 - dy1);
+        final int[] src = surface.getRgbRef();
+        final int[] dst = g.getRgbRef();
+        final int srcWidth = surface.getWidth();
+        final int srcHeight = surface.getHeight();
+        final int dstScan = g.getWidth();
+
+        for (int y = top; y < bottom; y++)
+        {
+            final double ry = y + 0.5 - ay;
+            for (int x = left; x < right; x++)
             {
-                g.setRgb(x, y, ColorRgba.BLACK.getRgba());
+                final double rx = x + 0.5 - ax;
+                final double px = cos * rx + sin * ry + ax;
+                final double py = -sin * rx + cos * ry + ay;
+                if (px >= minX && px < maxX && py >= minY && py < maxY)
+                {
+                    final int u = (int) Math.floor(sx1 + (px - dx1) * scaleX);
+                    final int v = (int) Math.floor(sy1 + (py - dy1) * scaleY);
+                    if (u >= 0 && v >= 0 && u < srcWidth && v < srcHeight)
+                    {
+                        put(dst, y * dstScan + x, src[v * srcWidth + u]);
+                    }
+                }
             }
         }
     }
 
+    @Override
+    public void clear(int x, int y, int width, int height)
+    {
+        fill(x, y, width, height, ColorRgba.BLACK.getRgba(), false);
+    }
+
     @Override
     public void dispose()
     {
@@ -77,19 +512,45 @@ final class GraphicHeadless implements Graphic
     @Override
     public void copyArea(int x, int y, int width, int height, int dx, int dy)
     {
-        // Nothing to do
+        if (g == null)
+        {
+            return;
+        }
+        final int left = Math.max(Math.max(0, x), -dx);
+        final int top = Math.max(Math.max(0, y), -dy);
+        final int right = Math.min(Math.min(g.getWidth(), x + width), g.getWidth() - dx);
+        final int bottom = Math.min(Math.min(g.getHeight(), y + height), g.getHeight() - dy);
+        final int w = right - left;
+        if (w <= 0 || top >= bottom)
+        {
+            return;
+        }
+
+        final int[] pixels = g.getRgbRef();
+        final int scan = g.getWidth();
+        if (dy > 0)
+        {
+            for (int j = bottom - 1; j >= top; j--)
+            {
+                System.arraycopy(pixels, j * scan + left, pixels, (j + dy) * scan + left + dx, w);
+            }
+        }
+        else
+        {
+            for (int j = top; j < bottom; j++)
+            {
+                System.arraycopy(pixels, j * scan + left, pixels, (j + dy) * scan + left + dx, w);
+            }
+        }
     }
 
     @Override
     public void drawImage(ImageSurface image, int x, int y)
     {
-        final ImageBufferHeadless surface = image.getSurface();
-        for (int i = x; i < image.getWidth(); i++)
+        if (g != null)
         {
-            for (int j = y; j < image.getHeight(); j++)
-            {
-                g.setRgb(x + i, y + j, surface.getRgb(i, j));
-            }
+            final ImageBufferHeadless surface = image.getSurface();
+            blit(surface, 0, 0, surface.getWidth(), surface.getHeight(), x, y);
         }
     }
 
@@ -97,19 +558,42 @@ final class GraphicHeadless implements Graphic
     public void drawImage(ImageSurface image, Transform transform, int x, int y)
     {
         final ImageBufferHeadless surface = image.getSurface();
-        for (int i = x; i < image.getWidth(); i++)
+        final int width = surface.getWidth();
+        final int height = surface.getHeight();
+        final double sx = transform.getScaleX();
+        final double sy = transform.getScaleY();
+
+        if (Double.compare(sx, 1.0) == 0 && Double.compare(sy, 1.0) == 0)
         {
-            for (int j = y; j < image.getHeight(); j++)
-            {
-                g.setRgb(x + i, y + j, surface.getRgb(i, j));
-            }
+            drawImage(image, x, y);
+        }
+        else
+        {
+            drawScaled(surface,
+                       x,
+                       y,
+                       x + (int) Math.round(width * sx),
+                       y + (int) Math.round(height * sy),
+                       0,
+                       0,
+                       width,
+                       height,
+                       transform.getInterpolation() > 0);
         }
     }
 
     @Override
     public void drawImage(ImageSurface image, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2)
     {
-        // Nothing to do
+        final ImageBufferHeadless surface = image.getSurface();
+        if (g != null && dx2 - dx1 == sx2 - sx1 && dy2 - dy1 == sy2 - sy1 && dx2 > dx1 && dy2 > dy1)
+        {
+            blit(surface, sx1, sy1, sx2 - sx1, sy2 - sy1, dx1, dy1);
+        }
+        else
+        {
+            drawScaled(surface, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, false);
+        }
     }
 
     @Override
@@ -126,34 +610,32 @@ final class GraphicHeadless implements Graphic
                           int angleX,
                           int angleY)
     {
-        // Nothing to do
+        if (angle == 0)
+        {
+            drawImage(image, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2);
+        }
+        else
+        {
+            final double ax = dx2 - sx1 + (double) angleX;
+            final double ay = dy2 - sy1 + (double) angleY;
+            drawRotated(image.getSurface(), dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, angle, ax, ay);
+        }
     }
 
     @Override
     public void drawRect(int x, int y, int width, int height, boolean fill)
     {
-        if (fill)
+        final int rgba = color.getRgba();
+        if (fill || width < 3 || height < 3)
         {
-            for (int i = x; i < width; i++)
-            {
-                for (int j = y; j < height; j++)
-                {
-                    g.setRgb(x, y, color.getRgba());
-                }
-            }
+            fill(x, y, width, height, rgba, true);
         }
         else
         {
-            for (int i = x; i < width; i++)
-            {
-                g.setRgb(i, y, color.getRgba());
-                g.setRgb(i, y + height - 1, color.getRgba());
-            }
-            for (int j = y; j < height; j++)
-            {
-                g.setRgb(x, j, color.getRgba());
-                g.setRgb(x + width - 1, j, color.getRgba());
-            }
+            fill(x, y, width, 1, rgba, true);
+            fill(x, y + height - 1, width, 1, rgba, true);
+            fill(x, y + 1, 1, height - 2, rgba, true);
+            fill(x + width - 1, y + 1, 1, height - 2, rgba, true);
         }
     }
 
@@ -168,11 +650,22 @@ final class GraphicHeadless implements Graphic
     @Override
     public void drawGradient(int x, int y, int width, int height)
     {
-        for (int i = x; i < width; i++)
+        if (g == null || gradient == null)
+        {
+            return;
+        }
+        final int left = Math.max(0, x);
+        final int top = Math.max(0, y);
+        final int right = Math.min(g.getWidth(), x + width);
+        final int bottom = Math.min(g.getHeight(), y + height);
+        final int[] dst = g.getRgbRef();
+        final int scan = g.getWidth();
+
+        for (int j = top; j < bottom; j++)
         {
-            for (int j = y; j < height; j++)
+            for (int i = left; i < right; i++)
             {
-                g.setRgb(x, y, gradient.getColor1().getRgba());
+                put(dst, j * scan + i, getGradient(gradient, i, j));
             }
         }
     }
@@ -188,30 +681,37 @@ final class GraphicHeadless implements Graphic
     @Override
     public void drawLine(int x1, int y1, int x2, int y2)
     {
-        final double dx = x1 - (double) x2;
-        final double dy = y1 - (double) y2;
-        final double norm = Math.sqrt(dx * dx + dy * dy);
-        final double sx;
-        final double sy;
-        if (Double.compare(norm, 0.0) == 0)
+        if (g == null)
         {
-            sx = 0;
-            sy = 0;
+            return;
         }
-        else
-        {
-            sx = dx / norm;
-            sy = dy / norm;
-        }
-
-        double x = x1;
-        double y = y1;
+        final int rgba = color.getRgba();
+        final int dx = Math.abs(x2 - x1);
+        final int dy = -Math.abs(y2 - y1);
+        final int stepX = x1 < x2 ? 1 : -1;
+        final int stepY = y1 < y2 ? 1 : -1;
+        int error = dx + dy;
+        int x = x1;
+        int y = y1;
 
-        for (int count = 0; count < norm; count++)
+        while (true)
         {
-            g.setRgb((int) Math.floor(x), (int) Math.floor(y), color.getRgba());
-            x += sx;
-            y += sy;
+            plot(x, y, rgba);
+            if (x == x2 && y == y2)
+            {
+                break;
+            }
+            final int error2 = 2 * error;
+            if (error2 >= dy)
+            {
+                error += dy;
+                x += stepX;
+            }
+            if (error2 <= dx)
+            {
+                error += dx;
+                y += stepY;
+            }
         }
     }
 
@@ -227,13 +727,47 @@ final class GraphicHeadless implements Graphic
     @Override
     public void drawOval(int x, int y, int width, int height, boolean fill)
     {
-        // Nothing to do
+        if (g == null || width <= 0 || height <= 0)
+        {
+            return;
+        }
+        final int rgba = color.getRgba();
+        for (int j = 0; j < height; j++)
+        {
+            final int span = getOvalSpan(width, height, j);
+            if (fill)
+            {
+                fill(x + span, y + j, width - 2 * span, 1, rgba, true);
+            }
+            else
+            {
+                final int previous = j > 0 ? getOvalSpan(width, height, j - 1) : span;
+                final int next = j < height - 1 ? getOvalSpan(width, height, j + 1) : span;
+                final int inner = Math.min(previous, next);
+                final int length;
+                if (j == 0 || j == height - 1)
+                {
+                    length = Math.max(1, width - 2 * span);
+                }
+                else
+                {
+                    length = Math.max(1, inner - span);
+                }
+                fill(x + span, y + j, Math.min(length, width - 2 * span), 1, rgba, true);
+                if (length < width - 2 * span)
+                {
+                    fill(x + width - span - length, y + j, length, 1, rgba, true);
+                }
+            }
+        }
     }
 
     @Override
     public void drawOval(Viewer viewer, Origin origin, double x, double y, int width, int height, boolean fill)
     {
-        // Nothing to do
+        final int px = (int) origin.getX(viewer.getViewpointX(x), width);
+        final int py = (int) origin.getY(viewer.getViewpointY(y), height);
+        drawOval(px, py, width, height, fill);
     }
 
     @Override
@@ -264,7 +798,7 @@ final class GraphicHeadless implements Graphic
     @Override
     public void setAlpha(int alpha)
     {
-        // Nothing to do
+        this.alpha = UtilMath.clamp(alpha, 0, FULL);
     }
 
     @Override
@@ -278,4 +812,80 @@ final class GraphicHeadless implements Graphic
     {
         return color;
     }
+
+    /**
+     * Scaled drawing axis, mapping each destination pixel to source pixels.
+     */
+    private static final class Axis
+    {
+        /** Destination pixels number. */
+        private final int length;
+        /** First source pixel, -1 if outside source. */
+        private final int[] first;
+        /** Second source pixel for interpolation. */
+        private final int[] second;
+        /** Second source pixel weight for interpolation. */
+        private final int[] weight;
+
+        /**
+         * Create axis.
+         * 
+         * @param start The first clipped destination pixel.
+         * @param end The last clipped destination pixel excluded.
+         * @param d1 The first destination corner.
+         * @param d2 The second destination corner.
+         * @param s1 The first source corner.
+         * @param s2 The second source corner.
+         * @param size The source size.
+         * @param bilinear <code>true</code> for bilinear interpolation, <code>false</code> for nearest neighbor.
+         */
+        // CHECKSTYLE IGNORE LINE: ParameterNumber
+        Axis(int start, int end, int d1, int d2, int s1, int s2, int size, boolean bilinear)
+        {
+            super();
+
+            length = end - start;
+            first = new int[length];
+            second = new int[length];
+            weight = new int[length];
+
+            final double scale = (s2 - s1) / (double) (d2 - d1);
+            final long step = ((long) (s2 - s1) << Integer.SIZE) / (d2 - d1);
+            final int min = Math.max(0, Math.min(s1, s2));
+            final int max = Math.min(size, Math.max(s1, s2)) - 1;
+
+            for (int i = 0; i < length; i++)
+            {
+                final double s = s1 + (start + i + 0.5 - d1) * scale;
+                final int nearest;
+                if (step > 0)
+                {
+                    // Truncated fixed point step, as Java2D scaled blits
+                    final long position = (2L * (start + i - d1) + 1) * step / 2;
+                    nearest = (int) (((long) s1 << Integer.SIZE) + position >> Integer.SIZE);
+                }
+                else
+                {
+                    nearest = (int) Math.floor(s);
+                }
+                if (nearest < 0 || nearest >= size)
+                {
+                    first[i] = -1;
+                }
+                else if (bilinear)
+                {
+                    final double center = s - 0.5;
+                    final int low = (int) Math.floor(center);
+                    first[i] = UtilMath.clamp(low, min, max);
+                    second[i] = UtilMath.clamp(low + 1, min, max);
+                    weight[i] = (int) Math.round((center - low) * WEIGHT);
+                }
+                else
+                {
+                    first[i] = nearest;
+                    second[i] = nearest;
+                }
+            }
+        }
+    }
 }
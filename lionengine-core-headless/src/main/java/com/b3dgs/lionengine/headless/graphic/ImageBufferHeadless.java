@@ -80,6 +80,30 @@ final class ImageBufferHeadless implements ImageBuffer
         transparency = Transparency.BITMASK;
     }
 
+    /**
+     * Internal constructor. Pixels are used as buffer, without copy.
+     * 
+     * @param width The image width (must be strictly positive).
+     * @param height The image height (must be strictly positive).
+     * @param pixels The pixels buffer (must not be <code>null</code>).
+     * @param transparency The transparency used (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    ImageBufferHeadless(int width, int height, int[] pixels, Transparency transparency)
+    {
+        super();
+
+        Check.superiorStrict(width, 0);
+        Check.superiorStrict(height, 0);
+        Check.notNull(pixels);
+        Check.notNull(transparency);
+
+        this.width = width;
+        this.height = height;
+        this.transparency = transparency;
+        buffer = pixels;
+    }
+
     /**
      * Internal constructor.
      * 
@@ -127,17 +151,9 @@ final class ImageBufferHeadless implements ImageBuffer
     public void setRgb(int startX, int startY, int w, int h, int[] rgbArray, int offset, int scansize)
     {
         int yoff = offset;
-        int off;
-        int color;
-
         for (int y = startY; y < startY + h; y++, yoff += scansize)
         {
-            off = yoff;
-            for (int x = startX; x < startX + w; x++)
-            {
-                color = rgbArray[off++];
-                buffer[y * width + x] = color;
-            }
+            System.arraycopy(rgbArray, yoff, buffer, y * width + startX, w);
         }
     }
 
@@ -0,0 +1,934 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.headless.graphic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.geom.Rectangle;
+import com.b3dgs.lionengine.graphic.Transparency;
+
+/**
+ * Misc tools for headless images: PNG and BMP decoding, and pixels operations.
+ */
+final class ToolsHeadless
+{
+    /** PNG signature. */
+    private static final byte[] PNG_SIGNATURE =
+    {
+        (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'
+    };
+    /** PNG header chunk. */
+    private static final int PNG_IHDR = 0x49484452;
+    /** PNG palette chunk. */
+    private static final int PNG_PLTE = 0x504C5445;
+    /** PNG transparency chunk. */
+    private static final int PNG_TRNS = 0x74524E53;
+    /** PNG data chunk. */
+    private static final int PNG_IDAT = 0x49444154;
+    /** PNG end chunk. */
+    private static final int PNG_IEND = 0x49454E44;
+    /** PNG gray color type. */
+    private static final int PNG_GRAY = 0;
+    /** PNG rgb color type. */
+    private static final int PNG_RGB = 2;
+    /** PNG palette color type. */
+    private static final int PNG_PALETTE = 3;
+    /** PNG gray alpha color type. */
+    private static final int PNG_GRAY_ALPHA = 4;
+    /** PNG rgb alpha color type. */
+    private static final int PNG_RGB_ALPHA = 6;
+    /** PNG interlace passes (x start, y start, x step, y step). */
+    private static final int[][] PNG_PASSES =
+    {
+        {
+            0, 0, 8, 8
+        },
+        {
+            4, 0, 8, 8
+        },
+        {
+            0, 4, 4, 8
+        },
+        {
+            2, 0, 4, 4
+        },
+        {
+            0, 2, 2, 4
+        },
+        {
+            1, 0, 2, 2
+        },
+        {
+            0, 1, 1, 2
+        }
+    };
+    /** PNG single pass. */
+    private static final int[][] PNG_PASS =
+    {
+        {
+            0, 0, 1, 1
+        }
+    };
+    /** BMP signature. */
+    private static final int BMP_SIGNATURE = 0x4D42;
+    /** BMP core header size. */
+    private static final int BMP_CORE_HEADER = 12;
+    /** BMP info header size. */
+    private static final int BMP_INFO_HEADER = 40;
+    /** BMP file header size. */
+    private static final int BMP_FILE_HEADER = 14;
+    /** BMP rgb compression. */
+    private static final int BMP_RGB = 0;
+    /** BMP bit fields compression. */
+    private static final int BMP_BITFIELDS = 3;
+    /** Opaque alpha. */
+    private static final int OPAQUE = 0xFF00_0000;
+    /** Byte mask. */
+    private static final int MASK = 0xFF;
+    /** Maximum 16 bits sample value. */
+    private static final int SAMPLE_16_MAX = 0xFFFF;
+
+    /**
+     * Decode PNG or BMP image.
+     * 
+     * @param input The image input.
+     * @return The decoded image, <code>null</code> if format or encoding is not supported.
+     * @throws IOException If image is corrupted.
+     */
+    static ImageBufferHeadless getImage(InputStream input) throws IOException
+    {
+        final byte[] data = input.readAllBytes();
+        if (isPng(data))
+        {
+            return getPng(data);
+        }
+        if (data.length > BMP_FILE_HEADER && readShortLe(data, 0) == BMP_SIGNATURE)
+        {
+            return getBmp(data);
+        }
+        return null;
+    }
+
+    /**
+     * Get the transparency type of pixels.
+     * 
+     * @param pixels The pixels.
+     * @return The transparency type.
+     */
+    static Transparency getTransparency(int[] pixels)
+    {
+        Transparency transparency = Transparency.OPAQUE;
+        for (final int pixel : pixels)
+        {
+            final int alpha = pixel >>> 24;
+            if (alpha == 0)
+            {
+                transparency = Transparency.BITMASK;
+            }
+            else if (alpha != MASK)
+            {
+                return Transparency.TRANSLUCENT;
+            }
+        }
+        return transparency;
+    }
+
+    /**
+     * Rotate image around its center, with nearest neighbor.
+     * 
+     * @param image The image source.
+     * @param angle The angle in degree.
+     * @return The rotated image, sized to its rotated bounding box.
+     */
+    static ImageBufferHeadless rotate(ImageBufferHeadless image, int angle)
+    {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final Rectangle rectangle = new Rectangle(0, 0, width, height);
+        rectangle.rotate(angle);
+
+        final int rw = rectangle.getWidth();
+        final int rh = rectangle.getHeight();
+        final int[] src = image.getRgbRef();
+        final int[] dst = new int[rw * rh];
+
+        final double cos = UtilMath.cos(angle);
+        final double sin = UtilMath.sin(angle);
+        final double scx = width / 2.0;
+        final double scy = height / 2.0;
+        final double dcx = rw / 2.0;
+        final double dcy = rh / 2.0;
+
+        for (int y = 0; y < rh; y++)
+        {
+            final double py = y + 0.5 - dcy;
+            for (int x = 0; x < rw; x++)
+            {
+                final double px = x + 0.5 - dcx;
+                final int sx = (int) Math.floor(cos * px + sin * py + scx);
+                final int sy = (int) Math.floor(-sin * px + cos * py + scy);
+                if (sx >= 0 && sy >= 0 && sx < width && sy < height)
+                {
+                    dst[y * rw + x] = src[sy * width + sx];
+                }
+            }
+        }
+        return new ImageBufferHeadless(rw, rh, dst, image.getTransparency());
+    }
+
+    /**
+     * Check if data is a PNG.
+     * 
+     * @param data The data.
+     * @return <code>true</code> if PNG signature, <code>false</code> else.
+     */
+    private static boolean isPng(byte[] data)
+    {
+        if (data.length < PNG_SIGNATURE.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < PNG_SIGNATURE.length; i++)
+        {
+            if (data[i] != PNG_SIGNATURE[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode PNG image.
+     * 
+     * @param data The PNG data.
+     * @return The decoded image, <code>null</code> if not supported.
+     * @throws IOException If image is corrupted.
+     */
+    // CHECKSTYLE IGNORE LINE: CyclomaticComplexity|NPathComplexity|ExecutableStatementCount
+    private static ImageBufferHeadless getPng(byte[] data) throws IOException
+    {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length);
+        final PngHeader header = new PngHeader();
+        int[] palette = null;
+        byte[] trns = null;
+
+        int offset = PNG_SIGNATURE.length;
+        boolean end = false;
+        while (!end)
+        {
+            checkAvailable(data, offset, 8);
+            final int length = readInt(data, offset);
+            final int type = readInt(data, offset + 4);
+            final int start = offset + 8;
+            checkAvailable(data, start, length + 4);
+
+            if (type == PNG_IHDR)
+            {
+                header.read(data, start);
+            }
+            else if (type == PNG_PLTE)
+            {
+                palette = new int[length / 3];
+                for (int i = 0; i < palette.length; i++)
+                {
+                    final int p = start + i * 3;
+                    palette[i] = OPAQUE | (data[p] & MASK) << 16 | (data[p + 1] & MASK) << 8 | data[p + 2] & MASK;
+                }
+            }
+            else if (type == PNG_TRNS)
+            {
+                trns = new byte[length];
+                System.arraycopy(data, start, trns, 0, length);
+            }
+            else if (type == PNG_IDAT)
+            {
+                compressed.write(data, start, length);
+            }
+            end = type == PNG_IEND;
+            offset = start + length + 4;
+        }
+
+        if (!header.isSupported() || header.colorType == PNG_PALETTE && palette == null)
+        {
+            return null;
+        }
+        if (header.colorType == PNG_PALETTE && trns != null)
+        {
+            final int n = Math.min(trns.length, palette.length);
+            for (int i = 0; i < n; i++)
+            {
+                palette[i] = (trns[i] & MASK) << 24 | palette[i] & 0x00FF_FFFF;
+            }
+        }
+
+        final byte[] raw = inflate(compressed.toByteArray());
+        final int[] pixels = new int[header.width * header.height];
+        final int[][] passes = header.interlace ? PNG_PASSES : PNG_PASS;
+
+        int position = 0;
+        for (final int[] pass : passes)
+        {
+            final int pw = (header.width - pass[0] + pass[2] - 1) / pass[2];
+            final int ph = (header.height - pass[1] + pass[3] - 1) / pass[3];
+            if (pw > 0 && ph > 0)
+            {
+                position = readPngPass(raw, position, header, pass, pw, ph, palette, trns, pixels);
+            }
+        }
+        return new ImageBufferHeadless(header.width, header.height, pixels, getTransparency(pixels));
+    }
+
+    /**
+     * Read PNG pass rows.
+     * 
+     * @param raw The inflated data.
+     * @param position The pass first byte.
+     * @param header The PNG header.
+     * @param pass The pass definition.
+     * @param pw The pass width.
+     * @param ph The pass height.
+     * @param palette The palette (<code>null</code> if none).
+     * @param trns The transparency chunk (<code>null</code> if none).
+     * @param pixels The output pixels.
+     * @return The next pass first byte.
+     * @throws IOException If image is corrupted.
+     */
+    // CHECKSTYLE IGNORE LINE: ParameterNumber
+    private static int readPngPass(byte[] raw,
+                                   int position,
+                                   PngHeader header,
+                                   int[] pass,
+                                   int pw,
+                                   int ph,
+                                   int[] palette,
+                                   byte[] trns,
+                                   int[] pixels)
+        throws IOException
+    {
+        final int bits = header.getBitsPerPixel();
+        final int bpp = Math.max(1, bits / 8);
+        final int stride = (pw * bits + 7) / 8;
+        byte[] previous = new byte[stride];
+        byte[] line = new byte[stride];
+
+        int offset = position;
+        for (int y = 0; y < ph; y++)
+        {
+            checkAvailable(raw, offset, stride + 1);
+            final int filter = raw[offset] & MASK;
+            System.arraycopy(raw, offset + 1, line, 0, stride);
+            unfilter(filter, line, previous, bpp);
+            offset += stride + 1;
+
+            final int row = (pass[1] + y * pass[3]) * header.width + pass[0];
+            for (int x = 0; x < pw; x++)
+            {
+                pixels[row + x * pass[2]] = getPngPixel(header, line, x, palette, trns);
+            }
+
+            final byte[] swap = previous;
+            previous = line;
+            line = swap;
+        }
+        return offset;
+    }
+
+    /**
+     * Revert PNG line filter.
+     * 
+     * @param filter The filter type.
+     * @param line The filtered line, unfiltered on output.
+     * @param previous The previous unfiltered line.
+     * @param bpp The bytes per pixel.
+     * @throws IOException If invalid filter.
+     */
+    private static void unfilter(int filter, byte[] line, byte[] previous, int bpp) throws IOException
+    {
+        final int n = line.length;
+        switch (filter)
+        {
+            case 0:
+                break;
+            case 1:
+                for (int i = bpp; i < n; i++)
+                {
+                    line[i] += line[i - bpp];
+                }
+                break;
+            case 2:
+                for (int i = 0; i < n; i++)
+                {
+                    line[i] += previous[i];
+                }
+                break;
+            case 3:
+                for (int i = 0; i < n; i++)
+                {
+                    final int left = i < bpp ? 0 : line[i - bpp] & MASK;
+                    line[i] += (left + (previous[i] & MASK)) >>> 1;
+                }
+                break;
+            case 4:
+                for (int i = 0; i < n; i++)
+                {
+                    final int a = i < bpp ? 0 : line[i - bpp] & MASK;
+                    final int b = previous[i] & MASK;
+                    final int c = i < bpp ? 0 : previous[i - bpp] & MASK;
+                    line[i] += paeth(a, b, c);
+                }
+                break;
+            default:
+                throw new IOException("Invalid PNG filter: " + filter);
+        }
+    }
+
+    /**
+     * Paeth predictor.
+     * 
+     * @param a The left byte.
+     * @param b The up byte.
+     * @param c The up left byte.
+     * @return The predicted byte.
+     */
+    private static int paeth(int a, int b, int c)
+    {
+        final int p = a + b - c;
+        final int pa = Math.abs(p - a);
+        final int pb = Math.abs(p - b);
+        final int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc)
+        {
+            return a;
+        }
+        if (pb <= pc)
+        {
+            return b;
+        }
+        return c;
+    }
+
+    /**
+     * Get PNG pixel as ARGB.
+     * 
+     * @param header The PNG header.
+     * @param line The unfiltered line.
+     * @param x The pixel index in line.
+     * @param palette The palette (<code>null</code> if none).
+     * @param trns The transparency chunk (<code>null</code> if none).
+     * @return The ARGB pixel.
+     */
+    private static int getPngPixel(PngHeader header, byte[] line, int x, int[] palette, byte[] trns)
+    {
+        final int depth = header.bitDepth;
+        if (depth < 8)
+        {
+            final int bit = x * depth;
+            final int sample = line[bit >> 3] >> 8 - depth - (bit & 7) & (1 << depth) - 1;
+            if (header.colorType == PNG_PALETTE)
+            {
+                return sample < palette.length ? palette[sample] : OPAQUE;
+            }
+            final int gray = sample * MASK / ((1 << depth) - 1);
+            return getGray(gray, sample, trns);
+        }
+
+        final int channels = header.getChannels();
+        final int step = depth / 8;
+        final int offset = x * channels * step;
+        switch (header.colorType)
+        {
+            case PNG_PALETTE:
+            {
+                final int index = line[offset] & MASK;
+                return index < palette.length ? palette[index] : OPAQUE;
+            }
+            case PNG_GRAY:
+                return getGray(getSample8(line, offset, step), readSample(line, offset, step), trns);
+            case PNG_GRAY_ALPHA:
+            {
+                final int gray = getSample8(line, offset, step);
+                return getSample8(line, offset + step, step) << 24 | gray << 16 | gray << 8 | gray;
+            }
+            case PNG_RGB:
+            {
+                final int rgb = getSample8(line, offset, step) << 16
+                                | getSample8(line, offset + step, step) << 8
+                                | getSample8(line, offset + 2 * step, step);
+                if (trns != null
+                    && trns.length >= 6
+                    && readSample(line, offset, step) == readShort(trns, 0)
+                    && readSample(line, offset + step, step) == readShort(trns, 2)
+                    && readSample(line, offset + 2 * step, step) == readShort(trns, 4))
+                {
+                    return rgb;
+                }
+                return OPAQUE | rgb;
+            }
+            default:
+                return getSample8(line, offset + 3 * step, step) << 24
+                       | getSample8(line, offset, step) << 16
+                       | getSample8(line, offset + step, step) << 8
+                       | getSample8(line, offset + 2 * step, step);
+        }
+    }
+
+    /**
+     * Get gray pixel, transparent if matching transparency chunk.
+     * 
+     * @param gray The gray value on 8 bits.
+     * @param sample The raw sample value.
+     * @param trns The transparency chunk (<code>null</code> if none).
+     * @return The ARGB pixel.
+     */
+    private static int getGray(int gray, int sample, byte[] trns)
+    {
+        final int rgb = gray << 16 | gray << 8 | gray;
+        if (trns != null && trns.length >= 2 && readShort(trns, 0) == sample)
+        {
+            return rgb;
+        }
+        return OPAQUE | rgb;
+    }
+
+    /**
+     * Read sample on 8 or 16 bits, scaled on 8 bits.
+     * 
+     * @param line The line.
+     * @param offset The sample offset.
+     * @param step The sample bytes.
+     * @return The sample value on 8 bits.
+     */
+    private static int getSample8(byte[] line, int offset, int step)
+    {
+        if (step == 1)
+        {
+            return line[offset] & MASK;
+        }
+        return (readShort(line, offset) * MASK + SAMPLE_16_MAX / 2) / SAMPLE_16_MAX;
+    }
+
+    /**
+     * Read raw sample on 8 or 16 bits.
+     * 
+     * @param line The line.
+     * @param offset The sample offset.
+     * @param step The sample bytes.
+     * @return The sample value.
+     */
+    private static int readSample(byte[] line, int offset, int step)
+    {
+        if (step == 1)
+        {
+            return line[offset] & MASK;
+        }
+        return readShort(line, offset);
+    }
+
+    /**
+     * Inflate data.
+     * 
+     * @param data The compressed data.
+     * @return The inflated data.
+     * @throws IOException If invalid data.
+     */
+    private static byte[] inflate(byte[] data) throws IOException
+    {
+        final Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(data);
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(data.length * 4);
+            final byte[] buffer = new byte[8192];
+            while (!inflater.finished())
+            {
+                final int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    throw new IOException("Truncated PNG data");
+                }
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        }
+        catch (final DataFormatException exception)
+        {
+            throw new IOException(exception);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Decode BMP image.
+     * 
+     * @param data The BMP data.
+     * @return The decoded image, <code>null</code> if not supported.
+     * @throws IOException If image is corrupted.
+     */
+    // CHECKSTYLE IGNORE LINE: CyclomaticComplexity|NPathComplexity|ExecutableStatementCount
+    private static ImageBufferHeadless getBmp(byte[] data) throws IOException
+    {
+        checkAvailable(data, BMP_FILE_HEADER, BMP_CORE_HEADER);
+        final int dataOffset = readIntLe(data, 10);
+        final int headerSize = readIntLe(data, BMP_FILE_HEADER);
+        final int h = BMP_FILE_HEADER + 4;
+
+        final int width;
+        final int rawHeight;
+        final int bits;
+        final int compression;
+        final int colors;
+        final int paletteEntry;
+        if (headerSize == BMP_CORE_HEADER)
+        {
+            width = readShortLe(data, h);
+            rawHeight = (short) readShortLe(data, h + 2);
+            bits = readShortLe(data, h + 6);
+            compression = BMP_RGB;
+            colors = 0;
+            paletteEntry = 3;
+        }
+        else
+        {
+            checkAvailable(data, BMP_FILE_HEADER, BMP_INFO_HEADER);
+            width = readIntLe(data, h);
+            rawHeight = readIntLe(data, h + 4);
+            bits = readShortLe(data, h + 10);
+            compression = readIntLe(data, h + 12);
+            colors = readIntLe(data, h + 28);
+            paletteEntry = 4;
+        }
+        final int height = Math.abs(rawHeight);
+        if (width <= 0 || height == 0 || compression != BMP_RGB && compression != BMP_BITFIELDS)
+        {
+            return null;
+        }
+
+        final int[] masks = getBmpMasks(data, headerSize, bits, compression);
+        int[] palette = null;
+        if (bits <= 8)
+        {
+            palette = new int[colors > 0 ? colors : 1 << bits];
+            final int start = BMP_FILE_HEADER + headerSize;
+            checkAvailable(data, start, palette.length * paletteEntry);
+            for (int i = 0; i < palette.length; i++)
+            {
+                final int p = start + i * paletteEntry;
+                palette[i] = OPAQUE | (data[p + 2] & MASK) << 16 | (data[p + 1] & MASK) << 8 | data[p] & MASK;
+            }
+        }
+        else if (masks == null)
+        {
+            return null;
+        }
+
+        final int stride = (bits * width + 31) / 32 * 4;
+        checkAvailable(data, dataOffset, stride * height);
+        final int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++)
+        {
+            final int line = dataOffset + stride * (rawHeight > 0 ? height - 1 - y : y);
+            final int row = y * width;
+            for (int x = 0; x < width; x++)
+            {
+                pixels[row + x] = getBmpPixel(data, line, x, bits, palette, masks);
+            }
+        }
+        return new ImageBufferHeadless(width, height, pixels, getTransparency(pixels));
+    }
+
+    /**
+     * Get BMP channels masks (red, green, blue, alpha).
+     * 
+     * @param data The BMP data.
+     * @param headerSize The info header size.
+     * @param bits The bits per pixel.
+     * @param compression The compression type.
+     * @return The masks, <code>null</code> if not applicable.
+     * @throws IOException If image is corrupted.
+     */
+    private static int[] getBmpMasks(byte[] data, int headerSize, int bits, int compression) throws IOException
+    {
+        if (compression == BMP_BITFIELDS)
+        {
+            final int start = BMP_FILE_HEADER + BMP_INFO_HEADER;
+            final boolean alpha = headerSize > BMP_INFO_HEADER + 12;
+            checkAvailable(data, start, alpha ? 16 : 12);
+            return new int[]
+            {
+                readIntLe(data, start),
+                readIntLe(data, start + 4),
+                readIntLe(data, start + 8),
+                alpha ? readIntLe(data, start + 12) : 0
+            };
+        }
+        if (bits == 16)
+        {
+            return new int[]
+            {
+                0x7C00, 0x03E0, 0x001F, 0
+            };
+        }
+        if (bits == 24 || bits == 32)
+        {
+            return new int[]
+            {
+                0xFF_0000, 0x00_FF00, 0x00_00FF, 0
+            };
+        }
+        return null;
+    }
+
+    /**
+     * Get BMP pixel as ARGB.
+     * 
+     * @param data The BMP data.
+     * @param line The line first byte.
+     * @param x The pixel index in line.
+     * @param bits The bits per pixel.
+     * @param palette The palette (<code>null</code> if none).
+     * @param masks The channels masks (<code>null</code> if none).
+     * @return The ARGB pixel.
+     */
+    private static int getBmpPixel(byte[] data, int line, int x, int bits, int[] palette, int[] masks)
+    {
+        if (palette != null)
+        {
+            final int bit = x * bits;
+            final int index = data[line + (bit >> 3)] >> 8 - bits - (bit & 7) & (1 << bits) - 1;
+            return index < palette.length ? palette[index] : OPAQUE;
+        }
+        final int offset = line + x * bits / 8;
+        final int value;
+        if (bits == 16)
+        {
+            value = readShortLe(data, offset);
+        }
+        else if (bits == 24)
+        {
+            value = (data[offset + 2] & MASK) << 16 | (data[offset + 1] & MASK) << 8 | data[offset] & MASK;
+        }
+        else
+        {
+            value = readIntLe(data, offset);
+        }
+        final int alpha = masks[3] == 0 ? MASK : getChannel(value, masks[3]);
+        return alpha << 24
+               | getChannel(value, masks[0]) << 16
+               | getChannel(value, masks[1]) << 8
+               | getChannel(value, masks[2]);
+    }
+
+    /**
+     * Get channel value scaled on 8 bits.
+     * 
+     * @param value The pixel value.
+     * @param mask The channel mask.
+     * @return The channel value.
+     */
+    private static int getChannel(int value, int mask)
+    {
+        if (mask == 0)
+        {
+            return 0;
+        }
+        final int shift = Integer.numberOfTrailingZeros(mask);
+        final int max = mask >>> shift;
+        return (int) (((value & mask) >>> shift) * (long) MASK / max);
+    }
+
+    /**
+     * Check data has enough bytes.
+     * 
+     * @param data The data.
+     * @param offset The first byte.
+     * @param length The required bytes.
+     * @throws IOException If not enough bytes.
+     */
+    private static void checkAvailable(byte[] data, int offset, int length) throws IOException
+    {
+        if (offset < 0 || length < 0 || offset + length > data.length)
+        {
+            throw new IOException("Truncated image data");
+        }
+    }
+
+    /**
+     * Read big endian integer.
+     * 
+     * @param data The data.
+     * @param offset The first byte.
+     * @return The value.
+     */
+    private static int readInt(byte[] data, int offset)
+    {
+        return (data[offset] & MASK) << 24
+               | (data[offset + 1] & MASK) << 16
+               | (data[offset + 2] & MASK) << 8
+               | data[offset + 3] & MASK;
+    }
+
+    /**
+     * Read big endian unsigned short.
+     * 
+     * @param data The data.
+     * @param offset The first byte.
+     * @return The value.
+     */
+    private static int readShort(byte[] data, int offset)
+    {
+        return (data[offset] & MASK) << 8 | data[offset + 1] & MASK;
+    }
+
+    /**
+     * Read little endian integer.
+     * 
+     * @param data The data.
+     * @param offset The first byte.
+     * @return The value.
+     */
+    private static int readIntLe(byte[] data, int offset)
+    {
+        return (data[offset + 3] & MASK) << 24
+               | (data[offset + 2] & MASK) << 16
+               | (data[offset + 1] & MASK) << 8
+               | data[offset] & MASK;
+    }
+
+    /**
+     * Read little endian unsigned short.
+     * 
+     * @param data The data.
+     * @param offset The first byte.
+     * @return The value.
+     */
+    private static int readShortLe(byte[] data, int offset)
+    {
+        return (data[offset + 1] & MASK) << 8 | data[offset] & MASK;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private ToolsHeadless()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * PNG header.
+     */
+    private static final class PngHeader
+    {
+        /** Image width. */
+        private int width;
+        /** Image height. */
+        private int height;
+        /** Bit depth. */
+        private int bitDepth;
+        /** Color type. */
+        private int colorType;
+        /** Interlaced flag. */
+        private boolean interlace;
+        /** Compression and filter methods. */
+        private int methods;
+
+        /**
+         * Create header.
+         */
+        PngHeader()
+        {
+            super();
+        }
+
+        /**
+         * Read header chunk.
+         * 
+         * @param data The PNG data.
+         * @param offset The chunk first byte.
+         */
+        void read(byte[] data, int offset)
+        {
+            width = readInt(data, offset);
+            height = readInt(data, offset + 4);
+            bitDepth = data[offset + 8] & MASK;
+            colorType = data[offset + 9] & MASK;
+            methods = (data[offset + 10] & MASK) << 8 | data[offset + 11] & MASK;
+            interlace = data[offset + 12] != 0;
+        }
+
+        /**
+         * Check if header is supported.
+         * 
+         * @return <code>true</code> if supported, <code>false</code> else.
+         */
+        boolean isSupported()
+        {
+            final boolean depth = bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8 || bitDepth == 16;
+            final boolean type = colorType == PNG_GRAY && depth
+                                 || colorType == PNG_PALETTE && bitDepth <= 8 && depth
+                                 || colorType != PNG_GRAY
+                                    && colorType != PNG_PALETTE
+                                    && getChannels() > 0
+                                    && bitDepth >= 8
+                                    && depth;
+            return width > 0 && height > 0 && methods == 0 && type;
+        }
+
+        /**
+         * Get channels per pixel.
+         * 
+         * @return The channels number, 0 if invalid color type.
+         */
+        int getChannels()
+        {
+            switch (colorType)
+            {
+                case PNG_GRAY:
+                case PNG_PALETTE:
+                    return 1;
+                case PNG_GRAY_ALPHA:
+                    return 2;
+                case PNG_RGB:
+                    return 3;
+                case PNG_RGB_ALPHA:
+                    return 4;
+                default:
+                    return 0;
+            }
+        }
+
+        /**
+         * Get bits per pixel.
+         * 
+         * @return The bits per pixel.
+         */
+        int getBitsPerPixel()
+        {
+            return getChannels() * bitDepth;
+        }
+    }
+}
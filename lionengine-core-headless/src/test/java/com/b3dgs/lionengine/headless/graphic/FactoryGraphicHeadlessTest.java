@@ -25,9 +25,11 @@ import org.junit.jupiter.api.Test;
 
 import com.b3dgs.lionengine.FactoryMediaDefault;
 import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.graphic.ColorRgba;
 import com.b3dgs.lionengine.graphic.FactoryGraphicTest;
 import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.Transparency;
 
 /**
  * Test {@link FactoryGraphicHeadless}.
@@ -72,4 +74,42 @@ final class FactoryGraphicHeadlessTest extends FactoryGraphicTest
         rotate.dispose();
         image.dispose();
     }
+
+    /**
+     * Test get image buffer decodes png pixels.
+     */
+    @Test
+    void testGetImageBufferPng()
+    {
+        final ImageBuffer image = Graphics.getImageBuffer(Medias.create("decode.png"));
+
+        assertEquals(2, image.getWidth());
+        assertEquals(2, image.getHeight());
+        assertEquals(Transparency.BITMASK, image.getTransparency());
+        assertEquals(ColorRgba.RED.getRgba(), image.getRgb(0, 0));
+        assertEquals(ColorRgba.GREEN.getRgba(), image.getRgb(1, 0));
+        assertEquals(ColorRgba.BLUE.getRgba(), image.getRgb(0, 1));
+        assertEquals(ColorRgba.TRANSPARENT.getRgba(), image.getRgb(1, 1));
+
+        image.dispose();
+    }
+
+    /**
+     * Test get image buffer decodes bmp pixels.
+     */
+    @Test
+    void testGetImageBufferBmp()
+    {
+        final ImageBuffer image = Graphics.getImageBuffer(Medias.create("decode.bmp"));
+
+        assertEquals(2, image.getWidth());
+        assertEquals(2, image.getHeight());
+        assertEquals(Transparency.OPAQUE, image.getTransparency());
+        assertEquals(ColorRgba.RED.getRgba(), image.getRgb(0, 0));
+        assertEquals(ColorRgba.GREEN.getRgba(), image.getRgb(1, 0));
+        assertEquals(ColorRgba.BLUE.getRgba(), image.getRgb(0, 1));
+        assertEquals(ColorRgba.WHITE.getRgba(), image.getRgb(1, 1));
+
+        image.dispose();
+    }
 }
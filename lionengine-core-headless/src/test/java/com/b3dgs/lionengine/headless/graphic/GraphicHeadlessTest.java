@@ -18,13 +18,17 @@ package com.b3dgs.lionengine.headless.graphic;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.GraphicTest;
 import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.Transparency;
 
 /**
  * Test {@link GraphicHeadless}.
@@ -50,4 +54,136 @@ final class GraphicHeadlessTest extends GraphicTest
 
         assertEquals(ColorRgba.BLACK.getRgba(), Graphics.applyMask(image, ColorRgba.TRANSPARENT).getRgb(0, 0));
     }
+
+    /**
+     * Create image filled with pixels.
+     * 
+     * @param width The image width.
+     * @param height The image height.
+     * @param transparency The image transparency.
+     * @param pixels The image pixels.
+     * @return The created image.
+     */
+    private static ImageBuffer createImage(int width, int height, Transparency transparency, int... pixels)
+    {
+        final ImageBuffer image = new ImageBufferHeadless(width, height, transparency);
+        image.setRgb(0, 0, width, height, pixels, 0, width);
+        return image;
+    }
+
+    /**
+     * Create opaque image filled with color.
+     * 
+     * @param width The image width.
+     * @param height The image height.
+     * @param color The fill color.
+     * @return The created image.
+     */
+    private static ImageBuffer createImage(int width, int height, ColorRgba color)
+    {
+        final int[] pixels = new int[width * height];
+        Arrays.fill(pixels, color.getRgba());
+        return createImage(width, height, Transparency.OPAQUE, pixels);
+    }
+
+    /**
+     * Test draw image copies pixels and skips transparent ones.
+     */
+    @Test
+    void testDrawImagePixels()
+    {
+        final ImageBuffer image = createImage(2,
+                                              2,
+                                              Transparency.BITMASK,
+                                              ColorRgba.RED.getRgba(),
+                                              ColorRgba.TRANSPARENT.getRgba(),
+                                              ColorRgba.GREEN.getRgba(),
+                                              ColorRgba.BLUE.getRgba());
+        final ImageBuffer buffer = createImage(4, 4, ColorRgba.BLACK);
+        final Graphic g = buffer.createGraphic();
+        g.drawImage(image, 1, 1);
+
+        assertEquals(ColorRgba.BLACK.getRgba(), buffer.getRgb(0, 0));
+        assertEquals(ColorRgba.RED.getRgba(), buffer.getRgb(1, 1));
+        assertEquals(ColorRgba.BLACK.getRgba(), buffer.getRgb(2, 1));
+        assertEquals(ColorRgba.GREEN.getRgba(), buffer.getRgb(1, 2));
+        assertEquals(ColorRgba.BLUE.getRgba(), buffer.getRgb(2, 2));
+        assertEquals(ColorRgba.BLACK.getRgba(), buffer.getRgb(3, 3));
+    }
+
+    /**
+     * Test draw image outside buffer is clipped.
+     */
+    @Test
+    void testDrawImageClipped()
+    {
+        final ImageBuffer image = createImage(2,
+                                              2,
+                                              Transparency.OPAQUE,
+                                              ColorRgba.RED.getRgba(),
+                                              ColorRgba.GREEN.getRgba(),
+                                              ColorRgba.BLUE.getRgba(),
+                                              ColorRgba.WHITE.getRgba());
+        final ImageBuffer buffer = createImage(2, 2, ColorRgba.BLACK);
+        final Graphic g = buffer.createGraphic();
+        g.drawImage(image, -1, 1);
+        g.drawImage(image, 5, -5);
+
+        assertEquals(ColorRgba.BLACK.getRgba(), buffer.getRgb(0, 0));
+        assertEquals(ColorRgba.BLACK.getRgba(), buffer.getRgb(1, 0));
+        assertEquals(ColorRgba.GREEN.getRgba(), buffer.getRgb(0, 1));
+        assertEquals(ColorRgba.BLACK.getRgba(), buffer.getRgb(1, 1));
+    }
+
+    /**
+     * Test draw image with alpha is blended.
+     */
+    @Test
+    void testDrawImageAlpha()
+    {
+        final ImageBuffer buffer = createImage(1, 1, ColorRgba.WHITE);
+        final Graphic g = buffer.createGraphic();
+        g.setAlpha(128);
+        g.drawImage(createImage(1, 1, ColorRgba.BLACK), 0, 0);
+
+        assertEquals(new ColorRgba(127, 127, 127).getRgba(), buffer.getRgb(0, 0));
+    }
+
+    /**
+     * Test draw image scaled and mirrored.
+     */
+    @Test
+    void testDrawImageScaledMirrored()
+    {
+        final ImageBuffer image = createImage(2,
+                                              1,
+                                              Transparency.OPAQUE,
+                                              ColorRgba.RED.getRgba(),
+                                              ColorRgba.BLUE.getRgba());
+        final ImageBuffer buffer = createImage(4, 1, ColorRgba.BLACK);
+        final Graphic g = buffer.createGraphic();
+        g.drawImage(image, 4, 0, 0, 1, 0, 0, 2, 1);
+
+        assertEquals(ColorRgba.BLUE.getRgba(), buffer.getRgb(0, 0));
+        assertEquals(ColorRgba.BLUE.getRgba(), buffer.getRgb(1, 0));
+        assertEquals(ColorRgba.RED.getRgba(), buffer.getRgb(2, 0));
+        assertEquals(ColorRgba.RED.getRgba(), buffer.getRgb(3, 0));
+    }
+
+    /**
+     * Test draw rectangle fills clipped area.
+     */
+    @Test
+    void testDrawRect()
+    {
+        final ImageBuffer buffer = createImage(3, 3, ColorRgba.BLACK);
+        final Graphic g = buffer.createGraphic();
+        g.setColor(ColorRgba.RED);
+        g.drawRect(1, 1, 5, 5, true);
+
+        assertEquals(ColorRgba.BLACK.getRgba(), buffer.getRgb(0, 0));
+        assertEquals(ColorRgba.BLACK.getRgba(), buffer.getRgb(2, 0));
+        assertEquals(ColorRgba.RED.getRgba(), buffer.getRgb(1, 1));
+        assertEquals(ColorRgba.RED.getRgba(), buffer.getRgb(2, 2));
+    }
 }
@@ -16,21 +16,29 @@
  */
 package com.b3dgs.lionengine;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Aimed to load resources asynchronously from the main thread, in order to improve transition time between two parts.
  * 
  * <p>
  * Add resources to load with {@link #add(Enum, Resource)}, and call {@link #start()} to begin loading in a separate
- * process.
+ * process. Resources are loaded by a bounded pool of threads (one by default), higher priority first, see
+ * {@link #add(Enum, Resource, int)}.
  * </p>
  * 
  * <p>
- * Call {@link #await()} where resources must be loaded, and access to them with {@link #get()}.
+ * Call {@link #await()} where resources must be loaded, and access to them with {@link #get()}. Loading can be
+ * followed with {@link #getProgress()}, and each resource load time is available with {@link #getLoadTimeNano(Enum)}.
  * </p>
  * 
  * <p>
@@ -41,6 +49,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public final class ResourceLoader<T extends Enum<T>>
 {
+    /** Default priority. */
+    public static final int PRIORITY_DEFAULT = 0;
     /** Error started. */
     static final String ERROR_STARTED = "Resource loader already started !";
     /** Error not started. */
@@ -51,30 +61,71 @@ public final class ResourceLoader<T extends Enum<T>>
     static final String ERROR_SKIPPED = "Resource loader interrupted !";
 
     /** Handled resources. */
-    private final Map<T, Resource> resources = new HashMap<>();
+    private final Map<T, Resource> resources = new ConcurrentHashMap<>();
+    /** Resources entries. */
+    private final Map<T, Entry> entries = new ConcurrentHashMap<>();
+    /** Loading threads. */
+    private final List<Thread> threads = new ArrayList<>();
+    /** Next entry index to load. */
+    private final AtomicInteger next = new AtomicInteger();
+    /** Loaded resources count. */
+    private final AtomicInteger loaded = new AtomicInteger();
+    /** First loading failure. */
+    private final AtomicReference<LionEngineException> failure = new AtomicReference<>();
     /** Done. */
     private final AtomicBoolean done = new AtomicBoolean(false);
     /** Started. */
     private final AtomicBoolean started = new AtomicBoolean(false);
-    /** Thread used. */
-    private final ResourceLoaderThread thread = new ResourceLoaderThread(resources);
+    /** Maximum number of loading threads. */
+    private final int threadsMax;
+    /** Entries in load order, defined on start. */
+    private Entry[] queue;
 
     /**
-     * Create the resource loader.
+     * Create the resource loader, loading resources one by one.
      */
     public ResourceLoader()
+    {
+        this(1);
+    }
+
+    /**
+     * Create the resource loader, loading resources in parallel. Resources must support concurrent loading.
+     * 
+     * @param threadsMax The maximum number of loading threads (must be strictly superior to 0).
+     * @throws LionEngineException If invalid argument.
+     */
+    public ResourceLoader(int threadsMax)
     {
         super();
+
+        Check.superiorStrict(threadsMax, 0);
+
+        this.threadsMax = threadsMax;
+    }
+
+    /**
+     * Add a resource to load with {@link #PRIORITY_DEFAULT}. Must be called before {@link #start()}.
+     * 
+     * @param key The associated key (must not be <code>null</code>).
+     * @param resource The resource to load (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments or loader has already been started.
+     */
+    public void add(T key, Resource resource)
+    {
+        add(key, resource, PRIORITY_DEFAULT);
     }
 
     /**
-     * Add a resource to load. Must be called before {@link #start()}.
+     * Add a resource to load. Must be called before {@link #start()}. Higher priority resources are loaded first (such
+     * as visible ones), resources of same priority are loaded in adding order.
      * 
      * @param key The associated key (must not be <code>null</code>).
      * @param resource The resource to load (must not be <code>null</code>).
+     * @param priority The load priority.
      * @throws LionEngineException If invalid arguments or loader has already been started.
      */
-    public synchronized void add(T key, Resource resource)
+    public synchronized void add(T key, Resource resource, int priority)
     {
         Check.notNull(key);
         Check.notNull(resource);
@@ -84,10 +135,11 @@ public final class ResourceLoader<T extends Enum<T>>
             throw new LionEngineException(ERROR_STARTED);
         }
         resources.put(key, resource);
+        entries.put(key, new Entry(resource, priority, entries.size()));
     }
 
     /**
-     * Start to load resources in a separate thread.
+     * Start to load resources in separate threads.
      * 
      * @throws LionEngineException If loader has already been started.
      */
@@ -98,13 +150,26 @@ public final class ResourceLoader<T extends Enum<T>>
             throw new LionEngineException(ERROR_STARTED);
         }
         started.set(true);
-        thread.start();
+
+        queue = entries.values().toArray(new Entry[entries.size()]);
+        Arrays.sort(queue,
+                    Comparator.comparingInt((Entry entry) -> entry.priority)
+                              .reversed()
+                              .thenComparingInt(entry -> entry.order));
+
+        final int count = Math.min(threadsMax, queue.length);
+        for (int i = 0; i < count; i++)
+        {
+            final Thread thread = new ResourceLoaderThread(i);
+            threads.add(thread);
+            thread.start();
+        }
     }
 
     /**
      * Wait for load to finish. Can be called only if {@link #start()} were performed somewhere before.
      * 
-     * @throws LionEngineException If loading skipped or loader has not been started.
+     * @throws LionEngineException If loading skipped or failed, or loader has not been started.
      */
     public synchronized void await()
     {
@@ -114,7 +179,10 @@ public final class ResourceLoader<T extends Enum<T>>
         }
         try
         {
-            thread.join();
+            for (final Thread thread : threads)
+            {
+                thread.join();
+            }
         }
         catch (final InterruptedException exception)
         {
@@ -125,6 +193,12 @@ public final class ResourceLoader<T extends Enum<T>>
         {
             done.set(true);
         }
+
+        final LionEngineException exception = failure.get();
+        if (exception != null)
+        {
+            throw exception;
+        }
     }
 
     /**
@@ -142,6 +216,50 @@ public final class ResourceLoader<T extends Enum<T>>
         return Collections.unmodifiableMap(resources);
     }
 
+    /**
+     * Get loading progress. Can be called from any thread while loading.
+     * 
+     * @return The loaded resources ratio [0-1], <code>1</code> if no resources.
+     */
+    public double getProgress()
+    {
+        final int count = entries.size();
+        if (count == 0)
+        {
+            return 1.0;
+        }
+        return loaded.get() / (double) count;
+    }
+
+    /**
+     * Get loading progress percent. Can be called from any thread while loading.
+     * 
+     * @return The percent of loaded resources, <code>100</code> if no resources.
+     */
+    public int getProgressPercent()
+    {
+        return (int) Math.floor(getProgress() * 100);
+    }
+
+    /**
+     * Get the resource load time.
+     * 
+     * @param key The associated key (must not be <code>null</code>).
+     * @return The load time in nano seconds, <code>-1</code> if not loaded.
+     * @throws LionEngineException If invalid argument or resource not found.
+     */
+    public long getLoadTimeNano(T key)
+    {
+        Check.notNull(key);
+
+        final Entry entry = entries.get(key);
+        if (entry == null)
+        {
+            throw new LionEngineException(key);
+        }
+        return entry.time;
+    }
+
     /**
      * Check if loading is finished.
      * 
@@ -153,29 +271,74 @@ public final class ResourceLoader<T extends Enum<T>>
     }
 
     /**
-     * Resource loader thread.
+     * Resource entry.
      */
-    private static final class ResourceLoaderThread extends Thread
+    private static final class Entry
     {
-        /** Handled resources. */
-        private final Map<?, Resource> resources;
+        /** Resource to load. */
+        private final Resource resource;
+        /** Load priority. */
+        private final int priority;
+        /** Adding order. */
+        private final int order;
+        /** Load time in nano seconds, <code>-1</code> if not loaded. */
+        private volatile long time = -1L;
 
         /**
-         * Create the resource loader.
+         * Create entry.
          * 
-         * @param resources The resources to load (must not be <code>null</code>).
+         * @param resource The resource to load.
+         * @param priority The load priority.
+         * @param order The adding order.
          */
-        ResourceLoaderThread(Map<?, Resource> resources)
+        Entry(Resource resource, int priority, int order)
         {
-            super(ResourceLoaderThread.class.getName());
+            super();
+
+            this.resource = resource;
+            this.priority = priority;
+            this.order = order;
+        }
+    }
 
-            this.resources = resources;
+    /**
+     * Resource loader thread, loading next resource in queue until empty.
+     */
+    private final class ResourceLoaderThread extends Thread
+    {
+        /**
+         * Create the resource loader thread.
+         * 
+         * @param index The thread index.
+         */
+        ResourceLoaderThread(int index)
+        {
+            super(ResourceLoaderThread.class.getName() + Constant.SPACE + index);
         }
 
         @Override
         public void run()
         {
-            resources.values().forEach(Resource::load);
+            int index = next.getAndIncrement();
+            while (index < queue.length)
+            {
+                final Entry entry = queue[index];
+                final long start = System.nanoTime();
+                try
+                {
+                    entry.resource.load();
+                }
+                catch (final LionEngineException exception)
+                {
+                    failure.compareAndSet(null, exception);
+                }
+                finally
+                {
+                    entry.time = System.nanoTime() - start;
+                    loaded.incrementAndGet();
+                }
+                index = next.getAndIncrement();
+            }
         }
     }
 }
@@ -0,0 +1,391 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.graphic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+
+/**
+ * Shared image buffers cache, keyed by {@link Media} and optional transform, with reference counting.
+ * <p>
+ * Each {@link #get(Media)} acquires a reference on the shared buffer, which must be released with
+ * {@link #release(ImageBuffer)} instead of {@link ImageBuffer#dispose()}. Unreferenced buffers are kept until cached
+ * bytes exceed budget, the least recently released being disposed first. Shared buffers must not be modified.
+ * </p>
+ * <p>
+ * Cache is disabled by default: {@link #get(Media)} then loads a new buffer each time, and
+ * {@link #release(ImageBuffer)} disposes it.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class ImageCache
+{
+    /** Default budget in bytes. */
+    public static final long DEFAULT_BUDGET = 64L * 1024L * 1024L;
+    /** Bytes per pixel. */
+    private static final int PIXEL_BYTES = 4;
+    /** Lock. */
+    private static final Object LOCK = new Object();
+    /** Entries by key. */
+    private static final Map<Key, Entry> ENTRIES = new HashMap<>();
+    /** Entries by buffer. */
+    private static final Map<ImageBuffer, Entry> BUFFERS = new IdentityHashMap<>();
+    /** Unreferenced entries, least recently released first. */
+    private static final Map<Key, Entry> UNUSED = new LinkedHashMap<>();
+
+    /** Enabled flag. */
+    private static boolean enabled;
+    /** Budget in bytes. */
+    private static long budget = DEFAULT_BUDGET;
+    /** Cached bytes. */
+    private static long bytes;
+    /** Hits count. */
+    private static long hits;
+    /** Misses count. */
+    private static long misses;
+
+    /**
+     * Enable or disable cache. Disabling does not release already shared buffers.
+     * 
+     * @param enabled <code>true</code> to share buffers, <code>false</code> to load a new buffer on each get.
+     */
+    public static void setEnabled(boolean enabled)
+    {
+        synchronized (LOCK)
+        {
+            ImageCache.enabled = enabled;
+        }
+    }
+
+    /**
+     * Set the budget. Unreferenced buffers are disposed while cached bytes exceed it.
+     * 
+     * @param budget The budget in bytes (must be superior or equal to 0).
+     * @throws LionEngineException If invalid argument.
+     */
+    public static void setBudget(long budget)
+    {
+        Check.superiorOrEqual(budget, 0L);
+
+        final List<ImageBuffer> evicted = new ArrayList<>();
+        synchronized (LOCK)
+        {
+            ImageCache.budget = budget;
+            evict(evicted);
+        }
+        evicted.forEach(ImageBuffer::dispose);
+    }
+
+    /**
+     * Get the shared image buffer of media, loading it if not cached.
+     * 
+     * @param media The image media (must not be <code>null</code>).
+     * @return The shared image buffer.
+     * @throws LionEngineException If an error occurred when reading the image.
+     */
+    public static ImageBuffer get(Media media)
+    {
+        Check.notNull(media);
+
+        return get(new Key(media, null), () -> Graphics.getImageBuffer(media));
+    }
+
+    /**
+     * Get the shared image buffer of media with transform applied, transforming it if not cached. Transformer receives
+     * the shared media buffer and must return a new buffer without modifying it.
+     * 
+     * @param media The image media (must not be <code>null</code>).
+     * @param transform The transform parameters, identifying transformed buffer (must not be <code>null</code>).
+     * @param transformer The transform applied on media buffer (must not be <code>null</code>).
+     * @return The shared transformed image buffer.
+     * @throws LionEngineException If an error occurred when reading the image.
+     */
+    public static ImageBuffer get(Media media, String transform, UnaryOperator<ImageBuffer> transformer)
+    {
+        Check.notNull(media);
+        Check.notNull(transform);
+        Check.notNull(transformer);
+
+        return get(new Key(media, transform), () ->
+        {
+            final ImageBuffer source = get(media);
+            try
+            {
+                return transformer.apply(source);
+            }
+            finally
+            {
+                release(source);
+            }
+        });
+    }
+
+    /**
+     * Release a reference on buffer. Buffer is disposed if not cached.
+     * 
+     * @param buffer The buffer to release (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public static void release(ImageBuffer buffer)
+    {
+        Check.notNull(buffer);
+
+        final List<ImageBuffer> evicted = new ArrayList<>();
+        synchronized (LOCK)
+        {
+            final Entry entry = BUFFERS.get(buffer);
+            if (entry == null)
+            {
+                evicted.add(buffer);
+            }
+            else
+            {
+                entry.references--;
+                if (entry.references == 0)
+                {
+                    UNUSED.put(entry.key, entry);
+                    evict(evicted);
+                }
+            }
+        }
+        evicted.forEach(ImageBuffer::dispose);
+    }
+
+    /**
+     * Dispose all unreferenced buffers and reset metrics.
+     */
+    public static void clear()
+    {
+        final List<ImageBuffer> evicted = new ArrayList<>();
+        synchronized (LOCK)
+        {
+            for (final Entry entry : UNUSED.values())
+            {
+                remove(entry, evicted);
+            }
+            UNUSED.clear();
+            hits = 0L;
+            misses = 0L;
+        }
+        evicted.forEach(ImageBuffer::dispose);
+    }
+
+    /**
+     * Get the cached bytes, referenced or not.
+     * 
+     * @return The cached bytes.
+     */
+    public static long getBytes()
+    {
+        synchronized (LOCK)
+        {
+            return bytes;
+        }
+    }
+
+    /**
+     * Get the number of get served from cache.
+     * 
+     * @return The hits count.
+     */
+    public static long getHits()
+    {
+        synchronized (LOCK)
+        {
+            return hits;
+        }
+    }
+
+    /**
+     * Get the number of get which loaded buffer.
+     * 
+     * @return The misses count.
+     */
+    public static long getMisses()
+    {
+        synchronized (LOCK)
+        {
+            return misses;
+        }
+    }
+
+    /**
+     * Get the shared buffer, loading it outside lock if not cached.
+     * 
+     * @param key The buffer key.
+     * @param loader The buffer loader.
+     * @return The shared buffer.
+     */
+    private static ImageBuffer get(Key key, Supplier<ImageBuffer> loader)
+    {
+        final boolean shared;
+        synchronized (LOCK)
+        {
+            shared = enabled;
+            if (shared)
+            {
+                final Entry entry = acquire(key);
+                if (entry != null)
+                {
+                    hits++;
+                    return entry.buffer;
+                }
+                misses++;
+            }
+        }
+
+        final ImageBuffer buffer = loader.get();
+        if (!shared)
+        {
+            return buffer;
+        }
+
+        final List<ImageBuffer> evicted = new ArrayList<>();
+        try
+        {
+            synchronized (LOCK)
+            {
+                final Entry entry = acquire(key);
+                if (entry != null)
+                {
+                    evicted.add(buffer);
+                    return entry.buffer;
+                }
+                final Entry created = new Entry(key, buffer);
+                ENTRIES.put(key, created);
+                BUFFERS.put(buffer, created);
+                bytes += created.bytes;
+                evict(evicted);
+                return buffer;
+            }
+        }
+        finally
+        {
+            evicted.forEach(ImageBuffer::dispose);
+        }
+    }
+
+    /**
+     * Acquire a reference on cached entry.
+     * 
+     * @param key The entry key.
+     * @return The acquired entry, <code>null</code> if not cached.
+     */
+    private static Entry acquire(Key key)
+    {
+        final Entry entry = ENTRIES.get(key);
+        if (entry != null)
+        {
+            if (entry.references == 0)
+            {
+                UNUSED.remove(key);
+            }
+            entry.references++;
+        }
+        return entry;
+    }
+
+    /**
+     * Remove least recently released entries until cached bytes fit budget.
+     * 
+     * @param evicted The buffers to dispose once lock released.
+     */
+    private static void evict(List<ImageBuffer> evicted)
+    {
+        final Iterator<Entry> iterator = UNUSED.values().iterator();
+        while (bytes > budget && iterator.hasNext())
+        {
+            remove(iterator.next(), evicted);
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Remove entry from cache.
+     * 
+     * @param entry The entry to remove.
+     * @param evicted The buffers to dispose once lock released.
+     */
+    private static void remove(Entry entry, List<ImageBuffer> evicted)
+    {
+        ENTRIES.remove(entry.key);
+        BUFFERS.remove(entry.buffer);
+        bytes -= entry.bytes;
+        evicted.add(entry.buffer);
+    }
+
+    /**
+     * Private constructor.
+     */
+    private ImageCache()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Cache key.
+     * 
+     * @param media The image media.
+     * @param transform The transform parameters (<code>null</code> if none).
+     */
+    private record Key(Media media, String transform)
+    {
+    }
+
+    /**
+     * Cached buffer.
+     */
+    private static final class Entry
+    {
+        /** Entry key. */
+        private final Key key;
+        /** Shared buffer. */
+        private final ImageBuffer buffer;
+        /** Buffer bytes. */
+        private final long bytes;
+        /** References count. */
+        private int references = 1;
+
+        /**
+         * Create entry with one reference.
+         * 
+         * @param key The entry key.
+         * @param buffer The shared buffer.
+         */
+        Entry(Key key, ImageBuffer buffer)
+        {
+            super();
+
+            this.key = key;
+            this.buffer = buffer;
+            bytes = (long) buffer.getWidth() * buffer.getHeight() * PIXEL_BYTES;
+        }
+    }
+}
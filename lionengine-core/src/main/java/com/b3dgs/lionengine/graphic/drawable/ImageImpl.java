@@ -23,8 +23,8 @@ import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Origin;
 import com.b3dgs.lionengine.Viewer;
 import com.b3dgs.lionengine.graphic.Graphic;
-import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.ImageCache;
 
 /**
  * Image implementation.
@@ -42,6 +42,8 @@ final class ImageImpl implements Image
     private final int height;
     /** Image surface (can be <code>null</code>). */
     private ImageBuffer surface;
+    /** Image surface loaded from media (<code>null</code> if not loaded from media or disposed). */
+    private ImageBuffer surfaceLoaded;
     /** Origin point. */
     private Origin origin = Origin.TOP_LEFT;
     /** Image horizontal position. */
@@ -132,7 +134,8 @@ final class ImageImpl implements Image
             }
             throw new LionEngineException(ERROR_ALREADY_LOADED);
         }
-        surface = Graphics.getImageBuffer(media);
+        surface = ImageCache.get(media);
+        surfaceLoaded = surface;
     }
 
     @Override
@@ -144,7 +147,12 @@ final class ImageImpl implements Image
     @Override
     public void dispose()
     {
-        if (surface != null)
+        if (surfaceLoaded != null)
+        {
+            ImageCache.release(surfaceLoaded);
+            surfaceLoaded = null;
+        }
+        else if (surface != null)
         {
             surface.dispose();
         }
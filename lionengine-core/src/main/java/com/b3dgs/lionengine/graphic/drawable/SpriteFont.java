@@ -62,6 +62,15 @@ public interface SpriteFont extends Sprite
      */
     void setText(String text);
 
+    /**
+     * Enable text pre-rendering. When enabled, text set with {@link #setText(String)} is rendered once into an image
+     * buffer, drawn by {@link #render(Graphic)} until text or any rendering parameter changes. Suited for static text
+     * with many glyphs. Rotated glyphs are clipped to their tile.
+     * 
+     * @param prerender <code>true</code> to pre-render text, <code>false</code> to render glyphs one by one (default).
+     */
+    void setPrerender(boolean prerender);
+
     /**
      * Set text alignment.
      * 
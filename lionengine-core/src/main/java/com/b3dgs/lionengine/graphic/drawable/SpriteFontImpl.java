@@ -16,10 +16,8 @@
  */
 package com.b3dgs.lionengine.graphic.drawable;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.regex.Pattern;
 
 import com.b3dgs.lionengine.Align;
 import com.b3dgs.lionengine.AttributesReader;
@@ -37,50 +35,54 @@ import com.b3dgs.lionengine.graphic.Filter;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.ImageCache;
 
 /**
  * Font sprite implementation.
+ * <p>
+ * Characters data are stored in a dense array indexed by character, and text layout (glyphs and their location) is
+ * cached until text, alignment or line height changes.
+ * </p>
  */
 final class SpriteFontImpl implements SpriteFont
 {
     /** Error already loaded. */
     static final String ERROR_ALREADY_LOADED = "Surface has already been loaded: ";
     /** New line separator character. */
-    private static final String NL_STR = Constant.EMPTY_STRING + Constant.PERCENT;
-    /** Split with new line. */
-    private static final Pattern NL = Pattern.compile(NL_STR);
-
-    /**
-     * Get character width depending of alignment.
-     * 
-     * @param text The text reference.
-     * @param align The align.
-     * @return The char width.
-     */
-    private int getCharWidth(String text, Align align)
-    {
-        final int width;
-        if (align == Align.RIGHT)
-        {
-            width = getTextWidth(text);
-        }
-        else if (align == Align.CENTER)
-        {
-            width = getTextWidth(text) / 2;
-        }
-        else
-        {
-            width = 0;
-        }
-        return width;
-    }
-
-    /** Font data. */
-    private final Map<Character, FontCharData> fontData = new TreeMap<>();
+    private static final char NL = Constant.PERCENT.charAt(0);
+
+    /** Font data, indexed by character minus {@link #first}. */
+    private FontCharData[] fontData = new FontCharData[0];
+    /** First character with data. */
+    private int first;
+    /** Layout glyphs id. */
+    private int[] layoutIds = new int[0];
+    /** Layout glyphs horizontal location. */
+    private double[] layoutX = new double[0];
+    /** Layout glyphs vertical location. */
+    private double[] layoutY = new double[0];
+    /** Layout glyphs count. */
+    private int layoutCount;
+    /** Layout text (<code>null</code> if not computed). */
+    private String layoutText;
+    /** Layout alignment. */
+    private Align layoutAlign;
+    /** Layout line height. */
+    private int layoutLineHeight;
+    /** Pre-render enabled flag. */
+    private boolean prerender;
+    /** Pre-rendered text (<code>null</code> if not rendered). */
+    private ImageBuffer prerendered;
+    /** Pre-rendered text horizontal offset. */
+    private int prerenderedX;
+    /** Pre-rendered text vertical offset. */
+    private int prerenderedY;
     /** Media reference. */
     private final Media media;
     /** Font surface. */
-    private SpriteTiled surface;
+    private SpriteTiledImpl surface;
+    /** Font surface loaded from media (<code>null</code> if not loaded from media or disposed). */
+    private ImageBuffer surfaceLoaded;
     /** Text. */
     private String text = Constant.EMPTY_STRING;
     /** Alignment. */
@@ -150,19 +152,215 @@ final class SpriteFontImpl implements SpriteFont
     {
         final AttributesReader letters = new XmlReader(mediaData);
         final Collection<? extends AttributesReader> children = letters.getChildren();
+        final char[] chars = new char[children.size()];
+        final FontCharData[] data = new FontCharData[chars.length];
+        int min = Character.MAX_VALUE;
+        int max = Character.MIN_VALUE;
         int id = 0;
 
         for (final AttributesReader node : children)
         {
             final double width = node.getDouble("width");
             final double height = node.getDouble("height");
-            final FontCharData data = new FontCharData(id, width, height);
-            final String c = node.getString("char");
-            fontData.put(Character.valueOf(c.charAt(0)), data);
+            data[id] = new FontCharData(id, width, height);
+            chars[id] = node.getString("char").charAt(0);
+            min = Math.min(min, chars[id]);
+            max = Math.max(max, chars[id]);
             id++;
         }
-
         children.clear();
+
+        if (id > 0)
+        {
+            first = min;
+            fontData = new FontCharData[max - min + 1];
+            for (int i = 0; i < id; i++)
+            {
+                fontData[chars[i] - first] = data[i];
+            }
+        }
+    }
+
+    /**
+     * Get character data.
+     * 
+     * @param c The character.
+     * @return The character data, <code>null</code> if none.
+     */
+    private FontCharData getData(char c)
+    {
+        final int index = c - first;
+        if (index < 0 || index >= fontData.length)
+        {
+            return null;
+        }
+        return fontData[index];
+    }
+
+    /**
+     * Get text width between indexes.
+     * 
+     * @param text The text reference.
+     * @param start The first character index (included).
+     * @param end The last character index (excluded).
+     * @return The text width.
+     */
+    private int getTextWidth(String text, int start, int end)
+    {
+        int lx = 0;
+        for (int i = start; i < end; i++)
+        {
+            final FontCharData d = getData(text.charAt(i));
+            if (d != null)
+            {
+                lx += d.getWidth() + 1;
+            }
+        }
+        return lx;
+    }
+
+    /**
+     * Get line offset depending of alignment.
+     * 
+     * @param text The text reference.
+     * @param start The line first character index (included).
+     * @param end The line last character index (excluded).
+     * @param align The align.
+     * @return The line offset.
+     */
+    private int getLineOffset(String text, int start, int end, Align align)
+    {
+        final int width;
+        if (align == Align.RIGHT)
+        {
+            width = getTextWidth(text, start, end);
+        }
+        else if (align == Align.CENTER)
+        {
+            width = getTextWidth(text, start, end) / 2;
+        }
+        else
+        {
+            width = 0;
+        }
+        return width;
+    }
+
+    /**
+     * Compute text layout if text, alignment or line height changed since last layout.
+     * 
+     * @param text The text reference.
+     * @param align The align.
+     */
+    private void layout(String text, Align align)
+    {
+        if (align == layoutAlign && lineHeight == layoutLineHeight && text.equals(layoutText))
+        {
+            return;
+        }
+        final int length = text.length();
+        if (layoutIds.length < length)
+        {
+            layoutIds = Arrays.copyOf(layoutIds, length);
+            layoutX = Arrays.copyOf(layoutX, length);
+            layoutY = Arrays.copyOf(layoutY, length);
+        }
+        layoutCount = 0;
+
+        double ly = 0.0;
+        int start = 0;
+        while (start <= length)
+        {
+            int end = text.indexOf(NL, start);
+            if (end < 0)
+            {
+                end = length;
+            }
+            final int width = getLineOffset(text, start, end, align);
+            double lx = 0.0;
+            for (int i = start; i < end; i++)
+            {
+                final FontCharData d = getData(text.charAt(i));
+                if (d != null)
+                {
+                    layoutIds[layoutCount] = d.getId();
+                    layoutX[layoutCount] = lx - width;
+                    layoutY[layoutCount] = ly + d.getHeight();
+                    layoutCount++;
+                    lx += d.getWidth() + 1;
+                }
+            }
+            ly += lineHeight;
+            start = end + 1;
+        }
+
+        layoutText = text;
+        layoutAlign = align;
+        layoutLineHeight = lineHeight;
+    }
+
+    /**
+     * Render current layout.
+     * 
+     * @param g The graphic output.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     */
+    private void renderLayout(Graphic g, int x, int y)
+    {
+        for (int i = 0; i < layoutCount; i++)
+        {
+            surface.setLocation(x + layoutX[i], y + layoutY[i]);
+            surface.setTile(layoutIds[i]);
+            surface.render(g);
+        }
+    }
+
+    /**
+     * Render current text into buffer, bounded to its glyphs.
+     */
+    private void prerender()
+    {
+        layout(text, align);
+        if (layoutCount == 0)
+        {
+            return;
+        }
+
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < layoutCount; i++)
+        {
+            surface.setLocation(layoutX[i], layoutY[i]);
+            minX = Math.min(minX, surface.getRenderX());
+            minY = Math.min(minY, surface.getRenderY());
+            maxX = Math.max(maxX, surface.getRenderX());
+            maxY = Math.max(maxY, surface.getRenderY());
+        }
+
+        prerendered = Graphics.createImageBufferAlpha(maxX - minX + surface.getTileWidth(),
+                                                      maxY - minY + surface.getTileHeight());
+        final Graphic g = prerendered.createGraphic();
+        renderLayout(g, -minX, -minY);
+        g.dispose();
+        prerendered.prepare();
+
+        prerenderedX = minX;
+        prerenderedY = minY;
+    }
+
+    /**
+     * Dispose pre-rendered text, in order to render it again on next render.
+     */
+    private void invalidate()
+    {
+        if (prerendered != null)
+        {
+            prerendered.dispose();
+            prerendered = null;
+        }
     }
 
     @Override
@@ -176,7 +374,8 @@ final class SpriteFontImpl implements SpriteFont
             }
             throw new LionEngineException(ERROR_ALREADY_LOADED);
         }
-        surface = new SpriteTiledImpl(Graphics.getImageBuffer(media), tw, lineHeight);
+        surfaceLoaded = ImageCache.get(media);
+        surface = new SpriteTiledImpl(surfaceLoaded, tw, lineHeight);
     }
 
     @Override
@@ -188,79 +387,99 @@ final class SpriteFontImpl implements SpriteFont
     @Override
     public void dispose()
     {
-        surface.dispose();
+        invalidate();
+        if (media == null)
+        {
+            surface.dispose();
+        }
+        else if (surfaceLoaded != null)
+        {
+            if (surface.getSurface() != surfaceLoaded)
+            {
+                surface.dispose();
+            }
+            ImageCache.release(surfaceLoaded);
+            surfaceLoaded = null;
+        }
     }
 
     @Override
     public void stretch(double percentWidth, double percentHeight)
     {
         surface.stretch(percentWidth, percentHeight);
+        invalidate();
     }
 
     @Override
     public void rotate(int angle)
     {
         surface.rotate(angle);
+        invalidate();
     }
 
     @Override
     public void filter(Filter filter)
     {
         surface.filter(filter);
+        invalidate();
     }
 
     @Override
     public void render(Graphic g)
     {
-        draw(g, (int) x, (int) y, align, text);
+        if (prerender)
+        {
+            if (prerendered == null)
+            {
+                prerender();
+            }
+            if (prerendered != null)
+            {
+                g.drawImage(prerendered, (int) x + prerenderedX, (int) y + prerenderedY);
+            }
+        }
+        else
+        {
+            draw(g, (int) x, (int) y, align, text);
+        }
     }
 
     @Override
     public void draw(Graphic g, int x, int y, Align align, String text)
     {
-        double lx = 0.0;
-        double ly = 0.0;
+        layout(text, align);
+        renderLayout(g, x, y);
+    }
 
-        final String[] split = NL.split(text);
-        for (int i = 0; i < split.length; i++)
+    @Override
+    public void setText(String text)
+    {
+        if (!this.text.equals(text))
         {
-            final String word = split[i];
-            final int width = getCharWidth(word, align);
-            final int length = word.length();
-
-            for (int j = 0; j < length; j++)
-            {
-                final FontCharData d = fontData.get(Character.valueOf(word.charAt(j)));
-                if (d != null)
-                {
-                    surface.setLocation(x + lx - width, y + ly + d.getHeight());
-                    surface.setTile(d.getId());
-                    surface.render(g);
-                    lx += d.getWidth() + 1;
-                }
-            }
-
-            lx = 0;
-            ly += lineHeight;
+            this.text = text;
+            invalidate();
         }
     }
 
     @Override
-    public void setText(String text)
+    public void setPrerender(boolean prerender)
     {
-        this.text = text;
+        this.prerender = prerender;
+        invalidate();
     }
 
     @Override
     public void setOrigin(Origin origin)
     {
         surface.setOrigin(origin);
+        invalidate();
     }
 
     @Override
     public void setFrameOffsets(int offsetX, int offsetY)
     {
         surface.setFrameOffsets(offsetX, offsetY);
+        invalidate();
     }
 
     @Override
@@ -280,54 +499,54 @@ final class SpriteFontImpl implements SpriteFont
     public void setTransparency(ColorRgba mask)
     {
         surface.setTransparency(mask);
+        invalidate();
     }
 
     @Override
     public void setAlpha(int alpha)
     {
         surface.setAlpha(alpha);
+        invalidate();
     }
 
     @Override
     public void setAngleAnchor(int angleX, int angleY)
     {
         surface.setAngleAnchor(angleX, angleY);
+        invalidate();
     }
 
     @Override
     public void setMirror(Mirror mirror)
     {
         surface.setMirror(mirror);
+        invalidate();
     }
 
     @Override
     public void setAlign(Align align)
     {
-        this.align = align;
+        if (this.align != align)
+        {
+            this.align = align;
+            invalidate();
+        }
     }
 
     @Override
     public void setLineHeight(int height)
     {
-        lineHeight = height;
+        if (lineHeight != height)
+        {
+            lineHeight = height;
+            invalidate();
+        }
     }
 
     @Override
     public int getTextWidth(String text)
     {
-        final int length = text.length();
-        int lx = 0;
-
-        for (int i = 0; i < length; i++)
-        {
-            final FontCharData d = fontData.get(Character.valueOf(text.charAt(i)));
-            if (d != null)
-            {
-                lx += d.getWidth() + 1;
-            }
-        }
-
-        return lx;
+        return getTextWidth(text, 0, text.length());
     }
 
     @Override
@@ -339,7 +558,7 @@ final class SpriteFontImpl implements SpriteFont
         // Search next line
         for (int i = 0; i < length; i++)
         {
-            if (Constant.PERCENT.equals(String.valueOf(text.charAt(i))))
+            if (text.charAt(i) == NL)
             {
                 line++;
             }
@@ -29,6 +29,7 @@ import com.b3dgs.lionengine.graphic.Filter;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.ImageCache;
 
 /**
  * Sprite implementation.
@@ -42,6 +43,8 @@ class SpriteImpl implements Sprite
     private final Media media;
     /** Sprite current surface (<code>null</code> if not loaded from existing media). */
     private ImageBuffer surface;
+    /** Sprite surface loaded from media (<code>null</code> if not loaded from media or disposed). */
+    private ImageBuffer surfaceLoaded;
     /** Sprite current surface stretched (<code>null</code> if not loaded from existing media). */
     private ImageBuffer surfaceStretched;
     /** Sprite original surface (<code>null</code> if surface unmodified). */
@@ -239,7 +242,8 @@ class SpriteImpl implements Sprite
             }
             throw new LionEngineException(ERROR_ALREADY_LOADED);
         }
-        surface = Graphics.getImageBuffer(media);
+        surface = ImageCache.get(media);
+        surfaceLoaded = surface;
     }
 
     @Override
@@ -251,10 +255,15 @@ class SpriteImpl implements Sprite
     @Override
     public void dispose()
     {
-        if (surface != null)
+        if (surface != null && surface != surfaceLoaded)
         {
             surface.dispose();
         }
+        if (surfaceLoaded != null)
+        {
+            ImageCache.release(surfaceLoaded);
+            surfaceLoaded = null;
+        }
     }
 
     @Override
@@ -22,6 +22,7 @@ import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.ImageCache;
 
 /**
  * Parallaxed sprite implementation.
@@ -79,18 +80,25 @@ final class SpriteParallaxedImpl implements SpriteParallaxed
     @Override
     public void load(boolean alpha)
     {
-        ImageBuffer surface = Graphics.getImageBuffer(media);
-
+        final ImageBuffer surface;
         if (0 != Double.compare(factorH, 1.0) || 0 != Double.compare(factorV, 1.0))
         {
-            final int x = (int) (surface.getWidth() * factorH);
-            final int y = (int) (surface.getHeight() * factorV);
-            surface = Graphics.resize(surface, x, y);
+            surface = ImageCache.get(media, "resize:" + factorH + "x" + factorV, buffer ->
+            {
+                final int x = (int) (buffer.getWidth() * factorH);
+                final int y = (int) (buffer.getHeight() * factorV);
+                return Graphics.resize(buffer, x, y);
+            });
+        }
+        else
+        {
+            surface = ImageCache.get(media);
         }
 
         lineWidth = (int) Math.floor(surface.getWidth() * sx / 100.0);
         lineHeight = (int) Math.floor(surface.getHeight() / (double) linesNumber * sy / 100.0);
         lines = Graphics.splitImage(surface, 1, linesNumber);
+        ImageCache.release(surface);
 
         final double factH = sx / 100.0 / AMPLITUDE_FACTOR;
 
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.graphic.raster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.Transparency;
+
+/**
+ * Generated rasters cache, stored in a single compressed file.
+ * <p>
+ * File contains a header (magic, version, source and palette checksum, rasters size and count), followed by rasters
+ * pixels. Cache is valid only if header matches current version, source and palette.
+ * </p>
+ */
+final class RasterCache
+{
+    /** Cache file extension. */
+    static final String EXTENSION = "rasters";
+    /** Cache reading error. */
+    static final String ERROR_READ = "Unable to read rasters cache: ";
+    /** Cache writing error. */
+    static final String ERROR_WRITE = "Unable to write rasters cache: ";
+    /** File magic. */
+    private static final int MAGIC = 0x4C524153;
+    /** File version. */
+    private static final int VERSION = 1;
+    /** Copy buffer size. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Get the source checksum.
+     * 
+     * @param source The source image.
+     * @return The source pixels checksum.
+     */
+    static long getChecksum(ImageBuffer source)
+    {
+        final int width = source.getWidth();
+        final int height = source.getHeight();
+        final int[] pixels = source.getRgb(0, 0, width, height, new int[width * height], 0, width);
+
+        final CRC32 crc = new CRC32();
+        for (final int pixel : pixels)
+        {
+            crc.update(pixel >>> 24);
+            crc.update(pixel >>> 16);
+            crc.update(pixel >>> 8);
+            crc.update(pixel);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Get the palette checksum.
+     * 
+     * @param palette The palette media.
+     * @return The palette file checksum.
+     * @throws LionEngineException If unable to read palette.
+     */
+    static long getChecksum(Media palette)
+    {
+        final CRC32 crc = new CRC32();
+        try (InputStream input = palette.getInputStream())
+        {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read = input.read(buffer);
+            while (read > -1)
+            {
+                crc.update(buffer, 0, read);
+                read = input.read(buffer);
+            }
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, palette);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Load rasters from cache.
+     * 
+     * @param media The cache media.
+     * @param source The source image.
+     * @param sourceChecksum The source checksum.
+     * @param paletteChecksum The palette checksum.
+     * @return The cached rasters, <code>null</code> if no cache or not valid.
+     * @throws LionEngineException If unable to read cache.
+     */
+    static ImageBuffer[] load(Media media, ImageBuffer source, long sourceChecksum, long paletteChecksum)
+    {
+        if (!media.exists())
+        {
+            return null;
+        }
+        try (InputStream stream = new GZIPInputStream(media.getInputStream());
+             DataInputStream input = new DataInputStream(new BufferedInputStream(stream)))
+        {
+            final int width = source.getWidth();
+            final int height = source.getHeight();
+            if (input.readInt() != MAGIC
+                || input.readInt() != VERSION
+                || input.readLong() != sourceChecksum
+                || input.readLong() != paletteChecksum
+                || input.readInt() != width
+                || input.readInt() != height)
+            {
+                return null;
+            }
+
+            final ImageBuffer[] rasters = new ImageBuffer[input.readInt()];
+            final int[] pixels = new int[width * height];
+            for (int i = 0; i < rasters.length; i++)
+            {
+                for (int p = 0; p < pixels.length; p++)
+                {
+                    pixels[p] = input.readInt();
+                }
+                rasters[i] = create(source, pixels);
+            }
+            return rasters;
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, media, ERROR_READ);
+        }
+    }
+
+    /**
+     * Save rasters to cache.
+     * 
+     * @param media The cache media.
+     * @param rasters The rasters to save.
+     * @param count The number of rasters to save.
+     * @param sourceChecksum The source checksum.
+     * @param paletteChecksum The palette checksum.
+     * @throws LionEngineException If unable to write cache.
+     */
+    static void save(Media media, ImageBuffer[] rasters, int count, long sourceChecksum, long paletteChecksum)
+    {
+        try (OutputStream stream = new GZIPOutputStream(media.getOutputStream());
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream)))
+        {
+            final int width = rasters[0].getWidth();
+            final int height = rasters[0].getHeight();
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(sourceChecksum);
+            output.writeLong(paletteChecksum);
+            output.writeInt(width);
+            output.writeInt(height);
+            output.writeInt(count);
+
+            final int[] pixels = new int[width * height];
+            for (int i = 0; i < count; i++)
+            {
+                rasters[i].getRgb(0, 0, width, height, pixels, 0, width);
+                for (final int pixel : pixels)
+                {
+                    output.writeInt(pixel);
+                }
+            }
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, media, ERROR_WRITE);
+        }
+    }
+
+    /**
+     * Create raster image.
+     * 
+     * @param source The source image.
+     * @param pixels The raster pixels.
+     * @return The created raster.
+     */
+    private static ImageBuffer create(ImageBuffer source, int[] pixels)
+    {
+        final int width = source.getWidth();
+        final int height = source.getHeight();
+        final ImageBuffer raster;
+        if (Transparency.OPAQUE == source.getTransparency())
+        {
+            raster = Graphics.createImageBuffer(width, height);
+        }
+        else
+        {
+            raster = Graphics.createImageBufferAlpha(width, height);
+        }
+        raster.setRgb(0, 0, width, height, pixels, 0, width);
+        return raster;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private RasterCache()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
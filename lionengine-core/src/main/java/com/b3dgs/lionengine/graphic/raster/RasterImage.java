@@ -159,7 +159,8 @@ public class RasterImage
     }
 
     /**
-     * Load raster from palette image.
+     * Load raster from palette image. Rasters are read from folder if it exists, else from cache file if valid for
+     * current surface and palette, else generated.
      * 
      * @param save <code>true</code> to save generated (if) rasters, <code>false</code> else.
      * @param suffix The folder suffix, if save is <code>true</code> (must not be <code>null</code>).
@@ -168,6 +169,73 @@ public class RasterImage
     private void loadFromPalette(boolean save, String suffix, Collection<Integer> allowed)
     {
         final String folder = UtilFile.removeExtension(rasterFile.getName()) + Constant.UNDERSCORE + suffix;
+        if (Medias.create(rasterFile.getParentPath(), folder).getMedias().isEmpty())
+        {
+            loadFromCache(save, folder, allowed);
+        }
+        else
+        {
+            loadFromFolder(save, folder, allowed);
+        }
+    }
+
+    /**
+     * Load rasters from cache file, or generate them all and save cache file.
+     * 
+     * @param save <code>true</code> to save generated (if) rasters, <code>false</code> else.
+     * @param folder The rasters folder name, used as cache file name.
+     * @param allowed The ignored raster indexes.
+     */
+    private void loadFromCache(boolean save, String folder, Collection<Integer> allowed)
+    {
+        final Media cache = Medias.create(rasterFile.getParentPath(), folder + Constant.DOT + RasterCache.EXTENSION);
+        final long sourceChecksum = RasterCache.getChecksum(surface);
+        final long paletteChecksum = RasterCache.getChecksum(rasterFile);
+
+        ImageBuffer[] rastersBuffer = RasterCache.load(cache, surface, sourceChecksum, paletteChecksum);
+        final int rastersNumber;
+        if (rastersBuffer == null)
+        {
+            surface.prepare();
+            final ImageBuffer rasterPalette = Graphics.getImageBuffer(rasterFile);
+            rastersBuffer = Graphics.getRasterBuffer(surface, rasterPalette);
+            rastersNumber = rasterPalette.getHeight() - 1;
+            if (save)
+            {
+                RasterCache.save(cache, rastersBuffer, rastersNumber, sourceChecksum, paletteChecksum);
+            }
+        }
+        else
+        {
+            rastersNumber = rastersBuffer.length;
+            for (final ImageBuffer rasterBuffer : rastersBuffer)
+            {
+                rasterBuffer.prepare();
+            }
+        }
+
+        for (int i = 0; i < rastersNumber; i++)
+        {
+            if (allowed == null || allowed.isEmpty() || allowed.contains(Integer.valueOf(i)))
+            {
+                rasters.add(rastersBuffer[i]);
+            }
+            else
+            {
+                rasters.add(surface);
+            }
+        }
+    }
+
+    /**
+     * Load rasters from folder, generating missing ones.
+     * 
+     * @param save <code>true</code> to save generated (if) rasters, <code>false</code> else.
+     * @param folder The rasters folder name.
+     * @param allowed The ignored raster indexes.
+     */
+    private void loadFromFolder(boolean save, String folder, Collection<Integer> allowed)
+    {
         int rastersNumber = getRasterNumber(folder);
         ImageBuffer rasterPalette = null;
         ImageBuffer[] rastersBuffer = null;
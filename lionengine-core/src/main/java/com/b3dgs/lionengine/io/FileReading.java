@@ -136,6 +136,17 @@ public final class FileReading implements Closeable
         return in.readDouble();
     }
 
+    /**
+     * Read bytes until array is full.
+     * 
+     * @param bytes The array to fill.
+     * @throws IOException If read failed.
+     */
+    public void readBytes(byte[] bytes) throws IOException
+    {
+        in.readFully(bytes);
+    }
+
     /**
      * Read a sequence of characters (2 bytes and more).
      * 
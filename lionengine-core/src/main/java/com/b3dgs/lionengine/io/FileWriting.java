@@ -136,6 +136,17 @@ public final class FileWriting implements Closeable
         out.writeDouble(d);
     }
 
+    /**
+     * Write all bytes of array.
+     * 
+     * @param bytes The bytes to write.
+     * @throws IOException If write failed.
+     */
+    public void writeBytes(byte[] bytes) throws IOException
+    {
+        out.write(bytes);
+    }
+
     /**
      * Write a sequence of characters (2 bytes and more).
      * 
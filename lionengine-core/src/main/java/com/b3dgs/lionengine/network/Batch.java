@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilConversion;
+
+/**
+ * Messages accumulator for one destination, flushed as datagrams packing several messages up to a maximum size.
+ * <p>
+ * A batch datagram starts with {@link #START_BATCH}, followed by messages, each prefixed by its size on two bytes.
+ * A message not fitting in a single datagram is split in fragment datagrams, starting with {@link #START_FRAGMENT},
+ * the fragment id, index and count on two bytes each, followed by the message part. Datagrams are read with
+ * {@link BatchReader}.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class Batch
+{
+    /** Batch datagram first byte. */
+    public static final int START_BATCH = 0x97;
+    /** Fragment datagram first byte. */
+    public static final int START_FRAGMENT = 0x98;
+    /** Batch header bytes number. */
+    public static final int HEADER_BATCH = 1;
+    /** Fragment header bytes number. */
+    public static final int HEADER_FRAGMENT = 1 + Short.BYTES * 3;
+    /** Message size bytes number. */
+    public static final int HEADER_MESSAGE = Short.BYTES;
+    /** Minimum datagram size. */
+    public static final int MTU_MIN = 64;
+    /** Maximum datagram size, fitting an ethernet frame without IP fragmentation. */
+    public static final int MTU_MAX = 1472;
+    /** Default datagram size, safe on most networks. */
+    public static final int MTU_DEFAULT = 1200;
+    /** Maximum message size. */
+    public static final int MESSAGE_MAX = 0xFFFF;
+
+    private static final int UNSIGNED_SHORT = 0xFFFF;
+
+    private final int mtu;
+    private final ByteBuffer datagram;
+    private ByteBuffer pending = ByteBuffer.allocate(MTU_MAX);
+    private int fragmentId;
+
+    /**
+     * Create batch.
+     * 
+     * @param mtu The maximum datagram size (must be between {@link #MTU_MIN} and {@link #MTU_MAX} included).
+     * @throws LionEngineException If invalid argument.
+     */
+    public Batch(int mtu)
+    {
+        super();
+
+        Check.superiorOrEqual(mtu, MTU_MIN);
+        Check.inferiorOrEqual(mtu, MTU_MAX);
+
+        this.mtu = mtu;
+        datagram = ByteBuffer.allocate(mtu);
+    }
+
+    /**
+     * Add message, sent on next {@link #flush(Sender)}.
+     * 
+     * @param message The message content, from 0 to its capacity (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized void add(ByteBuffer message)
+    {
+        append(message);
+    }
+
+    /**
+     * Add message for a client, sent on next {@link #flush(Sender)}. Client id of added message is replaced.
+     * 
+     * @param message The message content, from 0 to its capacity (must not be <code>null</code>).
+     * @param clientId The destination client id (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized void add(ByteBuffer message, Integer clientId)
+    {
+        Check.notNull(clientId);
+
+        final int start = append(message);
+        pending.put(start + UtilNetwork.INDEX_CLIENT_ID, UtilConversion.fromUnsignedByte(clientId.intValue()));
+    }
+
+    /**
+     * Add forwarded message for a client, sent on next {@link #flush(Sender)}. Client id and client source id of added
+     * message are replaced.
+     * 
+     * @param message The message content, from 0 to its capacity (must not be <code>null</code>).
+     * @param clientId The destination client id (must not be <code>null</code>).
+     * @param clientSourceId The source client id (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized void add(ByteBuffer message, Integer clientId, Integer clientSourceId)
+    {
+        Check.notNull(clientId);
+        Check.notNull(clientSourceId);
+
+        final int start = append(message);
+        pending.put(start + UtilNetwork.INDEX_CLIENT_ID, UtilConversion.fromUnsignedByte(clientId.intValue()));
+        pending.put(start + UtilNetwork.INDEX_CLIENT_SRC_ID,
+                    UtilConversion.fromUnsignedByte(clientSourceId.intValue()));
+    }
+
+    /**
+     * Send pending messages and clear them. Messages are sent in adding order.
+     * 
+     * @param sender The datagram sender (must not be <code>null</code>).
+     * @throws IOException If error when sending, pending messages are lost.
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized void flush(Sender sender) throws IOException
+    {
+        Check.notNull(sender);
+
+        final int end = pending.position();
+        try
+        {
+            datagram.clear();
+            int index = 0;
+            while (index < end)
+            {
+                final int size = pending.getShort(index) & UNSIGNED_SHORT;
+                if (HEADER_BATCH + HEADER_MESSAGE + size > mtu)
+                {
+                    send(sender);
+                    sendFragments(sender, index + HEADER_MESSAGE, size);
+                }
+                else
+                {
+                    if (datagram.position() + HEADER_MESSAGE + size > mtu)
+                    {
+                        send(sender);
+                    }
+                    if (datagram.position() == 0)
+                    {
+                        datagram.put(UtilConversion.fromUnsignedByte(START_BATCH));
+                    }
+                    datagram.put(pending.array(), index, HEADER_MESSAGE + size);
+                }
+                index += HEADER_MESSAGE + size;
+            }
+            send(sender);
+        }
+        finally
+        {
+            pending.clear();
+        }
+    }
+
+    /**
+     * Clear pending messages without sending them.
+     */
+    public synchronized void clear()
+    {
+        pending.clear();
+    }
+
+    /**
+     * Check if there are pending messages.
+     * 
+     * @return <code>true</code> if nothing to flush, <code>false</code> else.
+     */
+    public synchronized boolean isEmpty()
+    {
+        return pending.position() == 0;
+    }
+
+    /**
+     * Append message with its size to pending messages.
+     * 
+     * @param message The message content.
+     * @return The message start index in pending messages.
+     * @throws LionEngineException If invalid argument.
+     */
+    private int append(ByteBuffer message)
+    {
+        Check.notNull(message);
+
+        final int size = message.capacity();
+        Check.inferiorOrEqual(size, MESSAGE_MAX);
+
+        final int required = pending.position() + HEADER_MESSAGE + size;
+        if (required > pending.capacity())
+        {
+            final ByteBuffer grown = ByteBuffer.allocate(Math.max(required, pending.capacity() * 2));
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+        pending.putShort((short) size);
+        final int start = pending.position();
+        pending.put(start, message, 0, size);
+        pending.position(start + size);
+
+        return start;
+    }
+
+    /**
+     * Send message split in fragment datagrams.
+     * 
+     * @param sender The datagram sender.
+     * @param start The message start index in pending messages.
+     * @param size The message size.
+     * @throws IOException If error when sending.
+     */
+    private void sendFragments(Sender sender, int start, int size) throws IOException
+    {
+        final int part = mtu - HEADER_FRAGMENT;
+        final int count = (size + part - 1) / part;
+        final short id = (short) fragmentId;
+        fragmentId = (fragmentId + 1) & UNSIGNED_SHORT;
+
+        for (int i = 0; i < count; i++)
+        {
+            final int offset = i * part;
+            datagram.put(UtilConversion.fromUnsignedByte(START_FRAGMENT));
+            datagram.putShort(id);
+            datagram.putShort((short) i);
+            datagram.putShort((short) count);
+            datagram.put(pending.array(), start + offset, Math.min(part, size - offset));
+            send(sender);
+        }
+    }
+
+    /**
+     * Send current datagram if not empty, and clear it.
+     * 
+     * @param sender The datagram sender.
+     * @throws IOException If error when sending.
+     */
+    private void send(Sender sender) throws IOException
+    {
+        if (datagram.position() > 0)
+        {
+            datagram.flip();
+            try
+            {
+                sender.send(datagram);
+            }
+            finally
+            {
+                datagram.clear();
+            }
+        }
+    }
+
+    /**
+     * Datagram sender.
+     */
+    @FunctionalInterface
+    public interface Sender
+    {
+        /**
+         * Send datagram. Buffer is reused once returned.
+         * 
+         * @param datagram The datagram, from 0 to its limit.
+         * @throws IOException If error when sending.
+         */
+        void send(ByteBuffer datagram) throws IOException;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilConversion;
+
+/**
+ * Received datagrams reader for one source, unpacking single message, {@link Batch} and fragment datagrams.
+ * <p>
+ * Fragments of a message are expected in order, a missing or reordered fragment drops the message.
+ * </p>
+ */
+public final class BatchReader
+{
+    private static final int UNSIGNED_SHORT = 0xFFFF;
+
+    /**
+     * Read batch datagram.
+     * 
+     * @param datagram The received datagram.
+     * @param handler The message handler.
+     * @throws IOException If invalid datagram or handler error.
+     */
+    private static void readBatch(ByteBuffer datagram, Handler handler) throws IOException
+    {
+        final int limit = datagram.limit();
+        int index = Batch.HEADER_BATCH;
+        while (index < limit)
+        {
+            if (index + Batch.HEADER_MESSAGE > limit)
+            {
+                throw new IOException("Invalid batch: " + index + "/" + limit);
+            }
+            final int size = datagram.getShort(index) & UNSIGNED_SHORT;
+            index += Batch.HEADER_MESSAGE;
+            if (index + size > limit)
+            {
+                throw new IOException("Invalid batch message: " + size + " > " + (limit - index));
+            }
+
+            final ByteBuffer message = ByteBuffer.allocate(size);
+            message.put(0, datagram, index, size);
+            index += size;
+
+            handler.handle(message);
+        }
+    }
+
+    private ByteBuffer fragments = ByteBuffer.allocate(Batch.MTU_MAX);
+    private int fragmentId = -1;
+    private int fragmentNext;
+
+    /**
+     * Create reader.
+     */
+    public BatchReader()
+    {
+        super();
+    }
+
+    /**
+     * Read datagram and handle each contained message, in sending order. Handled messages content is a copy, from 0 to
+     * its capacity.
+     * 
+     * @param datagram The received datagram, from 0 to its limit (must not be <code>null</code>).
+     * @param handler The message handler (must not be <code>null</code>).
+     * @throws IOException If invalid datagram or handler error.
+     * @throws LionEngineException If invalid argument.
+     */
+    public void read(ByteBuffer datagram, Handler handler) throws IOException
+    {
+        Check.notNull(datagram);
+        Check.notNull(handler);
+
+        final int start = UtilConversion.toUnsignedByte(datagram.get(UtilNetwork.HEADER_INDEX_START));
+        if (start == UtilNetwork.HEADER_START_VALUE)
+        {
+            handler.handle(UtilNetwork.getBuffer(datagram));
+        }
+        else if (start == Batch.START_BATCH)
+        {
+            readBatch(datagram, handler);
+        }
+        else if (start == Batch.START_FRAGMENT)
+        {
+            readFragment(datagram, handler);
+        }
+        else
+        {
+            throw new IOException("Invalid message: " + start);
+        }
+    }
+
+    /**
+     * Read fragment datagram, and handle message once complete.
+     * 
+     * @param datagram The received datagram.
+     * @param handler The message handler.
+     * @throws IOException If invalid datagram or handler error.
+     */
+    private void readFragment(ByteBuffer datagram, Handler handler) throws IOException
+    {
+        final int limit = datagram.limit();
+        if (limit <= Batch.HEADER_FRAGMENT)
+        {
+            throw new IOException("Invalid fragment: " + limit);
+        }
+        final int id = datagram.getShort(1) & UNSIGNED_SHORT;
+        final int index = datagram.getShort(1 + Short.BYTES) & UNSIGNED_SHORT;
+        final int count = datagram.getShort(1 + Short.BYTES * 2) & UNSIGNED_SHORT;
+
+        if (index == 0)
+        {
+            fragments.clear();
+            fragmentId = id;
+            fragmentNext = 0;
+        }
+        else if (id != fragmentId || index != fragmentNext)
+        {
+            fragmentId = -1;
+            return;
+        }
+
+        final int size = limit - Batch.HEADER_FRAGMENT;
+        if (fragments.remaining() < size)
+        {
+            final ByteBuffer grown = ByteBuffer.allocate(Math.max(fragments.position() + size,
+                                                                  fragments.capacity() * 2));
+            fragments.flip();
+            grown.put(fragments);
+            fragments = grown;
+        }
+        fragments.put(fragments.position(), datagram, Batch.HEADER_FRAGMENT, size);
+        fragments.position(fragments.position() + size);
+        fragmentNext++;
+
+        if (fragmentNext == count)
+        {
+            fragmentId = -1;
+
+            final ByteBuffer message = ByteBuffer.allocate(fragments.position());
+            message.put(0, fragments, 0, message.capacity());
+
+            handler.handle(message);
+        }
+    }
+
+    /**
+     * Received message handler.
+     */
+    @FunctionalInterface
+    public interface Handler
+    {
+        /**
+         * Handle received message.
+         * 
+         * @param message The message content, from 0 to its capacity.
+         * @throws IOException If invalid message.
+         */
+        void handle(ByteBuffer message) throws IOException;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Bits reader, reading values written by {@link BitWriter}.
+ */
+public final class BitReader
+{
+    private static final int BYTE_BITS = Byte.SIZE;
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int limit;
+    private int bits;
+
+    /**
+     * Create reader.
+     * 
+     * @param buffer The buffer to read, until its capacity (must not be <code>null</code>).
+     * @param offset The first byte index to read (must be positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public BitReader(ByteBuffer buffer, int offset)
+    {
+        super();
+
+        Check.notNull(buffer);
+        Check.superiorOrEqual(offset, 0);
+
+        this.buffer = buffer;
+        this.offset = offset;
+        limit = (buffer.capacity() - offset) * BYTE_BITS;
+    }
+
+    /**
+     * Read value on a fixed number of bits.
+     * 
+     * @param count The bits number (between 0 and 32 included).
+     * @return The value read.
+     * @throws IOException If not enough bits.
+     */
+    public int read(int count) throws IOException
+    {
+        if (count < 0 || count > Integer.SIZE || bits + count > limit)
+        {
+            throw new IOException("Unable to read " + count + " bits at " + bits + "/" + limit);
+        }
+        int value = 0;
+        for (int i = 0; i < count; i++)
+        {
+            final int current = buffer.get(offset + bits / BYTE_BITS) >> BYTE_BITS - 1 - bits % BYTE_BITS & 1;
+            value = value << 1 | current;
+            bits++;
+        }
+        return value;
+    }
+
+    /**
+     * Read boolean on one bit.
+     * 
+     * @return The value read.
+     * @throws IOException If not enough bits.
+     */
+    public boolean readBool() throws IOException
+    {
+        return read(1) == 1;
+    }
+
+    /**
+     * Read unsigned value written with {@link BitWriter#writeUnsigned(int)}.
+     * 
+     * @return The value read.
+     * @throws IOException If not enough bits.
+     */
+    public int readUnsigned() throws IOException
+    {
+        return read(read(BitWriter.LENGTH_BITS));
+    }
+
+    /**
+     * Read signed value written with {@link BitWriter#writeSigned(int)}.
+     * 
+     * @return The value read.
+     * @throws IOException If not enough bits.
+     */
+    public int readSigned() throws IOException
+    {
+        final int value = readUnsigned();
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Get the read bits number.
+     * 
+     * @return The read bits number.
+     */
+    public int getBits()
+    {
+        return bits;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Bits writer, packing values on their minimum number of bits, most significant bit first. Read with
+ * {@link BitReader}.
+ */
+public final class BitWriter
+{
+    /** Bits used to store a value bits number. */
+    static final int LENGTH_BITS = 6;
+
+    private static final int BYTE_BITS = Byte.SIZE;
+    private static final int INITIAL_SIZE = 64;
+
+    private byte[] data = new byte[INITIAL_SIZE];
+    private int bits;
+
+    /**
+     * Create writer.
+     */
+    public BitWriter()
+    {
+        super();
+    }
+
+    /**
+     * Write value on a fixed number of bits.
+     * 
+     * @param value The value to write, only its lower bits are written.
+     * @param count The bits number (must be between 0 and 32 included).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void write(int value, int count)
+    {
+        Check.superiorOrEqual(count, 0);
+        Check.inferiorOrEqual(count, Integer.SIZE);
+
+        ensure(bits + count);
+        for (int i = count - 1; i >= 0; i--)
+        {
+            if ((value >>> i & 1) == 1)
+            {
+                data[bits / BYTE_BITS] |= (byte) (1 << BYTE_BITS - 1 - bits % BYTE_BITS);
+            }
+            bits++;
+        }
+    }
+
+    /**
+     * Write boolean on one bit.
+     * 
+     * @param value The value to write.
+     */
+    public void writeBool(boolean value)
+    {
+        write(value ? 1 : 0, 1);
+    }
+
+    /**
+     * Write unsigned value on its significant bits, prefixed by their number.
+     * 
+     * @param value The value to write, considered as unsigned.
+     */
+    public void writeUnsigned(int value)
+    {
+        final int count = Integer.SIZE - Integer.numberOfLeadingZeros(value);
+        write(count, LENGTH_BITS);
+        write(value, count);
+    }
+
+    /**
+     * Write signed value on its significant bits, prefixed by their number. Small absolute values use less bits.
+     * 
+     * @param value The value to write.
+     */
+    public void writeSigned(int value)
+    {
+        writeUnsigned(value << 1 ^ value >> Integer.SIZE - 1);
+    }
+
+    /**
+     * Get the written bits number.
+     * 
+     * @return The written bits number.
+     */
+    public int getBits()
+    {
+        return bits;
+    }
+
+    /**
+     * Discard bits written after position.
+     * 
+     * @param position The bits number to keep (must be between 0 and {@link #getBits()} included).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void truncate(int position)
+    {
+        Check.superiorOrEqual(position, 0);
+        Check.inferiorOrEqual(position, bits);
+
+        final int from = (position + BYTE_BITS - 1) / BYTE_BITS;
+        Arrays.fill(data, from, (bits + BYTE_BITS - 1) / BYTE_BITS, (byte) 0);
+        if (position % BYTE_BITS != 0)
+        {
+            data[position / BYTE_BITS] &= (byte) (0xFF << BYTE_BITS - position % BYTE_BITS);
+        }
+        bits = position;
+    }
+
+    /**
+     * Discard all written bits.
+     */
+    public void clear()
+    {
+        truncate(0);
+    }
+
+    /**
+     * Copy written bytes, last byte being padded with 0.
+     * 
+     * @param buffer The destination buffer, written from its position.
+     */
+    public void copy(ByteBuffer buffer)
+    {
+        buffer.put(data, 0, getBytes());
+    }
+
+    /**
+     * Get the written bytes number.
+     * 
+     * @return The bytes number including padding.
+     */
+    public int getBytes()
+    {
+        return (bits + BYTE_BITS - 1) / BYTE_BITS;
+    }
+
+    /**
+     * Ensure data can store bits number.
+     * 
+     * @param count The bits number.
+     */
+    private void ensure(int count)
+    {
+        final int required = (count + BYTE_BITS - 1) / BYTE_BITS;
+        if (required > data.length)
+        {
+            data = Arrays.copyOf(data, Math.max(required, data.length * 2));
+        }
+    }
+}
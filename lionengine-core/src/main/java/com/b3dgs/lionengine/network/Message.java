@@ -29,4 +29,15 @@ public interface Message
      * @return The message content.
      */
     ByteBuffer create();
+
+    /**
+     * Check if message must be delivered. Reliable messages are resent until acknowledged and delivered in order when
+     * reliability is enabled (see {@link Reliability}), else they are sent as others.
+     * 
+     * @return <code>true</code> if reliable, <code>false</code> if may be lost.
+     */
+    default boolean isReliable()
+    {
+        return false;
+    }
 }
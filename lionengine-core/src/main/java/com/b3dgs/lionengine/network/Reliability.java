@@ -0,0 +1,716 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilConversion;
+
+/**
+ * Reliability layer for one peer, wrapping datagrams in an envelope with sequence number and acknowledges.
+ * <p>
+ * An envelope starts with {@link #START_RELIABLE}, flags, its sequence number, the latest sequence number received
+ * from peer and the bitfield of the {@link #ACK_BITS} previous ones, followed by reliable messages, each prefixed by its
+ * reliable id and size on two bytes, and the unreliable payload (a datagram read with {@link BatchReader}).
+ * </p>
+ * <p>
+ * Reliable messages are sent until acknowledged, resent after a timeout based on round trip time, and delivered once
+ * in sending order. Unreliable payload is sequenced: an envelope older than the latest received one has its payload
+ * dropped. Pure acknowledge envelopes are sent on {@link #flush(Batch.Sender)} when nothing else was sent since last
+ * received envelope, they are not sequenced.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class Reliability
+{
+    /** Envelope first byte. */
+    public static final int START_RELIABLE = 0x99;
+    /** Envelope header bytes number. */
+    public static final int HEADER = 2 + Short.BYTES * 2 + Integer.BYTES + 1;
+    /** Reliable message header bytes number. */
+    public static final int HEADER_MESSAGE = Short.BYTES * 2;
+    /** Number of acknowledged sequences before latest one. */
+    public static final int ACK_BITS = Integer.SIZE;
+    /** Maximum reliable messages waiting for acknowledge. */
+    public static final int PENDING_MAX = 1024;
+
+    /** Flags index. */
+    private static final int INDEX_FLAGS = 1;
+    /** Sequence index. */
+    private static final int INDEX_SEQUENCE = INDEX_FLAGS + 1;
+    /** Acknowledge index. */
+    private static final int INDEX_ACK = INDEX_SEQUENCE + Short.BYTES;
+    /** Acknowledge bitfield index. */
+    private static final int INDEX_ACK_BITS = INDEX_ACK + Short.BYTES;
+    /** Reliable messages count index. */
+    private static final int INDEX_COUNT = INDEX_ACK_BITS + Integer.BYTES;
+    /** Acknowledge fields are valid flag. */
+    private static final int FLAG_ACK = 1;
+    /** Sequence field is valid flag. */
+    private static final int FLAG_SEQUENCE = 2;
+    /** Maximum reliable messages per envelope. */
+    private static final int COUNT_MAX = 0xFF;
+    /** Sent sequences history. */
+    private static final int SENT_SIZE = 1024;
+    /** Default retransmission timeout, until first round trip time sample. */
+    private static final long RTO_DEFAULT = 200L * (long) Constant.NANO_TO_MILLI;
+    /** Minimum retransmission timeout. */
+    private static final long RTO_MIN = 20L * (long) Constant.NANO_TO_MILLI;
+    /** Maximum retransmission timeout. */
+    private static final long RTO_MAX = 2000L * (long) Constant.NANO_TO_MILLI;
+    /** Round trip time smoothing factor. */
+    private static final double RTT_SMOOTHING = 0.125;
+    /** Round trip time variation smoothing factor. */
+    private static final double RTT_VAR_SMOOTHING = 0.25;
+    /** Loss ratio smoothing factor. */
+    private static final double LOSS_SMOOTHING = 0.05;
+    private static final int UNSIGNED_SHORT = 0xFFFF;
+    private static final int HALF_SHORT = 0x8000;
+
+    /**
+     * Check if sequence is more recent than another one, handling wrap around.
+     * 
+     * @param sequence The sequence to check.
+     * @param other The other sequence.
+     * @return <code>true</code> if more recent, <code>false</code> else.
+     */
+    static boolean isNewer(int sequence, int other)
+    {
+        final int distance = sequence - other & UNSIGNED_SHORT;
+        return distance != 0 && distance < HALF_SHORT;
+    }
+
+    private final List<Pending> pending = new ArrayList<>();
+    private final Map<Integer, ByteBuffer> early = new HashMap<>();
+    private final long[] sentTime = new long[SENT_SIZE];
+    private final boolean[] sentAcked = new boolean[SENT_SIZE];
+    private final int mtu;
+    private final LongSupplier clock;
+    private final ByteBuffer envelope;
+
+    private int sequence;
+    private int oldest;
+    private int remote = -1;
+    private int remoteBits;
+    private boolean ackPending;
+    private int reliableNext;
+    private int reliableExpected;
+    private double rtt = -1.0;
+    private double rttVar;
+    private long rto = RTO_DEFAULT;
+    private double loss = -1.0;
+
+    /**
+     * Create reliability.
+     * 
+     * @param mtu The maximum envelope size (must be between {@link Batch#MTU_MIN} + {@link #HEADER} and
+     *            {@link Batch#MTU_MAX} included). Unreliable payload must not exceed it minus {@link #HEADER}.
+     * @throws LionEngineException If invalid argument.
+     */
+    public Reliability(int mtu)
+    {
+        this(mtu, System::nanoTime);
+    }
+
+    /**
+     * Create reliability.
+     * 
+     * @param mtu The maximum envelope size (must be between {@link Batch#MTU_MIN} + {@link #HEADER} and
+     *            {@link Batch#MTU_MAX} included).
+     * @param clock The time source in nano seconds (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    Reliability(int mtu, LongSupplier clock)
+    {
+        super();
+
+        Check.superiorOrEqual(mtu, Batch.MTU_MIN + HEADER);
+        Check.inferiorOrEqual(mtu, Batch.MTU_MAX);
+        Check.notNull(clock);
+
+        this.mtu = mtu;
+        this.clock = clock;
+        envelope = ByteBuffer.allocate(mtu);
+    }
+
+    /**
+     * Add reliable message, sent on next {@link #send(ByteBuffer, Batch.Sender)} or {@link #flush(Batch.Sender)}.
+     * 
+     * @param message The message content, from 0 to its capacity (must not be <code>null</code>).
+     * @throws IOException If too many messages are waiting for acknowledge.
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized void add(ByteBuffer message) throws IOException
+    {
+        append(message);
+    }
+
+    /**
+     * Add reliable message for a client, sent on next {@link #send(ByteBuffer, Batch.Sender)} or
+     * {@link #flush(Batch.Sender)}. Client id of added message is replaced.
+     * 
+     * @param message The message content, from 0 to its capacity (must not be <code>null</code>).
+     * @param clientId The destination client id (must not be <code>null</code>).
+     * @throws IOException If too many messages are waiting for acknowledge.
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized void add(ByteBuffer message, Integer clientId) throws IOException
+    {
+        Check.notNull(clientId);
+
+        final ByteBuffer content = append(message);
+        content.put(UtilNetwork.INDEX_CLIENT_ID, UtilConversion.fromUnsignedByte(clientId.intValue()));
+    }
+
+    /**
+     * Send unreliable payload in an envelope, with due reliable messages fitting in it.
+     * 
+     * @param payload The payload datagram, from 0 to its limit (must not be <code>null</code>).
+     * @param sender The envelope sender (must not be <code>null</code>).
+     * @throws IOException If error when sending.
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized void send(ByteBuffer payload, Batch.Sender sender) throws IOException
+    {
+        Check.notNull(payload);
+        Check.notNull(sender);
+        Check.inferiorOrEqual(payload.limit(), mtu - HEADER);
+
+        write(payload, sender);
+    }
+
+    /**
+     * Send due reliable messages, new or not acknowledged in time, and acknowledge received envelopes if nothing was
+     * sent since. Should be called once per update, after payload sending.
+     * 
+     * @param sender The envelope sender (must not be <code>null</code>).
+     * @throws IOException If error when sending.
+     * @throws LionEngineException If invalid argument.
+     */
+    public synchronized void flush(Batch.Sender sender) throws IOException
+    {
+        Check.notNull(sender);
+
+        final long now = clock.getAsLong();
+        while (hasDue(now))
+        {
+            write(null, sender);
+        }
+        if (ackPending)
+        {
+            writeHeader(0, FLAG_ACK);
+            envelope.put(UtilConversion.fromUnsignedByte(0));
+            send(sender);
+        }
+    }
+
+    /**
+     * Read received datagram. Envelope reliable messages are handled first, in order, followed by payload messages if
+     * not stale. Other datagrams are directly read by reader.
+     * 
+     * @param datagram The received datagram, from 0 to its limit (must not be <code>null</code>).
+     * @param reader The payload reader (must not be <code>null</code>).
+     * @param handler The messages handler (must not be <code>null</code>).
+     * @throws IOException If invalid datagram or handler error.
+     * @throws LionEngineException If invalid argument.
+     */
+    public void read(ByteBuffer datagram, BatchReader reader, BatchReader.Handler handler) throws IOException
+    {
+        Check.notNull(datagram);
+        Check.notNull(reader);
+        Check.notNull(handler);
+
+        if (datagram.limit() > 0 && UtilConversion.toUnsignedByte(datagram.get(0)) == START_RELIABLE)
+        {
+            final List<ByteBuffer> delivered = new ArrayList<>();
+            final ByteBuffer payload = receive(datagram, delivered);
+            for (final ByteBuffer message : delivered)
+            {
+                handler.handle(message);
+            }
+            if (payload != null && payload.limit() > 0)
+            {
+                reader.read(payload, handler);
+            }
+        }
+        else
+        {
+            reader.read(datagram, handler);
+        }
+    }
+
+    /**
+     * Clear all state, pending reliable messages and statistics.
+     */
+    public synchronized void clear()
+    {
+        pending.clear();
+        early.clear();
+        sequence = 0;
+        oldest = 0;
+        remote = -1;
+        remoteBits = 0;
+        ackPending = false;
+        reliableNext = 0;
+        reliableExpected = 0;
+        rtt = -1.0;
+        rttVar = 0.0;
+        rto = RTO_DEFAULT;
+        loss = -1.0;
+    }
+
+    /**
+     * Get the number of reliable messages waiting for acknowledge.
+     * 
+     * @return The pending reliable messages.
+     */
+    public synchronized int getPending()
+    {
+        return pending.size();
+    }
+
+    /**
+     * Get the smoothed round trip time, including peer acknowledge delay.
+     * 
+     * @return The round trip time (in milliseconds, negative if no sample yet).
+     */
+    public synchronized long getRtt()
+    {
+        if (rtt < 0.0)
+        {
+            return -1L;
+        }
+        return Math.round(rtt / Constant.NANO_TO_MILLI);
+    }
+
+    /**
+     * Get the smoothed ratio of sent envelopes not acknowledged.
+     * 
+     * @return The loss ratio (between 0 and 1 included, negative if no sample yet).
+     */
+    public synchronized double getLoss()
+    {
+        return loss;
+    }
+
+    /**
+     * Copy message to pending reliable messages.
+     * 
+     * @param message The message content.
+     * @return The message copy.
+     * @throws IOException If too many messages are waiting for acknowledge.
+     * @throws LionEngineException If invalid argument.
+     */
+    private ByteBuffer append(ByteBuffer message) throws IOException
+    {
+        Check.notNull(message);
+        Check.inferiorOrEqual(message.capacity(), mtu - HEADER - HEADER_MESSAGE);
+
+        if (pending.size() >= PENDING_MAX)
+        {
+            throw new IOException("Too many reliable messages pending: " + pending.size());
+        }
+
+        final ByteBuffer content = ByteBuffer.allocate(message.capacity());
+        content.put(0, message, 0, message.capacity());
+        pending.add(new Pending(reliableNext, content));
+        reliableNext = reliableNext + 1 & UNSIGNED_SHORT;
+
+        return content;
+    }
+
+    /**
+     * Check if a reliable message is due.
+     * 
+     * @param now The current time.
+     * @return <code>true</code> if at least one reliable message must be sent, <code>false</code> else.
+     */
+    private boolean hasDue(long now)
+    {
+        for (final Pending message : pending)
+        {
+            if (message.isDue(now, rto))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write and send sequenced envelope, with due reliable messages and payload.
+     * 
+     * @param payload The payload datagram (<code>null</code> if none).
+     * @param sender The envelope sender.
+     * @throws IOException If error when sending.
+     */
+    private void write(ByteBuffer payload, Batch.Sender sender) throws IOException
+    {
+        final long now = clock.getAsLong();
+        final int current = sequence;
+        sequence = sequence + 1 & UNSIGNED_SHORT;
+        if ((sequence - oldest & UNSIGNED_SHORT) >= SENT_SIZE)
+        {
+            evaluate(sentAcked[oldest % SENT_SIZE]);
+        }
+        sentTime[current % SENT_SIZE] = now;
+        sentAcked[current % SENT_SIZE] = false;
+
+        writeHeader(current, FLAG_ACK | FLAG_SEQUENCE);
+        final int countIndex = envelope.position();
+        envelope.put(UtilConversion.fromUnsignedByte(0));
+
+        final int reserved;
+        if (payload == null)
+        {
+            reserved = 0;
+        }
+        else
+        {
+            reserved = payload.limit();
+        }
+        int count = 0;
+        for (final Pending message : pending)
+        {
+            final int size = message.content.capacity();
+            if (count < COUNT_MAX
+                && message.isDue(now, rto)
+                && envelope.position() + HEADER_MESSAGE + size + reserved <= mtu)
+            {
+                envelope.putShort((short) message.id);
+                envelope.putShort((short) size);
+                envelope.put(message.content.array());
+                message.sequence = current;
+                message.time = now;
+                count++;
+            }
+        }
+        envelope.put(countIndex, UtilConversion.fromUnsignedByte(count));
+
+        if (payload != null)
+        {
+            envelope.put(envelope.position(), payload, 0, reserved);
+            envelope.position(envelope.position() + reserved);
+        }
+        send(sender);
+    }
+
+    /**
+     * Write envelope header, with acknowledge of received sequences.
+     * 
+     * @param current The envelope sequence.
+     * @param flags The envelope flags.
+     */
+    private void writeHeader(int current, int flags)
+    {
+        envelope.clear();
+        envelope.put(UtilConversion.fromUnsignedByte(START_RELIABLE));
+        if (remote < 0)
+        {
+            envelope.put(UtilConversion.fromUnsignedByte(flags & ~FLAG_ACK));
+        }
+        else
+        {
+            envelope.put(UtilConversion.fromUnsignedByte(flags));
+        }
+        envelope.putShort((short) current);
+        envelope.putShort((short) Math.max(0, remote));
+        envelope.putInt(remoteBits);
+    }
+
+    /**
+     * Send written envelope.
+     * 
+     * @param sender The envelope sender.
+     * @throws IOException If error when sending.
+     */
+    private void send(Batch.Sender sender) throws IOException
+    {
+        ackPending = false;
+        envelope.flip();
+        try
+        {
+            sender.send(envelope);
+        }
+        finally
+        {
+            envelope.clear();
+        }
+    }
+
+    /**
+     * Read envelope header and reliable messages.
+     * 
+     * @param datagram The envelope.
+     * @param delivered The reliable messages to deliver, in order.
+     * @return The payload to deliver, <code>null</code> if stale.
+     * @throws IOException If invalid envelope.
+     */
+    private synchronized ByteBuffer receive(ByteBuffer datagram, List<ByteBuffer> delivered) throws IOException
+    {
+        final int limit = datagram.limit();
+        if (limit < HEADER)
+        {
+            throw new IOException("Invalid envelope: " + limit + " < " + HEADER);
+        }
+        final int flags = UtilConversion.toUnsignedByte(datagram.get(INDEX_FLAGS));
+        final int received = datagram.getShort(INDEX_SEQUENCE) & UNSIGNED_SHORT;
+        final int ack = datagram.getShort(INDEX_ACK) & UNSIGNED_SHORT;
+        final int ackBits = datagram.getInt(INDEX_ACK_BITS);
+        final int count = UtilConversion.toUnsignedByte(datagram.get(INDEX_COUNT));
+
+        if ((flags & FLAG_ACK) != 0)
+        {
+            acknowledge(ack, ackBits);
+        }
+
+        int index = HEADER;
+        for (int i = 0; i < count; i++)
+        {
+            if (index + HEADER_MESSAGE > limit)
+            {
+                throw new IOException("Invalid envelope: " + index + "/" + limit);
+            }
+            final int id = datagram.getShort(index) & UNSIGNED_SHORT;
+            final int size = datagram.getShort(index + Short.BYTES) & UNSIGNED_SHORT;
+            index += HEADER_MESSAGE;
+            if (index + size > limit)
+            {
+                throw new IOException("Invalid envelope message: " + size + " > " + (limit - index));
+            }
+            if (id == reliableExpected || isNewer(id, reliableExpected) && early.size() < PENDING_MAX)
+            {
+                final ByteBuffer message = ByteBuffer.allocate(size);
+                message.put(0, datagram, index, size);
+                early.putIfAbsent(Integer.valueOf(id), message);
+            }
+            index += size;
+        }
+
+        ByteBuffer next = early.remove(Integer.valueOf(reliableExpected));
+        while (next != null)
+        {
+            delivered.add(next);
+            reliableExpected = reliableExpected + 1 & UNSIGNED_SHORT;
+            next = early.remove(Integer.valueOf(reliableExpected));
+        }
+
+        if ((flags & FLAG_SEQUENCE) != 0 && record(received))
+        {
+            return datagram.slice(index, limit - index);
+        }
+        return null;
+    }
+
+    /**
+     * Record received sequence, to be acknowledged.
+     * 
+     * @param received The received sequence.
+     * @return <code>true</code> if latest received sequence, <code>false</code> if stale.
+     */
+    private boolean record(int received)
+    {
+        ackPending = true;
+        if (remote < 0 || isNewer(received, remote))
+        {
+            if (remote < 0)
+            {
+                remoteBits = 0;
+            }
+            else
+            {
+                final int shift = received - remote & UNSIGNED_SHORT;
+                if (shift > ACK_BITS)
+                {
+                    remoteBits = 0;
+                }
+                else
+                {
+                    remoteBits = (int) ((remoteBits & 0xFFFF_FFFFL) << shift | 1L << shift - 1);
+                }
+            }
+            remote = received;
+            return true;
+        }
+        final int distance = remote - received & UNSIGNED_SHORT;
+        if (distance > 0 && distance <= ACK_BITS)
+        {
+            remoteBits |= 1 << distance - 1;
+        }
+        return false;
+    }
+
+    /**
+     * Acknowledge sent sequences.
+     * 
+     * @param ack The latest sequence received by peer.
+     * @param ackBits The previous sequences received by peer.
+     */
+    private void acknowledge(int ack, int ackBits)
+    {
+        final long now = clock.getAsLong();
+        acknowledge(ack, now);
+        for (int i = 0; i < ACK_BITS; i++)
+        {
+            if ((ackBits >>> i & 1) != 0)
+            {
+                acknowledge(ack - 1 - i & UNSIGNED_SHORT, now);
+            }
+        }
+
+        boolean evaluating = oldest != sequence;
+        while (evaluating)
+        {
+            final boolean acked = sentAcked[oldest % SENT_SIZE];
+            if (acked || isNewer(ack, oldest) && (ack - oldest & UNSIGNED_SHORT) > ACK_BITS)
+            {
+                evaluate(acked);
+                evaluating = oldest != sequence;
+            }
+            else
+            {
+                evaluating = false;
+            }
+        }
+    }
+
+    /**
+     * Acknowledge sent sequence if in flight, sampling round trip time and releasing its reliable messages.
+     * 
+     * @param acked The acknowledged sequence.
+     * @param now The current time.
+     */
+    private void acknowledge(int acked, long now)
+    {
+        final int index = acked % SENT_SIZE;
+        if ((acked - oldest & UNSIGNED_SHORT) < (sequence - oldest & UNSIGNED_SHORT) && !sentAcked[index])
+        {
+            sentAcked[index] = true;
+            sample(now - sentTime[index]);
+
+            final Iterator<Pending> iterator = pending.iterator();
+            while (iterator.hasNext())
+            {
+                if (iterator.next().sequence == acked)
+                {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Update round trip time and retransmission timeout from a sample.
+     * 
+     * @param sample The round trip time sample.
+     */
+    private void sample(long sample)
+    {
+        if (rtt < 0.0)
+        {
+            rtt = sample;
+            rttVar = sample / 2.0;
+        }
+        else
+        {
+            rttVar += (Math.abs(rtt - sample) - rttVar) * RTT_VAR_SMOOTHING;
+            rtt += (sample - rtt) * RTT_SMOOTHING;
+        }
+        rto = Math.min(RTO_MAX, Math.max(RTO_MIN, Math.round(rtt + 4.0 * rttVar)));
+    }
+
+    /**
+     * Account oldest sent sequence in loss ratio, and forget it.
+     * 
+     * @param acked <code>true</code> if acknowledged, <code>false</code> if lost.
+     */
+    private void evaluate(boolean acked)
+    {
+        final double value;
+        if (acked)
+        {
+            value = 0.0;
+        }
+        else
+        {
+            value = 1.0;
+        }
+        if (loss < 0.0)
+        {
+            loss = value;
+        }
+        else
+        {
+            loss += (value - loss) * LOSS_SMOOTHING;
+        }
+        sentAcked[oldest % SENT_SIZE] = true;
+        oldest = oldest + 1 & UNSIGNED_SHORT;
+    }
+
+    /**
+     * Reliable message waiting for acknowledge.
+     */
+    private static final class Pending
+    {
+        /** Reliable id. */
+        private final int id;
+        /** Message content. */
+        private final ByteBuffer content;
+        /** Last envelope sequence (negative if not sent yet). */
+        private int sequence = -1;
+        /** Last sending time. */
+        private long time;
+
+        /**
+         * Create pending message.
+         * 
+         * @param id The reliable id.
+         * @param content The message content.
+         */
+        Pending(int id, ByteBuffer content)
+        {
+            super();
+
+            this.id = id;
+            this.content = content;
+        }
+
+        /**
+         * Check if message must be sent.
+         * 
+         * @param now The current time.
+         * @param timeout The retransmission timeout.
+         * @return <code>true</code> if not sent yet or not acknowledged in time, <code>false</code> else.
+         */
+        boolean isDue(long now, long timeout)
+        {
+            return sequence < 0 || now - time >= timeout;
+        }
+    }
+}
@@ -62,7 +62,7 @@ public final class UtilNetwork
     public static final int MODE_DISCONNECT = MODE_DATA + 1;
 
     /** Max packet buffer. */
-    private static final int MAX_SIZE = 256;
+    public static final int MAX_SIZE = 256;
 
     /** Server id. */
     public static final Integer SERVER_ID = Integer.valueOf(0);
@@ -94,6 +94,22 @@ public final class UtilNetwork
         return packet;
     }
 
+    /**
+     * Receive datagram in an existing buffer, without checking its content (see {@link BatchReader}).
+     * 
+     * @param socket The socket to read.
+     * @param data The receive buffer, overridden on each call.
+     * @return The packet read.
+     * @throws IOException If error.
+     */
+    public static DatagramPacket receive(DatagramSocket socket, byte[] data) throws IOException
+    {
+        final DatagramPacket packet = new DatagramPacket(data, data.length);
+        socket.receive(packet);
+
+        return packet;
+    }
+
     /**
      * Get the packet data.
      * 
@@ -110,6 +126,31 @@ public final class UtilNetwork
         return buffer;
     }
 
+    /**
+     * Get the packet data from a received packet buffer.
+     * 
+     * @param packet The received packet, ready to be read (from 0 to its limit).
+     * @return The packet data.
+     * @throws IOException If invalid.
+     */
+    public static ByteBuffer getBuffer(ByteBuffer packet) throws IOException
+    {
+        final int start = UtilConversion.toUnsignedByte(packet.get(UtilNetwork.HEADER_INDEX_START));
+        final int sequence = UtilConversion.toUnsignedByte(packet.get(UtilNetwork.HEADER_INDEX_SEQUENCE));
+        final int size = UtilConversion.toUnsignedByte(packet.get(UtilNetwork.HEADER_INDEX_SIZE));
+        if (start != UtilNetwork.HEADER_START_VALUE
+            || sequence != 0
+            || packet.limit() < HEADER_BYTES_NUMBER + size)
+        {
+            throw new IOException("Invalid message: " + start + " " + sequence + "/" + 0);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(0, packet, HEADER_BYTES_NUMBER, size);
+
+        return buffer;
+    }
+
     /**
      * Get the server info.
      * 
@@ -150,6 +191,22 @@ public final class UtilNetwork
         return send;
     }
 
+    /**
+     * Write full packet from data with header in an existing buffer, ready to be sent.
+     * 
+     * @param packet The packet buffer (must have a capacity of at least {@link #MAX_SIZE}).
+     * @param buffer The packet content.
+     */
+    public static void writePacket(ByteBuffer packet, ByteBuffer buffer)
+    {
+        packet.clear();
+        packet.put(UtilConversion.fromUnsignedByte(UtilNetwork.HEADER_START_VALUE));
+        packet.put(UtilConversion.fromUnsignedByte(0));
+        packet.put(UtilConversion.fromUnsignedByte(buffer.capacity()));
+        packet.put(buffer.array());
+        packet.flip();
+    }
+
     /**
      * Send message.
      * 
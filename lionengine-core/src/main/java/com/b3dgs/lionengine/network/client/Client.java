@@ -42,13 +42,21 @@ public interface Client extends Listenable<ClientListener>
     void disconnect();
 
     /**
-     * Send message to the server for global sync.
+     * Send message to the server for global sync. Message is pending until {@link #flush()} if batching is enabled.
      * 
      * @param message The Message to send.
      * @throws IOException If error.
      */
     void send(Message message) throws IOException;
 
+    /**
+     * Send messages pending since last flush, packed in datagrams. Does nothing if batching is disabled. Should be
+     * called once per update when batching is enabled.
+     * 
+     * @throws IOException If error.
+     */
+    void flush() throws IOException;
+
     /**
      * Ping remove server.
      * 
@@ -56,6 +64,20 @@ public interface Client extends Listenable<ClientListener>
      */
     long ping();
 
+    /**
+     * Get the round trip time with server, measured when reliability is enabled.
+     * 
+     * @return The round trip time (in milliseconds, negative if not available).
+     */
+    long getRtt();
+
+    /**
+     * Get the ratio of datagrams sent to server and not acknowledged, measured when reliability is enabled.
+     * 
+     * @return The loss ratio (between 0 and 1 included, negative if not available).
+     */
+    double getLoss();
+
     /**
      * Set network name.
      * 
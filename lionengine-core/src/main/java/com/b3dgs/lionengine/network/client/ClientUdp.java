@@ -21,6 +21,7 @@ import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -40,6 +41,8 @@ import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.ListenableModel;
 import com.b3dgs.lionengine.UtilConversion;
 import com.b3dgs.lionengine.network.Alive;
+import com.b3dgs.lionengine.network.Batch;
+import com.b3dgs.lionengine.network.BatchReader;
 import com.b3dgs.lionengine.network.Channel;
 import com.b3dgs.lionengine.network.Data;
 import com.b3dgs.lionengine.network.Direct;
@@ -47,15 +50,27 @@ import com.b3dgs.lionengine.network.Message;
 import com.b3dgs.lionengine.network.MessageType;
 import com.b3dgs.lionengine.network.Packet;
 import com.b3dgs.lionengine.network.Ping;
+import com.b3dgs.lionengine.network.Reliability;
 import com.b3dgs.lionengine.network.UtilNetwork;
 
 /**
  * UDP based client implementation.
+ * <p>
+ * When created with a maximum datagram size, messages sent to server are batched until {@link #flush()}, and sent
+ * packed in datagrams. Protocol messages are always sent immediately.
+ * </p>
+ * <p>
+ * When created with reliability enabled, batched datagrams are wrapped by {@link Reliability}: messages flagged as
+ * {@link Message#isReliable()} are resent until acknowledged and delivered in order, others are dropped if stale. Server
+ * must have reliability enabled too.
+ * </p>
  */
 // CHECKSTYLE IGNORE LINE: DataAbstractionCoupling
 public class ClientUdp implements Client
 {
     private static final int ALIVE_DELAY_MS = 4000;
+    private static final int CONNECT_TIMEOUT_MS = 1000;
+    private static final int CONNECT_ATTEMPTS = 5;
     private static final String SERVER_DISCONNECTED = "Server disconnected!";
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientUdp.class);
 
@@ -69,6 +84,10 @@ public class ClientUdp implements Client
     private final List<Integer> toRemove = new ArrayList<>();
     private final AtomicReference<InetAddress> address = new AtomicReference<>();
     private final AtomicReference<DatagramSocket> socket = new AtomicReference<>();
+    private final byte[] received = new byte[Batch.MTU_MAX];
+    private final BatchReader reader = new BatchReader();
+    private final Batch batch;
+    private final Reliability reliability;
 
     private Thread threadReceive;
     private Thread threadAlive;
@@ -89,6 +108,48 @@ public class ClientUdp implements Client
         Check.notNull(channel);
 
         this.channel = channel;
+        batch = null;
+        reliability = null;
+    }
+
+    /**
+     * Create client with batching enabled.
+     * 
+     * @param channel The channel reference (must not be <code>null</code>).
+     * @param mtu The maximum datagram size (must be between {@link Batch#MTU_MIN} and {@link Batch#MTU_MAX} included).
+     * @throws LionEngineException If invalid argument.
+     */
+    public ClientUdp(Channel channel, int mtu)
+    {
+        this(channel, mtu, false);
+    }
+
+    /**
+     * Create client with batching enabled, and optional reliability.
+     * 
+     * @param channel The channel reference (must not be <code>null</code>).
+     * @param mtu The maximum datagram size (must be between {@link Batch#MTU_MIN} and {@link Batch#MTU_MAX} included,
+     *            increased by {@link Reliability#HEADER} if reliable).
+     * @param reliable <code>true</code> to enable reliability, <code>false</code> else.
+     * @throws LionEngineException If invalid argument.
+     */
+    public ClientUdp(Channel channel, int mtu, boolean reliable)
+    {
+        super();
+
+        Check.notNull(channel);
+
+        this.channel = channel;
+        if (reliable)
+        {
+            reliability = new Reliability(mtu);
+            batch = new Batch(mtu - Reliability.HEADER);
+        }
+        else
+        {
+            reliability = null;
+            batch = new Batch(mtu);
+        }
     }
 
     private void taskReceive()
@@ -97,33 +158,15 @@ public class ClientUdp implements Client
         {
             try
             {
-                final DatagramPacket packet = UtilNetwork.receive(socket.get());
-                final ByteBuffer buffer = UtilNetwork.getBuffer(packet);
-                final MessageType type = MessageType.from(buffer);
-
-                if (MessageType.DIRECT == type)
+                final DatagramPacket packet = UtilNetwork.receive(socket.get(), received);
+                final ByteBuffer datagram = ByteBuffer.wrap(received, 0, packet.getLength());
+                if (reliability == null)
                 {
-                    channel.write(Direct.decode(buffer, clientId));
+                    reader.read(datagram, this::handleType);
                 }
-                else if (MessageType.DATA == type)
+                else
                 {
-                    channel.write(Data.decode(buffer, clientId));
-                }
-                else if (MessageType.CLIENTS_LIST == type)
-                {
-                    handleClientsList(buffer);
-                }
-                else if (MessageType.DISCONNECT == type)
-                {
-                    handleDisconnected(buffer);
-                }
-                else if (MessageType.PING == type)
-                {
-                    handlePing(buffer);
-                }
-                else if (MessageType.NAME_SET == type)
-                {
-                    handleNameSet(buffer);
+                    reliability.read(datagram, reader, this::handleType);
                 }
             }
             catch (final IOException exception)
@@ -136,6 +179,36 @@ public class ClientUdp implements Client
         }
     }
 
+    private void handleType(ByteBuffer buffer) throws IOException
+    {
+        final MessageType type = MessageType.from(buffer);
+
+        if (MessageType.DIRECT == type)
+        {
+            channel.write(Direct.decode(buffer, clientId));
+        }
+        else if (MessageType.DATA == type)
+        {
+            channel.write(Data.decode(buffer, clientId));
+        }
+        else if (MessageType.CLIENTS_LIST == type)
+        {
+            handleClientsList(buffer);
+        }
+        else if (MessageType.DISCONNECT == type)
+        {
+            handleDisconnected(buffer);
+        }
+        else if (MessageType.PING == type)
+        {
+            handlePing(buffer);
+        }
+        else if (MessageType.NAME_SET == type)
+        {
+            handleNameSet(buffer);
+        }
+    }
+
     private void handleClientsList(ByteBuffer buffer) throws IOException
     {
         final Set<Integer> list = ClientsList.decode(buffer, clientId);
@@ -242,7 +315,7 @@ public class ClientUdp implements Client
             }
             try
             {
-                send(new Alive(clientId));
+                sendNow(new Alive(clientId));
             }
             catch (final IOException exception)
             {
@@ -268,8 +341,26 @@ public class ClientUdp implements Client
         this.port = port;
 
         final ByteBuffer send = Connect.encode();
-        send(send, address, port);
-        clientId = Connect.decode(socket.get());
+        socket.get().setSoTimeout(CONNECT_TIMEOUT_MS);
+        Integer connected = null;
+        for (int attempt = 1; connected == null; attempt++)
+        {
+            send(send, address, port);
+            try
+            {
+                connected = Connect.decode(socket.get());
+            }
+            catch (final SocketTimeoutException exception)
+            {
+                if (attempt == CONNECT_ATTEMPTS)
+                {
+                    throw exception;
+                }
+                LOGGER.warn("Connect to {} timeout, retry", UtilNetwork.toString(ip, port));
+            }
+        }
+        socket.get().setSoTimeout(0);
+        clientId = connected;
 
         notifyConnected(ip, port, clientId);
 
@@ -299,6 +390,15 @@ public class ClientUdp implements Client
         socket.get().send(new DatagramPacket(buffer.array(), buffer.capacity(), address.get(), port));
     }
 
+    private void sendNow(Message message) throws IOException
+    {
+        if (running)
+        {
+            final ByteBuffer send = UtilNetwork.createPacket(message.create());
+            send(send, address, port);
+        }
+    }
+
     @Override
     public synchronized void connect(String ip, int port) throws IOException
     {
@@ -329,7 +429,7 @@ public class ClientUdp implements Client
         {
             try
             {
-                send(new Disconnect(clientId));
+                sendNow(new Disconnect(clientId));
             }
             catch (final IOException exception)
             {
@@ -355,6 +455,14 @@ public class ClientUdp implements Client
 
         notifyDisconnected(address.toString(), port, clientId);
 
+        if (batch != null)
+        {
+            batch.clear();
+        }
+        if (reliability != null)
+        {
+            reliability.clear();
+        }
         threadReceive = null;
         threadAlive = null;
         clientId = null;
@@ -371,7 +479,7 @@ public class ClientUdp implements Client
             try
             {
                 ping.set(System.nanoTime());
-                send(new Ping(clientId));
+                sendNow(new Ping(clientId));
                 pingLock.acquire();
 
                 return ping.get();
@@ -391,11 +499,63 @@ public class ClientUdp implements Client
     @Override
     public void send(Message message) throws IOException
     {
-        if (running)
+        if (batch == null)
         {
-            final ByteBuffer send = UtilNetwork.createPacket(message.create());
-            send(send, address, port);
+            sendNow(message);
+        }
+        else if (running)
+        {
+            if (reliability != null && message.isReliable())
+            {
+                reliability.add(message.create());
+            }
+            else
+            {
+                batch.add(message.create());
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        if (batch != null && running)
+        {
+            final Batch.Sender sender = datagram -> socket.get()
+                                                          .send(new DatagramPacket(datagram.array(),
+                                                                                   datagram.limit(),
+                                                                                   address.get(),
+                                                                                   port));
+            if (reliability == null)
+            {
+                batch.flush(sender);
+            }
+            else
+            {
+                batch.flush(datagram -> reliability.send(datagram, sender));
+                reliability.flush(sender);
+            }
+        }
+    }
+
+    @Override
+    public long getRtt()
+    {
+        if (reliability == null)
+        {
+            return -1L;
+        }
+        return reliability.getRtt();
+    }
+
+    @Override
+    public double getLoss()
+    {
+        if (reliability == null)
+        {
+            return -1.0;
         }
+        return reliability.getLoss();
     }
 
     @Override
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.server;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.b3dgs.lionengine.network.UtilNetwork;
+
+/**
+ * Pool of reusable direct packet buffers, sized to hold the biggest packet. Buffers are created on demand, and at most
+ * a fixed number of released buffers are kept.
+ * 
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+final class BufferPool
+{
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger count = new AtomicInteger();
+    private final int max;
+
+    /**
+     * Create pool.
+     * 
+     * @param max The maximum number of kept buffers.
+     */
+    BufferPool(int max)
+    {
+        super();
+
+        this.max = max;
+    }
+
+    /**
+     * Acquire a cleared buffer.
+     * 
+     * @return The acquired buffer.
+     */
+    ByteBuffer acquire()
+    {
+        final ByteBuffer buffer = buffers.poll();
+        if (buffer == null)
+        {
+            return ByteBuffer.allocateDirect(UtilNetwork.MAX_SIZE);
+        }
+        count.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Release an acquired buffer, which must not be used anymore.
+     * 
+     * @param buffer The buffer to release.
+     */
+    void release(ByteBuffer buffer)
+    {
+        if (count.incrementAndGet() <= max)
+        {
+            buffers.offer(buffer);
+        }
+        else
+        {
+            count.decrementAndGet();
+        }
+    }
+}
@@ -17,9 +17,13 @@
 package com.b3dgs.lionengine.network.server;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.Timing;
+import com.b3dgs.lionengine.network.Batch;
+import com.b3dgs.lionengine.network.BatchReader;
+import com.b3dgs.lionengine.network.Reliability;
 
 /**
  * Client data representation used by server for identification.
@@ -30,6 +34,10 @@ public class ClientData
     private final Integer clientId;
     private final InetAddress ip;
     private final int port;
+    private final InetSocketAddress address;
+    private final BatchReader reader = new BatchReader();
+    private final Batch batch;
+    private final Reliability reliability;
 
     private String name;
 
@@ -41,12 +49,42 @@ public class ClientData
      * @param id The unique id.
      */
     public ClientData(InetAddress ip, int port, Integer id)
+    {
+        this(ip, port, id, null);
+    }
+
+    /**
+     * Create data.
+     * 
+     * @param ip The ip address.
+     * @param port The port number.
+     * @param id The unique id.
+     * @param batch The pending messages to client (<code>null</code> if batching disabled).
+     */
+    public ClientData(InetAddress ip, int port, Integer id, Batch batch)
+    {
+        this(ip, port, id, batch, null);
+    }
+
+    /**
+     * Create data.
+     * 
+     * @param ip The ip address.
+     * @param port The port number.
+     * @param id The unique id.
+     * @param batch The pending messages to client (<code>null</code> if batching disabled).
+     * @param reliability The reliability with client (<code>null</code> if reliability disabled).
+     */
+    public ClientData(InetAddress ip, int port, Integer id, Batch batch, Reliability reliability)
     {
         super();
 
         clientId = id;
         this.ip = ip;
         this.port = port;
+        this.batch = batch;
+        this.reliability = reliability;
+        address = new InetSocketAddress(ip, port);
         name = ip.toString();
     }
 
@@ -89,6 +127,46 @@ public class ClientData
         return port;
     }
 
+    /**
+     * Get the socket address.
+     * 
+     * @return The socket address.
+     */
+    public InetSocketAddress getAddress()
+    {
+        return address;
+    }
+
+    /**
+     * Get the received datagrams reader.
+     * 
+     * @return The reader.
+     */
+    public BatchReader getReader()
+    {
+        return reader;
+    }
+
+    /**
+     * Get the pending messages to client.
+     * 
+     * @return The pending messages (<code>null</code> if batching disabled).
+     */
+    public Batch getBatch()
+    {
+        return batch;
+    }
+
+    /**
+     * Get the reliability with client.
+     * 
+     * @return The reliability (<code>null</code> if reliability disabled).
+     */
+    public Reliability getReliability()
+    {
+        return reliability;
+    }
+
     /**
      * Get the client id.
      * 
@@ -43,6 +43,12 @@ public class ClientsList extends MessageAbstract
         this.clients = clients;
     }
 
+    @Override
+    public boolean isReliable()
+    {
+        return true;
+    }
+
     @Override
     public ByteBuffer content()
     {
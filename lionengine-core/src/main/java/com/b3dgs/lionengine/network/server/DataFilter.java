@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.server;
+
+/**
+ * Data filter, selecting which data are sent to each client (see {@link Server#setDataFilter(DataFilter)}).
+ * <p>
+ * Called from update thread when sending, and from receive thread when forwarding client data.
+ * </p>
+ */
+@FunctionalInterface
+public interface DataFilter
+{
+    /**
+     * Check if data is relevant for client.
+     * 
+     * @param clientId The client id.
+     * @param dataId The data id.
+     * @return <code>true</code> to send data to client, <code>false</code> to skip it.
+     */
+    boolean isRelevant(Integer clientId, int dataId);
+}
@@ -68,6 +68,12 @@ final class NameSet extends MessageAbstract
         this.name = name;
     }
 
+    @Override
+    public boolean isReliable()
+    {
+        return true;
+    }
+
     @Override
     public ByteBuffer content()
     {
@@ -43,7 +43,7 @@ public interface Server extends Listenable<ServerListener>
     void stop();
 
     /**
-     * Send message to clients.
+     * Send message to clients. Message is pending until {@link #flush()} if batching is enabled.
      * 
      * @param message The Message to send.
      * @throws IOException If error.
@@ -51,7 +51,7 @@ public interface Server extends Listenable<ServerListener>
     void send(Message message) throws IOException;
 
     /**
-     * Send message to client.
+     * Send message to client. Message is pending until {@link #flush()} if batching is enabled.
      * 
      * @param message The Message to send.
      * @param clientId The client id to send.
@@ -59,6 +59,22 @@ public interface Server extends Listenable<ServerListener>
      */
     void send(Message message, Integer clientId) throws IOException;
 
+    /**
+     * Send messages pending since last flush, packed by client in datagrams. Does nothing if batching is disabled.
+     * Should be called once per update when batching is enabled.
+     * 
+     * @throws IOException If error.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Set data filter, applied on data sent to all clients and on data forwarded from a client to other clients. All
+     * data are sent if no filter.
+     * 
+     * @param filter The filter (<code>null</code> to send all data).
+     */
+    void setDataFilter(DataFilter filter);
+
     /**
      * Set info supplier.
      * 
@@ -86,4 +102,18 @@ public interface Server extends Listenable<ServerListener>
      * @return The downstream bandwidth (in kB/sec, negative if not updated).
      */
     long getBandwidthDown();
+
+    /**
+     * Get the average round trip time with clients, measured when reliability is enabled.
+     * 
+     * @return The round trip time (in milliseconds, negative if not available).
+     */
+    long getRtt();
+
+    /**
+     * Get the average ratio of datagrams sent to clients and not acknowledged, measured when reliability is enabled.
+     * 
+     * @return The loss ratio (between 0 and 1 included, negative if not available).
+     */
+    double getLoss();
 }
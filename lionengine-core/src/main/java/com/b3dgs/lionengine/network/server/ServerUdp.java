@@ -20,93 +20,24 @@ import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
-import java.net.SocketException;
-import java.net.UnknownHostException;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Supplier;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.b3dgs.lionengine.Check;
-import com.b3dgs.lionengine.Constant;
 import com.b3dgs.lionengine.LionEngineException;
-import com.b3dgs.lionengine.ListenableModel;
-import com.b3dgs.lionengine.Timing;
-import com.b3dgs.lionengine.UtilConversion;
-import com.b3dgs.lionengine.network.Alive;
+import com.b3dgs.lionengine.network.Batch;
 import com.b3dgs.lionengine.network.Channel;
-import com.b3dgs.lionengine.network.Data;
-import com.b3dgs.lionengine.network.Direct;
-import com.b3dgs.lionengine.network.Message;
-import com.b3dgs.lionengine.network.MessageType;
-import com.b3dgs.lionengine.network.Packet;
-import com.b3dgs.lionengine.network.Ping;
 import com.b3dgs.lionengine.network.UtilNetwork;
 
 /**
- * UDP server based implementation.
+ * UDP server based implementation. Batched datagrams from clients are supported, but messages to clients are never
+ * batched, and received data too big for a single packet is not forwarded.
  */
-// CHECKSTYLE IGNORE LINE: DataAbstractionCoupling|FanOutComplexity
-public class ServerUdp implements Server
+public class ServerUdp extends ServerUdpAbstract
 {
-    private static final int TIMEOUT = 12_000;
-
-    private static final String ERROR_MAX_CLIENTS = "Maximum clients reached!";
-    private static final String ERROR_START_SERVER = "Unable to start server!";
-    private static final String ERROR_NOT_CONNECTED = "Client {} not connected!";
-
-    private static final Logger LOGGER = LoggerFactory.getLogger(ServerUdp.class);
+    private final byte[] received = new byte[Batch.MTU_MAX];
 
-    private static Integer getId(DatagramPacket packet)
-    {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + packet.getAddress().hashCode();
-        result = prime * result + packet.getPort();
-        return Integer.valueOf(result);
-    }
-
-    private final ListenableModel<ServerListener> listenable = new ListenableModel<>();
-    private final Map<Integer, ClientData> clients = new ConcurrentHashMap<>();
-    private final Map<Integer, Integer> idToClientId = new ConcurrentHashMap<>();
-    private final Map<Integer, Integer> clientIdtoId = new ConcurrentHashMap<>();
-    private final Channel channel;
-
-    private Thread threadReceive;
-    private Thread threadAlive;
-    private Thread threadBandwidth;
     private DatagramSocket socket;
 
-    private boolean running;
-    private final AtomicInteger bandwidthUpSum = new AtomicInteger();
-    private final AtomicInteger bandwidthDownSum = new AtomicInteger();
-    private final AtomicLong bandwidthUp = new AtomicLong(-1);
-    private final AtomicLong bandwidthDown = new AtomicLong(-1);
-    private final AtomicReference<Supplier<ByteBuffer>> info = new AtomicReference<>(() -> ByteBuffer.allocate(0));
-
-    private Integer getNextClientId()
-    {
-        for (int i = UtilNetwork.SERVER_ID.intValue() + 1; i < Constant.UNSIGNED_BYTE; i++)
-        {
-            final Integer free = Integer.valueOf(i);
-            if (!idToClientId.containsValue(free))
-            {
-                return free;
-            }
-        }
-        throw new LionEngineException(ERROR_MAX_CLIENTS);
-    }
-
     /**
      * Create server.
      * 
@@ -115,509 +46,41 @@ public class ServerUdp implements Server
      */
     public ServerUdp(Channel channel)
     {
-        super();
-
-        Check.notNull(channel);
-
-        this.channel = channel;
-    }
-
-    private void info(DatagramPacket packet, ByteBuffer buffer) throws IOException
-    {
-        Info.decode(buffer);
-
-        final ByteBuffer infoBuffer = info.get().get();
-
-        final ByteBuffer answer = ByteBuffer.allocate(1 + infoBuffer.capacity());
-        answer.put(UtilNetwork.toByte(MessageType.INFO));
-        answer.put(infoBuffer.array());
-
-        final ByteBuffer send = UtilNetwork.createPacket(answer);
-        socket.send(new DatagramPacket(send.array(), send.capacity(), packet.getAddress(), packet.getPort()));
-    }
-
-    private void connect(DatagramPacket packet, ByteBuffer buffer) throws IOException
-    {
-        final Integer id = getId(packet);
-        Connected.decode(buffer);
-
-        if (clients.containsKey(id))
-        {
-            LOGGER.warn("Client {} already connected!", UtilNetwork.toString(packet));
-        }
-        else
-        {
-            final ClientData client = new ClientData(packet.getAddress(), packet.getPort(), getNextClientId());
-            clients.put(id, client);
-            idToClientId.put(id, client.getClientId());
-            clientIdtoId.put(client.getClientId(), id);
-
-            send(client, new Connected(client.getClientId()));
-            client.alive();
-            notifyClientConnected(client);
-
-            for (final ClientData c : clients.values())
-            {
-                final Set<Integer> other = new HashSet<>(idToClientId.values());
-                other.remove(c.getClientId());
-                if (!other.isEmpty())
-                {
-                    send(c, new ClientsList(c.getClientId(), other));
-                }
-            }
-
-            for (final ClientData c : clients.values())
-            {
-                if (c.getName() != null && !c.getClientId().equals(client.getClientId()))
-                {
-                    final ByteBuffer send = UtilNetwork.createPacket(new NameSet(c.getClientId(),
-                                                                                 c.getName()).create());
-                    send.put(UtilNetwork.HEADER_BYTES_NUMBER + UtilNetwork.INDEX_CLIENT_ID,
-                             UtilConversion.fromUnsignedByte(client.getClientId().intValue()));
-
-                    socket.send(new DatagramPacket(send.array(), send.capacity(), client.getIp(), client.getPort()));
-                }
-            }
-
-            LOGGER.info("Client {} connected", client);
-        }
-    }
-
-    private void notifyClientConnected(ClientData client)
-    {
-        final int n = listenable.size();
-        for (int i = 0; i < n; i++)
-        {
-            listenable.get(i).notifyClientConnected(client.getIp().toString(), client.getPort(), client.getClientId());
-        }
-    }
-
-    private void send(ClientData client, Message message) throws IOException
-    {
-        UtilNetwork.send(socket, client.getIp(), client.getPort(), message);
-    }
-
-    private void alive(DatagramPacket packet, ByteBuffer buffer) throws IOException
-    {
-        final Integer id = getId(packet);
-        if (clients.containsKey(id))
-        {
-            final ClientData client = clients.get(id);
-            Alive.decode(buffer, client.getClientId());
-            client.alive();
-        }
-        else
-        {
-            LOGGER.warn(ERROR_NOT_CONNECTED, UtilNetwork.toString(packet));
-        }
-    }
-
-    private void disconnect(DatagramPacket packet, ByteBuffer buffer) throws IOException
-    {
-        final Integer id = getId(packet);
-        if (clients.containsKey(id))
-        {
-            final Integer disconnected = clients.get(id).getClientId();
-            Disconnected.decode(buffer, disconnected);
-
-            final ClientData client = clients.remove(id);
-            idToClientId.remove(id);
-            clientIdtoId.remove(disconnected);
-
-            for (final ClientData c : clients.values())
-            {
-                send(c, new Disconnected(c.getClientId(), disconnected));
-            }
-
-            channel.write(new Packet(client.getClientId(), disconnected.intValue(), UtilNetwork.MODE_DISCONNECT));
-
-            notifyClientDisconnected(client);
-
-            LOGGER.info("Client {} disconnected", client);
-        }
-        else
-        {
-            LOGGER.warn(ERROR_NOT_CONNECTED, UtilNetwork.toString(packet));
-        }
-    }
-
-    private void notifyClientDisconnected(ClientData client)
-    {
-        final int n = listenable.size();
-        for (int i = 0; i < n; i++)
-        {
-            listenable.get(i)
-                      .notifyClientDisconnected(client.getIp().toString(), client.getPort(), client.getClientId());
-        }
-    }
-
-    private void ping(DatagramPacket packet, ByteBuffer buffer) throws IOException
-    {
-        final Integer id = getId(packet);
-        if (clients.containsKey(id))
-        {
-            final ClientData client = clients.get(id);
-            final Integer clientId = client.getClientId();
-            Ping.decode(buffer, clientId);
-
-            send(client, new Ping(clientId));
-            LOGGER.info("Client {} ping", client);
-        }
-        else
-        {
-            LOGGER.warn(ERROR_NOT_CONNECTED, UtilNetwork.toString(packet));
-        }
-    }
-
-    private void direct(DatagramPacket packet, ByteBuffer buffer) throws IOException
-    {
-        final Integer id = getId(packet);
-        if (clients.containsKey(id))
-        {
-            final ClientData client = clients.get(id);
-            channel.write(Direct.decode(buffer, client.getClientId()));
-        }
-        else
-        {
-            LOGGER.warn(ERROR_NOT_CONNECTED, UtilNetwork.toString(packet));
-        }
-    }
-
-    private void data(DatagramPacket packet, ByteBuffer buffer) throws IOException
-    {
-        final Integer id = getId(packet);
-        if (clients.containsKey(id))
-        {
-            final ClientData client = clients.get(id);
-            channel.write(Data.decode(buffer, client.getClientId()));
-
-            sendClients(buffer, client.getClientId());
-        }
-        else
-        {
-            LOGGER.warn(ERROR_NOT_CONNECTED, UtilNetwork.toString(packet));
-        }
-    }
-
-    private void sendClients(ByteBuffer buffer, Integer clientId) throws IOException
-    {
-        for (final ClientData client : clients.values())
-        {
-            if (!client.getClientId().equals(clientId))
-            {
-                final ByteBuffer send = UtilNetwork.createPacket(buffer);
-                send.put(UtilNetwork.HEADER_BYTES_NUMBER + UtilNetwork.INDEX_CLIENT_ID,
-                         UtilConversion.fromUnsignedByte(client.getClientId().intValue()));
-                send.put(UtilNetwork.HEADER_BYTES_NUMBER + UtilNetwork.INDEX_CLIENT_SRC_ID,
-                         UtilConversion.fromUnsignedByte(clientId.intValue()));
-
-                socket.send(new DatagramPacket(send.array(), send.capacity(), client.getIp(), client.getPort()));
-            }
-        }
-    }
-
-    private void nameSet(DatagramPacket packet, ByteBuffer buffer) throws IOException
-    {
-        final Integer id = getId(packet);
-        if (clients.containsKey(id))
-        {
-            final ClientData client = clients.get(id);
-            final String name = NameSet.decode(buffer, client.getClientId());
-            client.setName(name);
-
-            for (final ClientData c : clients.values())
-            {
-                if (!c.getClientId().equals(client.getClientId()))
-                {
-                    final ByteBuffer send = UtilNetwork.createPacket(new NameSet(client.getClientId(), name).create());
-                    send.put(UtilNetwork.HEADER_BYTES_NUMBER + UtilNetwork.INDEX_CLIENT_ID,
-                             UtilConversion.fromUnsignedByte(c.getClientId().intValue()));
-
-                    socket.send(new DatagramPacket(send.array(), send.capacity(), c.getIp(), c.getPort()));
-                }
-            }
-
-            notifyClientNamed(client);
-        }
-        else
-        {
-            LOGGER.warn(ERROR_NOT_CONNECTED, UtilNetwork.toString(packet));
-        }
-    }
-
-    private void notifyClientNamed(ClientData client)
-    {
-        final int n = listenable.size();
-        for (int i = 0; i < n; i++)
-        {
-            listenable.get(i).notifyClientNamed(client.getClientId(), client.getName());
-        }
-    }
-
-    private void taskListen()
-    {
-        while (running)
-        {
-            try
-            {
-                final DatagramPacket packet = UtilNetwork.receive(socket);
-                handleType(packet);
-            }
-            catch (final IOException exception)
-            {
-                if (running)
-                {
-                    LOGGER.error("listen error", exception);
-                }
-            }
-        }
-    }
-
-    // CHECKSTYLE IGNORE LINE: CyclomaticComplexity
-    private void handleType(DatagramPacket packet) throws IOException
-    {
-        final ByteBuffer buffer = UtilNetwork.getBuffer(packet);
-        bandwidthDownSum.addAndGet(buffer.capacity());
-
-        final MessageType type = MessageType.from(buffer);
-        switch (type)
-        {
-            case INFO:
-                info(packet, buffer);
-                break;
-            case CONNECT:
-                connect(packet, buffer);
-                break;
-            case DISCONNECT:
-                disconnect(packet, buffer);
-                break;
-            case ALIVE:
-                alive(packet, buffer);
-                break;
-            case PING:
-                ping(packet, buffer);
-                break;
-            case DIRECT:
-                direct(packet, buffer);
-                break;
-            case DATA:
-                data(packet, buffer);
-                break;
-            case CLIENTS_LIST, UNKNOWN:
-                break;
-            case NAME_SET:
-                nameSet(packet, buffer);
-                break;
-            default:
-                throw new LionEngineException(type);
-        }
-    }
-
-    private void taskAlive()
-    {
-        final List<Integer> toRemove = new ArrayList<>();
-        while (running)
-        {
-            try
-            {
-                Thread.sleep(TIMEOUT);
-            }
-            catch (@SuppressWarnings("unused") final InterruptedException exception)
-            {
-                Thread.currentThread().interrupt();
-                break;
-            }
-
-            for (final ClientData client : clients.values())
-            {
-                if (!client.isAlive(TIMEOUT))
-                {
-                    toRemove.add(client.getClientId());
-                    notifyClientDisconnected(client);
-                    LOGGER.info("Client {} timeout!",
-                                UtilNetwork.toString(client.getIp().toString(), client.getPort()));
-                }
-            }
-            for (final Integer id : toRemove)
-            {
-                clients.remove(id);
-            }
-            toRemove.clear();
-        }
-    }
-
-    private void taskBandwidth()
-    {
-        final Timing timing = new Timing();
-        while (running)
-        {
-            timing.start();
-            try
-            {
-                Thread.sleep(Constant.THOUSAND);
-            }
-            catch (@SuppressWarnings("unused") final InterruptedException exception)
-            {
-                Thread.currentThread().interrupt();
-                break;
-            }
-            final double elapsed = timing.elapsed() / (double) Constant.THOUSAND;
-            timing.restart();
-
-            final double factor = 1.0 / 1024.0 * elapsed;
-            bandwidthUp.set(Math.round(bandwidthUpSum.getAndSet(0) * factor));
-            bandwidthDown.set(Math.round(bandwidthDownSum.getAndSet(0) * factor));
-        }
-    }
-
-    @Override
-    public synchronized void start(String ip, int port) throws IOException
-    {
-        if (!running)
-        {
-            running = true;
-            try
-            {
-                socket = new DatagramSocket(port, InetAddress.getByName(ip));
-                socket.setReuseAddress(true);
-            }
-            catch (final SocketException | UnknownHostException e)
-            {
-                throw new IOException(ERROR_START_SERVER, e);
-            }
-            threadReceive = new Thread(this::taskListen, ServerUdp.class.getSimpleName() + "_listen");
-            threadAlive = new Thread(this::taskAlive, ServerUdp.class.getSimpleName() + "_alive");
-            threadBandwidth = new Thread(this::taskBandwidth, ServerUdp.class.getSimpleName() + "_bandwidth");
-
-            threadReceive.start();
-            threadAlive.start();
-            threadBandwidth.start();
-
-            notifyServerStarted(ip, port);
-        }
-    }
-
-    private void notifyServerStarted(String ip, int port)
-    {
-        final int n = listenable.size();
-        for (int i = 0; i < n; i++)
-        {
-            listenable.get(i).notifyServerStarted(ip, port);
-        }
-    }
-
-    private void notifyServerStopped()
-    {
-        final int n = listenable.size();
-        for (int i = 0; i < n; i++)
-        {
-            listenable.get(i).notifyServerStopped();
-        }
-    }
-
-    @Override
-    public void stop()
-    {
-        for (final ClientData c : clients.values())
-        {
-            try
-            {
-                send(c, new Disconnected(c.getClientId(), UtilNetwork.SERVER_ID));
-            }
-            catch (final IOException exception)
-            {
-                LOGGER.error("stop error", exception);
-            }
-        }
-
-        socket.close();
-        running = false;
-
-        threadReceive.interrupt();
-        threadAlive.interrupt();
-
-        UtilNetwork.await(threadReceive);
-        UtilNetwork.await(threadAlive);
-        UtilNetwork.await(threadBandwidth);
-
-        clients.clear();
-        bandwidthUp.set(-1);
-        bandwidthDown.set(-1);
-        threadReceive = null;
-        threadAlive = null;
-        socket = null;
-
-        notifyServerStopped();
-
-        LOGGER.info("Server stopped");
+        super(channel);
     }
 
     @Override
-    public void send(Message message) throws IOException
+    protected void open(String ip, int port) throws IOException
     {
-        final ByteBuffer buffer = UtilNetwork.createPacket(message.create());
-
-        for (final ClientData client : clients.values())
-        {
-            buffer.put(UtilNetwork.HEADER_BYTES_NUMBER + UtilNetwork.INDEX_CLIENT_ID,
-                       UtilConversion.fromUnsignedByte(client.getClientId().intValue()));
-
-            socket.send(new DatagramPacket(buffer.array(), buffer.capacity(), client.getIp(), client.getPort()));
-
-            bandwidthUpSum.addAndGet(buffer.capacity());
-        }
+        socket = new DatagramSocket(port, InetAddress.getByName(ip));
+        socket.setReuseAddress(true);
     }
 
     @Override
-    public void send(Message message, Integer clientId) throws IOException
+    protected void receive() throws IOException
     {
-        final ClientData client = clients.get(clientIdtoId.get(clientId));
-
-        final ByteBuffer buffer = UtilNetwork.createPacket(message.create());
-
-        buffer.put(UtilNetwork.HEADER_BYTES_NUMBER + UtilNetwork.INDEX_CLIENT_ID,
-                   UtilConversion.fromUnsignedByte(client.getClientId().intValue()));
-
-        socket.send(new DatagramPacket(buffer.array(), buffer.capacity(), client.getIp(), client.getPort()));
-
-        bandwidthUpSum.addAndGet(buffer.capacity());
-    }
-
-    @Override
-    public void setInfoSupplier(Supplier<ByteBuffer> info)
-    {
-        Check.notNull(info);
-
-        this.info.set(info);
-    }
-
-    @Override
-    public int getClients()
-    {
-        return clients.size();
-    }
-
-    @Override
-    public long getBandwidthUp()
-    {
-        return bandwidthUp.get();
+        final DatagramPacket packet = UtilNetwork.receive(socket, received);
+        handle((InetSocketAddress) packet.getSocketAddress(), ByteBuffer.wrap(received, 0, packet.getLength()));
     }
 
     @Override
-    public long getBandwidthDown()
+    protected int sendDatagram(ByteBuffer datagram, InetSocketAddress address) throws IOException
     {
-        return bandwidthDown.get();
+        final byte[] data = new byte[datagram.remaining()];
+        datagram.get(data);
+        socket.send(new DatagramPacket(data, data.length, address));
+        return data.length;
     }
 
     @Override
-    public void addListener(ServerListener listener)
+    protected void wakeup()
     {
-        listenable.addListener(listener);
+        socket.close();
     }
 
     @Override
-    public void removeListener(ServerListener listener)
+    protected void close()
     {
-        listenable.removeListener(listener);
+        socket = null;
     }
 }
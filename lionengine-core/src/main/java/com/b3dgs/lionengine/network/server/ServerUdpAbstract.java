@@ -0,0 +1,964 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.ListenableModel;
+import com.b3dgs.lionengine.Timing;
+import com.b3dgs.lionengine.UtilConversion;
+import com.b3dgs.lionengine.network.Alive;
+import com.b3dgs.lionengine.network.Batch;
+import com.b3dgs.lionengine.network.BatchReader;
+import com.b3dgs.lionengine.network.Channel;
+import com.b3dgs.lionengine.network.Data;
+import com.b3dgs.lionengine.network.Direct;
+import com.b3dgs.lionengine.network.Message;
+import com.b3dgs.lionengine.network.MessageType;
+import com.b3dgs.lionengine.network.Packet;
+import com.b3dgs.lionengine.network.Ping;
+import com.b3dgs.lionengine.network.Reliability;
+import com.b3dgs.lionengine.network.UtilNetwork;
+
+/**
+ * UDP server protocol implementation, shared by servers which only provide the datagram transport.
+ * <p>
+ * Clients connection, naming, alive checks, data forwarding and listeners notification are handled here. Packets are
+ * sent from a pool of reused buffers. A message sent to several clients is encoded once, only its client id is updated
+ * for each recipient.
+ * </p>
+ * <p>
+ * When created with a maximum datagram size, messages sent to clients and forwarded data are batched by client until
+ * {@link #flush()}, and sent packed in datagrams. Clients list and names are batched too, other protocol messages are
+ * sent immediately. A client not receiving its connection answer connects again, and is answered again.
+ * </p>
+ * <p>
+ * When created with reliability enabled, batched datagrams are wrapped by {@link Reliability}: messages flagged as
+ * {@link Message#isReliable()} are resent until acknowledged and delivered in order, others are dropped if stale.
+ * Clients must have reliability enabled too.
+ * </p>
+ */
+// CHECKSTYLE IGNORE LINE: DataAbstractionCoupling|FanOutComplexity
+public abstract class ServerUdpAbstract implements Server
+{
+    private static final int TIMEOUT = 12_000;
+    private static final int POOL_SIZE = 16;
+    private static final int NO_BATCH = 0;
+
+    private static final String ERROR_MAX_CLIENTS = "Maximum clients reached!";
+    private static final String ERROR_START_SERVER = "Unable to start server!";
+    private static final String ERROR_NOT_CONNECTED = "Client {} not connected!";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerUdpAbstract.class);
+
+    private static Integer getId(InetSocketAddress address)
+    {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + address.getAddress().hashCode();
+        result = prime * result + address.getPort();
+        return Integer.valueOf(result);
+    }
+
+    private static String toString(InetSocketAddress address)
+    {
+        return UtilNetwork.toString(address.getAddress().toString(), address.getPort());
+    }
+
+    private static void setClientId(ByteBuffer packet, int index, Integer clientId)
+    {
+        packet.put(UtilNetwork.HEADER_BYTES_NUMBER + index, UtilConversion.fromUnsignedByte(clientId.intValue()));
+    }
+
+    private final ListenableModel<ServerListener> listenable = new ListenableModel<>();
+    private final Map<Integer, ClientData> clients = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> idToClientId = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> clientIdtoId = new ConcurrentHashMap<>();
+    private final BufferPool pool = new BufferPool(POOL_SIZE);
+    private final BatchReader reader = new BatchReader();
+    private final Channel channel;
+    private final int mtu;
+    private final boolean reliable;
+
+    private Thread threadReceive;
+    private Thread threadAlive;
+    private Thread threadBandwidth;
+
+    private volatile boolean running;
+    private final AtomicInteger bandwidthUpSum = new AtomicInteger();
+    private final AtomicInteger bandwidthDownSum = new AtomicInteger();
+    private final AtomicLong bandwidthUp = new AtomicLong(-1);
+    private final AtomicLong bandwidthDown = new AtomicLong(-1);
+    private final AtomicReference<Supplier<ByteBuffer>> info = new AtomicReference<>(() -> ByteBuffer.allocate(0));
+    private volatile DataFilter filter;
+
+    private Integer getNextClientId()
+    {
+        for (int i = UtilNetwork.SERVER_ID.intValue() + 1; i < Constant.UNSIGNED_BYTE; i++)
+        {
+            final Integer free = Integer.valueOf(i);
+            if (!idToClientId.containsValue(free))
+            {
+                return free;
+            }
+        }
+        throw new LionEngineException(ERROR_MAX_CLIENTS);
+    }
+
+    /**
+     * Create server without batching.
+     * 
+     * @param channel The channel reference (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    protected ServerUdpAbstract(Channel channel)
+    {
+        super();
+
+        Check.notNull(channel);
+
+        this.channel = channel;
+        mtu = NO_BATCH;
+        reliable = false;
+    }
+
+    /**
+     * Create server with batching enabled, and optional reliability.
+     * 
+     * @param channel The channel reference (must not be <code>null</code>).
+     * @param mtu The maximum datagram size (must be between {@link Batch#MTU_MIN} and {@link Batch#MTU_MAX} included,
+     *            increased by {@link Reliability#HEADER} if reliable).
+     * @param reliable <code>true</code> to enable reliability, <code>false</code> else.
+     * @throws LionEngineException If invalid argument.
+     */
+    protected ServerUdpAbstract(Channel channel, int mtu, boolean reliable)
+    {
+        super();
+
+        Check.notNull(channel);
+        if (reliable)
+        {
+            Check.superiorOrEqual(mtu, Batch.MTU_MIN + Reliability.HEADER);
+        }
+        else
+        {
+            Check.superiorOrEqual(mtu, Batch.MTU_MIN);
+        }
+        Check.inferiorOrEqual(mtu, Batch.MTU_MAX);
+
+        this.channel = channel;
+        this.mtu = mtu;
+        this.reliable = reliable;
+    }
+
+    /**
+     * Open transport at specified network location.
+     * 
+     * @param ip The ip address [x.x.x.x].
+     * @param port The port number [1-65535].
+     * @throws IOException If error, transport must be left closed.
+     */
+    protected abstract void open(String ip, int port) throws IOException;
+
+    /**
+     * Wait for received datagrams, and {@link #handle(InetSocketAddress, ByteBuffer)} them. Called in loop from
+     * receive thread while running.
+     * 
+     * @throws IOException If error.
+     */
+    protected abstract void receive() throws IOException;
+
+    /**
+     * Send datagram.
+     * 
+     * @param datagram The datagram, from its position to its limit.
+     * @param address The destination address.
+     * @return The sent bytes.
+     * @throws IOException If error.
+     */
+    protected abstract int sendDatagram(ByteBuffer datagram, InetSocketAddress address) throws IOException;
+
+    /**
+     * Unblock {@link #receive()}, called on stop once not running anymore.
+     */
+    protected abstract void wakeup();
+
+    /**
+     * Close transport, called on stop once receive thread terminated.
+     * 
+     * @throws IOException If error.
+     */
+    protected abstract void close() throws IOException;
+
+    /**
+     * Handle received datagram content.
+     * 
+     * @param address The source address.
+     * @param datagram The received datagram.
+     * @throws IOException If error.
+     */
+    protected final void handle(InetSocketAddress address, ByteBuffer datagram) throws IOException
+    {
+        final ClientData client = clients.get(getId(address));
+        if (client == null)
+        {
+            reader.read(datagram, buffer -> handleType(address, buffer));
+        }
+        else if (client.getReliability() == null)
+        {
+            client.getReader().read(datagram, buffer -> handleType(address, buffer));
+        }
+        else
+        {
+            client.getReliability().read(datagram, client.getReader(), buffer -> handleType(address, buffer));
+        }
+    }
+
+    private void sendPacket(ByteBuffer packet, InetSocketAddress address) throws IOException
+    {
+        packet.rewind();
+        bandwidthUpSum.addAndGet(sendDatagram(packet, address));
+    }
+
+    private void send(ByteBuffer content, InetSocketAddress address) throws IOException
+    {
+        final ByteBuffer packet = pool.acquire();
+        try
+        {
+            UtilNetwork.writePacket(packet, content);
+            sendPacket(packet, address);
+        }
+        finally
+        {
+            pool.release(packet);
+        }
+    }
+
+    private void send(ClientData client, Message message) throws IOException
+    {
+        send(message.create(), client.getAddress());
+    }
+
+    private void add(ClientData client, Message message, ByteBuffer content) throws IOException
+    {
+        final Reliability reliability = client.getReliability();
+        if (reliability != null && message.isReliable())
+        {
+            reliability.add(content, client.getClientId());
+        }
+        else
+        {
+            client.getBatch().add(content, client.getClientId());
+        }
+    }
+
+    private void sendState(ClientData client, Message message) throws IOException
+    {
+        if (mtu == NO_BATCH)
+        {
+            final ByteBuffer packet = pool.acquire();
+            try
+            {
+                UtilNetwork.writePacket(packet, message.create());
+                setClientId(packet, UtilNetwork.INDEX_CLIENT_ID, client.getClientId());
+                sendPacket(packet, client.getAddress());
+            }
+            finally
+            {
+                pool.release(packet);
+            }
+        }
+        else
+        {
+            add(client, message, message.create());
+        }
+    }
+
+    private void info(InetSocketAddress address, ByteBuffer buffer) throws IOException
+    {
+        Info.decode(buffer);
+
+        final ByteBuffer infoBuffer = info.get().get();
+
+        final ByteBuffer answer = ByteBuffer.allocate(1 + infoBuffer.capacity());
+        answer.put(UtilNetwork.toByte(MessageType.INFO));
+        answer.put(infoBuffer.array());
+
+        send(answer, address);
+    }
+
+    private void connect(InetSocketAddress address, ByteBuffer buffer) throws IOException
+    {
+        final Integer id = getId(address);
+        Connected.decode(buffer);
+
+        final ClientData connected = clients.get(id);
+        if (connected != null)
+        {
+            LOGGER.warn("Client {} already connected, answer lost", toString(address));
+            send(connected, new Connected(connected.getClientId()));
+        }
+        else
+        {
+            final Batch batch;
+            final Reliability reliability;
+            if (mtu == NO_BATCH)
+            {
+                batch = null;
+                reliability = null;
+            }
+            else if (reliable)
+            {
+                batch = new Batch(mtu - Reliability.HEADER);
+                reliability = new Reliability(mtu);
+            }
+            else
+            {
+                batch = new Batch(mtu);
+                reliability = null;
+            }
+            final ClientData client = new ClientData(address.getAddress(),
+                                                     address.getPort(),
+                                                     getNextClientId(),
+                                                     batch,
+                                                     reliability);
+            clients.put(id, client);
+            idToClientId.put(id, client.getClientId());
+            clientIdtoId.put(client.getClientId(), id);
+
+            send(client, new Connected(client.getClientId()));
+            client.alive();
+            notifyClientConnected(client);
+
+            for (final ClientData c : clients.values())
+            {
+                final Set<Integer> other = new HashSet<>(idToClientId.values());
+                other.remove(c.getClientId());
+                if (!other.isEmpty())
+                {
+                    sendState(c, new ClientsList(c.getClientId(), other));
+                }
+            }
+
+            for (final ClientData c : clients.values())
+            {
+                if (c.getName() != null && !c.getClientId().equals(client.getClientId()))
+                {
+                    sendState(client, new NameSet(c.getClientId(), c.getName()));
+                }
+            }
+
+            LOGGER.info("Client {} connected", client);
+        }
+    }
+
+    private void notifyClientConnected(ClientData client)
+    {
+        final int n = listenable.size();
+        for (int i = 0; i < n; i++)
+        {
+            listenable.get(i).notifyClientConnected(client.getIp().toString(), client.getPort(), client.getClientId());
+        }
+    }
+
+    private void alive(InetSocketAddress address, ByteBuffer buffer) throws IOException
+    {
+        final ClientData client = clients.get(getId(address));
+        if (client != null)
+        {
+            Alive.decode(buffer, client.getClientId());
+            client.alive();
+        }
+        else
+        {
+            LOGGER.warn(ERROR_NOT_CONNECTED, toString(address));
+        }
+    }
+
+    private void disconnect(InetSocketAddress address, ByteBuffer buffer) throws IOException
+    {
+        final Integer id = getId(address);
+        final ClientData client = clients.get(id);
+        if (client != null)
+        {
+            final Integer disconnected = client.getClientId();
+            Disconnected.decode(buffer, disconnected);
+
+            remove(id, client);
+
+            for (final ClientData c : clients.values())
+            {
+                send(c, new Disconnected(c.getClientId(), disconnected));
+            }
+
+            channel.write(new Packet(client.getClientId(), disconnected.intValue(), UtilNetwork.MODE_DISCONNECT));
+
+            notifyClientDisconnected(client);
+
+            LOGGER.info("Client {} disconnected", client);
+        }
+        else
+        {
+            LOGGER.warn(ERROR_NOT_CONNECTED, toString(address));
+        }
+    }
+
+    private void remove(Integer id, ClientData client)
+    {
+        clients.remove(id);
+        idToClientId.remove(id);
+        clientIdtoId.remove(client.getClientId());
+    }
+
+    private void notifyClientDisconnected(ClientData client)
+    {
+        final int n = listenable.size();
+        for (int i = 0; i < n; i++)
+        {
+            listenable.get(i)
+                      .notifyClientDisconnected(client.getIp().toString(), client.getPort(), client.getClientId());
+        }
+    }
+
+    private void ping(InetSocketAddress address, ByteBuffer buffer) throws IOException
+    {
+        final ClientData client = clients.get(getId(address));
+        if (client != null)
+        {
+            final Integer clientId = client.getClientId();
+            Ping.decode(buffer, clientId);
+
+            send(client, new Ping(clientId));
+            LOGGER.info("Client {} ping", client);
+        }
+        else
+        {
+            LOGGER.warn(ERROR_NOT_CONNECTED, toString(address));
+        }
+    }
+
+    private void direct(InetSocketAddress address, ByteBuffer buffer) throws IOException
+    {
+        final ClientData client = clients.get(getId(address));
+        if (client != null)
+        {
+            channel.write(Direct.decode(buffer, client.getClientId()));
+        }
+        else
+        {
+            LOGGER.warn(ERROR_NOT_CONNECTED, toString(address));
+        }
+    }
+
+    private void data(InetSocketAddress address, ByteBuffer buffer) throws IOException
+    {
+        final ClientData client = clients.get(getId(address));
+        if (client != null)
+        {
+            channel.write(Data.decode(buffer, client.getClientId()));
+
+            sendClients(buffer, client.getClientId());
+        }
+        else
+        {
+            LOGGER.warn(ERROR_NOT_CONNECTED, toString(address));
+        }
+    }
+
+    private boolean isRelevant(ByteBuffer buffer, Integer clientId)
+    {
+        final DataFilter current = filter;
+        if (current == null || buffer.capacity() < UtilNetwork.INDEX_DATA_ID + Integer.BYTES)
+        {
+            return true;
+        }
+        final int type = UtilConversion.toUnsignedByte(buffer.get(UtilNetwork.INDEX_TYPE));
+        if ((type == MessageType.DATA.ordinal() || type == MessageType.DIRECT.ordinal())
+            && UtilConversion.toUnsignedByte(buffer.get(UtilNetwork.INDEX_MODE)) == UtilNetwork.MODE_DATA)
+        {
+            return current.isRelevant(clientId, buffer.getInt(UtilNetwork.INDEX_DATA_ID));
+        }
+        return true;
+    }
+
+    private void sendClients(ByteBuffer buffer, Integer clientId) throws IOException
+    {
+        if (mtu != NO_BATCH)
+        {
+            for (final ClientData client : clients.values())
+            {
+                if (!client.getClientId().equals(clientId) && isRelevant(buffer, client.getClientId()))
+                {
+                    client.getBatch().add(buffer, client.getClientId(), clientId);
+                }
+            }
+            return;
+        }
+        if (buffer.capacity() > UtilNetwork.MAX_SIZE - UtilNetwork.HEADER_BYTES_NUMBER)
+        {
+            LOGGER.warn("Data of {} bytes too big to be forwarded", Integer.valueOf(buffer.capacity()));
+            return;
+        }
+
+        final ByteBuffer packet = pool.acquire();
+        try
+        {
+            UtilNetwork.writePacket(packet, buffer);
+            setClientId(packet, UtilNetwork.INDEX_CLIENT_SRC_ID, clientId);
+
+            for (final ClientData client : clients.values())
+            {
+                if (!client.getClientId().equals(clientId) && isRelevant(buffer, client.getClientId()))
+                {
+                    setClientId(packet, UtilNetwork.INDEX_CLIENT_ID, client.getClientId());
+                    sendPacket(packet, client.getAddress());
+                }
+            }
+        }
+        finally
+        {
+            pool.release(packet);
+        }
+    }
+
+    private void nameSet(InetSocketAddress address, ByteBuffer buffer) throws IOException
+    {
+        final ClientData client = clients.get(getId(address));
+        if (client != null)
+        {
+            final String name = NameSet.decode(buffer, client.getClientId());
+            client.setName(name);
+
+            final NameSet message = new NameSet(client.getClientId(), name);
+            for (final ClientData c : clients.values())
+            {
+                if (!c.getClientId().equals(client.getClientId()))
+                {
+                    sendState(c, message);
+                }
+            }
+
+            notifyClientNamed(client);
+        }
+        else
+        {
+            LOGGER.warn(ERROR_NOT_CONNECTED, toString(address));
+        }
+    }
+
+    private void notifyClientNamed(ClientData client)
+    {
+        final int n = listenable.size();
+        for (int i = 0; i < n; i++)
+        {
+            listenable.get(i).notifyClientNamed(client.getClientId(), client.getName());
+        }
+    }
+
+    private void taskListen()
+    {
+        while (running)
+        {
+            try
+            {
+                receive();
+            }
+            catch (final IOException exception)
+            {
+                if (running)
+                {
+                    LOGGER.error("listen error", exception);
+                }
+            }
+        }
+    }
+
+    // CHECKSTYLE IGNORE LINE: CyclomaticComplexity
+    private void handleType(InetSocketAddress address, ByteBuffer buffer) throws IOException
+    {
+        bandwidthDownSum.addAndGet(buffer.capacity());
+
+        final MessageType type = MessageType.from(buffer);
+        switch (type)
+        {
+            case INFO:
+                info(address, buffer);
+                break;
+            case CONNECT:
+                connect(address, buffer);
+                break;
+            case DISCONNECT:
+                disconnect(address, buffer);
+                break;
+            case ALIVE:
+                alive(address, buffer);
+                break;
+            case PING:
+                ping(address, buffer);
+                break;
+            case DIRECT:
+                direct(address, buffer);
+                break;
+            case DATA:
+                data(address, buffer);
+                break;
+            case CLIENTS_LIST, UNKNOWN:
+                break;
+            case NAME_SET:
+                nameSet(address, buffer);
+                break;
+            default:
+                throw new LionEngineException(type);
+        }
+    }
+
+    private void taskAlive()
+    {
+        while (running)
+        {
+            try
+            {
+                Thread.sleep(TIMEOUT);
+            }
+            catch (@SuppressWarnings("unused") final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            final Iterator<Map.Entry<Integer, ClientData>> iterator = clients.entrySet().iterator();
+            while (iterator.hasNext())
+            {
+                final Map.Entry<Integer, ClientData> entry = iterator.next();
+                final ClientData client = entry.getValue();
+                if (!client.isAlive(TIMEOUT))
+                {
+                    remove(entry.getKey(), client);
+                    notifyClientDisconnected(client);
+                    LOGGER.info("Client {} timeout!",
+                                UtilNetwork.toString(client.getIp().toString(), client.getPort()));
+                }
+            }
+        }
+    }
+
+    private void taskBandwidth()
+    {
+        final Timing timing = new Timing();
+        while (running)
+        {
+            timing.start();
+            try
+            {
+                Thread.sleep(Constant.THOUSAND);
+            }
+            catch (@SuppressWarnings("unused") final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            final double elapsed = timing.elapsed() / (double) Constant.THOUSAND;
+            timing.restart();
+
+            final double factor = 1.0 / 1024.0 * elapsed;
+            bandwidthUp.set(Math.round(bandwidthUpSum.getAndSet(0) * factor));
+            bandwidthDown.set(Math.round(bandwidthDownSum.getAndSet(0) * factor));
+        }
+    }
+
+    private void notifyServerStarted(String ip, int port)
+    {
+        final int n = listenable.size();
+        for (int i = 0; i < n; i++)
+        {
+            listenable.get(i).notifyServerStarted(ip, port);
+        }
+    }
+
+    private void notifyServerStopped()
+    {
+        final int n = listenable.size();
+        for (int i = 0; i < n; i++)
+        {
+            listenable.get(i).notifyServerStopped();
+        }
+    }
+
+    @Override
+    public synchronized void start(String ip, int port) throws IOException
+    {
+        if (!running)
+        {
+            try
+            {
+                open(ip, port);
+            }
+            catch (final IOException exception)
+            {
+                throw new IOException(ERROR_START_SERVER, exception);
+            }
+            running = true;
+
+            final String name = getClass().getSimpleName();
+            threadReceive = new Thread(this::taskListen, name + "_listen");
+            threadAlive = new Thread(this::taskAlive, name + "_alive");
+            threadBandwidth = new Thread(this::taskBandwidth, name + "_bandwidth");
+
+            threadReceive.start();
+            threadAlive.start();
+            threadBandwidth.start();
+
+            notifyServerStarted(ip, port);
+        }
+    }
+
+    @Override
+    public synchronized void stop()
+    {
+        if (!running)
+        {
+            return;
+        }
+        for (final ClientData c : clients.values())
+        {
+            try
+            {
+                send(c, new Disconnected(c.getClientId(), UtilNetwork.SERVER_ID));
+            }
+            catch (final IOException exception)
+            {
+                LOGGER.error("stop error", exception);
+            }
+        }
+
+        running = false;
+        wakeup();
+
+        threadAlive.interrupt();
+        threadBandwidth.interrupt();
+
+        UtilNetwork.await(threadReceive);
+        UtilNetwork.await(threadAlive);
+        UtilNetwork.await(threadBandwidth);
+
+        try
+        {
+            close();
+        }
+        catch (final IOException exception)
+        {
+            LOGGER.error("stop error", exception);
+        }
+
+        clients.clear();
+        idToClientId.clear();
+        clientIdtoId.clear();
+        bandwidthUp.set(-1);
+        bandwidthDown.set(-1);
+        threadReceive = null;
+        threadAlive = null;
+        threadBandwidth = null;
+
+        notifyServerStopped();
+
+        LOGGER.info("Server stopped");
+    }
+
+    @Override
+    public void send(Message message) throws IOException
+    {
+        if (mtu != NO_BATCH)
+        {
+            final ByteBuffer content = message.create();
+            for (final ClientData client : clients.values())
+            {
+                if (isRelevant(content, client.getClientId()))
+                {
+                    add(client, message, content);
+                }
+            }
+            return;
+        }
+
+        final ByteBuffer packet = pool.acquire();
+        try
+        {
+            final ByteBuffer content = message.create();
+            UtilNetwork.writePacket(packet, content);
+            for (final ClientData client : clients.values())
+            {
+                if (isRelevant(content, client.getClientId()))
+                {
+                    setClientId(packet, UtilNetwork.INDEX_CLIENT_ID, client.getClientId());
+                    sendPacket(packet, client.getAddress());
+                }
+            }
+        }
+        finally
+        {
+            pool.release(packet);
+        }
+    }
+
+    @Override
+    public void send(Message message, Integer clientId) throws IOException
+    {
+        final ClientData client = clients.get(clientIdtoId.get(clientId));
+        if (mtu != NO_BATCH)
+        {
+            add(client, message, message.create());
+            return;
+        }
+
+        final ByteBuffer packet = pool.acquire();
+        try
+        {
+            UtilNetwork.writePacket(packet, message.create());
+            setClientId(packet, UtilNetwork.INDEX_CLIENT_ID, client.getClientId());
+            sendPacket(packet, client.getAddress());
+        }
+        finally
+        {
+            pool.release(packet);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        if (mtu != NO_BATCH)
+        {
+            for (final ClientData client : clients.values())
+            {
+                final Batch.Sender sender = datagram -> sendPacket(datagram, client.getAddress());
+                final Reliability reliability = client.getReliability();
+                if (reliability == null)
+                {
+                    client.getBatch().flush(sender);
+                }
+                else
+                {
+                    client.getBatch().flush(datagram -> reliability.send(datagram, sender));
+                    reliability.flush(sender);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void setDataFilter(DataFilter filter)
+    {
+        this.filter = filter;
+    }
+
+    @Override
+    public void setInfoSupplier(Supplier<ByteBuffer> info)
+    {
+        Check.notNull(info);
+
+        this.info.set(info);
+    }
+
+    @Override
+    public int getClients()
+    {
+        return clients.size();
+    }
+
+    @Override
+    public long getBandwidthUp()
+    {
+        return bandwidthUp.get();
+    }
+
+    @Override
+    public long getBandwidthDown()
+    {
+        return bandwidthDown.get();
+    }
+
+    @Override
+    public long getRtt()
+    {
+        long sum = 0L;
+        int count = 0;
+        for (final ClientData client : clients.values())
+        {
+            final Reliability reliability = client.getReliability();
+            if (reliability != null && reliability.getRtt() >= 0L)
+            {
+                sum += reliability.getRtt();
+                count++;
+            }
+        }
+        if (count == 0)
+        {
+            return -1L;
+        }
+        return sum / count;
+    }
+
+    @Override
+    public double getLoss()
+    {
+        double sum = 0.0;
+        int count = 0;
+        for (final ClientData client : clients.values())
+        {
+            final Reliability reliability = client.getReliability();
+            if (reliability != null && reliability.getLoss() >= 0.0)
+            {
+                sum += reliability.getLoss();
+                count++;
+            }
+        }
+        if (count == 0)
+        {
+            return -1.0;
+        }
+        return sum / count;
+    }
+
+    @Override
+    public void addListener(ServerListener listener)
+    {
+        listenable.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(ServerListener listener)
+    {
+        listenable.removeListener(listener);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.network.Batch;
+import com.b3dgs.lionengine.network.Channel;
+import com.b3dgs.lionengine.network.Reliability;
+
+/**
+ * UDP server based on a non blocking {@link DatagramChannel}, alternative to {@link ServerUdp} with the same protocol.
+ * <p>
+ * Packets are received in a single reused direct buffer, and sent directly from pooled buffers. Received messages
+ * content is copied to its own buffer, as it may be kept by {@link Channel}. Batching and reliability can be enabled,
+ * as described by {@link ServerUdpAbstract}.
+ * </p>
+ */
+public class ServerUdpChannel extends ServerUdpAbstract
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerUdpChannel.class);
+
+    private final ByteBuffer received = ByteBuffer.allocateDirect(Batch.MTU_MAX);
+
+    private DatagramChannel socket;
+    private Selector selector;
+
+    /**
+     * Create server.
+     * 
+     * @param channel The channel reference (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public ServerUdpChannel(Channel channel)
+    {
+        super(channel);
+    }
+
+    /**
+     * Create server with batching enabled.
+     * 
+     * @param channel The channel reference (must not be <code>null</code>).
+     * @param mtu The maximum datagram size (must be between {@link Batch#MTU_MIN} and {@link Batch#MTU_MAX} included).
+     * @throws LionEngineException If invalid argument.
+     */
+    public ServerUdpChannel(Channel channel, int mtu)
+    {
+        this(channel, mtu, false);
+    }
+
+    /**
+     * Create server with batching enabled, and optional reliability.
+     * 
+     * @param channel The channel reference (must not be <code>null</code>).
+     * @param mtu The maximum datagram size (must be between {@link Batch#MTU_MIN} and {@link Batch#MTU_MAX} included,
+     *            increased by {@link Reliability#HEADER} if reliable).
+     * @param reliable <code>true</code> to enable reliability, <code>false</code> else.
+     * @throws LionEngineException If invalid argument.
+     */
+    public ServerUdpChannel(Channel channel, int mtu, boolean reliable)
+    {
+        super(channel, mtu, reliable);
+    }
+
+    @Override
+    protected void open(String ip, int port) throws IOException
+    {
+        try
+        {
+            socket = DatagramChannel.open();
+            socket.setOption(StandardSocketOptions.SO_REUSEADDR, Boolean.TRUE);
+            socket.bind(new InetSocketAddress(InetAddress.getByName(ip), port));
+            socket.configureBlocking(false);
+            selector = Selector.open();
+            socket.register(selector, SelectionKey.OP_READ);
+        }
+        catch (final IOException exception)
+        {
+            if (socket != null)
+            {
+                socket.close();
+                socket = null;
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    protected void receive() throws IOException
+    {
+        selector.select();
+        selector.selectedKeys().clear();
+
+        received.clear();
+        SocketAddress address = socket.receive(received);
+        while (address != null)
+        {
+            received.flip();
+            try
+            {
+                handle((InetSocketAddress) address, received);
+            }
+            catch (final IOException exception)
+            {
+                LOGGER.error("receive error", exception);
+            }
+            received.clear();
+            address = socket.receive(received);
+        }
+    }
+
+    @Override
+    protected int sendDatagram(ByteBuffer datagram, InetSocketAddress address) throws IOException
+    {
+        return socket.send(datagram, address);
+    }
+
+    @Override
+    protected void wakeup()
+    {
+        selector.wakeup();
+    }
+
+    @Override
+    protected void close() throws IOException
+    {
+        try
+        {
+            selector.close();
+            socket.close();
+        }
+        finally
+        {
+            selector = null;
+            socket = null;
+        }
+    }
+}
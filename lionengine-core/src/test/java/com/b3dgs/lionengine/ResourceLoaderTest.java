@@ -18,13 +18,22 @@ package com.b3dgs.lionengine;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertIterableEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
 import static com.b3dgs.lionengine.UtilAssert.assertNull;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTimeout;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterAll;
@@ -197,13 +206,139 @@ final class ResourceLoaderTest
         assertTimeout(1_000L, () -> ResourceLoader.ERROR_SKIPPED.equals(exception.get().getMessage()));
     }
 
+    /**
+     * Test invalid threads number.
+     */
+    @Test
+    void testInvalidThreads()
+    {
+        assertThrows(() -> new ResourceLoader<>(0), "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test resources are loaded by priority, then by adding order.
+     */
+    @Test
+    void testPriority()
+    {
+        final List<Type> loaded = Collections.synchronizedList(new ArrayList<>());
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
+        resourceLoader.add(Type.TEST, new ActionResource(() -> loaded.add(Type.TEST)));
+        resourceLoader.add(Type.OTHER, new ActionResource(() -> loaded.add(Type.OTHER)), 1);
+        resourceLoader.add(Type.LAST, new ActionResource(() -> loaded.add(Type.LAST)));
+
+        assertEquals(0, resourceLoader.getProgressPercent());
+
+        resourceLoader.start();
+        resourceLoader.await();
+
+        assertIterableEquals(Arrays.asList(Type.OTHER, Type.TEST, Type.LAST), loaded);
+        assertEquals(1.0, resourceLoader.getProgress());
+        assertEquals(100, resourceLoader.getProgressPercent());
+    }
+
+    /**
+     * Test resources are loaded in parallel.
+     */
+    @Test
+    void testParallel()
+    {
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final Runnable action = () ->
+        {
+            try
+            {
+                barrier.await(Constant.THOUSAND, TimeUnit.MILLISECONDS);
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                throw new LionEngineException(exception);
+            }
+            catch (final BrokenBarrierException | TimeoutException exception)
+            {
+                throw new LionEngineException(exception);
+            }
+        };
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>(2);
+        resourceLoader.add(Type.TEST, new ActionResource(action));
+        resourceLoader.add(Type.OTHER, new ActionResource(action));
+
+        resourceLoader.start();
+        resourceLoader.await();
+
+        assertEquals(100, resourceLoader.getProgressPercent());
+    }
+
+    /**
+     * Test load time.
+     */
+    @Test
+    void testLoadTime()
+    {
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
+        resourceLoader.add(Type.TEST, new SlowResource());
+
+        assertEquals(-1L, resourceLoader.getLoadTimeNano(Type.TEST));
+        assertThrows(() -> resourceLoader.getLoadTimeNano(Type.OTHER),
+                     LionEngineException.ERROR_UNKNOWN_ENUM + Type.OTHER.name());
+        assertThrows(() -> resourceLoader.getLoadTimeNano(null), Check.ERROR_NULL);
+
+        resourceLoader.start();
+        resourceLoader.await();
+
+        assertTrue(resourceLoader.getLoadTimeNano(Type.TEST) >= TimeUnit.MILLISECONDS.toNanos(Constant.THOUSAND));
+    }
+
+    /**
+     * Test failure is thrown on await once all resources loaded.
+     */
+    @Test
+    void testFailure()
+    {
+        final List<Type> loaded = Collections.synchronizedList(new ArrayList<>());
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>();
+        resourceLoader.add(Type.TEST, new ActionResource(() ->
+        {
+            throw new LionEngineException("failure");
+        }));
+        resourceLoader.add(Type.OTHER, new ActionResource(() -> loaded.add(Type.OTHER)));
+
+        resourceLoader.start();
+
+        assertThrows(() -> resourceLoader.await(), "failure");
+        assertTrue(resourceLoader.isFinished());
+        assertIterableEquals(Arrays.asList(Type.OTHER), loaded);
+        assertEquals(100, resourceLoader.getProgressPercent());
+    }
+
+    /**
+     * Test progress without resources.
+     */
+    @Test
+    void testProgressEmpty()
+    {
+        final ResourceLoader<Type> resourceLoader = new ResourceLoader<>(2);
+
+        assertEquals(100, resourceLoader.getProgressPercent());
+
+        resourceLoader.start();
+        resourceLoader.await();
+
+        assertTrue(resourceLoader.isFinished());
+    }
+
     /**
      * Test type.
      */
     private enum Type
     {
         /** Test type. */
-        TEST;
+        TEST,
+        /** Other type. */
+        OTHER,
+        /** Last type. */
+        LAST;
     }
 
     /**
@@ -237,4 +372,43 @@ final class ResourceLoaderTest
             // Mock
         }
     }
+
+    /**
+     * Resource test case running an action on load.
+     */
+    private static final class ActionResource implements Resource
+    {
+        /** Load action. */
+        private final Runnable action;
+
+        /**
+         * Create resource.
+         * 
+         * @param action The load action.
+         */
+        private ActionResource(Runnable action)
+        {
+            super();
+
+            this.action = action;
+        }
+
+        @Override
+        public void load()
+        {
+            action.run();
+        }
+
+        @Override
+        public boolean isLoaded()
+        {
+            return true;
+        }
+
+        @Override
+        public void dispose()
+        {
+            // Mock
+        }
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.graphic;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertPrivateConstructor;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+
+/**
+ * Test {@link ImageCache}.
+ */
+final class ImageCacheTest
+{
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    static void beforeAll()
+    {
+        Medias.setLoadFromJar(ImageCacheTest.class);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    static void afterAll()
+    {
+        Medias.setLoadFromJar(null);
+        Graphics.setFactoryGraphic(null);
+    }
+
+    /** Image media. */
+    private final Media media = Medias.create("image.png");
+
+    /**
+     * Enable cache.
+     */
+    @BeforeEach
+    void before()
+    {
+        ImageCache.setEnabled(true);
+    }
+
+    /**
+     * Reset cache.
+     */
+    @AfterEach
+    void after()
+    {
+        ImageCache.setEnabled(false);
+        ImageCache.setBudget(ImageCache.DEFAULT_BUDGET);
+        ImageCache.clear();
+    }
+
+    /**
+     * Test constructor.
+     */
+    @Test
+    void testConstructorPrivate()
+    {
+        assertPrivateConstructor(ImageCache.class);
+    }
+
+    /**
+     * Test disabled cache.
+     */
+    @Test
+    void testDisabled()
+    {
+        ImageCache.setEnabled(false);
+
+        final ImageBuffer a = ImageCache.get(media);
+        final ImageBuffer b = ImageCache.get(media);
+
+        assertNotEquals(a, b);
+        assertEquals(0L, ImageCache.getHits());
+        assertEquals(0L, ImageCache.getMisses());
+        assertEquals(0L, ImageCache.getBytes());
+
+        ImageCache.release(a);
+        ImageCache.release(b);
+    }
+
+    /**
+     * Test shared buffer kept once unreferenced.
+     */
+    @Test
+    void testShared()
+    {
+        final ImageBuffer a = ImageCache.get(media);
+        final ImageBuffer b = ImageCache.get(media);
+        final long bytes = a.getWidth() * a.getHeight() * 4L;
+
+        assertEquals(a, b);
+        assertEquals(1L, ImageCache.getHits());
+        assertEquals(1L, ImageCache.getMisses());
+        assertEquals(bytes, ImageCache.getBytes());
+
+        ImageCache.release(a);
+        ImageCache.release(b);
+
+        assertEquals(bytes, ImageCache.getBytes());
+        assertEquals(a, ImageCache.get(media));
+        assertEquals(2L, ImageCache.getHits());
+
+        ImageCache.release(a);
+    }
+
+    /**
+     * Test budget eviction of unreferenced buffer only.
+     */
+    @Test
+    void testBudget()
+    {
+        ImageCache.setBudget(0L);
+
+        final ImageBuffer a = ImageCache.get(media);
+
+        assertEquals(a.getWidth() * a.getHeight() * 4L, ImageCache.getBytes());
+
+        ImageCache.release(a);
+
+        assertEquals(0L, ImageCache.getBytes());
+
+        final ImageBuffer b = ImageCache.get(media);
+
+        assertNotEquals(a, b);
+        assertEquals(2L, ImageCache.getMisses());
+
+        ImageCache.release(b);
+    }
+
+    /**
+     * Test transformed buffer.
+     */
+    @Test
+    void testTransform()
+    {
+        ImageCache.setBudget(0L);
+
+        final ImageBuffer a = ImageCache.get(media, "resize:2x3", buffer -> Graphics.resize(buffer, 2, 3));
+        final ImageBuffer b = ImageCache.get(media, "resize:2x3", buffer -> Graphics.resize(buffer, 2, 3));
+
+        assertEquals(a, b);
+        assertEquals(2, a.getWidth());
+        assertEquals(3, a.getHeight());
+        assertEquals(24L, ImageCache.getBytes());
+
+        ImageCache.release(a);
+        ImageCache.release(b);
+
+        assertEquals(0L, ImageCache.getBytes());
+    }
+}
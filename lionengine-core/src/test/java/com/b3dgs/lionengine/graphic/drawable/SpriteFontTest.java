@@ -506,6 +506,53 @@ final class SpriteFontTest
         sprite.dispose();
     }
 
+    /**
+     * Test render with pre-rendered text.
+     */
+    @Test
+    void testRenderPrerender()
+    {
+        final Graphic g = Graphics.createImageBuffer(100, 100).createGraphic();
+        final SpriteFont sprite = new SpriteFontImpl(media, font, 6, 7);
+        sprite.load();
+        sprite.prepare();
+        sprite.setPrerender(true);
+        sprite.render(g);
+
+        sprite.setText("az%za");
+        sprite.setAlign(Align.CENTER);
+        sprite.setLocation(1.5, 2.5);
+        sprite.render(g);
+        sprite.render(g);
+
+        sprite.setMirror(Mirror.HORIZONTAL);
+        sprite.setLineHeight(5);
+        sprite.render(g);
+
+        sprite.setPrerender(false);
+        sprite.render(g);
+
+        g.dispose();
+        sprite.dispose();
+    }
+
+    /**
+     * Test get text width.
+     */
+    @Test
+    void testGetTextWidth()
+    {
+        final SpriteFont sprite = new SpriteFontImpl(media, font, 6, 7);
+        sprite.load();
+
+        assertEquals(0, sprite.getTextWidth(""));
+        assertEquals(16, sprite.getTextWidth("az"));
+        assertEquals(16, sprite.getTextWidth("a-z"));
+        assertEquals(24, sprite.getTextWidth("a%z"));
+
+        sprite.dispose();
+    }
+
     /**
      * Test get text height.
      */
@@ -36,12 +36,10 @@ import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.UtilFile;
-import com.b3dgs.lionengine.UtilFolder;
 import com.b3dgs.lionengine.Version;
 import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBufferMock;
-import com.b3dgs.lionengine.graphic.ImageFormat;
 import com.b3dgs.lionengine.graphic.drawable.ImageInfo;
 
 /**
@@ -139,22 +137,15 @@ final class RasterImageTest
         assertEquals(128, raster.getRaster(0).getWidth());
         assertEquals(64, raster.getRaster(0).getHeight());
 
-        final Media folder = Medias.create("raster_save");
-
-        assertTrue(folder.exists(), folder.getFile().getAbsolutePath());
+        final Media cache = Medias.create("raster_save." + RasterCache.EXTENSION);
 
         try
         {
-            for (int i = 0; i < rastersNumber; i++)
-            {
-                final Media file = Medias.create("raster_save", i + Constant.DOT + ImageFormat.PNG);
-
-                assertTrue(file.exists(), file.getFile().getAbsolutePath());
-            }
+            assertTrue(cache.exists(), cache.getFile().getAbsolutePath());
         }
         finally
         {
-            UtilFolder.deleteDirectory(folder.getFile());
+            UtilFile.deleteFile(cache.getFile());
         }
     }
 
@@ -175,31 +166,31 @@ final class RasterImageTest
         assertEquals(64, raster.getRaster(0).getWidth());
         assertEquals(32, raster.getRaster(0).getHeight());
 
-        final Media folder = Medias.create("raster_cache");
+        final Media cache = Medias.create("raster_cache." + RasterCache.EXTENSION);
 
-        assertTrue(folder.exists(), folder.getFile().getAbsolutePath());
+        assertTrue(cache.exists(), cache.getFile().getAbsolutePath());
 
         try
         {
-            for (int i = 0; i < rastersNumber; i++)
-            {
-                final Media file = Medias.create("raster_cache", i + Constant.DOT + ImageFormat.PNG);
+            final RasterImage cached = new RasterImage(Medias.create("image.png"), mediaRaster, 100);
+            cached.loadRasters(false, "cache");
 
-                assertTrue(file.exists(), file.getFile().getAbsolutePath());
-            }
+            assertEquals(rastersNumber, cached.getRasters().size());
+            assertEquals(mediaRaster, cached.getFile());
+            assertEquals(100, cached.getHeight());
+            assertEquals(64, cached.getRaster(0).getWidth());
+            assertEquals(32, cached.getRaster(0).getHeight());
 
-            final RasterImage cache = new RasterImage(new ImageBufferMock(100, 200), mediaRaster, 100);
-            cache.loadRasters(false, "cache");
+            final RasterImage other = new RasterImage(new ImageBufferMock(100, 200), mediaRaster, 100);
+            other.loadRasters(false, "cache");
 
-            assertEquals(rastersNumber, cache.getRasters().size());
-            assertEquals(mediaRaster, cache.getFile());
-            assertEquals(100, cache.getHeight());
-            assertEquals(64, cache.getRaster(0).getWidth());
-            assertEquals(32, cache.getRaster(0).getHeight());
+            assertEquals(rastersNumber, other.getRasters().size());
+            assertEquals(100, other.getRaster(0).getWidth());
+            assertEquals(200, other.getRaster(0).getHeight());
         }
         finally
         {
-            UtilFolder.deleteDirectory(folder.getFile());
+            UtilFile.deleteFile(cache.getFile());
         }
     }
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network;
+
+import static com.b3dgs.lionengine.UtilAssert.assertArrayEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertThrowsIo;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.UtilConversion;
+
+/**
+ * Test {@link Batch} and {@link BatchReader}.
+ */
+final class BatchTest
+{
+    /**
+     * Create message content.
+     * 
+     * @param size The content size.
+     * @param seed The content seed.
+     * @return The message content.
+     */
+    private static ByteBuffer create(int size, int seed)
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (int i = 0; i < size; i++)
+        {
+            buffer.put(i, (byte) (seed + i));
+        }
+        return buffer;
+    }
+
+    /**
+     * Flush batch and copy sent datagrams.
+     * 
+     * @param batch The batch to flush.
+     * @return The sent datagrams.
+     * @throws IOException If error.
+     */
+    private static List<ByteBuffer> flush(Batch batch) throws IOException
+    {
+        final List<ByteBuffer> datagrams = new ArrayList<>();
+        batch.flush(datagram ->
+        {
+            final ByteBuffer copy = ByteBuffer.allocate(datagram.limit());
+            copy.put(0, datagram, 0, datagram.limit());
+            datagrams.add(copy);
+        });
+        return datagrams;
+    }
+
+    /**
+     * Read datagrams.
+     * 
+     * @param datagrams The datagrams to read.
+     * @return The read messages.
+     * @throws IOException If error.
+     */
+    private static List<ByteBuffer> read(List<ByteBuffer> datagrams) throws IOException
+    {
+        final BatchReader reader = new BatchReader();
+        final List<ByteBuffer> messages = new ArrayList<>();
+        for (final ByteBuffer datagram : datagrams)
+        {
+            reader.read(datagram, messages::add);
+        }
+        return messages;
+    }
+
+    /**
+     * Test constructor with invalid size.
+     */
+    @Test
+    void testConstructorInvalid()
+    {
+        assertThrows(() -> new Batch(Batch.MTU_MIN - 1), "Invalid argument: 63 is not superior or equal to 64");
+        assertThrows(() -> new Batch(Batch.MTU_MAX + 1), "Invalid argument: 1473 is not inferior or equal to 1472");
+    }
+
+    /**
+     * Test messages packed in a single datagram.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testBatch() throws IOException
+    {
+        final Batch batch = new Batch(Batch.MTU_DEFAULT);
+
+        assertTrue(batch.isEmpty());
+
+        batch.add(create(10, 0));
+        batch.add(create(20, 1), Integer.valueOf(5));
+        batch.add(create(30, 2), Integer.valueOf(6), Integer.valueOf(7));
+
+        assertFalse(batch.isEmpty());
+
+        final List<ByteBuffer> datagrams = flush(batch);
+
+        assertTrue(batch.isEmpty());
+        assertEquals(1, datagrams.size());
+        assertEquals(1 + 3 * 2 + 10 + 20 + 30, datagrams.get(0).limit());
+
+        final List<ByteBuffer> messages = read(datagrams);
+
+        assertEquals(3, messages.size());
+        assertArrayEquals(create(10, 0).array(), messages.get(0).array());
+        assertEquals(20, messages.get(1).capacity());
+        assertEquals(5, UtilConversion.toUnsignedByte(messages.get(1).get(UtilNetwork.INDEX_CLIENT_ID)));
+        assertEquals(create(20, 1).get(UtilNetwork.INDEX_TYPE), messages.get(1).get(UtilNetwork.INDEX_TYPE));
+        assertEquals(6, UtilConversion.toUnsignedByte(messages.get(2).get(UtilNetwork.INDEX_CLIENT_ID)));
+        assertEquals(7, UtilConversion.toUnsignedByte(messages.get(2).get(UtilNetwork.INDEX_CLIENT_SRC_ID)));
+
+        assertTrue(flush(batch).isEmpty());
+    }
+
+    /**
+     * Test messages split in several datagrams.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testSplit() throws IOException
+    {
+        final Batch batch = new Batch(Batch.MTU_MIN);
+        for (int i = 0; i < 10; i++)
+        {
+            batch.add(create(20, i));
+        }
+
+        final List<ByteBuffer> datagrams = flush(batch);
+
+        assertEquals(5, datagrams.size());
+        for (final ByteBuffer datagram : datagrams)
+        {
+            assertTrue(datagram.limit() <= Batch.MTU_MIN);
+        }
+
+        final List<ByteBuffer> messages = read(datagrams);
+
+        assertEquals(10, messages.size());
+        for (int i = 0; i < 10; i++)
+        {
+            assertArrayEquals(create(20, i).array(), messages.get(i).array());
+        }
+    }
+
+    /**
+     * Test message bigger than datagram fragmented.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testFragment() throws IOException
+    {
+        final Batch batch = new Batch(Batch.MTU_MIN);
+        batch.add(create(5, 0));
+        batch.add(create(300, 1));
+        batch.add(create(6, 2));
+
+        final List<ByteBuffer> datagrams = flush(batch);
+
+        assertEquals(1 + 6 + 1, datagrams.size());
+        for (final ByteBuffer datagram : datagrams)
+        {
+            assertTrue(datagram.limit() <= Batch.MTU_MIN);
+        }
+
+        final List<ByteBuffer> messages = read(datagrams);
+
+        assertEquals(3, messages.size());
+        assertArrayEquals(create(5, 0).array(), messages.get(0).array());
+        assertArrayEquals(create(300, 1).array(), messages.get(1).array());
+        assertArrayEquals(create(6, 2).array(), messages.get(2).array());
+
+        datagrams.remove(3);
+
+        final List<ByteBuffer> lost = read(datagrams);
+
+        assertEquals(2, lost.size());
+        assertArrayEquals(create(5, 0).array(), lost.get(0).array());
+        assertArrayEquals(create(6, 2).array(), lost.get(1).array());
+    }
+
+    /**
+     * Test clear.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testClear() throws IOException
+    {
+        final Batch batch = new Batch(Batch.MTU_DEFAULT);
+        batch.add(create(10, 0));
+        batch.clear();
+
+        assertTrue(batch.isEmpty());
+        assertTrue(flush(batch).isEmpty());
+    }
+
+    /**
+     * Test single message packet read.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testReadPacket() throws IOException
+    {
+        final ByteBuffer packet = UtilNetwork.createPacket(create(10, 0));
+        packet.flip();
+
+        final List<ByteBuffer> messages = new ArrayList<>();
+        new BatchReader().read(packet, messages::add);
+
+        assertEquals(1, messages.size());
+        assertArrayEquals(create(10, 0).array(), messages.get(0).array());
+    }
+
+    /**
+     * Test invalid datagram read.
+     */
+    @Test
+    void testReadInvalid()
+    {
+        final BatchReader reader = new BatchReader();
+
+        assertThrowsIo(() -> reader.read(ByteBuffer.allocate(4), message ->
+        {
+            // Skip
+        }), "Invalid message: ");
+
+        final ByteBuffer batch = ByteBuffer.allocate(4);
+        batch.put(UtilConversion.fromUnsignedByte(Batch.START_BATCH));
+        batch.putShort((short) 10);
+        batch.put((byte) 1);
+        batch.flip();
+
+        assertThrowsIo(() -> reader.read(batch, message ->
+        {
+            // Skip
+        }), "Invalid batch message: 10 > 1");
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertThrowsIo;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link BitWriter} and {@link BitReader}.
+ */
+final class BitWriterTest
+{
+    /**
+     * Create reader on written bits.
+     * 
+     * @param writer The writer reference.
+     * @return The reader.
+     */
+    private static BitReader read(BitWriter writer)
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(writer.getBytes());
+        writer.copy(buffer);
+        return new BitReader(buffer, 0);
+    }
+
+    /**
+     * Test fixed bits values.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testWrite() throws IOException
+    {
+        final BitWriter writer = new BitWriter();
+        writer.write(5, 3);
+        writer.writeBool(true);
+        writer.writeBool(false);
+        writer.write(-1, Integer.SIZE);
+
+        assertEquals(3 + 2 + Integer.SIZE, writer.getBits());
+        assertEquals(5, writer.getBytes());
+
+        final BitReader reader = read(writer);
+
+        assertEquals(5, reader.read(3));
+        assertTrue(reader.readBool());
+        assertFalse(reader.readBool());
+        assertEquals(-1, reader.read(Integer.SIZE));
+        assertEquals(3 + 2 + Integer.SIZE, reader.getBits());
+    }
+
+    /**
+     * Test variable bits values.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testVariable() throws IOException
+    {
+        final int[] values =
+        {
+            0, 1, -1, 2, -2, 127, -128, Integer.MAX_VALUE, Integer.MIN_VALUE
+        };
+        final BitWriter writer = new BitWriter();
+        for (final int value : values)
+        {
+            writer.writeUnsigned(value);
+            writer.writeSigned(value);
+        }
+
+        final BitReader reader = read(writer);
+        for (final int value : values)
+        {
+            assertEquals(value, reader.readUnsigned());
+            assertEquals(value, reader.readSigned());
+        }
+
+        writer.clear();
+        writer.writeUnsigned(0);
+
+        assertEquals(BitWriter.LENGTH_BITS, writer.getBits());
+
+        writer.clear();
+        writer.writeSigned(-1);
+
+        assertEquals(BitWriter.LENGTH_BITS + 1, writer.getBits());
+    }
+
+    /**
+     * Test truncate discarding bits.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testTruncate() throws IOException
+    {
+        final BitWriter writer = new BitWriter();
+        writer.write(0b101, 3);
+        writer.write(-1, 20);
+        writer.truncate(3);
+
+        assertEquals(3, writer.getBits());
+        assertEquals(1, writer.getBytes());
+
+        writer.write(0, 13);
+        final BitReader reader = read(writer);
+
+        assertEquals(0b101, reader.read(3));
+        assertEquals(0, reader.read(13));
+
+        assertThrows(() -> writer.truncate(17), "Invalid argument: 17 is not inferior or equal to 16");
+        assertThrows(() -> writer.write(0, Integer.SIZE + 1), "Invalid argument: 33 is not inferior or equal to 32");
+    }
+
+    /**
+     * Test reading beyond written bits.
+     */
+    @Test
+    void testReadInvalid()
+    {
+        final BitReader reader = new BitReader(ByteBuffer.allocate(2), 1);
+
+        assertThrowsIo(() -> reader.read(9), "Unable to read 9 bits at 0/8");
+        assertThrowsIo(() -> reader.read(-1), "Unable to read -1 bits at 0/8");
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network;
+
+import static com.b3dgs.lionengine.UtilAssert.assertArrayEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertThrowsIo;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.UtilConversion;
+
+/**
+ * Test {@link Reliability}.
+ */
+final class ReliabilityTest
+{
+    private static final int MTU = Batch.MTU_DEFAULT;
+    private static final long MILLI = (long) Constant.NANO_TO_MILLI;
+
+    /**
+     * Create message content.
+     * 
+     * @param size The content size.
+     * @param seed The content seed.
+     * @return The message content.
+     */
+    private static ByteBuffer create(int size, int seed)
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (int i = 0; i < size; i++)
+        {
+            buffer.put(i, (byte) (seed + i));
+        }
+        return buffer;
+    }
+
+    /**
+     * Copy sent datagram.
+     * 
+     * @param datagrams The sent datagrams.
+     * @return The sender.
+     */
+    private static Batch.Sender sender(List<ByteBuffer> datagrams)
+    {
+        return datagram ->
+        {
+            final ByteBuffer copy = ByteBuffer.allocate(datagram.limit());
+            copy.put(0, datagram, 0, datagram.limit());
+            datagrams.add(copy);
+        };
+    }
+
+    /**
+     * Flush reliability and copy sent datagrams.
+     * 
+     * @param reliability The reliability to flush.
+     * @return The sent datagrams.
+     * @throws IOException If error.
+     */
+    private static List<ByteBuffer> flush(Reliability reliability) throws IOException
+    {
+        final List<ByteBuffer> datagrams = new ArrayList<>();
+        reliability.flush(sender(datagrams));
+        return datagrams;
+    }
+
+    /**
+     * Send a batch with one message as payload and copy sent datagram.
+     * 
+     * @param reliability The reliability to send with.
+     * @param message The payload message.
+     * @return The sent datagram.
+     * @throws IOException If error.
+     */
+    private static ByteBuffer send(Reliability reliability, ByteBuffer message) throws IOException
+    {
+        final List<ByteBuffer> datagrams = new ArrayList<>();
+        final Batch batch = new Batch(MTU - Reliability.HEADER);
+        batch.add(message);
+        batch.flush(datagram -> reliability.send(datagram, sender(datagrams)));
+        assertEquals(1, datagrams.size());
+        return datagrams.get(0);
+    }
+
+    /**
+     * Read datagrams.
+     * 
+     * @param reliability The receiver reliability.
+     * @param reader The receiver reader.
+     * @param datagrams The datagrams to read.
+     * @return The read messages.
+     * @throws IOException If error.
+     */
+    private static List<ByteBuffer> read(Reliability reliability, BatchReader reader, List<ByteBuffer> datagrams)
+            throws IOException
+    {
+        final List<ByteBuffer> messages = new ArrayList<>();
+        for (final ByteBuffer datagram : datagrams)
+        {
+            reliability.read(datagram, reader, messages::add);
+        }
+        return messages;
+    }
+
+    /**
+     * Test constructor with invalid size.
+     */
+    @Test
+    void testConstructorInvalid()
+    {
+        assertThrows(() -> new Reliability(Batch.MTU_MIN + Reliability.HEADER - 1),
+                     "Invalid argument: 74 is not superior or equal to 75");
+        assertThrows(() -> new Reliability(Batch.MTU_MAX + 1), "Invalid argument: 1473 is not inferior or equal to 1472");
+    }
+
+    /**
+     * Test reliable messages resent after timeout when lost, and acknowledged.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testRetransmit() throws IOException
+    {
+        final long[] time = new long[1];
+        final Reliability sender = new Reliability(MTU, () -> time[0]);
+        final Reliability receiver = new Reliability(MTU, () -> time[0]);
+        final BatchReader reader = new BatchReader();
+
+        sender.add(create(10, 0));
+        sender.add(create(20, 1), Integer.valueOf(5));
+        sender.add(create(30, 2));
+
+        assertEquals(1, flush(sender).size());
+        assertEquals(3, sender.getPending());
+        assertEquals(-1L, sender.getRtt());
+
+        time[0] += 100L * MILLI;
+        assertTrue(flush(sender).isEmpty());
+
+        time[0] += 150L * MILLI;
+        final List<ByteBuffer> messages = read(receiver, reader, flush(sender));
+
+        final ByteBuffer second = create(20, 1);
+        second.put(UtilNetwork.INDEX_CLIENT_ID, UtilConversion.fromUnsignedByte(5));
+        assertEquals(3, messages.size());
+        assertArrayEquals(create(10, 0).array(), messages.get(0).array());
+        assertArrayEquals(second.array(), messages.get(1).array());
+        assertArrayEquals(create(30, 2).array(), messages.get(2).array());
+
+        time[0] += 40L * MILLI;
+        final List<ByteBuffer> acks = flush(receiver);
+        assertEquals(1, acks.size());
+        assertEquals(Reliability.HEADER, acks.get(0).limit());
+        assertTrue(read(sender, reader, acks).isEmpty());
+
+        assertEquals(0, sender.getPending());
+        assertEquals(40L, sender.getRtt());
+        assertTrue(flush(sender).isEmpty());
+        assertTrue(flush(receiver).isEmpty());
+
+        sender.clear();
+        assertEquals(-1L, sender.getRtt());
+    }
+
+    /**
+     * Test reliable messages delivered once and in order when reordered or duplicated.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testOrder() throws IOException
+    {
+        final Reliability sender = new Reliability(MTU);
+        final Reliability receiver = new Reliability(MTU);
+        final BatchReader reader = new BatchReader();
+
+        final List<ByteBuffer> datagrams = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+        {
+            sender.add(create(8, i));
+            datagrams.addAll(flush(sender));
+        }
+        assertEquals(3, datagrams.size());
+
+        assertTrue(read(receiver, reader, List.of(datagrams.get(2))).isEmpty());
+
+        final List<ByteBuffer> first = read(receiver, reader, List.of(datagrams.get(0)));
+        assertEquals(1, first.size());
+        assertArrayEquals(create(8, 0).array(), first.get(0).array());
+
+        final List<ByteBuffer> next = read(receiver, reader, List.of(datagrams.get(1)));
+        assertEquals(2, next.size());
+        assertArrayEquals(create(8, 1).array(), next.get(0).array());
+        assertArrayEquals(create(8, 2).array(), next.get(1).array());
+
+        assertTrue(read(receiver, reader, datagrams).isEmpty());
+    }
+
+    /**
+     * Test unreliable payload dropped when stale, and other datagrams read directly.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testSequenced() throws IOException
+    {
+        final Reliability sender = new Reliability(MTU);
+        final Reliability receiver = new Reliability(MTU);
+        final BatchReader reader = new BatchReader();
+
+        final ByteBuffer old = send(sender, create(16, 0));
+        final ByteBuffer recent = send(sender, create(16, 1));
+
+        final List<ByteBuffer> messages = read(receiver, reader, List.of(recent, old, recent));
+        assertEquals(1, messages.size());
+        assertArrayEquals(create(16, 1).array(), messages.get(0).array());
+
+        final ByteBuffer packet = UtilNetwork.createPacket(create(4, 2));
+        final List<ByteBuffer> direct = read(receiver, reader, List.of(packet));
+        assertEquals(1, direct.size());
+        assertArrayEquals(create(4, 2).array(), direct.get(0).array());
+    }
+
+    /**
+     * Test loss ratio with one datagram on two lost.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testLoss() throws IOException
+    {
+        final Reliability sender = new Reliability(MTU);
+        final Reliability receiver = new Reliability(MTU);
+        final BatchReader reader = new BatchReader();
+
+        assertEquals(-1.0, sender.getLoss());
+
+        for (int i = 0; i < 200; i++)
+        {
+            final ByteBuffer datagram = send(sender, create(4, i));
+            if (i % 2 == 0)
+            {
+                assertEquals(1, read(receiver, reader, List.of(datagram)).size());
+                read(sender, reader, flush(receiver));
+            }
+        }
+        assertTrue(sender.getLoss() > 0.4, String.valueOf(sender.getLoss()));
+        assertTrue(sender.getLoss() < 0.6, String.valueOf(sender.getLoss()));
+    }
+
+    /**
+     * Test invalid envelope and too many pending messages.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testInvalid() throws IOException
+    {
+        final Reliability reliability = new Reliability(MTU);
+        final BatchReader reader = new BatchReader();
+
+        final ByteBuffer envelope = ByteBuffer.allocate(4);
+        envelope.put(0, UtilConversion.fromUnsignedByte(Reliability.START_RELIABLE));
+        assertThrowsIo(() -> reliability.read(envelope, reader, message ->
+        {
+            // Unused
+        }), "Invalid envelope: 4 < 11");
+
+        for (int i = 0; i < Reliability.PENDING_MAX; i++)
+        {
+            reliability.add(create(4, i));
+        }
+        assertThrowsIo(() -> reliability.add(create(4, 0)), "Too many reliable messages pending: 1024");
+    }
+}
@@ -17,11 +17,14 @@
 package com.b3dgs.lionengine.network;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
 import static com.b3dgs.lionengine.UtilAssert.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -31,11 +34,13 @@ import org.junit.jupiter.api.Test;
 import com.b3dgs.lionengine.UtilTests;
 import com.b3dgs.lionengine.network.client.ClientListener;
 import com.b3dgs.lionengine.network.client.ClientUdp;
+import com.b3dgs.lionengine.network.server.Server;
 import com.b3dgs.lionengine.network.server.ServerListener;
 import com.b3dgs.lionengine.network.server.ServerUdp;
+import com.b3dgs.lionengine.network.server.ServerUdpChannel;
 
 /**
- * Test {@link ServerUdp} and {@link ClientUdp}.
+ * Test {@link ServerUdp}, {@link ServerUdpChannel} and {@link ClientUdp}.
  */
 final class ServerClientTest
 {
@@ -393,4 +398,428 @@ final class ServerClientTest
 
         server.stop();
     }
+
+    /**
+     * Test channel server with data forwarding.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testChannel() throws IOException
+    {
+        final ChannelBuffer channel = new ChannelBuffer();
+        final ServerUdpChannel server = new ServerUdpChannel(channel);
+        final AtomicReference<String> clientName = new AtomicReference<>();
+        server.addListener(new ServerListener()
+        {
+            @Override
+            public void notifyServerStarted(String ip, int port)
+            {
+                // Skip
+            }
+
+            @Override
+            public void notifyClientNamed(Integer id, String name)
+            {
+                clientName.set(name);
+            }
+        });
+        server.start("127.0.0.1", 1000);
+
+        final ClientUdp client = new ClientUdp(new ChannelBuffer());
+        client.connect("127.0.0.1", 1000);
+        client.setName("name");
+
+        assertTimeout(1000L, () ->
+        {
+            while (!"name".equals(clientName.get()))
+            {
+                UtilTests.pause(100L);
+            }
+        });
+
+        final ChannelBuffer channel2 = new ChannelBuffer();
+        final ClientUdp client2 = new ClientUdp(channel2);
+        client2.connect("127.0.0.1", 1000);
+
+        assertTimeout(1000L, () ->
+        {
+            while (server.getClients() < 2)
+            {
+                UtilTests.pause(100L);
+            }
+        });
+
+        final ByteBuffer data = ByteBuffer.allocate(Integer.BYTES);
+        data.putInt(42);
+        client.send(new Data(client.getClientId(), 1, data, true));
+
+        final AtomicReference<Packet> received = new AtomicReference<>();
+        final AtomicReference<Packet> forwarded = new AtomicReference<>();
+        assertTimeout(1000L, () ->
+        {
+            while (received.get() == null || forwarded.get() == null)
+            {
+                if (received.get() == null)
+                {
+                    received.set(channel.read());
+                }
+                if (forwarded.get() == null)
+                {
+                    forwarded.set(channel2.read());
+                }
+                UtilTests.pause(100L);
+            }
+        });
+
+        assertEquals(client.getClientId(), received.get().getClientId());
+        assertEquals(1, received.get().getDataId());
+        assertEquals(client2.getClientId(), forwarded.get().getClientId());
+        assertEquals(client.getClientId(), forwarded.get().getClientSourceId());
+        assertEquals(1, forwarded.get().getDataId());
+        assertEquals(42, forwarded.get().buffer().getInt(forwarded.get().buffer().capacity() - Integer.BYTES));
+
+        client.disconnect();
+
+        assertTimeout(1000L, () ->
+        {
+            while (server.getClients() != 1)
+            {
+                UtilTests.pause(100L);
+            }
+        });
+
+        server.stop();
+        client2.disconnect();
+
+        assertEquals(0, server.getClients());
+        assertEquals(-1L, server.getBandwidthUp());
+    }
+
+    /**
+     * Test batched messages between channel server and clients.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testBatch() throws IOException
+    {
+        final ChannelBuffer channel = new ChannelBuffer();
+        final ServerUdpChannel server = new ServerUdpChannel(channel, Batch.MTU_DEFAULT);
+        server.start("127.0.0.1", 1000);
+
+        final ClientUdp client = new ClientUdp(new ChannelBuffer(), Batch.MTU_DEFAULT);
+        client.connect("127.0.0.1", 1000);
+
+        final ChannelBuffer channel2 = new ChannelBuffer();
+        final ClientUdp client2 = new ClientUdp(channel2, Batch.MTU_MIN);
+        client2.connect("127.0.0.1", 1000);
+
+        assertTimeout(1000L, () ->
+        {
+            while (server.getClients() < 2)
+            {
+                UtilTests.pause(100L);
+            }
+        });
+
+        for (int i = 0; i < 10; i++)
+        {
+            final ByteBuffer data = ByteBuffer.allocate(Integer.BYTES);
+            data.putInt(i);
+            client.send(new Data(client.getClientId(), i, data, true));
+        }
+        final ByteBuffer big = ByteBuffer.allocate(1000);
+        big.put(999, (byte) 1);
+        client.send(new Data(client.getClientId(), 10, big, true));
+
+        UtilTests.pause(100L);
+
+        assertNull(channel.read());
+
+        client.flush();
+
+        final AtomicInteger received = new AtomicInteger();
+        assertTimeout(1000L, () ->
+        {
+            while (received.get() < 11)
+            {
+                if (channel.read() != null)
+                {
+                    received.incrementAndGet();
+                }
+                UtilTests.pause(10L);
+            }
+        });
+
+        server.flush();
+
+        final List<Packet> forwarded = new ArrayList<>();
+        assertTimeout(1000L, () ->
+        {
+            while (forwarded.size() < 11)
+            {
+                final Packet packet = channel2.read();
+                if (packet != null)
+                {
+                    forwarded.add(packet);
+                }
+                UtilTests.pause(10L);
+            }
+        });
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertEquals(i, forwarded.get(i).getDataId());
+            assertEquals(client2.getClientId(), forwarded.get(i).getClientId());
+            assertEquals(client.getClientId(), forwarded.get(i).getClientSourceId());
+        }
+        assertEquals(10, forwarded.get(10).getDataId());
+        assertEquals(1, forwarded.get(10).buffer().get(forwarded.get(10).buffer().capacity() - 1));
+
+        client.disconnect();
+        client2.disconnect();
+        server.stop();
+    }
+
+    /**
+     * Test reliable and unreliable messages between channel server and client with reliability enabled.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testReliable() throws IOException
+    {
+        final ChannelBuffer channel = new ChannelBuffer();
+        final ServerUdpChannel server = new ServerUdpChannel(channel, Batch.MTU_DEFAULT, true);
+        server.start("127.0.0.1", 1000);
+
+        final ChannelBuffer channel2 = new ChannelBuffer();
+        final ClientUdp client = new ClientUdp(channel2, Batch.MTU_DEFAULT, true);
+        client.connect("127.0.0.1", 1000);
+
+        assertTimeout(1000L, () ->
+        {
+            while (server.getClients() < 1)
+            {
+                UtilTests.pause(100L);
+            }
+        });
+
+        assertEquals(-1L, server.getRtt());
+        assertEquals(-1L, client.getRtt());
+        assertEquals(-1.0, client.getLoss());
+
+        server.send(reliable(new Data(client.getClientId(), 1, ByteBuffer.allocate(Integer.BYTES))),
+                    client.getClientId());
+        server.send(new Data(client.getClientId(), 2, ByteBuffer.allocate(Integer.BYTES)), client.getClientId());
+        server.flush();
+
+        final List<Packet> received = new ArrayList<>();
+        assertTimeout(1000L, () ->
+        {
+            while (received.size() < 2)
+            {
+                final Packet packet = channel2.read();
+                if (packet != null)
+                {
+                    received.add(packet);
+                }
+                UtilTests.pause(10L);
+            }
+        });
+        assertEquals(1, received.get(0).getDataId());
+        assertEquals(2, received.get(1).getDataId());
+
+        client.send(reliable(new Data(client.getClientId(), 3, ByteBuffer.allocate(Integer.BYTES), true)));
+        client.flush();
+
+        assertTimeout(1000L, () ->
+        {
+            while (server.getRtt() < 0L)
+            {
+                UtilTests.pause(10L);
+            }
+        });
+        assertEquals(0.0, server.getLoss());
+
+        final AtomicReference<Packet> packet = new AtomicReference<>();
+        assertTimeout(1000L, () ->
+        {
+            while (packet.get() == null)
+            {
+                packet.set(channel.read());
+                UtilTests.pause(10L);
+            }
+        });
+        assertEquals(3, packet.get().getDataId());
+
+        server.flush();
+
+        assertTimeout(1000L, () ->
+        {
+            while (client.getRtt() < 0L)
+            {
+                UtilTests.pause(10L);
+            }
+        });
+        assertEquals(0.0, client.getLoss());
+
+        client.disconnect();
+        server.stop();
+    }
+
+    /**
+     * Test clients list and names delivered reliably when batching.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testReliableClients() throws IOException
+    {
+        final ChannelBuffer channel = new ChannelBuffer();
+        final ServerUdpChannel server = new ServerUdpChannel(channel, Batch.MTU_DEFAULT, true);
+        server.start("127.0.0.1", 1000);
+
+        final ClientUdp client = new ClientUdp(new ChannelBuffer(), Batch.MTU_DEFAULT, true);
+        final AtomicReference<Integer> other = new AtomicReference<>();
+        final AtomicReference<String> otherName = new AtomicReference<>();
+        client.addListener(new ClientListener()
+        {
+            @Override
+            public void notifyConnected(String ip, int port, Integer id)
+            {
+                // Skip
+            }
+
+            @Override
+            public void notifyClientConnected(Integer id)
+            {
+                other.set(id);
+            }
+
+            @Override
+            public void notifyClientNamed(Integer id, String name)
+            {
+                otherName.set(name);
+            }
+        });
+        client.connect("127.0.0.1", 1000);
+
+        final ClientUdp client2 = new ClientUdp(new ChannelBuffer(), Batch.MTU_DEFAULT, true);
+        client2.connect("127.0.0.1", 1000);
+        client2.setName("name");
+
+        assertTimeout(1000L, () ->
+        {
+            while (other.get() == null || otherName.get() == null)
+            {
+                server.flush();
+                UtilTests.pause(10L);
+            }
+        });
+        assertEquals(client2.getClientId(), other.get());
+        assertEquals("name", otherName.get());
+
+        client2.disconnect();
+        client.disconnect();
+        server.stop();
+    }
+
+    /**
+     * Flag message as reliable.
+     * 
+     * @param message The message to send.
+     * @return The reliable message.
+     */
+    private static Message reliable(Message message)
+    {
+        return new Message()
+        {
+            @Override
+            public ByteBuffer create()
+            {
+                return message.create();
+            }
+
+            @Override
+            public boolean isReliable()
+            {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Test data filter on server data and forwarded data.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testDataFilter() throws IOException
+    {
+        assertDataFilter(new ServerUdp(new ChannelBuffer()));
+        assertDataFilter(new ServerUdpChannel(new ChannelBuffer()));
+    }
+
+    /**
+     * Check that only even data ids are received by second client.
+     * 
+     * @param server The server to test.
+     * @throws IOException If error.
+     */
+    private static void assertDataFilter(Server server) throws IOException
+    {
+        server.setDataFilter((clientId, dataId) -> dataId % 2 == 0);
+        server.start("127.0.0.1", 1000);
+
+        final ClientUdp client = new ClientUdp(new ChannelBuffer());
+        client.connect("127.0.0.1", 1000);
+
+        final ChannelBuffer channel2 = new ChannelBuffer();
+        final ClientUdp client2 = new ClientUdp(channel2);
+        client2.connect("127.0.0.1", 1000);
+
+        assertTimeout(1000L, () ->
+        {
+            while (server.getClients() < 2)
+            {
+                UtilTests.pause(100L);
+            }
+        });
+
+        for (int i = 0; i < 4; i++)
+        {
+            client.send(new Data(client.getClientId(), i, ByteBuffer.allocate(Integer.BYTES), true));
+            UtilTests.pause(10L);
+        }
+        for (int i = 4; i < 8; i++)
+        {
+            server.send(new Data(UtilNetwork.SERVER_ID, i, ByteBuffer.allocate(Integer.BYTES)));
+        }
+        server.send(new Data(client2.getClientId(), 9, ByteBuffer.allocate(Integer.BYTES)),
+                    client2.getClientId());
+
+        final List<Packet> received = new ArrayList<>();
+        assertTimeout(1000L, () ->
+        {
+            while (received.size() < 5)
+            {
+                final Packet packet = channel2.read();
+                if (packet != null)
+                {
+                    received.add(packet);
+                }
+                UtilTests.pause(10L);
+            }
+        });
+
+        assertEquals(List.of(Integer.valueOf(0), Integer.valueOf(2), Integer.valueOf(4), Integer.valueOf(6),
+                             Integer.valueOf(9)),
+                     received.stream().map(packet -> Integer.valueOf(packet.getDataId())).toList());
+
+        client.disconnect();
+        client2.disconnect();
+        server.stop();
+    }
 }
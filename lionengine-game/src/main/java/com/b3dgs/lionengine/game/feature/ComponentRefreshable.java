@@ -24,18 +24,30 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.game.FeatureProvider;
 
 /**
  * Refresher component implementation which refreshes {@link Refreshable} elements with {@link Layerable} support to
  * order rendering. If there is not {@link Layerable} feature, {@link #LAYER_DEFAULT} will be used as default layer
  * value. The lower layer index is handled first.
+ * <p>
+ * In parallel mode, refreshables of a layer declared as concurrent ({@link Refreshable#isConcurrent()}) are updated
+ * over a {@link ForkJoinPool}, and layer is completed before next one. Notifications sent during concurrent update with
+ * {@link DeferredNotifications} are sent afterwards, in refreshables order. Other refreshables of the layer are then
+ * updated serially.
+ * </p>
  */
 public class ComponentRefreshable implements ComponentUpdater, HandlerListener, LayerableListener
 {
     /** Default layer value. */
     private static final Integer LAYER_DEFAULT = Integer.valueOf(0);
+    /** Minimum refreshables per concurrent task. */
+    private static final int TASK_MIN = 64;
 
     /**
      * Get the featurable layer.
@@ -53,6 +65,39 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
         return LAYER_DEFAULT;
     }
 
+    /**
+     * Update concurrent refreshables of range, deferring their notifications.
+     * 
+     * @param extrp The extrapolation value.
+     * @param refreshables The layer refreshables.
+     * @param start The first index.
+     * @param end The last index (excluded).
+     * @param queue The deferred notifications queue.
+     */
+    private static void updateConcurrent(double extrp,
+                                         List<Refreshable> refreshables,
+                                         int start,
+                                         int end,
+                                         List<Runnable> queue)
+    {
+        DeferredNotifications.start(queue);
+        try
+        {
+            for (int i = start; i < end; i++)
+            {
+                final Refreshable refreshable = refreshables.get(i);
+                if (refreshable.isConcurrent())
+                {
+                    refreshable.update(extrp);
+                }
+            }
+        }
+        finally
+        {
+            DeferredNotifications.stop();
+        }
+    }
+
     /** Sorted layers index. */
     private final List<Integer> indexs = new ArrayList<>();
     /** Sorted layers index. */
@@ -61,15 +106,36 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
     private final Map<Integer, List<Refreshable>> layers = new HashMap<>();
     /** Layer to update. */
     private final List<LayerUpdate> toUpdate = new ArrayList<>();
+    /** Deferred notifications by concurrent task. */
+    private final List<List<Runnable>> deferred = new ArrayList<>();
+    /** Concurrent update pool (<code>null</code> if serial). */
+    private final ForkJoinPool pool;
     /** Update flag. */
     private boolean updateRequested;
 
     /**
-     * Create component.
+     * Create component, updating all refreshables serially.
      */
     public ComponentRefreshable()
     {
         super();
+
+        pool = null;
+    }
+
+    /**
+     * Create component, updating concurrent refreshables in parallel.
+     * 
+     * @param pool The pool used for concurrent update (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public ComponentRefreshable(ForkJoinPool pool)
+    {
+        super();
+
+        Check.notNull(pool);
+
+        this.pool = pool;
     }
 
     /**
@@ -111,16 +177,63 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
         }
     }
 
+    /**
+     * Update layer refreshables, concurrent ones first over the pool.
+     * 
+     * @param extrp The extrapolation value.
+     * @param refreshables The layer refreshables.
+     */
+    private void updateParallel(double extrp, List<Refreshable> refreshables)
+    {
+        final int count = refreshables.size();
+        final int parallelism = pool.getParallelism();
+        final int size = Math.max(TASK_MIN, (count + parallelism - 1) / parallelism);
+        final int tasks = (count + size - 1) / size;
+        while (deferred.size() < tasks)
+        {
+            deferred.add(new ArrayList<>());
+        }
+
+        if (tasks > 1)
+        {
+            pool.invoke(new LayerTask(extrp, refreshables, size, 0, tasks));
+        }
+        else
+        {
+            updateConcurrent(extrp, refreshables, 0, count, deferred.get(0));
+        }
+        for (int i = 0; i < tasks; i++)
+        {
+            DeferredNotifications.send(deferred.get(i));
+        }
+
+        for (int i = 0; i < count; i++)
+        {
+            final Refreshable refreshable = refreshables.get(i);
+            if (!refreshable.isConcurrent())
+            {
+                refreshable.update(extrp);
+            }
+        }
+    }
+
     @Override
     public void update(double extrp, Handlables featurables)
     {
         for (int l = 0; l < indexs.size(); l++)
         {
             final List<Refreshable> refreshable = layers.get(indexs.get(l));
-            final int count = refreshable.size();
-            for (int i = 0; i < count; i++)
+            if (pool != null)
+            {
+                updateParallel(extrp, refreshable);
+            }
+            else
             {
-                refreshable.get(i).update(extrp);
+                final int count = refreshable.size();
+                for (int i = 0; i < count; i++)
+                {
+                    refreshable.get(i).update(extrp);
+                }
             }
         }
         if (updateRequested)
@@ -206,4 +319,61 @@ public class ComponentRefreshable implements ComponentUpdater, HandlerListener,
     private record LayerUpdate(Refreshable refreshable, Integer layerOld, Integer layerNew)
     {
     }
+
+    /**
+     * Concurrent update of layer tasks range, split until single task.
+     */
+    private final class LayerTask extends RecursiveAction
+    {
+        /** Uid. */
+        private static final long serialVersionUID = 1L;
+
+        /** The extrapolation value. */
+        private final double extrp;
+        /** Layer refreshables. */
+        private final transient List<Refreshable> refreshables;
+        /** Refreshables per task. */
+        private final int size;
+        /** First task index. */
+        private final int start;
+        /** Last task index (excluded). */
+        private final int end;
+
+        /**
+         * Create task.
+         * 
+         * @param extrp The extrapolation value.
+         * @param refreshables The layer refreshables.
+         * @param size The refreshables per task.
+         * @param start The first task index.
+         * @param end The last task index (excluded).
+         */
+        LayerTask(double extrp, List<Refreshable> refreshables, int size, int start, int end)
+        {
+            super();
+
+            this.extrp = extrp;
+            this.refreshables = refreshables;
+            this.size = size;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (end - start == 1)
+            {
+                final int first = start * size;
+                final int last = Math.min(first + size, refreshables.size());
+                updateConcurrent(extrp, refreshables, first, last, deferred.get(start));
+            }
+            else
+            {
+                final int middle = (start + end) / 2;
+                invokeAll(new LayerTask(extrp, refreshables, size, start, middle),
+                          new LayerTask(extrp, refreshables, size, middle, end));
+            }
+        }
+    }
 }
@@ -35,9 +35,10 @@ public class ComponentRenderable implements ComponentRenderer
     @Override
     public void render(Graphic g, Handlables featurables)
     {
-        for (final Renderable renderable : featurables.get(Renderable.class))
+        final Handlables.Typed<Renderable> renderables = featurables.get(Renderable.class);
+        for (int i = 0; i < renderables.size(); i++)
         {
-            renderable.render(g);
+            renderables.get(i).render(g);
         }
     }
 }
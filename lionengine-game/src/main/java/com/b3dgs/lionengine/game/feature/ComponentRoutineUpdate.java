@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.b3dgs.lionengine.game.FeatureProvider;
+
+/**
+ * Updater component implementation which updates all {@link RoutineUpdate} of handled featurables, grouped by priority
+ * and feature type, instead of updating each featurable routines in turn. Each group is updated in a single pass, for
+ * each step ({@link RoutineUpdate#updateBefore()}, {@link RoutineUpdate#update(double)} and
+ * {@link RoutineUpdate#updateAfter()}), following {@link RoutineUpdate#getPriotityUpdate()} order.
+ * <p>
+ * Featurables must not update their routines by themselves (as {@link Refreshable} would do), else they would be
+ * updated twice.
+ * </p>
+ */
+public class ComponentRoutineUpdate implements ComponentUpdater, HandlerListener
+{
+    /** Groups sorted by priority, and by creation order for same priority. */
+    private final List<Group> groups = new ArrayList<>();
+    /** Groups by key. */
+    private final Map<Key, Group> groupsKey = new HashMap<>();
+    /** Routines to remove on next update. */
+    private final Set<RoutineUpdate> removed = new HashSet<>();
+
+    /**
+     * Create component.
+     */
+    public ComponentRoutineUpdate()
+    {
+        super();
+    }
+
+    /**
+     * Get the number of routines groups.
+     * 
+     * @return The groups number.
+     */
+    public int getGroups()
+    {
+        return groups.size();
+    }
+
+    /**
+     * Get the group of routine, created if needed.
+     * 
+     * @param routine The routine reference.
+     * @return The routine group.
+     */
+    private Group getGroup(RoutineUpdate routine)
+    {
+        final Key key = new Key(routine.getPriotityUpdate(), routine.getClass());
+        Group group = groupsKey.get(key);
+        if (group == null)
+        {
+            group = new Group(key.priority);
+            groupsKey.put(key, group);
+
+            int index = groups.size();
+            while (index > 0 && groups.get(index - 1).priority > key.priority)
+            {
+                index--;
+            }
+            groups.add(index, group);
+        }
+        return group;
+    }
+
+    /**
+     * Remove pending routines from their group.
+     */
+    private void removePending()
+    {
+        final int n = groups.size();
+        for (int i = 0; i < n; i++)
+        {
+            groups.get(i).routines.removeIf(removed::contains);
+        }
+        removed.clear();
+    }
+
+    @Override
+    public void update(double extrp, Handlables featurables)
+    {
+        if (!removed.isEmpty())
+        {
+            removePending();
+        }
+
+        final int n = groups.size();
+        for (int i = 0; i < n; i++)
+        {
+            final List<RoutineUpdate> routines = groups.get(i).routines;
+            final int count = routines.size();
+            for (int j = 0; j < count; j++)
+            {
+                routines.get(j).updateBefore();
+            }
+        }
+        for (int i = 0; i < n; i++)
+        {
+            final List<RoutineUpdate> routines = groups.get(i).routines;
+            final int count = routines.size();
+            for (int j = 0; j < count; j++)
+            {
+                routines.get(j).update(extrp);
+            }
+        }
+        for (int i = 0; i < n; i++)
+        {
+            final List<RoutineUpdate> routines = groups.get(i).routines;
+            final int count = routines.size();
+            for (int j = 0; j < count; j++)
+            {
+                routines.get(j).updateAfter();
+            }
+        }
+    }
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        for (final FeatureProvider feature : featurable.getFeatures())
+        {
+            if (feature instanceof final RoutineUpdate routine)
+            {
+                if (!removed.remove(routine))
+                {
+                    getGroup(routine).routines.add(routine);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        for (final FeatureProvider feature : featurable.getFeatures())
+        {
+            if (feature instanceof final RoutineUpdate routine)
+            {
+                removed.add(routine);
+            }
+        }
+    }
+
+    /**
+     * Group key.
+     * 
+     * @param priority The update priority.
+     * @param type The routine type.
+     */
+    private record Key(int priority, Class<?> type)
+    {
+    }
+
+    /**
+     * Routines of same priority and type.
+     */
+    private static final class Group
+    {
+        /** Update priority. */
+        private final int priority;
+        /** Group routines. */
+        private final List<RoutineUpdate> routines = new ArrayList<>();
+
+        /**
+         * Create group.
+         * 
+         * @param priority The update priority.
+         */
+        Group(int priority)
+        {
+            super();
+
+            this.priority = priority;
+        }
+    }
+}
@@ -35,9 +35,10 @@ public class ComponentUpdatable implements ComponentUpdater
     @Override
     public void update(double extrp, Handlables featurables)
     {
-        for (final Updatable updatable : featurables.get(Updatable.class))
+        final Handlables.Typed<Updatable> updatables = featurables.get(Updatable.class);
+        for (int i = 0; i < updatables.size(); i++)
         {
-            updatable.update(extrp);
+            updatables.get(i).update(extrp);
         }
     }
 }
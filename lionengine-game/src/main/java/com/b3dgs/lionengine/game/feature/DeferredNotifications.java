@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.List;
+
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Notifications deferring, used when features are updated concurrently (see {@link ComponentRefreshable}).
+ * Notifications sent by a thread updating concurrently are queued, and sent afterwards from the updating loop thread,
+ * in featurables order.
+ */
+public final class DeferredNotifications
+{
+    /** Current thread queue (<code>null</code> if not deferring). */
+    private static final ThreadLocal<List<Runnable>> QUEUE = new ThreadLocal<>();
+
+    /**
+     * Send notification, or queue it if current thread is deferring.
+     * 
+     * @param notification The notification to send.
+     */
+    public static void send(Runnable notification)
+    {
+        final List<Runnable> queue = QUEUE.get();
+        if (queue != null)
+        {
+            queue.add(notification);
+        }
+        else
+        {
+            notification.run();
+        }
+    }
+
+    /**
+     * Start deferring notifications of current thread.
+     * 
+     * @param queue The queue to fill.
+     */
+    static void start(List<Runnable> queue)
+    {
+        QUEUE.set(queue);
+    }
+
+    /**
+     * Stop deferring notifications of current thread.
+     */
+    static void stop()
+    {
+        QUEUE.remove();
+    }
+
+    /**
+     * Send queued notifications in queuing order, and clear queue.
+     * 
+     * @param queue The queue to send.
+     */
+    static void send(List<Runnable> queue)
+    {
+        final int n = queue.size();
+        for (int i = 0; i < n; i++)
+        {
+            queue.get(i).run();
+        }
+        queue.clear();
+    }
+
+    /**
+     * Private constructor.
+     */
+    private DeferredNotifications()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
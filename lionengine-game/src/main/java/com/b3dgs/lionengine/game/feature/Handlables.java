@@ -38,7 +38,7 @@ public interface Handlables
      * @param type The expected type.
      * @return The featurables of this type.
      */
-    <I> Iterable<I> get(Class<I> type);
+    <I> Typed<I> get(Class<I> type);
 
     /**
      * Get all featurables.
@@ -46,4 +46,27 @@ public interface Handlables
      * @return The featurables.
      */
     Iterable<Featurable> values();
+
+    /**
+     * Featurables of a type, with indexed access to iterate them without iterator allocation.
+     * 
+     * @param <I> The featurable interface type.
+     */
+    interface Typed<I> extends Iterable<I>
+    {
+        /**
+         * Get the number of featurables.
+         * 
+         * @return The featurables number.
+         */
+        int size();
+
+        /**
+         * Get the featurable at index.
+         * 
+         * @param index The featurable index (must be between 0 and {@link #size()} excluded).
+         * @return The featurable.
+         */
+        I get(int index);
+    }
 }
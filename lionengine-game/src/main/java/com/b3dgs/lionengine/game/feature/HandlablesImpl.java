@@ -16,11 +16,13 @@
  */
 package com.b3dgs.lionengine.game.feature;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import com.b3dgs.lionengine.UtilReflection;
@@ -28,13 +30,59 @@ import com.b3dgs.lionengine.game.FeatureProvider;
 
 /**
  * Handlables implementation.
+ * <p>
+ * Types of each featurable and feature class are resolved once and cached, and typed items are stored in dense
+ * arrays, with indexed access to iterate them without iterator allocation.
+ * </p>
  */
 final class HandlablesImpl implements Handlables
 {
+    /** Empty types. */
+    private static final Class<?>[] NO_TYPES = new Class<?>[0];
+    /** Empty items. */
+    private static final Items NO_ITEMS = new Items();
+
+    /**
+     * Get featurable class types (class, interfaces, and super classes interfaces).
+     * 
+     * @param type The featurable class.
+     * @return The featurable types.
+     */
+    private static Class<?>[] getFeaturableTypes(Class<?> type)
+    {
+        final Set<Class<?>> types = new LinkedHashSet<>();
+        types.add(type);
+        Class<?> current = type;
+        while (current != null)
+        {
+            types.addAll(Arrays.asList(current.getInterfaces()));
+            current = current.getSuperclass();
+        }
+        return types.toArray(NO_TYPES);
+    }
+
+    /**
+     * Get feature class types (feature and its interfaces until {@link FeatureProvider}).
+     * 
+     * @param feature The feature class.
+     * @return The feature types.
+     */
+    private static Class<?>[] getFeatureTypes(Class<?> feature)
+    {
+        final Set<Class<?>> types = new LinkedHashSet<>();
+        types.add(feature);
+        types.addAll(UtilReflection.getInterfaces(feature, FeatureProvider.class));
+        return types.toArray(NO_TYPES);
+    }
+
     /** List of featurables (key is the featurable ID). */
     private final Map<Integer, Featurable> featurables = new HashMap<>();
     /** List of typed items (key is the feature type). */
-    private final Map<Class<?>, Set<Object>> items = new HashMap<>();
+    private final Map<Class<?>, Items> items = new HashMap<>();
+    /** Cached featurable types (key is the featurable class). */
+    private final Map<Class<?>, Class<?>[]> featurablesTypes = new HashMap<>();
+    /** Cached feature types (key is the feature class). */
+    private final Map<Class<?>, Class<?>[]> featuresTypes = new HashMap<>();
 
     /**
      * Create the handlables.
@@ -53,22 +101,19 @@ final class HandlablesImpl implements Handlables
     {
         featurables.put(featurable.getFeature(Identifiable.class).getId(), featurable);
 
-        for (final Class<?> type : featurable.getClass().getInterfaces())
+        for (final Class<?> type : featurablesTypes.computeIfAbsent(featurable.getClass(),
+                                                                    HandlablesImpl::getFeaturableTypes))
         {
-            addType(type, featurable);
+            items.computeIfAbsent(type, k -> new Items()).add(featurable);
         }
-
         for (final Class<? extends FeatureProvider> feature : featurable.getFeaturesType())
         {
             final FeatureProvider object = featurable.getFeature(feature);
-            addType(feature, object);
-            for (final Class<?> other : UtilReflection.getInterfaces(feature, FeatureProvider.class))
+            for (final Class<?> type : featuresTypes.computeIfAbsent(feature, HandlablesImpl::getFeatureTypes))
             {
-                addType(other, object);
+                items.computeIfAbsent(type, k -> new Items()).add(object);
             }
         }
-        addType(featurable.getClass(), featurable);
-        addSuperClass(featurable, featurable.getClass());
     }
 
     /**
@@ -79,23 +124,19 @@ final class HandlablesImpl implements Handlables
      */
     public void remove(Featurable featurable, Integer id)
     {
-        for (final Class<?> type : featurable.getClass().getInterfaces())
+        for (final Class<?> type : featurablesTypes.computeIfAbsent(featurable.getClass(),
+                                                                    HandlablesImpl::getFeaturableTypes))
         {
             remove(type, featurable);
         }
-
         for (final Class<? extends FeatureProvider> feature : featurable.getFeaturesType())
         {
             final FeatureProvider object = featurable.getFeature(feature);
-            remove(feature, object);
-            for (final Class<?> other : UtilReflection.getInterfaces(feature, FeatureProvider.class))
+            for (final Class<?> type : featuresTypes.computeIfAbsent(feature, HandlablesImpl::getFeatureTypes))
             {
-                remove(other, object);
+                remove(type, object);
             }
-
         }
-        remove(featurable.getClass(), featurable);
-        removeSuperClass(featurable, featurable.getClass());
 
         featurables.remove(id);
     }
@@ -110,56 +151,6 @@ final class HandlablesImpl implements Handlables
         return featurables.keySet();
     }
 
-    /**
-     * Add a type from its interface.
-     * 
-     * @param type The type interface.
-     * @param object The type value.
-     */
-    private void addType(Class<?> type, Object object)
-    {
-        final Set<Object> set = items.computeIfAbsent(type, k -> new HashSet<>());
-        set.add(object);
-    }
-
-    /**
-     * Add object parent super type.
-     * 
-     * @param object The current object to check.
-     * @param type The current class level to check.
-     */
-    private void addSuperClass(Object object, Class<?> type)
-    {
-        for (final Class<?> types : type.getInterfaces())
-        {
-            addType(types, object);
-        }
-        final Class<?> parent = type.getSuperclass();
-        if (parent != null)
-        {
-            addSuperClass(object, parent);
-        }
-    }
-
-    /**
-     * Remove object parent super type.
-     * 
-     * @param object The current object to check.
-     * @param type The current class level to check.
-     */
-    private void removeSuperClass(Object object, Class<?> type)
-    {
-        for (final Class<?> types : type.getInterfaces())
-        {
-            remove(types, object);
-        }
-        final Class<?> parent = type.getSuperclass();
-        if (parent != null)
-        {
-            removeSuperClass(object, parent);
-        }
-    }
-
     /**
      * Remove the object from its type list.
      * 
@@ -168,10 +159,10 @@ final class HandlablesImpl implements Handlables
      */
     private void remove(Class<?> type, Object object)
     {
-        final Set<?> set = items.get(type);
-        if (set != null)
+        final Items typed = items.get(type);
+        if (typed != null)
         {
-            set.remove(object);
+            typed.remove(object);
         }
     }
 
@@ -183,14 +174,14 @@ final class HandlablesImpl implements Handlables
 
     @Override
     @SuppressWarnings("unchecked")
-    public <I> Iterable<I> get(Class<I> type)
+    public <I> Typed<I> get(Class<I> type)
     {
-        final Set<?> typeFeaturables = items.get(type);
-        if (typeFeaturables != null)
+        final Items typed = items.get(type);
+        if (typed != null)
         {
-            return (Iterable<I>) typeFeaturables;
+            return (Typed<I>) typed;
         }
-        return Collections.emptySet();
+        return (Typed<I>) NO_ITEMS;
     }
 
     @Override
@@ -198,4 +189,102 @@ final class HandlablesImpl implements Handlables
     {
         return featurables.values();
     }
+
+    /**
+     * Typed items stored in a dense array. Removal moves the last item to the removed slot.
+     */
+    private static final class Items implements Typed<Object>
+    {
+        /** Items index in array. */
+        private final Map<Object, Integer> indexes = new HashMap<>();
+        /** Items array. */
+        private Object[] array = new Object[8];
+        /** Items count. */
+        private int size;
+
+        /**
+         * Create items.
+         */
+        Items()
+        {
+            super();
+        }
+
+        /**
+         * Add item if not already added.
+         * 
+         * @param object The item to add.
+         */
+        void add(Object object)
+        {
+            if (indexes.putIfAbsent(object, Integer.valueOf(size)) == null)
+            {
+                if (size == array.length)
+                {
+                    array = Arrays.copyOf(array, size * 2);
+                }
+                array[size] = object;
+                size++;
+            }
+        }
+
+        /**
+         * Remove item if added.
+         * 
+         * @param object The item to remove.
+         */
+        void remove(Object object)
+        {
+            final Integer index = indexes.remove(object);
+            if (index != null)
+            {
+                size--;
+                final int i = index.intValue();
+                if (i < size)
+                {
+                    array[i] = array[size];
+                    indexes.put(array[i], index);
+                }
+                array[size] = null;
+            }
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        public Object get(int index)
+        {
+            return array[index];
+        }
+
+        @Override
+        public Iterator<Object> iterator()
+        {
+            return new Iterator<>()
+            {
+                /** Current index. */
+                private int index;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return index < size;
+                }
+
+                @Override
+                public Object next()
+                {
+                    if (index >= size)
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    return array[index++];
+                }
+            };
+        }
+    }
 }
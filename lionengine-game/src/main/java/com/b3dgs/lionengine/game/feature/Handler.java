@@ -235,7 +235,7 @@ public class Handler implements Handlables, Updatable, Renderable, IdentifiableL
     }
 
     @Override
-    public <I> Iterable<I> get(Class<I> type)
+    public <I> Typed<I> get(Class<I> type)
     {
         return featurables.get(type);
     }
@@ -25,5 +25,15 @@ import com.b3dgs.lionengine.game.Feature;
 @FeatureInterface
 public interface Refreshable extends Feature, Updatable
 {
-    // Wrapper
+    /**
+     * Check if can be updated concurrently with other refreshables of its layer, which means its update does not write
+     * to other featurables. Notifications must be sent with {@link DeferredNotifications}. Used by
+     * {@link ComponentRefreshable} parallel mode. Not concurrent by default.
+     * 
+     * @return <code>true</code> if can be updated concurrently, <code>false</code> else.
+     */
+    default boolean isConcurrent()
+    {
+        return false;
+    }
 }
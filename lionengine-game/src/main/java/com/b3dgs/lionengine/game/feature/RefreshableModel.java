@@ -27,6 +27,8 @@ public class RefreshableModel extends FeatureAbstract implements Refreshable
 {
     /** Updatable reference. */
     private final Updatable updatable;
+    /** Concurrent flag. */
+    private final boolean concurrent;
 
     /**
      * Create feature.
@@ -35,12 +37,26 @@ public class RefreshableModel extends FeatureAbstract implements Refreshable
      * @throws LionEngineException If invalid argument.
      */
     public RefreshableModel(Updatable updatable)
+    {
+        this(updatable, false);
+    }
+
+    /**
+     * Create feature.
+     * 
+     * @param updatable The updatable reference (must not be <code>null</code>).
+     * @param concurrent <code>true</code> if can be updated concurrently (see {@link Refreshable#isConcurrent()}),
+     *            <code>false</code> else.
+     * @throws LionEngineException If invalid argument.
+     */
+    public RefreshableModel(Updatable updatable, boolean concurrent)
     {
         super();
 
         Check.notNull(updatable);
 
         this.updatable = updatable;
+        this.concurrent = concurrent;
     }
 
     @Override
@@ -48,4 +64,10 @@ public class RefreshableModel extends FeatureAbstract implements Refreshable
     {
         updatable.update(extrp);
     }
+
+    @Override
+    public boolean isConcurrent()
+    {
+        return concurrent;
+    }
 }
@@ -17,8 +17,12 @@
 package com.b3dgs.lionengine.game.feature;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
 
 import com.b3dgs.lionengine.Check;
@@ -65,8 +69,10 @@ public class Services
     /** Service create error. */
     private static final String ERROR_SERVICE_NO_CONSTRUCTOR = "No recognized constructor found for: ";
 
-    /** Services list. */
-    private final Collection<Object> servicesSet = new HashSet<>();
+    /** Services list, in adding order. */
+    private final Collection<Object> servicesSet = new LinkedHashSet<>();
+    /** First added service by assignable type (class, super classes and interfaces). */
+    private final Map<Class<?>, Object> servicesType = new HashMap<>();
 
     /**
      * Create a services container.
@@ -174,7 +180,10 @@ public class Services
     public <S> S add(S service)
     {
         Check.notNull(service);
-        servicesSet.add(service);
+        if (servicesSet.add(service))
+        {
+            index(service);
+        }
         return service;
     }
 
@@ -186,7 +195,14 @@ public class Services
      */
     public <S> void remove(S service)
     {
-        servicesSet.remove(service);
+        if (servicesSet.remove(service))
+        {
+            servicesType.clear();
+            for (final Object object : servicesSet)
+            {
+                index(object);
+            }
+        }
     }
 
     /**
@@ -237,6 +253,34 @@ public class Services
         return Optional.ofNullable(getService(service));
     }
 
+    /**
+     * Index service by all its assignable types, if not already indexed by a previous service.
+     * 
+     * @param service The service to index.
+     */
+    private void index(Object service)
+    {
+        final Deque<Class<?>> types = new ArrayDeque<>();
+        types.add(service.getClass());
+        while (!types.isEmpty())
+        {
+            final Class<?> type = types.poll();
+            // Super types of an already indexed type are already indexed
+            if (servicesType.putIfAbsent(type, service) == null)
+            {
+                final Class<?> parent = type.getSuperclass();
+                if (parent != null)
+                {
+                    types.add(parent);
+                }
+                for (final Class<?> current : type.getInterfaces())
+                {
+                    types.add(current);
+                }
+            }
+        }
+    }
+
     /**
      * Get a service from its class.
      * 
@@ -259,22 +303,10 @@ public class Services
     private <S> S getService(Class<S> service)
     {
         Check.notNull(service);
-        S instance = null;
         if (service == getClass())
         {
-            instance = service.cast(this);
-        }
-        else
-        {
-            for (final Object object : servicesSet)
-            {
-                if (service.isAssignableFrom(object.getClass()))
-                {
-                    instance = service.cast(object);
-                    break;
-                }
-            }
+            return service.cast(this);
         }
-        return instance;
+        return service.cast(servicesType.get(service));
     }
 }
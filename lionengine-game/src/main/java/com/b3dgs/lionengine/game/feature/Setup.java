@@ -24,8 +24,8 @@ import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.game.Configurer;
 import com.b3dgs.lionengine.game.SurfaceConfig;
-import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.ImageCache;
 
 /**
  * Define a structure used to create multiple objects, sharing the same data and {@link ImageBuffer}.
@@ -53,7 +53,7 @@ public class Setup extends Configurer
     {
         if (iconMedia.exists())
         {
-            return Optional.of(Graphics.getImageBuffer(iconMedia));
+            return Optional.of(ImageCache.get(iconMedia));
         }
         return Optional.empty();
     }
@@ -68,6 +68,8 @@ public class Setup extends Configurer
     private final Optional<Media> iconFile;
     /** Class reference (can be <code>null</code>). */
     private Class<?> clazz;
+    /** Disposed flag. */
+    private boolean disposed;
 
     /**
      * Create a setup.
@@ -104,7 +106,7 @@ public class Setup extends Configurer
                 iconFile = Optional.empty();
                 icon = Optional.empty();
             }
-            surface = Optional.of(Graphics.getImageBuffer(surfaceMedia));
+            surface = Optional.of(ImageCache.get(surfaceMedia));
             surfaceFile = Optional.of(surfaceMedia);
         }
         else
@@ -184,4 +186,17 @@ public class Setup extends Configurer
     {
         return icon.orElseThrow(() -> new LionEngineException(ERROR_ICON));
     }
+
+    /**
+     * Release surface and icon references acquired from {@link ImageCache}. Surface and icon must not be used after.
+     */
+    public void dispose()
+    {
+        if (!disposed)
+        {
+            surface.ifPresent(ImageCache::release);
+            icon.ifPresent(ImageCache::release);
+            disposed = true;
+        }
+    }
 }
@@ -34,6 +34,8 @@ public class TransformableModel extends FeatureModel implements Transformable, R
 {
     /** Listeners. */
     private final ListenableModel<TransformableListener> listenable = new ListenableModel<>();
+    /** Transformation notifier. */
+    private final Runnable notifier = this::notifyTransformed;
     /** Mover model. */
     private final Mover mover = new MoverModel();
     /** Update priority. */
@@ -227,11 +229,19 @@ public class TransformableModel extends FeatureModel implements Transformable, R
             || oldHeight != height)
         {
             dirty = false;
-            final int n = listenable.size();
-            for (int i = 0; i < n; i++)
-            {
-                listenable.get(i).notifyTransformed(this);
-            }
+            DeferredNotifications.send(notifier);
+        }
+    }
+
+    /**
+     * Notify listeners of transformation.
+     */
+    private void notifyTransformed()
+    {
+        final int n = listenable.size();
+        for (int i = 0; i < n; i++)
+        {
+            listenable.get(i).notifyTransformed(this);
         }
     }
 
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.collidable;
+
+import java.util.List;
+
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.geom.Area;
+import com.b3dgs.lionengine.graphic.Renderable;
+
+/**
+ * Broad phase collision strategy used by {@link ComponentCollision}. Keeps a spatial index of the {@link Collidable}
+ * and only submits close couples to {@link Collidable#collide(Collidable)}.
+ * 
+ * @see QuadTree
+ * @see SpatialHash
+ */
+public interface Broadphase extends Renderable
+{
+    /**
+     * Update collidable index, add it if not already indexed.
+     * 
+     * @param transformable The transformable reference.
+     * @param collidable The collidable reference.
+     */
+    void move(Transformable transformable, Collidable collidable);
+
+    /**
+     * Remove collidable from index.
+     * 
+     * @param transformable The transformable reference.
+     * @param collidable The collidable reference.
+     */
+    void remove(Transformable transformable, Collidable collidable);
+
+    /**
+     * Compute collision between all close elements.
+     */
+    void compute();
+
+    /**
+     * Get all collidables inside area. Result is not cleared, found elements are added.
+     * 
+     * @param area The area used.
+     * @param result The collidables found.
+     */
+    void getInside(Area area, List<Collidable> result);
+}
@@ -16,6 +16,7 @@
  */
 package com.b3dgs.lionengine.game.feature.collidable;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.b3dgs.lionengine.Check;
@@ -35,31 +36,42 @@ import com.b3dgs.lionengine.graphic.RenderableVoid;
 
 /**
  * Default collision component implementation. Designed to check collision between {@link Collidable}.
- * Collision events are notified to {@link CollidableListener}.
+ * Collision events are notified to {@link CollidableListener}. Close couples are found by a {@link Broadphase}.
  * 
  * @see Collidable
  * @see CollidableListener
+ * @see Broadphase
  */
 public class ComponentCollision implements ComponentUpdater, ComponentRenderer, HandlerListener, TransformableListener
 {
-    /** Mapping reduced by group as list index. */
-    private final QuadTree collidables;
+    /** Collidables broad phase. */
+    private final Broadphase collidables;
 
     /** Rendering. */
     private Renderable renderable = RenderableVoid.getInstance();
 
     /**
-     * Create component.
+     * Create component using a {@link SpatialHash}.
      * 
      * @param viewer The viewer reference (must not be <code>null</code>).
      */
     public ComponentCollision(Viewer viewer)
+    {
+        this(new SpatialHash(viewer));
+    }
+
+    /**
+     * Create component.
+     * 
+     * @param broadphase The broad phase used (must not be <code>null</code>).
+     */
+    public ComponentCollision(Broadphase broadphase)
     {
         super();
 
-        Check.notNull(viewer);
+        Check.notNull(broadphase);
 
-        collidables = new QuadTree(viewer);
+        collidables = broadphase;
     }
 
     /**
@@ -87,7 +99,20 @@ public class ComponentCollision implements ComponentUpdater, ComponentRenderer,
      */
     public List<Collidable> getInside(Area area)
     {
-        return collidables.getInside(area);
+        final List<Collidable> inside = new ArrayList<>();
+        collidables.getInside(area, inside);
+        return inside;
+    }
+
+    /**
+     * Get elements inside area without allocation. Result is not cleared, found elements are added.
+     * 
+     * @param area The area used.
+     * @param result The elements inside area.
+     */
+    public void getInside(Area area, List<Collidable> result)
+    {
+        collidables.getInside(area, result);
     }
 
     @Override
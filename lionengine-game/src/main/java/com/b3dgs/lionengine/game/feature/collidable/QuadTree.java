@@ -30,13 +30,12 @@ import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.geom.Area;
 import com.b3dgs.lionengine.geom.Rectangle;
 import com.b3dgs.lionengine.graphic.Graphic;
-import com.b3dgs.lionengine.graphic.Renderable;
 import com.b3dgs.lionengine.graphic.TextStyle;
 
 /**
  * Quad tree dedicated to collisions.
  */
-public class QuadTree implements Renderable
+public class QuadTree implements Broadphase
 {
     /** Default quad tree size. */
     private static final int TREE_SIZE = 16384;
@@ -139,6 +138,7 @@ public class QuadTree implements Renderable
      * @param transformable The transformable reference.
      * @param ref The collidable reference.
      */
+    @Override
     public void remove(Transformable transformable, Collidable ref)
     {
         if (count > 0)
@@ -178,6 +178,7 @@ public class QuadTree implements Renderable
      * @param transformable The transformable reference.
      * @param ref The collidable reference.
      */
+    @Override
     public void move(Transformable transformable, Collidable ref)
     {
         remove(transformable, ref);
@@ -187,6 +188,7 @@ public class QuadTree implements Renderable
     /**
      * Compute collision with all elements.
      */
+    @Override
     public void compute()
     {
         final int n = refs.size();
@@ -250,6 +252,12 @@ public class QuadTree implements Renderable
         return new ArrayList<>(result);
     }
 
+    @Override
+    public void getInside(Area area, List<Collidable> result)
+    {
+        result.addAll(getInside(area));
+    }
+
     @Override
     public void render(Graphic g)
     {
@@ -0,0 +1,504 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.collidable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.b3dgs.lionengine.Align;
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Origin;
+import com.b3dgs.lionengine.Viewer;
+import com.b3dgs.lionengine.game.TextGame;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.geom.Area;
+import com.b3dgs.lionengine.geom.Rectangle;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.TextStyle;
+
+/**
+ * Uniform grid broad phase, where cells are hashed into a fixed number of buckets.
+ * <p>
+ * Each collidable is indexed in all the cells covered by its collision bounds, including its last movement. Index is
+ * only updated when the covered cells change. A couple sharing many cells is computed only once, in the first shared
+ * cell. Queries use a stamp per collidable instead of a temporary set, and fill the caller list.
+ * </p>
+ */
+public class SpatialHash implements Broadphase
+{
+    /** Default cell size. */
+    private static final int CELL_SIZE = 64;
+    /** Default buckets number. */
+    private static final int BUCKETS = 4096;
+    /** Entry stride (slot, cell x, cell y). */
+    private static final int STRIDE = 3;
+    /** Initial bucket entries capacity. */
+    private static final int BUCKET_CAPACITY = 4;
+    /** Initial collidables capacity. */
+    private static final int CAPACITY = 64;
+    /** Horizontal hash prime. */
+    private static final int PRIME_X = 73_856_093;
+    /** Vertical hash prime. */
+    private static final int PRIME_Y = 19_349_663;
+    /** Debug text. */
+    private static final TextGame TEXT = new TextGame("System", 9, TextStyle.NORMAL);
+
+    /**
+     * Get the cell index.
+     * 
+     * @param value The location value.
+     * @param cellSize The cell size.
+     * @return The cell index.
+     */
+    private static int getCell(double value, int cellSize)
+    {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    /** Collidables slot mapping. */
+    private final Map<Collidable, Integer> slots = new HashMap<>();
+    /** Buckets entries, as (slot, cell x, cell y) triplets. */
+    private final int[][] buckets;
+    /** Buckets entries number (including stride). */
+    private final int[] sizes;
+    /** Buckets mask. */
+    private final int mask;
+    /** The viewer reference. */
+    private final Viewer viewer;
+    /** Cell size. */
+    private final int cellSize;
+
+    /** Collidables by slot, <code>null</code> if free. */
+    private Collidable[] refs = new Collidable[CAPACITY];
+    /** Covered cells horizontal minimum by slot. */
+    private int[] minCx = new int[CAPACITY];
+    /** Covered cells vertical minimum by slot. */
+    private int[] minCy = new int[CAPACITY];
+    /** Covered cells horizontal maximum by slot. */
+    private int[] maxCx = new int[CAPACITY];
+    /** Covered cells vertical maximum by slot. */
+    private int[] maxCy = new int[CAPACITY];
+    /** Query stamp by slot. */
+    private int[] stamps = new int[CAPACITY];
+    /** Free slots. */
+    private int[] free = new int[CAPACITY];
+    /** Free slots number. */
+    private int freeCount;
+    /** Used slots upper bound. */
+    private int count;
+    /** Current query stamp. */
+    private int stamp;
+
+    /**
+     * Create spatial hash with default cell size and buckets number.
+     * 
+     * @param viewer The viewer reference (must not be <code>null</code>).
+     */
+    public SpatialHash(Viewer viewer)
+    {
+        this(viewer, CELL_SIZE, BUCKETS);
+    }
+
+    /**
+     * Create spatial hash.
+     * 
+     * @param viewer The viewer reference (must not be <code>null</code>).
+     * @param cellSize The cell size (must be strictly positive).
+     * @param buckets The buckets number (must be strictly positive, rounded up to power of 2).
+     */
+    public SpatialHash(Viewer viewer, int cellSize, int buckets)
+    {
+        super();
+
+        Check.notNull(viewer);
+        Check.superiorStrict(cellSize, 0);
+        Check.superiorStrict(buckets, 0);
+
+        this.viewer = viewer;
+        this.cellSize = cellSize;
+
+        final int n = Integer.highestOneBit(buckets) == buckets ? buckets : Integer.highestOneBit(buckets) << 1;
+        this.buckets = new int[n][];
+        sizes = new int[n];
+        mask = n - 1;
+    }
+
+    /**
+     * Get the number of indexed collidables.
+     * 
+     * @return The indexed collidables number.
+     */
+    public int size()
+    {
+        return slots.size();
+    }
+
+    /**
+     * Get bucket index of cell.
+     * 
+     * @param cx The horizontal cell index.
+     * @param cy The vertical cell index.
+     * @return The bucket index.
+     */
+    private int getBucket(int cx, int cy)
+    {
+        return (cx * PRIME_X ^ cy * PRIME_Y) & mask;
+    }
+
+    /**
+     * Get slot of collidable, allocate one if not indexed.
+     * 
+     * @param ref The collidable reference.
+     * @return The slot index.
+     */
+    private int acquire(Collidable ref)
+    {
+        final Integer index = slots.get(ref);
+        if (index != null)
+        {
+            return index.intValue();
+        }
+
+        final int slot;
+        if (freeCount > 0)
+        {
+            freeCount--;
+            slot = free[freeCount];
+        }
+        else
+        {
+            if (count == refs.length)
+            {
+                grow();
+            }
+            slot = count;
+            count++;
+        }
+        refs[slot] = ref;
+        minCx[slot] = 1;
+        maxCx[slot] = 0;
+        slots.put(ref, Integer.valueOf(slot));
+
+        return slot;
+    }
+
+    /**
+     * Increase slots capacity.
+     */
+    private void grow()
+    {
+        final int capacity = refs.length * 2;
+        refs = Arrays.copyOf(refs, capacity);
+        minCx = Arrays.copyOf(minCx, capacity);
+        minCy = Arrays.copyOf(minCy, capacity);
+        maxCx = Arrays.copyOf(maxCx, capacity);
+        maxCy = Arrays.copyOf(maxCy, capacity);
+        stamps = Arrays.copyOf(stamps, capacity);
+        free = Arrays.copyOf(free, capacity);
+    }
+
+    /**
+     * Add slot to all cells of range.
+     * 
+     * @param slot The slot index.
+     */
+    private void insert(int slot)
+    {
+        for (int cy = minCy[slot]; cy <= maxCy[slot]; cy++)
+        {
+            for (int cx = minCx[slot]; cx <= maxCx[slot]; cx++)
+            {
+                final int bucket = getBucket(cx, cy);
+                int[] entries = buckets[bucket];
+                final int size = sizes[bucket];
+                if (entries == null)
+                {
+                    entries = new int[BUCKET_CAPACITY * STRIDE];
+                    buckets[bucket] = entries;
+                }
+                else if (size == entries.length)
+                {
+                    entries = Arrays.copyOf(entries, entries.length * 2);
+                    buckets[bucket] = entries;
+                }
+                entries[size] = slot;
+                entries[size + 1] = cx;
+                entries[size + 2] = cy;
+                sizes[bucket] = size + STRIDE;
+            }
+        }
+    }
+
+    /**
+     * Remove slot from all cells of its current range.
+     * 
+     * @param slot The slot index.
+     */
+    private void erase(int slot)
+    {
+        for (int cy = minCy[slot]; cy <= maxCy[slot]; cy++)
+        {
+            for (int cx = minCx[slot]; cx <= maxCx[slot]; cx++)
+            {
+                final int bucket = getBucket(cx, cy);
+                final int[] entries = buckets[bucket];
+                final int size = sizes[bucket];
+                for (int i = 0; i < size; i += STRIDE)
+                {
+                    if (entries[i] == slot && entries[i + 1] == cx && entries[i + 2] == cy)
+                    {
+                        final int last = size - STRIDE;
+                        entries[i] = entries[last];
+                        entries[i + 1] = entries[last + 1];
+                        entries[i + 2] = entries[last + 2];
+                        sizes[bucket] = last;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute couples of bucket.
+     * 
+     * @param bucket The bucket index.
+     */
+    private void compute(int bucket)
+    {
+        for (int i = 0; i < sizes[bucket] - STRIDE; i += STRIDE)
+        {
+            final int[] entries = buckets[bucket];
+            final int a = entries[i];
+            final int cx = entries[i + 1];
+            final int cy = entries[i + 2];
+
+            for (int j = i + STRIDE; j < sizes[bucket]; j += STRIDE)
+            {
+                final int[] current = buckets[bucket];
+                final int b = current[j];
+                if (a != b && current[j + 1] == cx && current[j + 2] == cy && isFirstShared(a, b, cx, cy))
+                {
+                    final Collidable ca = refs[a];
+                    final Collidable cb = refs[b];
+                    ca.collide(cb);
+                    cb.collide(ca);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if cell is the first cell shared by the two slots, in order to compute a couple only once.
+     * 
+     * @param a The first slot.
+     * @param b The second slot.
+     * @param cx The horizontal cell index.
+     * @param cy The vertical cell index.
+     * @return <code>true</code> if first shared cell, <code>false</code> else.
+     */
+    private boolean isFirstShared(int a, int b, int cx, int cy)
+    {
+        return cx == Math.max(minCx[a], minCx[b]) && cy == Math.max(minCy[a], minCy[b]);
+    }
+
+    /**
+     * Check if collidable of slot is inside area and add it to result once.
+     * 
+     * @param slot The slot index.
+     * @param area The area used.
+     * @param result The elements found.
+     */
+    private void checkInside(int slot, Area area, List<Collidable> result)
+    {
+        if (stamps[slot] != stamp)
+        {
+            stamps[slot] = stamp;
+
+            final Collidable current = refs[slot];
+            final List<Rectangle> bounds = current.getCollisionBounds();
+            final int n = bounds.size();
+            for (int i = 0; i < n; i++)
+            {
+                final Rectangle bound = bounds.get(i);
+                if (area.contains(bound) || area.intersects(bound))
+                {
+                    result.add(current);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Render cells of bucket with their number of elements.
+     * 
+     * @param g The graphic output.
+     * @param bucket The bucket index.
+     */
+    private void render(Graphic g, int bucket)
+    {
+        final int[] entries = buckets[bucket];
+        final int size = sizes[bucket];
+        for (int i = 0; i < size; i += STRIDE)
+        {
+            final int cx = entries[i + 1];
+            final int cy = entries[i + 2];
+            boolean first = true;
+            int n = 0;
+            for (int j = 0; j < size; j += STRIDE)
+            {
+                if (entries[j + 1] == cx && entries[j + 2] == cy)
+                {
+                    first = first && j >= i;
+                    n++;
+                }
+            }
+            if (first)
+            {
+                final int x = cx * cellSize + cellSize / 2;
+                final int y = cy * cellSize + cellSize / 2;
+                g.drawRect(viewer, Origin.MIDDLE, x, y, cellSize, cellSize, false);
+                TEXT.draw(g, x, y, Align.CENTER, Integer.toString(n));
+            }
+        }
+    }
+
+    @Override
+    public void move(Transformable transformable, Collidable collidable)
+    {
+        final List<Rectangle> bounds = collidable.getCollisionBounds();
+        final int n = bounds.size();
+
+        double minX = transformable.getX();
+        double minY = transformable.getY();
+        double maxX = minX;
+        double maxY = minY;
+        for (int i = 0; i < n; i++)
+        {
+            final Rectangle bound = bounds.get(i);
+            minX = Math.min(minX, bound.getX());
+            minY = Math.min(minY, bound.getY());
+            maxX = Math.max(maxX, bound.getX() + bound.getWidthReal());
+            maxY = Math.max(maxY, bound.getY() + bound.getHeightReal());
+        }
+
+        final double dx = transformable.getOldX() - transformable.getX();
+        final double dy = transformable.getOldY() - transformable.getY();
+
+        final int nMinCx = getCell(minX + Math.min(0.0, dx), cellSize);
+        final int nMinCy = getCell(minY + Math.min(0.0, dy), cellSize);
+        final int nMaxCx = getCell(maxX + Math.max(0.0, dx), cellSize);
+        final int nMaxCy = getCell(maxY + Math.max(0.0, dy), cellSize);
+
+        final int slot = acquire(collidable);
+        if (nMinCx != minCx[slot] || nMinCy != minCy[slot] || nMaxCx != maxCx[slot] || nMaxCy != maxCy[slot])
+        {
+            erase(slot);
+            minCx[slot] = nMinCx;
+            minCy[slot] = nMinCy;
+            maxCx[slot] = nMaxCx;
+            maxCy[slot] = nMaxCy;
+            insert(slot);
+        }
+    }
+
+    @Override
+    public void remove(Transformable transformable, Collidable collidable)
+    {
+        final Integer index = slots.remove(collidable);
+        if (index != null)
+        {
+            final int slot = index.intValue();
+            erase(slot);
+            refs[slot] = null;
+            free[freeCount] = slot;
+            freeCount++;
+        }
+    }
+
+    @Override
+    public void compute()
+    {
+        final int n = sizes.length;
+        for (int bucket = 0; bucket < n; bucket++)
+        {
+            if (sizes[bucket] > STRIDE)
+            {
+                compute(bucket);
+            }
+        }
+    }
+
+    @Override
+    public void getInside(Area area, List<Collidable> result)
+    {
+        stamp++;
+
+        final int minX = getCell(area.getX(), cellSize);
+        final int minY = getCell(area.getY(), cellSize);
+        final int maxX = getCell(area.getX() + area.getWidthReal(), cellSize);
+        final int maxY = getCell(area.getY() + area.getHeightReal(), cellSize);
+
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > count)
+        {
+            for (int slot = 0; slot < count; slot++)
+            {
+                if (refs[slot] != null)
+                {
+                    checkInside(slot, area, result);
+                }
+            }
+        }
+        else
+        {
+            for (int cy = minY; cy <= maxY; cy++)
+            {
+                for (int cx = minX; cx <= maxX; cx++)
+                {
+                    final int bucket = getBucket(cx, cy);
+                    final int[] entries = buckets[bucket];
+                    final int size = sizes[bucket];
+                    for (int i = 0; i < size; i += STRIDE)
+                    {
+                        if (entries[i + 1] == cx && entries[i + 2] == cy)
+                        {
+                            checkInside(entries[i], area, result);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void render(Graphic g)
+    {
+        TEXT.update(viewer);
+
+        final int n = sizes.length;
+        for (int bucket = 0; bucket < n; bucket++)
+        {
+            if (sizes[bucket] > 0)
+            {
+                render(g, bucket);
+            }
+        }
+    }
+}
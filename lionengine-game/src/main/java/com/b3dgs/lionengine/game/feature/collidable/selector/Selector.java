@@ -57,6 +57,8 @@ public class Selector extends FeaturableAbstract implements SelectorConfigurer,
 {
     /** Backed selection. */
     private final List<Selectable> selected = new ArrayList<>();
+    /** Collidables inside selection cache. */
+    private final List<Collidable> inside = new ArrayList<>();
     /** Selection listeners. */
     private final ListenableModel<SelectionListener> listenable = new ListenableModel<>();
     /** Selector model. */
@@ -181,7 +183,8 @@ public class Selector extends FeaturableAbstract implements SelectorConfigurer,
      */
     private void checkSelection(ComponentCollision componentCollision, Area selection)
     {
-        final List<Collidable> inside = componentCollision.getInside(selection);
+        inside.clear();
+        componentCollision.getInside(selection, inside);
         final int n = inside.size();
 
         for (int i = 0; i < n; i++)
@@ -198,6 +201,7 @@ public class Selector extends FeaturableAbstract implements SelectorConfigurer,
                 }
             }
         }
+        inside.clear();
     }
 
     /**
@@ -27,6 +27,9 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Localizable;
 import com.b3dgs.lionengine.game.feature.ComponentUpdater;
 import com.b3dgs.lionengine.game.feature.Factory;
 import com.b3dgs.lionengine.game.feature.Featurable;
@@ -47,7 +50,18 @@ import com.b3dgs.lionengine.network.server.Server;
 import com.b3dgs.lionengine.network.server.ServerListener;
 
 /**
- * Default network component implementation.
+ * Default network component implementation. Messages pending on {@link Server} or {@link Client} are flushed at the end
+ * of each update.
+ * <p>
+ * Snapshots can be enabled with {@link #setSnapshot(int, int)} on both sides: server periodically sends to each client
+ * the networkables location changes since its last acknowledged snapshot, and client interpolates not owned
+ * networkables between the two last received snapshots.
+ * </p>
+ * <p>
+ * Interest management can be enabled on server with {@link #setInterest(double, int)}: each client then only receives
+ * data and snapshots of networkables inside its area, around its owned networkables and its viewer. Networkables
+ * entering an area are created on client, and removed when leaving it.
+ * </p>
  */
 public class ComponentNetwork implements ComponentUpdater, HandlerListener
 {
@@ -55,6 +69,14 @@ public class ComponentNetwork implements ComponentUpdater, HandlerListener
     public static final int MODE_IDENTIFIABLE_GET = UtilNetwork.MODE_DISCONNECT + 1;
     /** Mode identifiable create. */
     public static final int MODE_IDENTIFIABLE_CREATE = MODE_IDENTIFIABLE_GET + 1;
+    /** Mode snapshot. */
+    public static final int MODE_SNAPSHOT = MODE_IDENTIFIABLE_CREATE + 1;
+    /** Mode snapshot acknowledge. */
+    public static final int MODE_SNAPSHOT_ACK = MODE_SNAPSHOT + 1;
+    /** Mode identifiable remove. */
+    public static final int MODE_IDENTIFIABLE_REMOVE = MODE_SNAPSHOT_ACK + 1;
+    /** Default snapshot budget in bytes, fitting a single packet. */
+    public static final int SNAPSHOT_BUDGET_DEFAULT = UtilNetwork.MAX_SIZE - UtilNetwork.HEADER_BYTES_NUMBER;
     /** Logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(ComponentNetwork.class);
 
@@ -62,6 +84,8 @@ public class ComponentNetwork implements ComponentUpdater, HandlerListener
     private final Map<Integer, Networkable> networkables = new HashMap<>();
     /** Client by pending id. */
     private final Set<Integer> synced = new HashSet<>();
+    /** Snapshot unknown ids already requested. */
+    private final Set<Integer> requested = new HashSet<>();
     /** Server reference (<code>null</code> if unavailable). */
     private final Server server;
     /** Client reference (<code>null</code> if unavailable). */
@@ -69,6 +93,16 @@ public class ComponentNetwork implements ComponentUpdater, HandlerListener
     private final Channel channel;
     private final Factory factory;
     private final Handler handler;
+    /** Server snapshots (<code>null</code> if disabled). */
+    private volatile SnapshotServer snapshotServer;
+    /** Client snapshots (<code>null</code> if disabled). */
+    private SnapshotClient snapshotClient;
+    /** Clients interest (<code>null</code> if disabled). */
+    private volatile InterestGrid interest;
+    /** Snapshot period in ticks (0 if disabled). */
+    private int snapshotPeriod;
+    /** Ticks since last snapshot. */
+    private int snapshotTicks;
 
     /**
      * Create component.
@@ -107,6 +141,36 @@ public class ComponentNetwork implements ComponentUpdater, HandlerListener
                 {
                     clearAll();
                 }
+
+                @Override
+                public void notifyClientConnected(String ip, int port, Integer id)
+                {
+                    final InterestGrid grid = interest;
+                    if (grid != null)
+                    {
+                        grid.addClient(id);
+                    }
+                    final SnapshotServer snapshot = snapshotServer;
+                    if (snapshot != null)
+                    {
+                        snapshot.addClient(id);
+                    }
+                }
+
+                @Override
+                public void notifyClientDisconnected(String ip, int port, Integer id)
+                {
+                    final InterestGrid grid = interest;
+                    if (grid != null)
+                    {
+                        grid.removeClient(id);
+                    }
+                    final SnapshotServer snapshot = snapshotServer;
+                    if (snapshot != null)
+                    {
+                        snapshot.removeClient(id);
+                    }
+                }
             });
         }
         if (client != null)
@@ -128,6 +192,96 @@ public class ComponentNetwork implements ComponentUpdater, HandlerListener
         }
     }
 
+    /**
+     * Enable snapshots, must be set on server and client with the same period, before connection.
+     * 
+     * @param period The ticks between two snapshots (0 to disable, must be positive).
+     * @param budget The maximum snapshot message bytes (must be superior to {@link SnapshotDelta} header).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public void setSnapshot(int period, int budget)
+    {
+        Check.superiorOrEqual(period, 0);
+        Check.superiorStrict(budget, SnapshotDelta.HEADER_BYTES);
+
+        snapshotPeriod = period;
+        snapshotTicks = 0;
+        if (period > 0 && server != null)
+        {
+            snapshotServer = new SnapshotServer(this::send,
+                                                this::isRelevant,
+                                                (budget - SnapshotDelta.HEADER_BYTES) * Byte.SIZE);
+        }
+        else
+        {
+            snapshotServer = null;
+        }
+        if (period > 0 && client != null)
+        {
+            snapshotClient = new SnapshotClient(period);
+        }
+        else
+        {
+            snapshotClient = null;
+        }
+    }
+
+    /**
+     * Enable interest management on server, must be set before server start. Does nothing on client.
+     * 
+     * @param radius The area radius around each client owned networkable and viewer (0 to disable, must be positive).
+     * @param cellSize The spatial grid cell size, also used as margin before leaving area (must be strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public void setInterest(double radius, int cellSize)
+    {
+        Check.superiorOrEqual(radius, 0.0);
+        Check.superiorStrict(cellSize, 0);
+
+        if (radius > 0.0 && server != null)
+        {
+            interest = new InterestGrid(radius, cellSize);
+            server.setDataFilter(interest);
+        }
+        else
+        {
+            interest = null;
+            if (server != null)
+            {
+                server.setDataFilter(null);
+            }
+        }
+    }
+
+    /**
+     * Set client viewer on server, such as a synced camera, adding an area around it in addition to client owned
+     * networkables.
+     * 
+     * @param clientId The client id.
+     * @param viewer The viewer location (<code>null</code> to remove).
+     */
+    public void setInterestViewer(Integer clientId, Localizable viewer)
+    {
+        final InterestGrid grid = interest;
+        if (grid != null)
+        {
+            grid.setViewer(clientId, viewer);
+        }
+    }
+
+    /**
+     * Check if data is relevant for client.
+     * 
+     * @param clientId The client id.
+     * @param dataId The data id.
+     * @return <code>true</code> if relevant or interest disabled, <code>false</code> else.
+     */
+    private boolean isRelevant(Integer clientId, int dataId)
+    {
+        final InterestGrid grid = interest;
+        return grid == null || grid.isRelevant(clientId, dataId);
+    }
+
     /**
      * Clear all elements.
      */
@@ -138,6 +292,7 @@ public class ComponentNetwork implements ComponentUpdater, HandlerListener
             networkable.onDisconnected();
         }
         networkables.clear();
+        requested.clear();
     }
 
     private void send(Message message, Integer clientId)
@@ -164,6 +319,25 @@ public class ComponentNetwork implements ComponentUpdater, HandlerListener
         }
     }
 
+    private void flush()
+    {
+        try
+        {
+            if (server != null)
+            {
+                server.flush();
+            }
+            if (client != null)
+            {
+                client.flush();
+            }
+        }
+        catch (final IOException exception)
+        {
+            LOGGER.error("flush error", exception);
+        }
+    }
+
     private void setNetworkable(Integer dataId, Networkable networkable)
     {
         networkables.put(dataId, networkable);
@@ -196,7 +370,10 @@ public class ComponentNetwork implements ComponentUpdater, HandlerListener
     {
         final int dataId = packet.getDataId();
         final Featurable featurable = handler.get(Integer.valueOf(dataId));
-        if (featurable != null && server != null && featurable.getFeature(Networkable.class).isSynced())
+        if (featurable != null
+            && server != null
+            && featurable.getFeature(Networkable.class).isSynced()
+            && isRelevant(packet.getClientId(), dataId))
         {
             send(new IdentifiableCreate(featurable.getFeature(Networkable.class).getClientId(), featurable),
                  packet.getClientId());
@@ -230,6 +407,107 @@ public class ComponentNetwork implements ComponentUpdater, HandlerListener
         }
     }
 
+    private void handleSnapshot(Packet packet)
+    {
+        try
+        {
+            if (snapshotClient != null && snapshotClient.receive(packet.getDataId(), packet.buffer()))
+            {
+                send(new SnapshotAck(client.getClientId(), packet.getDataId()));
+            }
+        }
+        catch (final IOException exception)
+        {
+            LOGGER.error("snapshot error", exception);
+        }
+    }
+
+    private void handleSnapshotAck(Packet packet)
+    {
+        final SnapshotServer snapshot = snapshotServer;
+        if (snapshot != null)
+        {
+            snapshot.ack(packet.getClientSourceId(), packet.getDataId());
+        }
+    }
+
+    private void updateSnapshot()
+    {
+        final SnapshotServer snapshot = snapshotServer;
+        if (snapshot != null && ++snapshotTicks >= snapshotPeriod)
+        {
+            snapshotTicks = 0;
+            snapshot.send(networkables.values());
+        }
+        if (snapshotClient != null)
+        {
+            snapshotClient.update();
+            applySnapshot(snapshotClient);
+        }
+    }
+
+    private void applySnapshot(SnapshotClient snapshot)
+    {
+        final Snapshot latest = snapshot.getLatest();
+        final int count = latest.size();
+        for (int i = 0; i < count; i++)
+        {
+            final Integer dataId = Integer.valueOf(latest.getId(i));
+            final Networkable networkable = getNetworkable(dataId);
+            if (networkable == null)
+            {
+                if (requested.add(dataId))
+                {
+                    send(new IdentifiableGet(client.getClientId(), dataId.intValue()));
+                }
+            }
+            else if (!networkable.isOwner() && networkable.hasFeature(Transformable.class))
+            {
+                networkable.getFeature(Transformable.class).setLocation(snapshot.getX(i), snapshot.getY(i));
+            }
+        }
+    }
+
+    private void handleIdentifiableRemove(Packet packet)
+    {
+        final Integer dataId = Integer.valueOf(packet.getDataId());
+        final Networkable networkable = getNetworkable(dataId);
+        if (client != null && networkable != null && !networkable.isOwner())
+        {
+            networkables.remove(dataId);
+            synced.remove(dataId);
+            requested.remove(dataId);
+            networkable.onDisconnected();
+        }
+    }
+
+    private void updateInterest()
+    {
+        final InterestGrid grid = interest;
+        if (grid != null)
+        {
+            grid.update(networkables.values(), new InterestGrid.Listener()
+            {
+                @Override
+                public void notifyEntered(Integer clientId, Integer dataId)
+                {
+                    final Featurable featurable = handler.get(dataId);
+                    if (featurable != null)
+                    {
+                        send(new IdentifiableCreate(featurable.getFeature(Networkable.class).getClientId(), featurable),
+                             clientId);
+                    }
+                }
+
+                @Override
+                public void notifyLeft(Integer clientId, Integer dataId)
+                {
+                    send(new IdentifiableRemove(dataId.intValue()), clientId);
+                }
+            });
+        }
+    }
+
     private void handleData(Packet packet)
     {
         packet.buffer().position(MessageAbstract.SIZE_MIN + UtilNetwork.INDEX_DATA_ID + 2);
@@ -274,7 +552,22 @@ public class ComponentNetwork implements ComponentUpdater, HandlerListener
             {
                 handleData(packet);
             }
+            else if (mode == MODE_SNAPSHOT)
+            {
+                handleSnapshot(packet);
+            }
+            else if (mode == MODE_SNAPSHOT_ACK)
+            {
+                handleSnapshotAck(packet);
+            }
+            else if (mode == MODE_IDENTIFIABLE_REMOVE)
+            {
+                handleIdentifiableRemove(packet);
+            }
         }
+        updateInterest();
+        updateSnapshot();
+        flush();
     }
 
     @Override
@@ -85,6 +85,12 @@ public class IdentifiableCreate extends MessageAbstract
         this.y = y;
     }
 
+    @Override
+    public boolean isReliable()
+    {
+        return true;
+    }
+
     @Override
     protected ByteBuffer content()
     {
@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.networkable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.b3dgs.lionengine.Localizable;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.network.server.DataFilter;
+
+/**
+ * Clients area of interest, computed from a spatial hash of synced networkables.
+ * <p>
+ * A client area is made of circles around its owned networkables and its viewer. A networkable enters the area when
+ * inside radius, and leaves it when farther than radius plus cell size, to avoid enter and leave on each move around
+ * the border. Networkables without {@link Transformable} are always inside.
+ * </p>
+ * <p>
+ * Clients are added and removed from server listener thread, relevance is checked from server threads, other calls
+ * must be done from update thread. Each client area is computed in a reused set, then published as an immutable copy
+ * read by server threads.
+ * </p>
+ */
+final class InterestGrid implements DataFilter
+{
+    /**
+     * Get cell key.
+     * 
+     * @param cx The horizontal cell index.
+     * @param cy The vertical cell index.
+     * @return The cell key.
+     */
+    private static long key(int cx, int cy)
+    {
+        return (long) cx << Integer.SIZE | cy & 0xFFFF_FFFFL;
+    }
+
+    /** Networkables by cell key. */
+    private final Map<Long, List<Networkable>> cells = new HashMap<>();
+    /** Networkables without location. */
+    private final List<Networkable> global = new ArrayList<>();
+    /** Owned networkables by client. */
+    private final Map<Integer, List<Networkable>> owners = new HashMap<>();
+    /** Owned data ids of current updated client. */
+    private final Set<Integer> owned = new HashSet<>();
+    /** Area of current updated client. */
+    private final Set<Integer> area = new HashSet<>();
+    /** Published area by client. */
+    private final Map<Integer, Set<Integer>> areas = new ConcurrentHashMap<>();
+    /** Viewer by client. */
+    private final Map<Integer, Localizable> viewers = new ConcurrentHashMap<>();
+    /** Cell size. */
+    private final int cellSize;
+    /** Enter radius. */
+    private final double radius;
+    /** Leave radius. */
+    private final double leave;
+
+    /**
+     * Create grid.
+     * 
+     * @param radius The area radius around each client location.
+     * @param cellSize The grid cell size.
+     */
+    InterestGrid(double radius, int cellSize)
+    {
+        super();
+
+        this.radius = radius;
+        this.cellSize = cellSize;
+        leave = radius + cellSize;
+    }
+
+    /**
+     * Add client, with an empty area until next update.
+     * 
+     * @param clientId The client id.
+     */
+    void addClient(Integer clientId)
+    {
+        areas.put(clientId, Collections.emptySet());
+    }
+
+    /**
+     * Remove client.
+     * 
+     * @param clientId The client id.
+     */
+    void removeClient(Integer clientId)
+    {
+        areas.remove(clientId);
+        viewers.remove(clientId);
+    }
+
+    /**
+     * Set client viewer, in addition to its owned networkables.
+     * 
+     * @param clientId The client id.
+     * @param viewer The viewer location (<code>null</code> to remove).
+     */
+    void setViewer(Integer clientId, Localizable viewer)
+    {
+        if (viewer == null)
+        {
+            viewers.remove(clientId);
+        }
+        else
+        {
+            viewers.put(clientId, viewer);
+        }
+    }
+
+    /**
+     * Update clients area and notify networkables entering or leaving them. Owned networkables are always inside their
+     * client area and not notified.
+     * 
+     * @param networkables The networkables.
+     * @param listener The area listener.
+     */
+    void update(Collection<Networkable> networkables, Listener listener)
+    {
+        index(networkables);
+
+        for (final Map.Entry<Integer, Set<Integer>> entry : areas.entrySet())
+        {
+            final Integer clientId = entry.getKey();
+            final Set<Integer> old = entry.getValue();
+            area.clear();
+            owned.clear();
+
+            final List<Networkable> ownedNetworkables = owners.get(clientId);
+            if (ownedNetworkables != null)
+            {
+                for (final Networkable networkable : ownedNetworkables)
+                {
+                    owned.add(Integer.valueOf(networkable.getDataId()));
+                    if (networkable.hasFeature(Transformable.class))
+                    {
+                        collect(networkable.getFeature(Transformable.class), old);
+                    }
+                }
+            }
+            area.addAll(owned);
+            final Localizable viewer = viewers.get(clientId);
+            if (viewer != null)
+            {
+                collect(viewer, old);
+            }
+            for (final Networkable networkable : global)
+            {
+                area.add(Integer.valueOf(networkable.getDataId()));
+            }
+
+            for (final Integer dataId : area)
+            {
+                if (!old.contains(dataId) && !owned.contains(dataId))
+                {
+                    listener.notifyEntered(clientId, dataId);
+                }
+            }
+            for (final Integer dataId : old)
+            {
+                if (!area.contains(dataId) && !owned.contains(dataId))
+                {
+                    listener.notifyLeft(clientId, dataId);
+                }
+            }
+            areas.replace(clientId, old, Collections.unmodifiableSet(new HashSet<>(area)));
+        }
+    }
+
+    /**
+     * Index synced networkables by cell and by owner.
+     * 
+     * @param networkables The networkables.
+     */
+    private void index(Collection<Networkable> networkables)
+    {
+        cells.values().forEach(List::clear);
+        owners.values().forEach(List::clear);
+        global.clear();
+
+        for (final Networkable networkable : networkables)
+        {
+            if (networkable.isSynced() && networkable.getDataId() > -1)
+            {
+                final Integer clientId = networkable.getClientId();
+                if (clientId != null)
+                {
+                    owners.computeIfAbsent(clientId, k -> new ArrayList<>()).add(networkable);
+                }
+                if (networkable.hasFeature(Transformable.class))
+                {
+                    final Transformable transformable = networkable.getFeature(Transformable.class);
+                    final int cx = (int) Math.floor(transformable.getX() / cellSize);
+                    final int cy = (int) Math.floor(transformable.getY() / cellSize);
+                    cells.computeIfAbsent(Long.valueOf(key(cx, cy)), k -> new ArrayList<>()).add(networkable);
+                }
+                else
+                {
+                    global.add(networkable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect networkables around location in current area.
+     * 
+     * @param center The area center.
+     * @param old The previous area.
+     */
+    private void collect(Localizable center, Set<Integer> old)
+    {
+        final double x = center.getX();
+        final double y = center.getY();
+        final int minX = (int) Math.floor((x - leave) / cellSize);
+        final int maxX = (int) Math.floor((x + leave) / cellSize);
+        final int minY = (int) Math.floor((y - leave) / cellSize);
+        final int maxY = (int) Math.floor((y + leave) / cellSize);
+
+        for (int cx = minX; cx <= maxX; cx++)
+        {
+            for (int cy = minY; cy <= maxY; cy++)
+            {
+                final List<Networkable> cell = cells.get(Long.valueOf(key(cx, cy)));
+                if (cell != null)
+                {
+                    collect(cell, x, y, old);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect cell networkables around location in current area.
+     * 
+     * @param cell The cell networkables.
+     * @param x The horizontal center.
+     * @param y The vertical center.
+     * @param old The previous area.
+     */
+    private void collect(List<Networkable> cell, double x, double y, Set<Integer> old)
+    {
+        for (final Networkable networkable : cell)
+        {
+            final Integer dataId = Integer.valueOf(networkable.getDataId());
+            final Transformable transformable = networkable.getFeature(Transformable.class);
+            final double dx = transformable.getX() - x;
+            final double dy = transformable.getY() - y;
+            final double distance = dx * dx + dy * dy;
+            if (distance <= radius * radius || distance <= leave * leave && old.contains(dataId))
+            {
+                area.add(dataId);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Clients not added are considered interested by all data.
+     * </p>
+     */
+    @Override
+    public boolean isRelevant(Integer clientId, int dataId)
+    {
+        final Set<Integer> relevant = areas.get(clientId);
+        return relevant == null || relevant.contains(Integer.valueOf(dataId));
+    }
+
+    /**
+     * Notified on area changes.
+     */
+    interface Listener
+    {
+        /**
+         * Notify networkable entered client area.
+         * 
+         * @param clientId The client id.
+         * @param dataId The networkable data id.
+         */
+        void notifyEntered(Integer clientId, Integer dataId);
+
+        /**
+         * Notify networkable left client area.
+         * 
+         * @param clientId The client id.
+         * @param dataId The networkable data id.
+         */
+        void notifyLeft(Integer clientId, Integer dataId);
+    }
+}
@@ -0,0 +1,638 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.networkable;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.network.BitReader;
+import com.b3dgs.lionengine.network.BitWriter;
+import com.b3dgs.lionengine.network.server.DataFilter;
+
+/**
+ * Synced networkables location at a given time, sorted by data id. Locations are quantized to {@link #PRECISION}
+ * fractions of pixel.
+ * <p>
+ * A snapshot is encoded as the list of changes from a baseline snapshot known by the receiver. Each change starts with
+ * a continue bit and its kind: update with data id distance from previous change and changed axis delta, new with data
+ * id distance and location, removal with data id distance, or restart from first data id. A 0 bit ends the list.
+ * </p>
+ * <p>
+ * Changes exceeding budget are skipped, next encoding starting from the first skipped data id and restarting from first
+ * data id once last is reached, so that each networkable is eventually sent.
+ * </p>
+ */
+final class Snapshot
+{
+    /** Location precision, as fractions of pixel. */
+    static final int PRECISION = 16;
+    /** Empty snapshot, baseline when receiver has nothing. */
+    static final Snapshot EMPTY = new Snapshot(-1, new int[0], new int[0], new int[0], 0, -1);
+
+    private static final int KIND_BITS = 2;
+    private static final int KIND_UPDATE = 0;
+    private static final int KIND_NEW = 1;
+    private static final int KIND_REMOVE = 2;
+    private static final int KIND_RESTART = 3;
+
+    /**
+     * Quantize location value.
+     * 
+     * @param value The location value.
+     * @return The quantized value.
+     */
+    static int quantize(double value)
+    {
+        return (int) Math.round(value * PRECISION);
+    }
+
+    /**
+     * Get location value from quantized value.
+     * 
+     * @param value The quantized value.
+     * @return The location value.
+     */
+    static double dequantize(double value)
+    {
+        return value / PRECISION;
+    }
+
+    /**
+     * Capture synced networkables with {@link Transformable} location.
+     * 
+     * @param sequence The snapshot sequence.
+     * @param networkables The networkables to capture.
+     * @return The captured snapshot.
+     */
+    static Snapshot capture(int sequence, Collection<Networkable> networkables)
+    {
+        final long[] sorted = new long[networkables.size()];
+        final int[] xs = new int[sorted.length];
+        final int[] ys = new int[sorted.length];
+        int count = 0;
+        for (final Networkable networkable : networkables)
+        {
+            if (networkable.isSynced() && networkable.getDataId() > -1 && networkable.hasFeature(Transformable.class))
+            {
+                final Transformable transformable = networkable.getFeature(Transformable.class);
+                xs[count] = quantize(transformable.getX());
+                ys[count] = quantize(transformable.getY());
+                sorted[count] = (long) networkable.getDataId() << Integer.SIZE | count;
+                count++;
+            }
+        }
+        Arrays.sort(sorted, 0, count);
+
+        final int[] ids = new int[count];
+        final int[] x = new int[count];
+        final int[] y = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            final int index = (int) sorted[i];
+            ids[i] = (int) (sorted[i] >>> Integer.SIZE);
+            x[i] = xs[index];
+            y[i] = ys[index];
+        }
+        return new Snapshot(sequence, ids, x, y);
+    }
+
+    /**
+     * Get snapshot with only filtered networkables.
+     * 
+     * @param snapshot The snapshot to filter.
+     * @param clientId The client id.
+     * @param filter The networkables filter.
+     * @return The filtered snapshot.
+     */
+    static Snapshot filter(Snapshot snapshot, Integer clientId, DataFilter filter)
+    {
+        final Builder result = new Builder(snapshot.sequence, snapshot.count);
+        for (int i = 0; i < snapshot.count; i++)
+        {
+            if (filter.isRelevant(clientId, snapshot.ids[i]))
+            {
+                result.add(snapshot.ids[i], snapshot.xs[i], snapshot.ys[i]);
+            }
+        }
+        return result.build(-1);
+    }
+
+    /**
+     * Encode changes from baseline, while encoded bits fit budget, starting from data id.
+     * 
+     * @param current The snapshot to encode.
+     * @param baseline The baseline known by receiver.
+     * @param writer The bits writer.
+     * @param budget The maximum bits number.
+     * @param start The first data id to encode, lower data ids being encoded after restart.
+     * @return The snapshot as decoded by receiver, with its first skipped data id.
+     */
+    static Snapshot encode(Snapshot current, Snapshot baseline, BitWriter writer, int budget, int start)
+    {
+        final Encoder encoder = new Encoder(writer, budget - 1);
+        final Builder last = new Builder(current.sequence, current.count);
+        final Builder first = new Builder(current.sequence, current.count);
+
+        encode(current, baseline, encoder, last, start, Integer.MAX_VALUE);
+        if (start > 0 && encoder.restart())
+        {
+            encode(current, baseline, encoder, first, 0, start);
+        }
+        else
+        {
+            copy(baseline, first, 0, start);
+        }
+        writer.writeBool(false);
+
+        return first.append(last).build(encoder.skipped);
+    }
+
+    /**
+     * Decode changes from baseline.
+     * 
+     * @param sequence The snapshot sequence.
+     * @param baseline The baseline used by sender.
+     * @param reader The bits reader.
+     * @return The decoded snapshot.
+     * @throws IOException If invalid data.
+     */
+    static Snapshot decode(int sequence, Snapshot baseline, BitReader reader) throws IOException
+    {
+        final Map<Integer, int[]> changes = new TreeMap<>();
+        int id = -1;
+        while (reader.readBool())
+        {
+            final int kind = reader.read(KIND_BITS);
+            if (kind == KIND_RESTART)
+            {
+                id = -1;
+            }
+            else
+            {
+                id += reader.readUnsigned() + 1;
+                if (changes.put(Integer.valueOf(id), readChange(kind, reader)) != null)
+                {
+                    throw new IOException("Duplicated snapshot change: " + id);
+                }
+            }
+        }
+
+        final Builder result = new Builder(sequence, baseline.count + changes.size());
+        int j = 0;
+        for (final Map.Entry<Integer, int[]> entry : changes.entrySet())
+        {
+            id = entry.getKey().intValue();
+            j = copy(baseline, result, j, id);
+            final boolean known = j < baseline.count && baseline.ids[j] == id;
+            final int[] change = entry.getValue();
+            if (change[0] == KIND_NEW && !known)
+            {
+                result.add(id, change[1], change[2]);
+            }
+            else if (change[0] == KIND_UPDATE && known)
+            {
+                result.add(id, baseline.xs[j] + change[1], baseline.ys[j] + change[2]);
+                j++;
+            }
+            else if (change[0] == KIND_REMOVE && known)
+            {
+                j++;
+            }
+            else
+            {
+                throw new IOException("Invalid snapshot change: " + id + " kind=" + change[0] + " known=" + known);
+            }
+        }
+        copy(baseline, result, j, Integer.MAX_VALUE);
+
+        return result.build(-1);
+    }
+
+    /**
+     * Read change values.
+     * 
+     * @param kind The change kind.
+     * @param reader The bits reader.
+     * @return The change kind and its horizontal and vertical values.
+     * @throws IOException If invalid data.
+     */
+    private static int[] readChange(int kind, BitReader reader) throws IOException
+    {
+        final int[] change = new int[]
+        {
+            kind, 0, 0
+        };
+        if (kind == KIND_NEW)
+        {
+            change[1] = reader.readSigned();
+            change[2] = reader.readSigned();
+        }
+        else if (kind == KIND_UPDATE)
+        {
+            change[1] = reader.readBool() ? reader.readSigned() : 0;
+            change[2] = reader.readBool() ? reader.readSigned() : 0;
+        }
+        return change;
+    }
+
+    /**
+     * Encode changes from baseline between data ids.
+     * 
+     * @param current The snapshot to encode.
+     * @param baseline The baseline known by receiver.
+     * @param encoder The changes encoder.
+     * @param result The snapshot as decoded by receiver.
+     * @param from The first data id included.
+     * @param to The last data id excluded.
+     */
+    // CHECKSTYLE IGNORE LINE: ParameterNumber
+    private static void encode(Snapshot current,
+                               Snapshot baseline,
+                               Encoder encoder,
+                               Builder result,
+                               int from,
+                               int to)
+    {
+        int i = current.lowerBound(from);
+        int j = baseline.lowerBound(from);
+        final int currentEnd = current.lowerBound(to);
+        final int baselineEnd = baseline.lowerBound(to);
+        while (i < currentEnd || j < baselineEnd)
+        {
+            if (j == baselineEnd || i < currentEnd && current.ids[i] < baseline.ids[j])
+            {
+                if (encoder.add(current.ids[i], KIND_NEW, current.xs[i], current.ys[i]))
+                {
+                    result.add(current.ids[i], current.xs[i], current.ys[i]);
+                }
+                i++;
+            }
+            else if (i == currentEnd || baseline.ids[j] < current.ids[i])
+            {
+                if (!encoder.add(baseline.ids[j], KIND_REMOVE, 0, 0))
+                {
+                    result.add(baseline.ids[j], baseline.xs[j], baseline.ys[j]);
+                }
+                j++;
+            }
+            else
+            {
+                final int dx = current.xs[i] - baseline.xs[j];
+                final int dy = current.ys[i] - baseline.ys[j];
+                if ((dx != 0 || dy != 0) && encoder.add(current.ids[i], KIND_UPDATE, dx, dy))
+                {
+                    result.add(current.ids[i], current.xs[i], current.ys[i]);
+                }
+                else
+                {
+                    result.add(baseline.ids[j], baseline.xs[j], baseline.ys[j]);
+                }
+                i++;
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Copy snapshot networkables until data id.
+     * 
+     * @param source The source snapshot.
+     * @param result The destination snapshot.
+     * @param index The first source index.
+     * @param to The last data id excluded.
+     * @return The first source index not copied.
+     */
+    private static int copy(Snapshot source, Builder result, int index, int to)
+    {
+        int i = index;
+        while (i < source.count && source.ids[i] < to)
+        {
+            result.add(source.ids[i], source.xs[i], source.ys[i]);
+            i++;
+        }
+        return i;
+    }
+
+    private final int sequence;
+    private final int[] ids;
+    private final int[] xs;
+    private final int[] ys;
+    private final int count;
+    private final int skipped;
+
+    /**
+     * Create snapshot.
+     * 
+     * @param sequence The snapshot sequence.
+     * @param ids The sorted data ids.
+     * @param xs The quantized horizontal locations.
+     * @param ys The quantized vertical locations.
+     */
+    Snapshot(int sequence, int[] ids, int[] xs, int[] ys)
+    {
+        this(sequence, ids, xs, ys, ids.length, -1);
+    }
+
+    /**
+     * Create snapshot.
+     * 
+     * @param sequence The snapshot sequence.
+     * @param ids The sorted data ids.
+     * @param xs The quantized horizontal locations.
+     * @param ys The quantized vertical locations.
+     * @param count The networkables number.
+     * @param skipped The first data id skipped by encoding (-1 if none).
+     */
+    // CHECKSTYLE IGNORE LINE: ParameterNumber
+    private Snapshot(int sequence, int[] ids, int[] xs, int[] ys, int count, int skipped)
+    {
+        super();
+
+        this.sequence = sequence;
+        this.ids = ids;
+        this.xs = xs;
+        this.ys = ys;
+        this.count = count;
+        this.skipped = skipped;
+    }
+
+    /**
+     * Get the sequence.
+     * 
+     * @return The sequence.
+     */
+    int getSequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * Get the first data id skipped by encoding, where next encoding should start.
+     * 
+     * @return The first skipped data id, -1 if none.
+     */
+    int getSkipped()
+    {
+        return skipped;
+    }
+
+    /**
+     * Get the networkables number.
+     * 
+     * @return The networkables number.
+     */
+    int size()
+    {
+        return count;
+    }
+
+    /**
+     * Get the data id at index.
+     * 
+     * @param index The index.
+     * @return The data id.
+     */
+    int getId(int index)
+    {
+        return ids[index];
+    }
+
+    /**
+     * Get the quantized horizontal location at index.
+     * 
+     * @param index The index.
+     * @return The quantized horizontal location.
+     */
+    int getX(int index)
+    {
+        return xs[index];
+    }
+
+    /**
+     * Get the quantized vertical location at index.
+     * 
+     * @param index The index.
+     * @return The quantized vertical location.
+     */
+    int getY(int index)
+    {
+        return ys[index];
+    }
+
+    /**
+     * Get the index of data id.
+     * 
+     * @param id The data id.
+     * @return The index, negative if not found.
+     */
+    int indexOf(int id)
+    {
+        return Arrays.binarySearch(ids, 0, count, id);
+    }
+
+    /**
+     * Get the index of first data id superior or equal to data id.
+     * 
+     * @param id The data id.
+     * @return The index.
+     */
+    private int lowerBound(int id)
+    {
+        final int index = indexOf(id);
+        if (index < 0)
+        {
+            return -index - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Changes encoder, discarding changes exceeding budget.
+     */
+    private static final class Encoder
+    {
+        private final BitWriter writer;
+        private final int budget;
+        private int previous = -1;
+        private int skipped = -1;
+
+        /**
+         * Create encoder.
+         * 
+         * @param writer The bits writer.
+         * @param budget The maximum bits number.
+         */
+        Encoder(BitWriter writer, int budget)
+        {
+            super();
+
+            this.writer = writer;
+            this.budget = budget;
+        }
+
+        /**
+         * Encode restart from first data id.
+         * 
+         * @return <code>true</code> if encoded, <code>false</code> if discarded.
+         */
+        boolean restart()
+        {
+            final int mark = writer.getBits();
+            writer.writeBool(true);
+            writer.write(KIND_RESTART, KIND_BITS);
+            if (writer.getBits() > budget)
+            {
+                writer.truncate(mark);
+                return false;
+            }
+            previous = -1;
+            return true;
+        }
+
+        /**
+         * Encode change.
+         * 
+         * @param id The data id.
+         * @param kind The change kind.
+         * @param x The horizontal value.
+         * @param y The vertical value.
+         * @return <code>true</code> if encoded, <code>false</code> if discarded.
+         */
+        boolean add(int id, int kind, int x, int y)
+        {
+            final int mark = writer.getBits();
+            writer.writeBool(true);
+            writer.write(kind, KIND_BITS);
+            writer.writeUnsigned(id - previous - 1);
+            if (kind == KIND_NEW)
+            {
+                writer.writeSigned(x);
+                writer.writeSigned(y);
+            }
+            else if (kind == KIND_UPDATE)
+            {
+                writeUpdate(x);
+                writeUpdate(y);
+            }
+            if (writer.getBits() > budget)
+            {
+                writer.truncate(mark);
+                if (skipped < 0)
+                {
+                    skipped = id;
+                }
+                return false;
+            }
+            previous = id;
+            return true;
+        }
+
+        /**
+         * Encode axis update.
+         * 
+         * @param delta The axis delta.
+         */
+        private void writeUpdate(int delta)
+        {
+            writer.writeBool(delta != 0);
+            if (delta != 0)
+            {
+                writer.writeSigned(delta);
+            }
+        }
+    }
+
+    /**
+     * Snapshot builder, with ids added in ascending order.
+     */
+    private static final class Builder
+    {
+        private final int sequence;
+        private int[] ids;
+        private int[] xs;
+        private int[] ys;
+        private int count;
+
+        /**
+         * Create builder.
+         * 
+         * @param sequence The snapshot sequence.
+         * @param capacity The initial networkables capacity.
+         */
+        Builder(int sequence, int capacity)
+        {
+            super();
+
+            this.sequence = sequence;
+            ids = new int[capacity];
+            xs = new int[capacity];
+            ys = new int[capacity];
+        }
+
+        /**
+         * Add networkable.
+         * 
+         * @param id The data id.
+         * @param x The quantized horizontal location.
+         * @param y The quantized vertical location.
+         */
+        void add(int id, int x, int y)
+        {
+            if (count == ids.length)
+            {
+                final int capacity = count * 2 + 1;
+                ids = Arrays.copyOf(ids, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+            }
+            ids[count] = id;
+            xs[count] = x;
+            ys[count] = y;
+            count++;
+        }
+
+        /**
+         * Append networkables of other builder, with superior data ids.
+         * 
+         * @param other The other builder.
+         * @return This builder.
+         */
+        Builder append(Builder other)
+        {
+            for (int i = 0; i < other.count; i++)
+            {
+                add(other.ids[i], other.xs[i], other.ys[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Build snapshot.
+         * 
+         * @param skipped The first data id skipped by encoding (-1 if none).
+         * @return The built snapshot.
+         */
+        Snapshot build(int skipped)
+        {
+            return new Snapshot(sequence, ids, xs, ys, count, skipped);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.networkable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.b3dgs.lionengine.network.BitReader;
+
+/**
+ * Client snapshots, reconstructed from server changes and interpolated between the two last received.
+ */
+final class SnapshotClient
+{
+    /** Received snapshots by sequence modulo size. */
+    private final Snapshot[] received = new Snapshot[SnapshotServer.HISTORY];
+    /** Ticks between two snapshots. */
+    private final int period;
+    /** Previous snapshot. */
+    private Snapshot previous = Snapshot.EMPTY;
+    /** Latest snapshot. */
+    private Snapshot latest = Snapshot.EMPTY;
+    /** Ticks since latest snapshot. */
+    private int ticks;
+
+    /**
+     * Create client snapshots.
+     * 
+     * @param period The ticks between two snapshots.
+     */
+    SnapshotClient(int period)
+    {
+        super();
+
+        this.period = period;
+    }
+
+    /**
+     * Receive snapshot changes.
+     * 
+     * @param sequence The snapshot sequence.
+     * @param buffer The packet buffer.
+     * @return <code>true</code> if reconstructed and must be acknowledged, <code>false</code> if baseline missing.
+     * @throws IOException If invalid changes.
+     */
+    boolean receive(int sequence, ByteBuffer buffer) throws IOException
+    {
+        if (sequence < 0)
+        {
+            throw new IOException("Invalid snapshot sequence: " + sequence);
+        }
+        final Snapshot baseline = get(buffer.getInt(SnapshotDelta.INDEX_BASELINE));
+        if (baseline == null)
+        {
+            return false;
+        }
+        final Snapshot snapshot = Snapshot.decode(sequence,
+                                                  baseline,
+                                                  new BitReader(buffer, SnapshotDelta.INDEX_CHANGES));
+        received[sequence % received.length] = snapshot;
+
+        if (sequence > latest.getSequence())
+        {
+            previous = latest;
+            latest = snapshot;
+            ticks = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Update interpolation.
+     */
+    void update()
+    {
+        if (ticks < period)
+        {
+            ticks++;
+        }
+    }
+
+    /**
+     * Get the latest snapshot.
+     * 
+     * @return The latest snapshot.
+     */
+    Snapshot getLatest()
+    {
+        return latest;
+    }
+
+    /**
+     * Get the interpolated horizontal location.
+     * 
+     * @param index The latest snapshot index.
+     * @return The horizontal location.
+     */
+    double getX(int index)
+    {
+        final int old = previous.indexOf(latest.getId(index));
+        if (old < 0)
+        {
+            return Snapshot.dequantize(latest.getX(index));
+        }
+        return interpolate(previous.getX(old), latest.getX(index));
+    }
+
+    /**
+     * Get the interpolated vertical location.
+     * 
+     * @param index The latest snapshot index.
+     * @return The vertical location.
+     */
+    double getY(int index)
+    {
+        final int old = previous.indexOf(latest.getId(index));
+        if (old < 0)
+        {
+            return Snapshot.dequantize(latest.getY(index));
+        }
+        return interpolate(previous.getY(old), latest.getY(index));
+    }
+
+    /**
+     * Interpolate quantized values with elapsed ticks.
+     * 
+     * @param from The previous value.
+     * @param to The latest value.
+     * @return The interpolated location.
+     */
+    private double interpolate(int from, int to)
+    {
+        return Snapshot.dequantize(from + (to - from) * (double) ticks / period);
+    }
+
+    /**
+     * Get received snapshot.
+     * 
+     * @param sequence The snapshot sequence (-1 for empty).
+     * @return The received snapshot, <code>null</code> if not available.
+     */
+    private Snapshot get(int sequence)
+    {
+        if (sequence < 0)
+        {
+            return Snapshot.EMPTY;
+        }
+        final Snapshot snapshot = received[sequence % received.length];
+        if (snapshot == null || snapshot.getSequence() != sequence)
+        {
+            return null;
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.networkable;
+
+import java.nio.ByteBuffer;
+
+import com.b3dgs.lionengine.UtilConversion;
+import com.b3dgs.lionengine.network.BitWriter;
+import com.b3dgs.lionengine.network.MessageAbstract;
+import com.b3dgs.lionengine.network.MessageType;
+import com.b3dgs.lionengine.network.UtilNetwork;
+
+/**
+ * Snapshot changes from a baseline acknowledged by client.
+ */
+public class SnapshotDelta extends MessageAbstract
+{
+    /** Baseline index in packet. */
+    static final int INDEX_BASELINE = UtilNetwork.INDEX_DATA_ID + Integer.BYTES;
+    /** Changes index in packet. */
+    static final int INDEX_CHANGES = INDEX_BASELINE + Integer.BYTES;
+    /** Header bytes number, excluding changes. */
+    static final int HEADER_BYTES = INDEX_CHANGES;
+
+    private final int sequence;
+    private final int baseline;
+    private final ByteBuffer changes;
+
+    /**
+     * Create message.
+     * 
+     * @param sequence The snapshot sequence.
+     * @param baseline The baseline sequence (-1 if none).
+     * @param changes The encoded changes, copied.
+     */
+    public SnapshotDelta(int sequence, int baseline, BitWriter changes)
+    {
+        super(MessageType.DIRECT, UtilNetwork.SERVER_ID);
+
+        this.sequence = sequence;
+        this.baseline = baseline;
+        this.changes = ByteBuffer.allocate(changes.getBytes());
+        changes.copy(this.changes);
+    }
+
+    @Override
+    protected ByteBuffer content()
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(2 + Integer.BYTES * 2 + changes.capacity());
+        buffer.put(UtilConversion.fromUnsignedByte(ComponentNetwork.MODE_SNAPSHOT));
+        buffer.put(UtilConversion.fromUnsignedByte(UtilNetwork.SERVER_ID.intValue()));
+        buffer.putInt(sequence);
+        buffer.putInt(baseline);
+        buffer.put(changes.array());
+        return buffer;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.networkable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import com.b3dgs.lionengine.network.BitWriter;
+import com.b3dgs.lionengine.network.Message;
+import com.b3dgs.lionengine.network.server.DataFilter;
+
+/**
+ * Server snapshots, sending to each client changes from its last acknowledged snapshot, within budget.
+ * <p>
+ * Clients are added and removed from server listener thread, other calls must be done from update thread.
+ * </p>
+ */
+final class SnapshotServer
+{
+    /** Snapshots history size. */
+    static final int HISTORY = 32;
+
+    /** Clients history. */
+    private final Map<Integer, History> clients = new ConcurrentHashMap<>();
+    /** Changes writer. */
+    private final BitWriter writer = new BitWriter();
+    /** Message sender. */
+    private final BiConsumer<Message, Integer> sender;
+    /** Networkables filter by client. */
+    private final DataFilter filter;
+    /** Maximum changes bits per message. */
+    private final int budget;
+    /** Last sequence. */
+    private int sequence;
+
+    /**
+     * Create server snapshots.
+     * 
+     * @param sender The message sender to client.
+     * @param filter The networkables filter by client.
+     * @param budget The maximum changes bits per message.
+     */
+    SnapshotServer(BiConsumer<Message, Integer> sender, DataFilter filter, int budget)
+    {
+        super();
+
+        this.sender = sender;
+        this.filter = filter;
+        this.budget = budget;
+    }
+
+    /**
+     * Add client.
+     * 
+     * @param clientId The client id.
+     */
+    void addClient(Integer clientId)
+    {
+        clients.put(clientId, new History());
+    }
+
+    /**
+     * Remove client.
+     * 
+     * @param clientId The client id.
+     */
+    void removeClient(Integer clientId)
+    {
+        clients.remove(clientId);
+    }
+
+    /**
+     * Acknowledge snapshot received by client.
+     * 
+     * @param clientId The client id.
+     * @param sequence The received sequence.
+     */
+    void ack(Integer clientId, int sequence)
+    {
+        final History history = clients.get(clientId);
+        if (history != null && sequence > history.acked && sequence <= this.sequence)
+        {
+            history.acked = sequence;
+        }
+    }
+
+    /**
+     * Capture networkables and send changes to each client.
+     * 
+     * @param networkables The networkables to capture.
+     */
+    void send(Collection<Networkable> networkables)
+    {
+        if (!clients.isEmpty())
+        {
+            send(Snapshot.capture(sequence + 1, networkables));
+        }
+    }
+
+    /**
+     * Send changes of captured snapshot to each client, with only its relevant networkables.
+     * 
+     * @param current The captured snapshot (sequence must be superior to previous one).
+     */
+    void send(Snapshot current)
+    {
+        sequence = current.getSequence();
+        for (final Map.Entry<Integer, History> entry : clients.entrySet())
+        {
+            final History history = entry.getValue();
+            final Snapshot baseline = history.get(history.acked);
+            final Snapshot visible = Snapshot.filter(current, entry.getKey(), filter);
+
+            writer.clear();
+            final Snapshot sent = Snapshot.encode(visible, baseline, writer, budget, history.start);
+            history.put(sent);
+            history.start = Math.max(0, sent.getSkipped());
+            sender.accept(new SnapshotDelta(current.getSequence(), baseline.getSequence(), writer), entry.getKey());
+        }
+    }
+
+    /**
+     * Snapshots sent to a client, as reconstructed by client.
+     */
+    private static final class History
+    {
+        /** Sent snapshots by sequence modulo size. */
+        private final Snapshot[] sent = new Snapshot[HISTORY];
+        /** Last acknowledged sequence (-1 if none). */
+        private int acked = -1;
+        /** Next first data id to encode. */
+        private int start;
+
+        /**
+         * Create history.
+         */
+        History()
+        {
+            super();
+        }
+
+        /**
+         * Store sent snapshot.
+         * 
+         * @param snapshot The sent snapshot.
+         */
+        void put(Snapshot snapshot)
+        {
+            sent[snapshot.getSequence() % HISTORY] = snapshot;
+        }
+
+        /**
+         * Get sent snapshot.
+         * 
+         * @param sequence The snapshot sequence.
+         * @return The sent snapshot, {@link Snapshot#EMPTY} if not available anymore.
+         */
+        Snapshot get(int sequence)
+        {
+            if (sequence < 0)
+            {
+                return Snapshot.EMPTY;
+            }
+            final Snapshot snapshot = sent[sequence % HISTORY];
+            if (snapshot == null || snapshot.getSequence() != sequence)
+            {
+                return Snapshot.EMPTY;
+            }
+            return snapshot;
+        }
+    }
+}
@@ -71,7 +71,8 @@ public interface Rasterable extends RoutineUpdate, RoutineRender
     int getRasterIndex(double y);
 
     /**
-     * Get raster animation from raster index.
+     * Get raster animation from raster index. Sprite is shared with other instances of same setup, and its state is
+     * applied on each render.
      * 
      * @param rasterIndex The raster index (positive).
      * @return The raster animated sprite.
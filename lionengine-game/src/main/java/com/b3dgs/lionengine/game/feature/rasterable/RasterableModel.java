@@ -47,8 +47,6 @@ import com.b3dgs.lionengine.game.feature.RoutineUpdate;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.graphic.Graphic;
-import com.b3dgs.lionengine.graphic.ImageBuffer;
-import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.SpriteAnimated;
 import com.b3dgs.lionengine.graphic.raster.RasterImage;
 
@@ -67,7 +65,7 @@ public class RasterableModel extends FeatureModel implements Rasterable, Recycla
     /** Animatable reference. */
     private final Animatable animatable;
 
-    /** List of rastered frames. */
+    /** List of rastered frames, shared with other instances of same setup. */
     private final List<SpriteAnimated> rastersAnim = new ArrayList<>(RasterImage.MAX_RASTERS);
     /** Lines per raster. */
     private int linesPerRaster = RasterImage.LINES_PER_RASTER;
@@ -192,14 +190,10 @@ public class RasterableModel extends FeatureModel implements Rasterable, Recycla
         origin = OriginConfig.imports(setup);
 
         final FramesConfig framesData = FramesConfig.imports(setup);
-        final int hf = framesData.getHorizontal();
-        final int vf = framesData.getVertical();
 
         if (setup.hasNode(SurfaceConfig.NODE_SURFACE))
         {
-            final SpriteAnimated sprite = Drawable.loadSpriteAnimated(setup.getSurface(), hf, vf);
-            sprite.prepare();
-            rastersAnim.add(sprite);
+            rastersAnim.add(setup.getSurfaceAnim());
         }
         else
         {
@@ -209,16 +203,9 @@ public class RasterableModel extends FeatureModel implements Rasterable, Recycla
         rasterHeight = setup.getRasterHeight();
         rasterLineOffset = setup.getRasterOffset();
 
-        count = -1;
-        final List<ImageBuffer> buffers = setup.getRasters();
-        final int n = buffers.size();
-        for (int i = 0; i < n; i++)
-        {
-            final SpriteAnimated sprite = Drawable.loadSpriteAnimated(buffers.get(i), hf, vf);
-            sprite.prepare();
-            rastersAnim.add(sprite);
-            count++;
-        }
+        final List<SpriteAnimated> sprites = setup.getRastersAnim();
+        rastersAnim.addAll(sprites);
+        count = sprites.size() - 1;
         if (rastersAnim.size() < 2)
         {
             updater = UpdatableVoid.getInstance();
@@ -356,17 +343,9 @@ public class RasterableModel extends FeatureModel implements Rasterable, Recycla
             setupRastered.load(save, media, allowed);
             rastersAnim.clear();
 
-            count = -1;
-            final List<ImageBuffer> buffers = setupRastered.getRasters();
-            final int n = buffers.size();
-            for (int i = 0; i < n; i++)
-            {
-                final SpriteAnimated sprite = Drawable.loadSpriteAnimated(buffers.get(i),
-                                                                          raster.getFramesHorizontal(),
-                                                                          raster.getFramesVertical());
-                rastersAnim.add(sprite);
-                count++;
-            }
+            final List<SpriteAnimated> sprites = setupRastered.getRastersAnim();
+            rastersAnim.addAll(sprites);
+            count = sprites.size() - 1;
             if (rastersAnim.size() < 2)
             {
                 updater = UpdatableVoid.getInstance();
@@ -16,6 +16,7 @@
  */
 package com.b3dgs.lionengine.game.feature.rasterable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -26,14 +27,21 @@ import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.UtilFile;
+import com.b3dgs.lionengine.game.FramesConfig;
 import com.b3dgs.lionengine.game.SurfaceConfig;
 import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.drawable.Drawable;
+import com.b3dgs.lionengine.graphic.drawable.SpriteAnimated;
 import com.b3dgs.lionengine.graphic.raster.RasterImage;
 
 /**
  * Define a structure used to create multiple rastered surface, sharing the same data.
+ * <p>
+ * Surface and rasters sprites are created once and shared by all instances, which must apply their own state (frame,
+ * mirror, location...) before each render.
+ * </p>
  */
 public class SetupSurfaceRastered extends Setup
 {
@@ -56,6 +64,10 @@ public class SetupSurfaceRastered extends Setup
     private final int offset;
     /** Externally loaded. */
     private boolean externLoaded;
+    /** Shared surface sprite (<code>null</code> if not created). */
+    private SpriteAnimated surfaceAnim;
+    /** Shared rasters sprites (<code>null</code> if not created). */
+    private List<SpriteAnimated> rastersAnim;
 
     /**
      * Create a setup.
@@ -139,6 +151,7 @@ public class SetupSurfaceRastered extends Setup
                 {
                     raster.loadRasters(save, media, UtilFile.removeExtension(getMedia().getName()), allowed);
                     externLoaded = true;
+                    rastersAnim = null;
                 }
             }
         }
@@ -154,6 +167,50 @@ public class SetupSurfaceRastered extends Setup
         return raster.getRasters();
     }
 
+    /**
+     * Get the shared surface sprite, created on first call.
+     * 
+     * @return The shared surface sprite.
+     * @throws LionEngineException If no surface or invalid frames.
+     */
+    public synchronized SpriteAnimated getSurfaceAnim()
+    {
+        if (surfaceAnim == null)
+        {
+            final FramesConfig frames = FramesConfig.imports(this);
+            surfaceAnim = Drawable.loadSpriteAnimated(getSurface(), frames.getHorizontal(), frames.getVertical());
+            surfaceAnim.prepare();
+        }
+        return surfaceAnim;
+    }
+
+    /**
+     * Get the shared rasters sprites as read only, created on first call after rasters loading.
+     * 
+     * @return The shared rasters sprites.
+     * @throws LionEngineException If invalid frames.
+     */
+    public synchronized List<SpriteAnimated> getRastersAnim()
+    {
+        if (rastersAnim == null)
+        {
+            final FramesConfig frames = FramesConfig.imports(this);
+            final List<ImageBuffer> buffers = raster.getRasters();
+            final int n = buffers.size();
+            final List<SpriteAnimated> sprites = new ArrayList<>(n);
+            for (int i = 0; i < n; i++)
+            {
+                final SpriteAnimated sprite = Drawable.loadSpriteAnimated(buffers.get(i),
+                                                                          frames.getHorizontal(),
+                                                                          frames.getVertical());
+                sprite.prepare();
+                sprites.add(sprite);
+            }
+            rastersAnim = Collections.unmodifiableList(sprites);
+        }
+        return rastersAnim;
+    }
+
     /**
      * Get the raster file.
      * 
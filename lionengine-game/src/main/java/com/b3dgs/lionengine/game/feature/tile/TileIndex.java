@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+
+/**
+ * Index tiles by pixels content, allowing to find an identical tile without comparing it to all indexed tiles.
+ * Tiles are hashed on their pixels, and pixels are compared only when hash is equal.
+ * <p>
+ * Pixels are read from an <code>int</code> array (see {@link #getRgb(ImageBuffer)}), with an offset to the tile first
+ * pixel and a scan size (the array image width).
+ * </p>
+ * 
+ * @param <T> The indexed value type.
+ */
+public final class TileIndex<T>
+{
+    /**
+     * Get all image pixels.
+     * 
+     * @param image The image reference.
+     * @return The image pixels, with image width as scan size.
+     */
+    public static int[] getRgb(ImageBuffer image)
+    {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        return image.getRgb(0, 0, width, height, new int[width * height], 0, width);
+    }
+
+    /**
+     * Compute tile pixels hash.
+     * 
+     * @param tw The tile width.
+     * @param th The tile height.
+     * @param rgb The pixels.
+     * @param offset The tile first pixel offset.
+     * @param scansize The pixels scan size.
+     * @return The tile hash.
+     */
+    public static int hash(int tw, int th, int[] rgb, int offset, int scansize)
+    {
+        int hash = 1;
+        for (int y = 0; y < th; y++)
+        {
+            final int start = offset + y * scansize;
+            for (int x = 0; x < tw; x++)
+            {
+                hash = 31 * hash + rgb[start + x];
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Compare two tiles by checking all pixels.
+     * 
+     * @param tw The tile width.
+     * @param th The tile height.
+     * @param a The first tile pixels.
+     * @param offsetA The first tile first pixel offset.
+     * @param scanA The first tile pixels scan size.
+     * @param b The second tile pixels.
+     * @param offsetB The second tile first pixel offset.
+     * @param scanB The second tile pixels scan size.
+     * @return <code>true</code> if equals, <code>false</code> else.
+     */
+    private static boolean compare(int tw,
+                                   int th,
+                                   int[] a,
+                                   int offsetA,
+                                   int scanA,
+                                   int[] b,
+                                   int offsetB,
+                                   int scanB)
+    {
+        for (int y = 0; y < th; y++)
+        {
+            final int startA = offsetA + y * scanA;
+            final int startB = offsetB + y * scanB;
+            for (int x = 0; x < tw; x++)
+            {
+                if (a[startA + x] != b[startB + x])
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Indexed tiles by hash. */
+    private final Map<Integer, List<Entry<T>>> tiles = new HashMap<>();
+    /** Tile width. */
+    private final int tw;
+    /** Tile height. */
+    private final int th;
+
+    /**
+     * Create index.
+     * 
+     * @param tw The tile width (must be strictly positive).
+     * @param th The tile height (must be strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public TileIndex(int tw, int th)
+    {
+        super();
+
+        Check.superiorStrict(tw, 0);
+        Check.superiorStrict(th, 0);
+
+        this.tw = tw;
+        this.th = th;
+    }
+
+    /**
+     * Index tile if no identical tile is already indexed. Tile pixels are copied.
+     * 
+     * @param rgb The pixels.
+     * @param offset The tile first pixel offset.
+     * @param scansize The pixels scan size.
+     * @param value The associated value.
+     * @return <code>true</code> if indexed, <code>false</code> if an identical tile is already indexed.
+     */
+    public boolean put(int[] rgb, int offset, int scansize, T value)
+    {
+        return put(hash(tw, th, rgb, offset, scansize), rgb, offset, scansize, value);
+    }
+
+    /**
+     * Index tile with its precomputed hash if no identical tile is already indexed. Tile pixels are copied.
+     * 
+     * @param hash The tile hash (see {@link #hash(int, int, int[], int, int)}).
+     * @param rgb The pixels.
+     * @param offset The tile first pixel offset.
+     * @param scansize The pixels scan size.
+     * @param value The associated value.
+     * @return <code>true</code> if indexed, <code>false</code> if an identical tile is already indexed.
+     */
+    public boolean put(int hash, int[] rgb, int offset, int scansize, T value)
+    {
+        final List<Entry<T>> entries = tiles.computeIfAbsent(Integer.valueOf(hash), h -> new ArrayList<>(1));
+        if (find(entries, rgb, offset, scansize) != null)
+        {
+            return false;
+        }
+
+        final int[] copy = new int[tw * th];
+        for (int y = 0; y < th; y++)
+        {
+            System.arraycopy(rgb, offset + y * scansize, copy, y * tw, tw);
+        }
+        entries.add(new Entry<>(copy, value));
+        return true;
+    }
+
+    /**
+     * Get value of identical tile.
+     * 
+     * @param rgb The pixels.
+     * @param offset The tile first pixel offset.
+     * @param scansize The pixels scan size.
+     * @return The indexed value, <code>null</code> if no identical tile.
+     */
+    public T get(int[] rgb, int offset, int scansize)
+    {
+        return get(hash(tw, th, rgb, offset, scansize), rgb, offset, scansize);
+    }
+
+    /**
+     * Get value of identical tile with its precomputed hash.
+     * 
+     * @param hash The tile hash (see {@link #hash(int, int, int[], int, int)}).
+     * @param rgb The pixels.
+     * @param offset The tile first pixel offset.
+     * @param scansize The pixels scan size.
+     * @return The indexed value, <code>null</code> if no identical tile.
+     */
+    public T get(int hash, int[] rgb, int offset, int scansize)
+    {
+        final List<Entry<T>> entries = tiles.get(Integer.valueOf(hash));
+        if (entries == null)
+        {
+            return null;
+        }
+        final Entry<T> entry = find(entries, rgb, offset, scansize);
+        if (entry == null)
+        {
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Get the indexed tiles number.
+     * 
+     * @return The indexed tiles number.
+     */
+    public int size()
+    {
+        int size = 0;
+        for (final List<Entry<T>> entries : tiles.values())
+        {
+            size += entries.size();
+        }
+        return size;
+    }
+
+    /**
+     * Find identical tile entry.
+     * 
+     * @param entries The entries with same hash.
+     * @param rgb The pixels.
+     * @param offset The tile first pixel offset.
+     * @param scansize The pixels scan size.
+     * @return The entry found, <code>null</code> if none.
+     */
+    private Entry<T> find(List<Entry<T>> entries, int[] rgb, int offset, int scansize)
+    {
+        final int n = entries.size();
+        for (int i = 0; i < n; i++)
+        {
+            final Entry<T> entry = entries.get(i);
+            if (compare(tw, th, rgb, offset, scansize, entry.rgb(), 0, tw))
+            {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indexed tile.
+     * 
+     * @param <T> The indexed value type.
+     * @param rgb The tile pixels copy.
+     * @param value The associated value.
+     */
+    private record Entry<T>(int[] rgb, T value)
+    {
+    }
+}
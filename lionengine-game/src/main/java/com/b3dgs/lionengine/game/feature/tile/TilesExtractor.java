@@ -16,9 +16,15 @@
  */
 package com.b3dgs.lionengine.game.feature.tile;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
@@ -35,6 +41,10 @@ import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
  * This class allows to extract unique tiles from a level rip.
  * The color [0-128-128] ({@link #IGNORED_COLOR_VALUE}) is ignored (can be used to skip tile, in order to improve
  * performance).
+ * <p>
+ * Extracted tiles are indexed by their pixels with {@link TileIndex}, and next level rips are loaded and hashed in
+ * background while current one is proceeded. Listeners are notified from the extracting thread.
+ * </p>
  */
 public final class TilesExtractor
 {
@@ -75,28 +85,56 @@ public final class TilesExtractor
     }
 
     /**
-     * Check if tile has already been extracted regarding the current tile on level rip.
+     * Load level rip and hash its tiles.
      * 
-     * @param level The level rip reference.
-     * @param x The current level rip horizontal location.
-     * @param y The current level rip vertical location.
-     * @param tiles The current extracted tiles.
-     * @return <code>true</code> if already extracted, <code>false</code> else.
+     * @param levelRip The level rip media.
+     * @param tw The tile width.
+     * @param th The tile height.
+     * @return The loaded level rip.
+     * @throws LionEngineException If an error occurred when loading the image.
      */
-    private static boolean isExtracted(SpriteTiled level, int x, int y, Collection<ImageBuffer> tiles)
+    private static Level load(Media levelRip, int tw, int th)
     {
-        final int tw = level.getTileWidth();
-        final int th = level.getTileHeight();
-        final ImageBuffer surface = level.getSurface();
+        final SpriteTiled sprite = Drawable.loadSpriteTiled(levelRip, tw, th);
+        sprite.load();
+        sprite.prepare();
 
-        for (final ImageBuffer tile : tiles)
+        final int[] rgb = TileIndex.getRgb(sprite.getSurface());
+        final int width = sprite.getSurface().getWidth();
+        final int horizontalTiles = sprite.getTilesHorizontal();
+        final int verticalTiles = sprite.getTilesVertical();
+        final int[] hashes = new int[horizontalTiles * verticalTiles];
+        for (int v = 0; v < verticalTiles; v++)
+        {
+            for (int h = 0; h < horizontalTiles; h++)
+            {
+                hashes[h + v * horizontalTiles] = TileIndex.hash(tw, th, rgb, h * tw + v * th * width, width);
+            }
+        }
+        return new Level(sprite, rgb, hashes);
+    }
+
+    /**
+     * Wait for level rip loading.
+     * 
+     * @param loading The level rip loading.
+     * @return The loaded level rip.
+     * @throws LionEngineException If an error occurred when loading the image.
+     */
+    private static Level await(CompletableFuture<Level> loading)
+    {
+        try
+        {
+            return loading.join();
+        }
+        catch (final CompletionException exception)
         {
-            if (compareTile(tw, th, surface, x, y, tile, 0, 0))
+            if (exception.getCause() instanceof final LionEngineException cause)
             {
-                return true;
+                throw cause;
             }
+            throw new LionEngineException(exception.getCause());
         }
-        return false;
     }
 
     /**
@@ -202,18 +240,37 @@ public final class TilesExtractor
     {
         final int tilesNumber = getTilesNumber(tw, th, levelRips);
         final Collection<ImageBuffer> tiles = new ArrayList<>();
+        final TileIndex<ImageBuffer> index = new TileIndex<>(tw, th);
+        final Iterator<Media> next = levelRips.iterator();
+        final Deque<CompletableFuture<Level>> loading = new ArrayDeque<>();
+        final int lookahead = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
         int checkedTiles = 0;
-        for (final Media levelRip : levelRips)
+        try
         {
-            final SpriteTiled level = Drawable.loadSpriteTiled(levelRip, tw, th);
-            level.load();
-            level.prepare();
+            while (checkedTiles >= 0 && (next.hasNext() || !loading.isEmpty()))
+            {
+                while (next.hasNext() && loading.size() < lookahead)
+                {
+                    final Media levelRip = next.next();
+                    loading.add(CompletableFuture.supplyAsync(() -> load(levelRip, tw, th)));
+                }
 
-            checkedTiles = extract(canceler, level, tilesNumber, tiles, checkedTiles);
-            level.getSurface().dispose();
-            if (checkedTiles < 0)
+                final Level level = await(loading.poll());
+                try
+                {
+                    checkedTiles = extract(canceler, level, tilesNumber, tiles, index, checkedTiles);
+                }
+                finally
+                {
+                    level.sprite().dispose();
+                }
+            }
+        }
+        finally
+        {
+            for (final CompletableFuture<Level> level : loading)
             {
-                break;
+                level.thenAccept(l -> l.sprite().dispose());
             }
         }
 
@@ -228,33 +285,39 @@ public final class TilesExtractor
      * @param level The level rip.
      * @param tilesNumber The total tiles number to extract.
      * @param tiles The current extracted tiles.
+     * @param index The current extracted tiles index.
      * @param checkedTiles The last number of checked tiles.
      * @return The current number of checked tiles, or -1 if canceled.
      * @throws LionEngineException If an error occurred when proceeding the image.
      */
     private int extract(Canceler canceler,
-                        SpriteTiled level,
+                        Level level,
                         int tilesNumber,
                         Collection<ImageBuffer> tiles,
+                        TileIndex<ImageBuffer> index,
                         int checkedTiles)
     {
-        final int horizontalTiles = level.getTilesHorizontal();
-        final int verticalTiles = level.getTilesVertical();
-        final ImageBuffer surface = level.getSurface();
+        final SpriteTiled sprite = level.sprite();
+        final int horizontalTiles = sprite.getTilesHorizontal();
+        final int verticalTiles = sprite.getTilesVertical();
+        final int width = sprite.getSurface().getWidth();
+        final int[] rgb = level.rgb();
 
-        final int tw = level.getTileWidth();
-        final int th = level.getTileHeight();
+        final int tw = sprite.getTileWidth();
+        final int th = sprite.getTileHeight();
         int checked = checkedTiles;
         int oldPercent = 0;
         for (int v = 0; v < verticalTiles; v++)
         {
             for (int h = 0; h < horizontalTiles; h++)
             {
-                final int x = h * tw;
-                final int y = v * th;
-                if (IGNORED_COLOR_VALUE != surface.getRgb(x, y) && !isExtracted(level, x, y, tiles))
+                final int number = h + v * horizontalTiles;
+                final int hash = level.hashes()[number];
+                final int offset = h * tw + v * th * width;
+                if (IGNORED_COLOR_VALUE != rgb[offset] && index.get(hash, rgb, offset, width) == null)
                 {
-                    final ImageBuffer tile = extract(level, h + v * horizontalTiles);
+                    final ImageBuffer tile = extract(sprite, number);
+                    index.put(hash, rgb, offset, width, tile);
                     tiles.add(tile);
                 }
                 checked++;
@@ -316,4 +379,15 @@ public final class TilesExtractor
          */
         boolean isCanceled();
     }
+
+    /**
+     * Loaded level rip.
+     * 
+     * @param sprite The level rip sprite.
+     * @param rgb The level rip pixels.
+     * @param hashes The level rip tiles hash.
+     */
+    private record Level(SpriteTiled sprite, int[] rgb, int[] hashes)
+    {
+    }
 }
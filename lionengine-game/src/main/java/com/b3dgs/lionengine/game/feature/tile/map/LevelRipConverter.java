@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.feature.tile.TileIndex;
 import com.b3dgs.lionengine.game.feature.tile.TilesExtractor;
 import com.b3dgs.lionengine.graphic.ImageBuffer;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
@@ -31,6 +32,10 @@ import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
  * This class allows to convert a map image to a map level format.
  * The color [0-128-128] ({@link TilesExtractor#IGNORED_COLOR_VALUE}) is ignored (can be used to skip tile, in order to
  * improve performance).
+ * <p>
+ * Sheets tiles are indexed by their pixels with {@link TileIndex}, in sheets order, so each level rip tile is searched
+ * without comparing it to all sheets tiles.
+ * </p>
  */
 public final class LevelRipConverter
 {
@@ -89,12 +94,14 @@ public final class LevelRipConverter
         int lastPercent = 0;
         int errors = 0;
 
+        final TileIndex<Integer> index = createIndex(map);
         final ImageBuffer tileRef = imageMap.getSurface();
+        final int[] rgb = TileIndex.getRgb(tileRef);
         for (int progressTileY = 0; progressTileY < imageTilesInY; progressTileY++)
         {
             for (int progressTileX = 0; progressTileX < imageTilesInX; progressTileX++)
             {
-                if (!checkPixel(map, tileRef, progressTileX, progressTileY))
+                if (!checkPixel(map, index, rgb, tileRef.getWidth(), progressTileX, progressTileY))
                 {
                     LOGGER.warn("Tile missing at: {} - {}",
                                 Integer.valueOf(progressTileX),
@@ -112,106 +119,85 @@ public final class LevelRipConverter
 
                 if (canceler != null && canceler.isCanceled())
                 {
-                    tileRef.dispose();
+                    imageMap.dispose();
                     return errors;
                 }
             }
         }
 
-        tileRef.dispose();
+        imageMap.dispose();
         return errors;
     }
 
     /**
-     * Check the pixel by searching tile on sheet.
+     * Create sheets tiles index. If a tile is present more than once, first one is indexed.
      * 
      * @param map The destination map reference.
-     * @param tileRef The tile sheet.
-     * @param progressTileX The progress on horizontal tiles.
-     * @param progressTileY The progress on vertical tiles.
-     * @return <code>true</code> if tile found, <code>false</code> else.
+     * @return The sheets tiles index, with tile number on its sheet as value.
      */
-    private static boolean checkPixel(MapTile map, ImageBuffer tileRef, int progressTileX, int progressTileY)
+    private static TileIndex<Integer> createIndex(MapTile map)
     {
-        final int x = progressTileX * map.getTileWidth();
-        final int y = progressTileY * map.getTileHeight();
-        final int pixel = tileRef.getRgb(x, y);
-
-        // Skip blank tile of image map
-        if (TilesExtractor.IGNORED_COLOR_VALUE != pixel)
-        {
-            // Search if tile is on sheet and get it
-            return searchForTile(map, tileRef, progressTileX, progressTileY);
-        }
-        return true;
-    }
+        final int tw = map.getTileWidth();
+        final int th = map.getTileHeight();
+        final TileIndex<Integer> index = new TileIndex<>(tw, th);
 
-    /**
-     * Search current tile of image map by checking all surfaces.
-     * 
-     * @param map The destination map reference.
-     * @param tileSprite The tiled sprite
-     * @param x The location x.
-     * @param y The location y.
-     * @return <code>true</code> if tile found, <code>false</code> else.
-     */
-    private static boolean searchForTile(MapTile map, ImageBuffer tileSprite, int x, int y)
-    {
-        // Check each tile on each sheet
         final int sheetsCount = map.getSheetsNumber();
         for (int sheetId = 0; sheetId < sheetsCount; sheetId++)
         {
-            final boolean found = checkTile(map, tileSprite, sheetId, x, y);
-            if (found)
+            final SpriteTiled tileSheet = map.getSheet(sheetId);
+            final ImageBuffer sheetImage = tileSheet.getSurface();
+            final int[] rgb = TileIndex.getRgb(sheetImage);
+            final int width = sheetImage.getWidth();
+            final int tilesInX = tileSheet.getWidth() / tw;
+            final int tilesInY = tileSheet.getHeight() / th;
+
+            for (int surfaceCurrentTileY = 0; surfaceCurrentTileY < tilesInY; surfaceCurrentTileY++)
             {
-                return true;
+                for (int surfaceCurrentTileX = 0; surfaceCurrentTileX < tilesInX; surfaceCurrentTileX++)
+                {
+                    final int number = surfaceCurrentTileX + surfaceCurrentTileY * tilesInX;
+                    final int offset = surfaceCurrentTileX * tw + surfaceCurrentTileY * th * width;
+                    index.put(rgb, offset, width, Integer.valueOf(number));
+                }
             }
         }
-
-        // No tile found
-        return false;
+        return index;
     }
 
     /**
-     * Check tile of sheet.
+     * Check the pixel by searching tile on sheet.
      * 
      * @param map The destination map reference.
-     * @param tileSprite The tiled sprite
-     * @param sheetId The sheet number.
-     * @param x The location x.
-     * @param y The location y.
+     * @param index The sheets tiles index.
+     * @param rgb The level rip pixels.
+     * @param width The level rip width.
+     * @param progressTileX The progress on horizontal tiles.
+     * @param progressTileY The progress on vertical tiles.
      * @return <code>true</code> if tile found, <code>false</code> else.
      */
-    private static boolean checkTile(MapTile map, ImageBuffer tileSprite, int sheetId, int x, int y)
+    private static boolean checkPixel(MapTile map,
+                                      TileIndex<Integer> index,
+                                      int[] rgb,
+                                      int width,
+                                      int progressTileX,
+                                      int progressTileY)
     {
-        final int tw = map.getTileWidth();
-        final int th = map.getTileHeight();
-        final SpriteTiled tileSheet = map.getSheet(sheetId);
-        final ImageBuffer sheetImage = tileSheet.getSurface();
-        final int tilesInX = tileSheet.getWidth() / tw;
-        final int tilesInY = tileSheet.getHeight() / th;
+        final int x = progressTileX * map.getTileWidth();
+        final int y = progressTileY * map.getTileHeight();
+        final int offset = x + y * width;
 
-        for (int surfaceCurrentTileY = 0; surfaceCurrentTileY < tilesInY; surfaceCurrentTileY++)
+        // Skip blank tile of image map
+        if (TilesExtractor.IGNORED_COLOR_VALUE != rgb[offset])
         {
-            for (int surfaceCurrentTileX = 0; surfaceCurrentTileX < tilesInX; surfaceCurrentTileX++)
+            // Search if tile is on sheet and get it
+            final Integer number = index.get(rgb, offset, width);
+            if (number == null)
             {
-                // Tile number on tile sheet
-                final int number = surfaceCurrentTileX + surfaceCurrentTileY * tilesInX;
-
-                // Compare tiles between sheet and image map
-                final int xa = x * tw;
-                final int ya = y * th;
-                final int xb = surfaceCurrentTileX * tw;
-                final int yb = surfaceCurrentTileY * th;
-
-                if (TilesExtractor.compareTile(tw, th, tileSprite, xa, ya, sheetImage, xb, yb))
-                {
-                    map.setTile(x, map.getInTileHeight() - 1 - y, number);
-                    return true;
-                }
+                return false;
             }
+            map.setTile(progressTileX, map.getInTileHeight() - 1 - progressTileY, number.intValue());
         }
-        return false;
+        return true;
     }
 
     /**
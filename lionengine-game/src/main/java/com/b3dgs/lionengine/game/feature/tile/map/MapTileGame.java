@@ -64,10 +64,21 @@ public class MapTileGame extends FeaturableAbstract implements MapTile, Listenab
      * Create model.
      */
     public MapTileGame()
+    {
+        this(false);
+    }
+
+    /**
+     * Create model.
+     * 
+     * @param compact <code>true</code> to use compact tiles storage (see
+     *            {@link MapTileSurfaceModel#MapTileSurfaceModel(boolean)}), <code>false</code> to store tiles instances.
+     */
+    public MapTileGame(boolean compact)
     {
         super();
 
-        mapSurface = addFeature(new MapTileSurfaceModel());
+        mapSurface = addFeature(new MapTileSurfaceModel(compact));
     }
 
     /**
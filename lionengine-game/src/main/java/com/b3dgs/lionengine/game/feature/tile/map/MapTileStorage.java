@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+
+/**
+ * Map tiles storage, used by {@link MapTileSurfaceModel}. Locations are already checked as inside storage.
+ */
+interface MapTileStorage
+{
+    /**
+     * Create storage, without any tile.
+     * 
+     * @param tileWidth The tile width.
+     * @param tileHeight The tile height.
+     * @param widthInTile The number of horizontal tiles.
+     * @param heightInTile The number of vertical tiles.
+     */
+    void create(int tileWidth, int tileHeight, int widthInTile, int heightInTile);
+
+    /**
+     * Resize storage, keeping existing tiles.
+     * 
+     * @param newWidth The new number of horizontal tiles.
+     * @param newHeight The new number of vertical tiles.
+     */
+    void resize(int newWidth, int newHeight);
+
+    /**
+     * Get tile.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The tile reference, <code>null</code> if none.
+     */
+    Tile get(int tx, int ty);
+
+    /**
+     * Set tile number, tile is created if none.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @param number The tile number (must be positive or equal to 0).
+     * @param sheet The tile sheet, negative to keep current.
+     * @return The tile reference if number changed, <code>null</code> else.
+     * @throws LionEngineException If invalid arguments.
+     */
+    Tile set(int tx, int ty, int number, int sheet);
+
+    /**
+     * Remove tile.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return <code>true</code> if tile existed, <code>false</code> else.
+     */
+    boolean remove(int tx, int ty);
+
+    /**
+     * Get the number of horizontal tiles.
+     * 
+     * @return The number of horizontal tiles.
+     */
+    int getWidth();
+
+    /**
+     * Get the number of vertical tiles.
+     * 
+     * @return The number of vertical tiles.
+     */
+    int getHeight();
+}
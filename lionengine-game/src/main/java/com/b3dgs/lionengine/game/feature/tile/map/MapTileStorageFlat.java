@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.TileGame;
+
+/**
+ * Map tiles storage using flat primitive arrays of tile numbers and sheets. Tiles are created on access, and only the
+ * last accessed tiles are kept in a small direct mapped cache, so memory is bounded whatever the map size, and
+ * repeated access to a location returns the same instance until evicted, set or removed. Returned tiles are snapshots,
+ * not updated on set.
+ */
+final class MapTileStorageFlat implements MapTileStorage
+{
+    /** No tile number or sheet. */
+    private static final int NONE = -1;
+    /** Cached tiles mask, cache size minus one (cache size must be a power of two). */
+    private static final int CACHE_MASK = 255;
+
+    /** Tiles number, {@link #NONE} if no tile. */
+    private int[] numbers = new int[0];
+    /** Tiles sheet, {@link #NONE} if not set. */
+    private short[] sheets = new short[0];
+    /** Cached tiles by location index masked with {@link #CACHE_MASK}. */
+    private final Tile[] cache = new Tile[CACHE_MASK + 1];
+    /** Cached tiles location index, {@link #NONE} if slot empty. */
+    private final int[] cached = new int[CACHE_MASK + 1];
+    /** Tile width. */
+    private int tileWidth;
+    /** Tile height. */
+    private int tileHeight;
+    /** Number of horizontal tiles. */
+    private int widthInTile;
+    /** Number of vertical tiles. */
+    private int heightInTile;
+
+    /**
+     * Create storage.
+     */
+    MapTileStorageFlat()
+    {
+        super();
+
+        Arrays.fill(cached, NONE);
+    }
+
+    /**
+     * Remove location from cache.
+     * 
+     * @param index The location index.
+     */
+    private void uncache(int index)
+    {
+        final int slot = index & CACHE_MASK;
+        if (cached[slot] == index)
+        {
+            cached[slot] = NONE;
+            cache[slot] = null;
+        }
+    }
+
+    /**
+     * Remove all locations from cache.
+     */
+    private void clearCache()
+    {
+        Arrays.fill(cached, NONE);
+        Arrays.fill(cache, null);
+    }
+
+    @Override
+    public void create(int tileWidth, int tileHeight, int widthInTile, int heightInTile)
+    {
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.widthInTile = widthInTile;
+        this.heightInTile = heightInTile;
+
+        numbers = new int[widthInTile * heightInTile];
+        sheets = new short[widthInTile * heightInTile];
+        clearCache();
+        Arrays.fill(numbers, NONE);
+        Arrays.fill(sheets, (short) NONE);
+    }
+
+    @Override
+    public void resize(int newWidth, int newHeight)
+    {
+        final int[] newNumbers = new int[newWidth * newHeight];
+        final short[] newSheets = new short[newWidth * newHeight];
+        Arrays.fill(newNumbers, NONE);
+        Arrays.fill(newSheets, (short) NONE);
+
+        final int width = Math.min(widthInTile, newWidth);
+        for (int ty = 0; ty < Math.min(heightInTile, newHeight); ty++)
+        {
+            System.arraycopy(numbers, ty * widthInTile, newNumbers, ty * newWidth, width);
+            System.arraycopy(sheets, ty * widthInTile, newSheets, ty * newWidth, width);
+        }
+        numbers = newNumbers;
+        sheets = newSheets;
+        clearCache();
+        widthInTile = newWidth;
+        heightInTile = newHeight;
+    }
+
+    @Override
+    public Tile get(int tx, int ty)
+    {
+        final int index = ty * widthInTile + tx;
+        final int number = numbers[index];
+        if (number == NONE)
+        {
+            return null;
+        }
+        final int slot = index & CACHE_MASK;
+        if (cached[slot] != index)
+        {
+            final TileGame tile = new TileGame(number, tx, ty, tileWidth, tileHeight);
+            if (sheets[index] != NONE)
+            {
+                tile.setSheet(sheets[index]);
+            }
+            cache[slot] = tile;
+            cached[slot] = index;
+        }
+        return cache[slot];
+    }
+
+    @Override
+    public Tile set(int tx, int ty, int number, int sheet)
+    {
+        Check.superiorOrEqual(number, 0);
+        Check.inferiorOrEqual(sheet, Short.MAX_VALUE);
+
+        final int index = ty * widthInTile + tx;
+        if (number != numbers[index])
+        {
+            numbers[index] = number;
+            uncache(index);
+            if (sheet > NONE)
+            {
+                sheets[index] = (short) sheet;
+            }
+            return get(tx, ty);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(int tx, int ty)
+    {
+        final int index = ty * widthInTile + tx;
+        final boolean existed = numbers[index] != NONE;
+        numbers[index] = NONE;
+        sheets[index] = (short) NONE;
+        uncache(index);
+        return existed;
+    }
+
+    @Override
+    public int getWidth()
+    {
+        return widthInTile;
+    }
+
+    @Override
+    public int getHeight()
+    {
+        return heightInTile;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.TileGame;
+
+/**
+ * Map tiles storage using a List of List of tile instances. Returned tiles are updated on set.
+ */
+final class MapTileStorageList implements MapTileStorage
+{
+    /** Tiles map. */
+    private final List<List<TileGame>> tiles = new ArrayList<>();
+    /** Tile width. */
+    private int tileWidth;
+    /** Tile height. */
+    private int tileHeight;
+    /** Number of horizontal tiles. */
+    private int widthInTile;
+    /** Number of vertical tiles. */
+    private int heightInTile;
+
+    /**
+     * Create storage.
+     */
+    MapTileStorageList()
+    {
+        super();
+    }
+
+    @Override
+    public void create(int tileWidth, int tileHeight, int widthInTile, int heightInTile)
+    {
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.widthInTile = widthInTile;
+        this.heightInTile = heightInTile;
+
+        tiles.clear();
+        for (int v = 0; v < heightInTile; v++)
+        {
+            tiles.add(v, new ArrayList<>(widthInTile));
+            for (int h = 0; h < widthInTile; h++)
+            {
+                tiles.get(v).add(h, null);
+            }
+        }
+    }
+
+    @Override
+    public void resize(int newWidth, int newHeight)
+    {
+        // Adjust height
+        for (int v = 0; v < newHeight - heightInTile; v++)
+        {
+            tiles.add(new ArrayList<>(newWidth));
+        }
+        // Adjust width
+        for (int v = 0; v < newHeight; v++)
+        {
+            final int width;
+            if (v < heightInTile)
+            {
+                width = newWidth - widthInTile;
+            }
+            else
+            {
+                width = newWidth;
+            }
+            for (int h = 0; h < width; h++)
+            {
+                tiles.get(v).add(null);
+            }
+        }
+
+        widthInTile = newWidth;
+        heightInTile = newHeight;
+    }
+
+    @Override
+    public Tile get(int tx, int ty)
+    {
+        return tiles.get(ty).get(tx);
+    }
+
+    @Override
+    public Tile set(int tx, int ty, int number, int sheet)
+    {
+        TileGame tile = tiles.get(ty).get(tx);
+        final int oldNum;
+        if (tile == null)
+        {
+            tile = new TileGame(number, tx, ty, tileWidth, tileHeight);
+            tiles.get(ty).set(tx, tile);
+            oldNum = -1;
+        }
+        else
+        {
+            oldNum = tile.getNumber();
+        }
+        if (number != oldNum)
+        {
+            tile.set(number);
+
+            if (sheet > -1)
+            {
+                tile.setSheet(sheet);
+            }
+            return tile;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(int tx, int ty)
+    {
+        return tiles.get(ty).set(tx, null) != null;
+    }
+
+    @Override
+    public int getWidth()
+    {
+        return widthInTile;
+    }
+
+    @Override
+    public int getHeight()
+    {
+        return heightInTile;
+    }
+}
@@ -32,12 +32,12 @@ import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.game.Force;
 import com.b3dgs.lionengine.game.feature.FeatureAbstract;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
-import com.b3dgs.lionengine.game.feature.tile.TileGame;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
 
 /**
- * Abstract representation of a standard tile based map. This class uses a List of List to store tiles.
+ * Abstract representation of a standard tile based map. This class uses a List of List to store tiles, or flat arrays of
+ * tiles number in compact mode.
  */
 public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurface
 {
@@ -48,6 +48,8 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
 
     /** Tile set listeners. */
     private final ListenableModel<TileSetListener> listenable = new ListenableModel<>();
+    /** Tiles storage. */
+    private final MapTileStorage tiles;
 
     /** Sheet configuration file. */
     private Media sheetsConfig;
@@ -61,19 +63,44 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     private int heightInTile;
     /** Map radius. */
     private int radius;
-    /** Tiles map. */
-    private List<List<TileGame>> tiles;
     /** Sheets defined. */
     private SpriteTiled[] sheets;
     /** Tiles number per sheet. */
     private int tilesPerSheet = -1;
+    /** Created flag. */
+    private boolean created;
 
     /**
      * Create feature.
      */
     public MapTileSurfaceModel()
+    {
+        this(false);
+    }
+
+    /**
+     * Create feature.
+     * 
+     * <p>
+     * In compact mode, only tiles number and sheet are stored in flat arrays, which largely reduces memory usage of big
+     * maps. Tiles are then created on demand: returned tiles are snapshots and are not updated by further
+     * {@link #setTile(int, int, int)}, so they must be get again after.
+     * </p>
+     * 
+     * @param compact <code>true</code> to use compact storage, <code>false</code> to store tiles instances.
+     */
+    public MapTileSurfaceModel(boolean compact)
     {
         super();
+
+        if (compact)
+        {
+            tiles = new MapTileStorageFlat();
+        }
+        else
+        {
+            tiles = new MapTileStorageList();
+        }
     }
 
     /**
@@ -107,6 +134,20 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         }
     }
 
+    /**
+     * Notify listeners tile removed.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     */
+    private void notifyTileRemoved(int tx, int ty)
+    {
+        for (int i = 0; i < listenable.size(); i++)
+        {
+            listenable.get(i).onTileRemoved(tx, ty);
+        }
+    }
+
     @Override
     public void addListener(TileSetListener listener)
     {
@@ -135,16 +176,8 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         this.heightInTile = heightInTile;
 
         radius = (int) Math.ceil(StrictMath.sqrt(widthInTile * widthInTile + heightInTile * (double) heightInTile));
-        tiles = new ArrayList<>(heightInTile);
-
-        for (int v = 0; v < heightInTile; v++)
-        {
-            tiles.add(v, new ArrayList<>(widthInTile));
-            for (int h = 0; h < widthInTile; h++)
-            {
-                tiles.get(v).add(h, null);
-            }
-        }
+        tiles.create(tileWidth, tileHeight, widthInTile, heightInTile);
+        created = true;
     }
 
     @Override
@@ -203,31 +236,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public void resize(int newWidth, int newHeight)
     {
-        final int oldWidth = widthInTile;
-        final int oldheight = heightInTile;
-
-        // Adjust height
-        for (int v = 0; v < newHeight - oldheight; v++)
-        {
-            tiles.add(new ArrayList<>(newWidth));
-        }
-        // Adjust width
-        for (int v = 0; v < newHeight; v++)
-        {
-            final int width;
-            if (v < oldheight)
-            {
-                width = newWidth - oldWidth;
-            }
-            else
-            {
-                width = newWidth;
-            }
-            for (int h = 0; h < width; h++)
-            {
-                tiles.get(v).add(null);
-            }
-        }
+        tiles.resize(newWidth, newHeight);
 
         widthInTile = newWidth;
         heightInTile = newHeight;
@@ -237,13 +246,15 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public void clear()
     {
-        if (tiles != null)
+        final int width = tiles.getWidth();
+        final int height = tiles.getHeight();
+        for (int v = 0; v < height; v++)
         {
-            for (int v = 0; v < heightInTile; v++)
+            for (int h = 0; h < width; h++)
             {
-                for (int h = 0; h < widthInTile; h++)
+                if (tiles.remove(h, v))
                 {
-                    tiles.get(v).set(h, null);
+                    notifyTileRemoved(h, v);
                 }
             }
         }
@@ -257,7 +268,10 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         Check.inferiorStrict(tx, getInTileWidth());
         Check.inferiorStrict(ty, getInTileHeight());
 
-        tiles.get(ty).set(tx, null);
+        if (tiles.remove(tx, ty))
+        {
+            notifyTileRemoved(tx, ty);
+        }
     }
 
     @Override
@@ -268,26 +282,18 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         Check.inferiorStrict(tx, getInTileWidth());
         Check.inferiorStrict(ty, getInTileHeight());
 
-        TileGame tile = tiles.get(ty).get(tx);
-        final int oldNum;
-        if (tile == null)
+        final int sheet;
+        if (tilesPerSheet > 0)
         {
-            tile = new TileGame(number, tx, ty, tileWidth, tileHeight);
-            tiles.get(ty).set(tx, tile);
-            oldNum = -1;
+            sheet = (int) Math.floor(number / (double) tilesPerSheet);
         }
         else
         {
-            oldNum = tile.getNumber();
+            sheet = -1;
         }
-        if (number != oldNum)
+        final Tile tile = tiles.set(tx, ty, number, sheet);
+        if (tile != null)
         {
-            tile.set(number);
-
-            if (tilesPerSheet > 0)
-            {
-                tile.setSheet((int) Math.floor(number / (double) tilesPerSheet));
-            }
             for (int i = 0; i < listenable.size(); i++)
             {
                 listenable.get(i).onTileSet(tile);
@@ -302,7 +308,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         {
             return null;
         }
-        return tiles.get(ty).get(tx);
+        return tiles.get(tx, ty);
     }
 
     @Override
@@ -472,7 +478,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public boolean isCreated()
     {
-        return tiles != null;
+        return created;
     }
 
     @Override
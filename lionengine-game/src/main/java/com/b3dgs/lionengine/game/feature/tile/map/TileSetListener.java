@@ -19,7 +19,7 @@ package com.b3dgs.lionengine.game.feature.tile.map;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 
 /**
- * Map tile set listener, notify when tile has been set.
+ * Map tile set listener, notify when tile has been set or removed.
  */
 public interface TileSetListener
 {
@@ -29,4 +29,15 @@ public interface TileSetListener
      * @param tile The tile set.
      */
     void onTileSet(Tile tile);
+
+    /**
+     * Called on tile removed.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     */
+    default void onTileRemoved(int tx, int ty)
+    {
+        // Nothing by default
+    }
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+
+/**
+ * Baked collision formulas of a tile for a category. For each input value on category axis (column), stores the
+ * computed output and its accepted bounds for each matching formula, in tile formulas order. Tiles sharing same
+ * formulas share the same table.
+ */
+final class CollisionTable
+{
+    /** Empty table, for tiles without collision in category. */
+    static final CollisionTable EMPTY = new CollisionTable(null, 0, new int[1], new CollisionFormula[0]);
+
+    /**
+     * Bake the table of formulas for a category.
+     * 
+     * @param category The category reference.
+     * @param formulas The tile formulas (in evaluation order).
+     * @return The baked table, {@link #EMPTY} if no collision in category.
+     */
+    static CollisionTable create(CollisionCategory category, List<CollisionFormula> formulas)
+    {
+        final List<CollisionFormula> candidates = new ArrayList<>();
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        final int n = formulas.size();
+        for (int i = 0; i < n; i++)
+        {
+            final CollisionFormula formula = formulas.get(i);
+            final CollisionRange range = formula.getRange();
+            if (category.getAxis() == range.getOutput() && containsCollisionFormula(category, formula))
+            {
+                candidates.add(formula);
+                min = Math.min(min, getInputMin(range));
+                max = Math.max(max, getInputMax(range));
+            }
+        }
+        if (candidates.isEmpty())
+        {
+            return EMPTY;
+        }
+
+        final int columns = max - min + 1;
+        final int[] start = new int[columns + 1];
+        final List<CollisionFormula> entries = new ArrayList<>();
+        for (int column = 0; column < columns; column++)
+        {
+            start[column] = entries.size();
+            final int input = min + column;
+            for (final CollisionFormula formula : candidates)
+            {
+                final CollisionRange range = formula.getRange();
+                if (input >= getInputMin(range) && input <= getInputMax(range))
+                {
+                    entries.add(formula);
+                }
+            }
+        }
+        start[columns] = entries.size();
+
+        final CollisionTable table = new CollisionTable(formulas.get(n - 1),
+                                                        min,
+                                                        start,
+                                                        entries.toArray(new CollisionFormula[entries.size()]));
+        table.bake(category.getAxis());
+        return table;
+    }
+
+    /**
+     * Check if category contains the formula.
+     * 
+     * @param category The category reference.
+     * @param formula The tile formula.
+     * @return <code>true</code> if formula is in category groups, <code>false</code> else.
+     */
+    private static boolean containsCollisionFormula(CollisionCategory category, CollisionFormula formula)
+    {
+        final List<CollisionGroup> groups = category.getGroups();
+        final int n = groups.size();
+        for (int i = 0; i < n; i++)
+        {
+            if (groups.get(i).getFormulas().contains(formula))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the minimum input value of range (on the other axis of output).
+     * 
+     * @param range The range reference.
+     * @return The minimum input.
+     */
+    private static int getInputMin(CollisionRange range)
+    {
+        return Axis.Y == range.getOutput() ? range.getMinX() : range.getMinY();
+    }
+
+    /**
+     * Get the maximum input value of range (on the other axis of output).
+     * 
+     * @param range The range reference.
+     * @return The maximum input.
+     */
+    private static int getInputMax(CollisionRange range)
+    {
+        return Axis.Y == range.getOutput() ? range.getMaxX() : range.getMaxY();
+    }
+
+    /** Last tile formula, reported on the axis without collision. */
+    private final CollisionFormula last;
+    /** First column input value. */
+    private final int min;
+    /** Last column input value. */
+    private final int max;
+    /** Entries start index by column (last value is the entries count). */
+    private final int[] start;
+    /** Entries formula. */
+    private final CollisionFormula[] formulas;
+    /** Entries output value. */
+    private final double[] values;
+    /** Entries minimum accepted location on output axis. */
+    private final double[] lowers;
+    /** Entries maximum accepted location on output axis. */
+    private final double[] uppers;
+
+    /**
+     * Create table.
+     * 
+     * @param last The last tile formula.
+     * @param min The first column input value.
+     * @param start The entries start index by column.
+     * @param formulas The entries formula.
+     */
+    private CollisionTable(CollisionFormula last, int min, int[] start, CollisionFormula[] formulas)
+    {
+        super();
+
+        this.last = last;
+        this.min = min;
+        max = min + start.length - 2;
+        this.start = start;
+        this.formulas = formulas;
+        values = new double[formulas.length];
+        lowers = new double[formulas.length];
+        uppers = new double[formulas.length];
+    }
+
+    /**
+     * Compute entries output and bounds.
+     * 
+     * @param axis The output axis.
+     */
+    private void bake(Axis axis)
+    {
+        for (int column = 0; column < start.length - 1; column++)
+        {
+            final double input = min + column;
+            for (int i = start[column]; i < start[column + 1]; i++)
+            {
+                final CollisionRange range = formulas[i].getRange();
+                final CollisionFunction function = formulas[i].getFunction();
+                final double result = Math.floor(function.compute(input));
+                values[i] = result;
+                if (Axis.Y == axis)
+                {
+                    final double margin = Math.ceil(Math.abs(function.compute(1) - function.compute(0)));
+                    lowers[i] = result + range.getMinY() - margin;
+                    uppers[i] = result + range.getMaxY();
+                }
+                else
+                {
+                    lowers[i] = result + range.getMinX() - 1;
+                    uppers[i] = result + range.getMaxX();
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if table has no collision.
+     * 
+     * @return <code>true</code> if no collision, <code>false</code> else.
+     */
+    boolean isEmpty()
+    {
+        return formulas.length == 0;
+    }
+
+    /**
+     * Compute the collision between the tile and the current location.
+     * 
+     * @param category The category reference.
+     * @param tile The tile reference.
+     * @param x The current horizontal location.
+     * @param y The current vertical location.
+     * @return The computed collision result, <code>null</code> if none.
+     */
+    CollisionResult compute(CollisionCategory category, Tile tile, double x, double y)
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        final double xOnTile = Math.floor(x - tile.getX());
+        final double yOnTile = Math.floor(y - tile.getY());
+        if (Axis.Y == category.getAxis())
+        {
+            final int index = getEntry(xOnTile, yOnTile);
+            if (index > -1)
+            {
+                final double cy = Math.floor(tile.getY() + values[index] - category.getOffsetY());
+                return CollisionResult.get(category, Double.NaN, cy, tile, last, formulas[index]);
+            }
+        }
+        else
+        {
+            final int index = getEntry(yOnTile, xOnTile);
+            if (index > -1)
+            {
+                final double cx = Math.floor(tile.getX() + values[index] - category.getOffsetX());
+                return CollisionResult.get(category, cx, Double.NaN, tile, formulas[index], last);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the first entry accepting location.
+     * 
+     * @param input The input location on tile.
+     * @param output The output location on tile.
+     * @return The entry index, <code>-1</code> if none.
+     */
+    private int getEntry(double input, double output)
+    {
+        if (UtilMath.isBetween(input, min, max))
+        {
+            final int column = (int) input - min;
+            for (int i = start[column]; i < start[column + 1]; i++)
+            {
+                if (UtilMath.isBetween(output, lowers[i], uppers[i]))
+                {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
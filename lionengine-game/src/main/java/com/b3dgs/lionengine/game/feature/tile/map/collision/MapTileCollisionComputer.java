@@ -34,63 +34,6 @@ final class MapTileCollisionComputer
 {
     private static final int MAX_GLUED = 5;
 
-    /**
-     * Compute the collision from current location.
-     * 
-     * @param map The map surface reference.
-     * @param loaderList The loader reference.
-     * @param category The collision category.
-     * @param ox The current horizontal location.
-     * @param oy The current vertical location.
-     * @param x The current horizontal location.
-     * @param y The current vertical location.
-     * @return The computed collision result, <code>null</code> if none.
-     */
-    private static CollisionResult computeCollision(MapTile map,
-                                                    Function<Tile, List<CollisionFormula>> loaderList,
-                                                    CollisionCategory category,
-                                                    double ox,
-                                                    double oy,
-                                                    double x,
-                                                    double y)
-    {
-        final Tile tile = map.getTileAt(getPositionToSide(ox, x), getPositionToSide(oy, y));
-        if (tile != null)
-        {
-            double cx = Double.NaN;
-            double cy = Double.NaN;
-            CollisionFormula fx = null;
-            CollisionFormula fy = null;
-            final List<CollisionFormula> formulasList = loaderList.apply(tile);
-
-            final int n = formulasList.size();
-            for (int i = 0; i < n; i++)
-            {
-                final CollisionFormula formula = formulasList.get(i);
-
-                if (Double.isNaN(cx))
-                {
-                    cx = getCollisionX(tile, category, formula, x, y);
-                    fx = formula;
-                }
-                if (Double.isNaN(cy))
-                {
-                    cy = getCollisionY(tile, category, formula, x, y);
-                    fy = formula;
-                }
-                if (!Double.isNaN(cx) && !Double.isNaN(cy))
-                {
-                    break;
-                }
-            }
-            if (!Double.isNaN(cx) || !Double.isNaN(cy))
-            {
-                return CollisionResult.get(category, cx, cy, tile, fx, fy);
-            }
-        }
-        return null;
-    }
-
     /**
      * Get the horizontal collision location between the tile and the movement vector.
      * 
@@ -273,13 +216,67 @@ final class MapTileCollisionComputer
 
     /** Last result. */
     private final Map<Transformable, CollisionResult> lastFound = new HashMap<>();
+    /** Baked tables per category content, shared by categories with same axis and groups. */
+    private final Map<BakedKey, Baked> tables = new HashMap<>();
+    /** Baked tables lookup key, reused. */
+    private final BakedKey probe = new BakedKey();
+    /** Use baked tables flag. */
+    private final boolean baked;
+    /** Baked tables horizontal tiles. */
+    private int widthInTile;
+    /** Baked tables vertical tiles. */
+    private int heightInTile;
+    /** Last resolved tile horizontal location. */
+    private int lastTx;
+    /** Last resolved tile vertical location. */
+    private int lastTy;
+    /** Last resolved tile (<code>null</code> if none). */
+    private Tile lastTile;
+    /** Last resolved tile table (<code>null</code> if not resolved). */
+    private CollisionTable lastTable;
 
     /**
      * Create the map tile collision computer.
+     * 
+     * @param baked <code>true</code> to bake tile formulas into lookup tables per category and resolve tiles only when
+     *            crossing tiles, <code>false</code> to evaluate formulas on each step.
      */
-    MapTileCollisionComputer()
+    MapTileCollisionComputer(boolean baked)
     {
         super();
+
+        this.baked = baked;
+    }
+
+    /**
+     * Invalidate baked tables of the tile location, after tile set or its formulas changed.
+     * 
+     * @param tile The tile reference.
+     */
+    public void invalidate(Tile tile)
+    {
+        final int tx = tile.getInTileX();
+        final int ty = tile.getInTileY();
+        if (tx >= 0 && ty >= 0 && tx < widthInTile && ty < heightInTile)
+        {
+            final int index = ty * widthInTile + tx;
+            for (final Baked baked : tables.values())
+            {
+                if (index < baked.tiles.length)
+                {
+                    baked.tiles[index] = null;
+                }
+            }
+        }
+        lastTable = null;
+    }
+
+    /**
+     * Clear all baked tables, after formulas loading.
+     */
+    public void clear()
+    {
+        tables.clear();
     }
 
     /**
@@ -326,6 +323,7 @@ final class MapTileCollisionComputer
         {
             lastFound.remove(transformable);
         }
+        lastTable = null;
 
         return computeCollision(map, loaderList, transformable, category, sh, sv, sx, sy, max);
     }
@@ -448,6 +446,125 @@ final class MapTileCollisionComputer
         return last;
     }
 
+    /**
+     * Compute the collision from current location.
+     * 
+     * @param map The map surface reference.
+     * @param loaderList The loader reference.
+     * @param category The collision category.
+     * @param ox The current horizontal location.
+     * @param oy The current vertical location.
+     * @param x The current horizontal location.
+     * @param y The current vertical location.
+     * @return The computed collision result, <code>null</code> if none.
+     */
+    private CollisionResult computeCollision(MapTile map,
+                                             Function<Tile, List<CollisionFormula>> loaderList,
+                                             CollisionCategory category,
+                                             double ox,
+                                             double oy,
+                                             double x,
+                                             double y)
+    {
+        if (baked)
+        {
+            final int tx = (int) Math.floor(getPositionToSide(ox, x) / map.getTileWidth());
+            final int ty = (int) Math.floor(getPositionToSide(oy, y) / map.getTileHeight());
+            if (lastTable == null || tx != lastTx || ty != lastTy)
+            {
+                lastTx = tx;
+                lastTy = ty;
+                lastTile = map.getTile(tx, ty);
+                lastTable = getTable(map, loaderList, category, lastTile);
+            }
+            return lastTable.compute(category, lastTile, x, y);
+        }
+
+        final Tile tile = map.getTileAt(getPositionToSide(ox, x), getPositionToSide(oy, y));
+        if (tile != null)
+        {
+            double cx = Double.NaN;
+            double cy = Double.NaN;
+            CollisionFormula fx = null;
+            CollisionFormula fy = null;
+            final List<CollisionFormula> formulasList = loaderList.apply(tile);
+
+            final int n = formulasList.size();
+            for (int i = 0; i < n; i++)
+            {
+                final CollisionFormula formula = formulasList.get(i);
+
+                if (Double.isNaN(cx))
+                {
+                    cx = getCollisionX(tile, category, formula, x, y);
+                    fx = formula;
+                }
+                if (Double.isNaN(cy))
+                {
+                    cy = getCollisionY(tile, category, formula, x, y);
+                    fy = formula;
+                }
+                if (!Double.isNaN(cx) && !Double.isNaN(cy))
+                {
+                    break;
+                }
+            }
+            if (!Double.isNaN(cx) || !Double.isNaN(cy))
+            {
+                return CollisionResult.get(category, cx, cy, tile, fx, fy);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the baked table of the tile for the category, baking it if needed.
+     * 
+     * @param map The map surface reference.
+     * @param loaderList The loader reference.
+     * @param category The collision category.
+     * @param tile The tile reference (can be <code>null</code>).
+     * @return The tile table.
+     */
+    private CollisionTable getTable(MapTile map,
+                                    Function<Tile, List<CollisionFormula>> loaderList,
+                                    CollisionCategory category,
+                                    Tile tile)
+    {
+        if (tile == null)
+        {
+            return CollisionTable.EMPTY;
+        }
+        if (widthInTile != map.getInTileWidth() || heightInTile != map.getInTileHeight())
+        {
+            widthInTile = map.getInTileWidth();
+            heightInTile = map.getInTileHeight();
+            for (final Baked current : tables.values())
+            {
+                current.tiles = new CollisionTable[widthInTile * heightInTile];
+            }
+        }
+        probe.set(category.getAxis(), category.getGroups());
+        Baked baked = tables.get(probe);
+        if (baked == null)
+        {
+            final BakedKey key = new BakedKey();
+            key.set(category.getAxis(), List.copyOf(category.getGroups()));
+            baked = new Baked();
+            baked.tiles = new CollisionTable[widthInTile * heightInTile];
+            tables.put(key, baked);
+        }
+        final int index = tile.getInTileY() * widthInTile + tile.getInTileX();
+        CollisionTable table = baked.tiles[index];
+        if (table == null)
+        {
+            final List<CollisionFormula> formulas = List.copyOf(loaderList.apply(tile));
+            table = baked.shared.computeIfAbsent(formulas, f -> CollisionTable.create(category, f));
+            baked.tiles[index] = table;
+        }
+        return table;
+    }
+
     /**
      * Get glued collision by searching under if needed.
      * 
@@ -481,4 +598,108 @@ final class MapTileCollisionComputer
         }
         return null;
     }
+
+    /**
+     * Get the number of baked categories.
+     * 
+     * @return The baked categories number.
+     */
+    int getBaked()
+    {
+        return tables.size();
+    }
+
+    /**
+     * Baked tables of a category content.
+     */
+    private static final class Baked
+    {
+        /** Baked tables by tile location index, <code>null</code> if not baked. */
+        private CollisionTable[] tiles = new CollisionTable[0];
+        /** Baked tables per formulas, shared between tiles. */
+        private final Map<List<CollisionFormula>, CollisionTable> shared = new HashMap<>();
+
+        /**
+         * Create baked tables.
+         */
+        Baked()
+        {
+            super();
+        }
+    }
+
+    /**
+     * Baked tables key. Tables only depend on category axis and groups, which are owned by map and compared by
+     * reference, so categories imported for each spawned collidable share the same tables.
+     */
+    private static final class BakedKey
+    {
+        /** Category axis. */
+        private Axis axis;
+        /** Category groups. */
+        private List<CollisionGroup> groups;
+        /** Computed hash. */
+        private int hash;
+
+        /**
+         * Create key.
+         */
+        BakedKey()
+        {
+            super();
+        }
+
+        /**
+         * Set key content.
+         * 
+         * @param axis The category axis.
+         * @param groups The category groups.
+         */
+        void set(Axis axis, List<CollisionGroup> groups)
+        {
+            this.axis = axis;
+            this.groups = groups;
+
+            int result = axis.hashCode();
+            final int n = groups.size();
+            for (int i = 0; i < n; i++)
+            {
+                result = 31 * result + System.identityHashCode(groups.get(i));
+            }
+            hash = result;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (object == null || object.getClass() != getClass())
+            {
+                return false;
+            }
+            final BakedKey other = (BakedKey) object;
+            final int n = groups.size();
+            if (axis != other.axis || n != other.groups.size())
+            {
+                return false;
+            }
+            for (int i = 0; i < n; i++)
+            {
+                if (groups.get(i) != other.groups.get(i))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -29,6 +29,7 @@ import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
 
 /**
  * Map tile collision model implementation.
@@ -38,7 +39,9 @@ public class MapTileCollisionModel extends FeatureAbstract implements MapTileCol
     /** Map collision loader. */
     private final MapTileCollisionLoader loader = new MapTileCollisionLoader();
     /** Map collision computer. */
-    private final MapTileCollisionComputer computer = new MapTileCollisionComputer();
+    private final MapTileCollisionComputer computer = new MapTileCollisionComputer(true);
+    /** Invalidate baked tables of set tiles. */
+    private final TileSetListener listener = computer::invalidate;
 
     /** Map tile surface. */
     private MapTileSurface map;
@@ -68,24 +71,28 @@ public class MapTileCollisionModel extends FeatureAbstract implements MapTileCol
 
         map = provider.getFeature(MapTileSurface.class);
         mapGroup = provider.getFeature(MapTileGroup.class);
+        map.addListener(listener);
     }
 
     @Override
     public void loadCollisions(Media collisionFormulas, Media collisionGroups)
     {
         loader.loadCollisions(map, mapGroup, this, collisionFormulas, collisionGroups);
+        computer.clear();
     }
 
     @Override
     public void loadCollisions(CollisionFormulaConfig formulasConfig, CollisionGroupConfig groupsConfig)
     {
         loader.loadCollisions(map, mapGroup, formulasConfig, groupsConfig);
+        computer.clear();
     }
 
     @Override
     public void updateCollisions(Tile tile)
     {
         loader.update(map, mapGroup, tile);
+        computer.invalidate(tile);
     }
 
     @Override
@@ -38,6 +38,57 @@ public final class Astar
         return new PathFinderImpl(map, maxSearchDistance, heuristic);
     }
 
+    /**
+     * Create a path finder backed by an indexed heap and primitive nodes storage, which does not allocate during search
+     * and can be shared between pathfindable (by adding it to {@link com.b3dgs.lionengine.game.feature.Services}).
+     * 
+     * @param map The map to be searched. Must have the
+     *            {@link com.b3dgs.lionengine.game.feature.tile.map.pathfinding.MapTilePath} feature.
+     * @param maxSearchDistance The maximum depth we'll search before giving up.
+     * @param heuristic The heuristic used to determine the search order of the map.
+     * @return The path finder instance.
+     */
+    public static PathFinder createPathFinderHeap(MapTile map, int maxSearchDistance, Heuristic heuristic)
+    {
+        return new PathFinderHeap(map, maxSearchDistance, heuristic);
+    }
+
+    /**
+     * Create a hierarchical path finder, which searches on clusters entrances first, and refines only the first
+     * segments. Returned paths may be partial (see {@link Path#isPartial()}), and must be searched again once walked.
+     * Suited for large maps, and can be shared between pathfindable (by adding it to
+     * {@link com.b3dgs.lionengine.game.feature.Services}).
+     * 
+     * @param map The map to be searched. Must have the
+     *            {@link com.b3dgs.lionengine.game.feature.tile.map.pathfinding.MapTilePath} feature.
+     * @param clusterSize The cluster size in tile (must be strictly positive).
+     * @param heuristic The heuristic used to determine the search order of the map.
+     * @return The path finder instance.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public static PathFinder createPathFinderHierarchical(MapTile map, int clusterSize, Heuristic heuristic)
+    {
+        return new PathFinderHierarchical(map, clusterSize, heuristic);
+    }
+
+    /**
+     * Create a flow field path finder, which generates one field per destination and mover profile, shared by all
+     * movers going to it. Returned paths follow the field for a few steps and are partial (see {@link Path#isPartial()})
+     * until target is included. Suited for large groups sharing a destination, and must be shared between pathfindable
+     * (by adding it to {@link com.b3dgs.lionengine.game.feature.Services}).
+     * 
+     * @param map The map to be searched. Must have the
+     *            {@link com.b3dgs.lionengine.game.feature.tile.map.pathfinding.MapTilePath} feature.
+     * @param capacity The maximum cached fields, least recently used are evicted (must be strictly positive).
+     * @param lookahead The steps followed by search (must be strictly positive).
+     * @return The path finder instance.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public static PathFinder createPathFinderFlowField(MapTile map, int capacity, int lookahead)
+    {
+        return new PathFinderFlowField(map, capacity, lookahead);
+    }
+
     /**
      * Create the closest heuristic.
      * 
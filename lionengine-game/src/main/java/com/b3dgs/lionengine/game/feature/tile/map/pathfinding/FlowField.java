@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+/**
+ * Flow field toward a target tile: integration field (cost to target) and direction field (next tile toward target),
+ * covering the whole map.
+ */
+final class FlowField
+{
+    /** No next tile. */
+    static final int NONE = -1;
+
+    /** Target tile index. */
+    private final int target;
+    /** Cost to target by tile. */
+    private final double[] costs;
+    /** Next tile index toward target by tile. */
+    private final int[] next;
+
+    /**
+     * Create field. Arrays are owned by field and must not be modified after.
+     * 
+     * @param target The target tile index.
+     * @param costs The cost to target by tile ({@link Double#POSITIVE_INFINITY} if unreachable).
+     * @param next The next tile index toward target by tile ({@link #NONE} if none).
+     */
+    FlowField(int target, double[] costs, int[] next)
+    {
+        super();
+
+        this.target = target;
+        this.costs = costs;
+        this.next = next;
+    }
+
+    /**
+     * Get target tile index.
+     * 
+     * @return The target tile index.
+     */
+    int getTarget()
+    {
+        return target;
+    }
+
+    /**
+     * Check if target is reachable from tile.
+     * 
+     * @param index The tile index.
+     * @return <code>true</code> if reachable, <code>false</code> else.
+     */
+    boolean isReachable(int index)
+    {
+        return costs[index] < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Get next tile index toward target.
+     * 
+     * @param index The tile index.
+     * @return The next tile index, {@link #NONE} if target or unreachable.
+     */
+    int getNext(int index)
+    {
+        return next[index];
+    }
+}
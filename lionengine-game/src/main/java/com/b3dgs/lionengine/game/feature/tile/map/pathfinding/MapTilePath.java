@@ -19,6 +19,7 @@ package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
 import java.util.Collection;
 import java.util.Set;
 
+import com.b3dgs.lionengine.Listenable;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.Feature;
 import com.b3dgs.lionengine.game.Tiled;
@@ -30,7 +31,7 @@ import com.b3dgs.lionengine.geom.Area;
  * Represents the pathfinding feature of a map tile.
  */
 @FeatureInterface
-public interface MapTilePath extends Feature
+public interface MapTilePath extends Feature, Listenable<MapTilePathListener>
 {
     /**
      * Load map pathfinding from an external file.
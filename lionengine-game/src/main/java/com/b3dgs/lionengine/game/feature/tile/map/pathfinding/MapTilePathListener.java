@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+/**
+ * Map tile path events listener.
+ */
+public interface MapTilePathListener
+{
+    /**
+     * Notify when objects id set of a tile has changed.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     */
+    void notifyObjectsIdChanged(int tx, int ty);
+}
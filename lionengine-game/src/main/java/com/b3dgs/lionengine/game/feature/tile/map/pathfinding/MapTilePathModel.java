@@ -16,15 +16,13 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.b3dgs.lionengine.ListenableModel;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.game.FeatureProvider;
@@ -44,8 +42,15 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
 {
     /** Categories list. */
     private final Map<String, PathCategory> categories = new HashMap<>();
-    /** Path id mapping. */
-    private List<List<Set<Integer>>> tiles;
+    /** Listeners. */
+    private final ListenableModel<MapTilePathListener> listenable = new ListenableModel<>();
+    /** Objects id by tile index, only for tiles with objects. */
+    private final TileObjects objects = new TileObjects();
+
+    /** Number of horizontal tiles. */
+    private int widthInTile;
+    /** Number of vertical tiles. */
+    private int heightInTile;
 
     /** Map tile surface. */
     private MapTileSurface map;
@@ -100,16 +105,19 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
      */
     private boolean isBlocked(Pathfindable mover, int tx, int ty)
     {
-        final Collection<Integer> ids = getObjectsId(tx, ty);
-        int ignoredCount = 0;
-        for (final Integer id : ids)
+        if (!UtilMath.isBetween(tx, 0, widthInTile - 1) || !UtilMath.isBetween(ty, 0, heightInTile - 1))
+        {
+            return false;
+        }
+        final int[] ids = objects.get(ty * widthInTile + tx);
+        for (final int id : ids)
         {
-            if (mover.isIgnoredId(id))
+            if (!mover.isIgnoredId(Integer.valueOf(id)))
             {
-                ignoredCount++;
+                return true;
             }
         }
-        return ignoredCount < ids.size();
+        return false;
     }
 
     /**
@@ -257,6 +265,20 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
         return null;
     }
 
+    /**
+     * Notify listeners that objects id of tile changed.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     */
+    private void notifyObjectsIdChanged(int tx, int ty)
+    {
+        for (int i = 0; i < listenable.size(); i++)
+        {
+            listenable.get(i).notifyObjectsIdChanged(tx, ty);
+        }
+    }
+
     @Override
     public void prepare(FeatureProvider provider)
     {
@@ -266,6 +288,18 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
         group = provider.getFeature(MapTileGroup.class);
     }
 
+    @Override
+    public void addListener(MapTilePathListener listener)
+    {
+        listenable.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(MapTilePathListener listener)
+    {
+        listenable.removeListener(listener);
+    }
+
     @Override
     public void loadPathfinding(Media pathfindingConfig)
     {
@@ -276,8 +310,7 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
             categories.put(category.getName(), category);
         }
 
-        final int widthInTile;
-        final int heightInTile;
+        objects.clear();
         if (categories.isEmpty())
         {
             widthInTile = 0;
@@ -288,48 +321,38 @@ public class MapTilePathModel extends FeatureAbstract implements MapTilePath
             widthInTile = map.getInTileWidth();
             heightInTile = map.getInTileHeight();
         }
-        tiles = new ArrayList<>(heightInTile);
-
-        for (int v = 0; v < heightInTile; v++)
-        {
-            tiles.add(v, new ArrayList<>(widthInTile));
-            for (int h = 0; h < widthInTile; h++)
-            {
-                tiles.get(v).add(h, new HashSet<>(1));
-            }
-        }
     }
 
     @Override
     public void addObjectId(int tx, int ty, Integer id)
     {
-        if (tiles != null
-            && UtilMath.isBetween(tx, 0, map.getInTileWidth() - 1)
-            && UtilMath.isBetween(ty, 0, map.getInTileHeight() - 1))
+        if (UtilMath.isBetween(tx, 0, widthInTile - 1) && UtilMath.isBetween(ty, 0, heightInTile - 1))
         {
-            tiles.get(ty).get(tx).add(id);
+            if (objects.add(ty * widthInTile + tx, id.intValue()))
+            {
+                notifyObjectsIdChanged(tx, ty);
+            }
         }
     }
 
     @Override
     public void removeObjectId(int tx, int ty, Integer id)
     {
-        if (tiles != null
-            && UtilMath.isBetween(tx, 0, map.getInTileWidth() - 1)
-            && UtilMath.isBetween(ty, 0, map.getInTileHeight() - 1))
+        if (UtilMath.isBetween(tx, 0, widthInTile - 1) && UtilMath.isBetween(ty, 0, heightInTile - 1))
         {
-            tiles.get(ty).get(tx).remove(id);
+            if (objects.remove(ty * widthInTile + tx, id.intValue()))
+            {
+                notifyObjectsIdChanged(tx, ty);
+            }
         }
     }
 
     @Override
     public Set<Integer> getObjectsId(int tx, int ty)
     {
-        if (tiles != null
-            && UtilMath.isBetween(tx, 0, map.getInTileWidth() - 1)
-            && UtilMath.isBetween(ty, 0, map.getInTileHeight() - 1))
+        if (UtilMath.isBetween(tx, 0, widthInTile - 1) && UtilMath.isBetween(ty, 0, heightInTile - 1))
         {
-            return tiles.get(ty).get(tx);
+            return objects.getSet(ty * widthInTile + tx);
         }
         return Collections.emptySet();
     }
@@ -16,17 +16,29 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * A path determined by some path finding algorithm. A series of steps from the starting location to the target
  * location. This includes a step for the initial location.
+ * <p>
+ * Steps are stored in reverse order inside primitive arrays, so prepending is constant time, and storage is kept
+ * between {@link #clear()} calls to be reused by the next search.
+ * </p>
  */
 public final class Path
 {
-    /** List of steps. */
-    private final List<Step> steps = new ArrayList<>();
+    /** Default steps capacity. */
+    private static final int CAPACITY = 16;
+
+    /** Horizontal steps, in reverse order. */
+    private int[] xs = new int[CAPACITY];
+    /** Vertical steps, in reverse order. */
+    private int[] ys = new int[CAPACITY];
+    /** Number of steps. */
+    private int length;
+    /** Partial flag. */
+    private boolean partial;
 
     /**
      * Constructor.
@@ -44,7 +56,14 @@ public final class Path
      */
     public void prependStep(int x, int y)
     {
-        steps.add(0, new Step(x, y));
+        if (length == xs.length)
+        {
+            xs = Arrays.copyOf(xs, length * 2);
+            ys = Arrays.copyOf(ys, length * 2);
+        }
+        xs[length] = x;
+        ys[length] = y;
+        length++;
     }
 
     /**
@@ -54,7 +73,7 @@ public final class Path
      */
     public int getLength()
     {
-        return steps.size();
+        return length;
     }
 
     /**
@@ -62,10 +81,11 @@ public final class Path
      * 
      * @param index The index of the step whose x coordinate should be retrieved.
      * @return The x coordinate at the step.
+     * @throws IndexOutOfBoundsException If invalid index.
      */
     public int getX(int index)
     {
-        return steps.get(index).getX();
+        return xs[getIndex(index)];
     }
 
     /**
@@ -73,10 +93,32 @@ public final class Path
      * 
      * @param index The index of the step whose y coordinate should be retrieved.
      * @return The y coordinate at the step.
+     * @throws IndexOutOfBoundsException If invalid index.
      */
     public int getY(int index)
     {
-        return steps.get(index).getY();
+        return ys[getIndex(index)];
+    }
+
+    /**
+     * Set partial flag. A partial path does not reach the requested destination yet, and a new search is expected once
+     * its last step has been reached.
+     * 
+     * @param partial <code>true</code> if partial, <code>false</code> if complete.
+     */
+    public void setPartial(boolean partial)
+    {
+        this.partial = partial;
+    }
+
+    /**
+     * Check if path is partial.
+     * 
+     * @return <code>true</code> if partial, <code>false</code> if complete.
+     */
+    public boolean isPartial()
+    {
+        return partial;
     }
 
     /**
@@ -84,6 +126,23 @@ public final class Path
      */
     public void clear()
     {
-        steps.clear();
+        length = 0;
+        partial = false;
+    }
+
+    /**
+     * Get the internal index of step.
+     * 
+     * @param index The step index.
+     * @return The internal index.
+     * @throws IndexOutOfBoundsException If invalid index.
+     */
+    private int getIndex(int index)
+    {
+        if (index < 0 || index >= length)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+        }
+        return length - 1 - index;
     }
 }
@@ -33,4 +33,28 @@ public interface PathFinder
      * @return The path found from start to end, or null if no path can be found.
      */
     Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef);
+
+    /**
+     * Find a path from the starting location provided to the destination location avoiding blockages and attempting to
+     * honor costs provided by the tile map. The provided path storage may be reused by implementation.
+     * 
+     * @param mover The entity that will be moving along the path.
+     * @param dtx The x coordinate of the destination location.
+     * @param dty The y coordinate of the destination location.
+     * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
+     * @param reuse The path to reuse if possible (can be <code>null</code>).
+     * @return The path found from start to end, or null if no path can be found.
+     */
+    default Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef, Path reuse)
+    {
+        return findPath(mover, dtx, dty, ignoreRef);
+    }
+
+    /**
+     * Release resources, such as listeners added to map. Path finder must not be used anymore.
+     */
+    default void dispose()
+    {
+        // Nothing by default
+    }
 }
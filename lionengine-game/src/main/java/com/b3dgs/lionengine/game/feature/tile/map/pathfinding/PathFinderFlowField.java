@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
+
+/**
+ * A path finder implementation steering movers from flow fields, suited for large groups sharing a destination.
+ * <p>
+ * A flow field is generated once per destination and mover profile, with a single search from destination covering the
+ * whole map, and cached with least recently used eviction. Each search only follows field directions for a few steps,
+ * and returns a partial path until target is included, so {@link PathfindableModel} samples the field again once
+ * walked.
+ * </p>
+ * <p>
+ * Objects of movers using a field are ignored by it. A mover only uses its last field, and leaves it when searching
+ * another one. Cache is cleared on tile set, and fields are invalidated when an objects id change modifies their
+ * blocking. {@link #dispose()} must be called when not needed anymore.
+ * </p>
+ */
+final class PathFinderFlowField implements PathFinder, TileSetListener, MapTilePathListener
+{
+    /** Map surface reference. */
+    private final MapTileSurface mapSurface;
+    /** Map path reference. */
+    private final MapTilePath mapPath;
+    /** Live map path data. */
+    private final PathMirror mirror;
+    /** Path solver. */
+    private final PathSolver solver = new PathSolver(Astar.createHeuristicClosest());
+    /** Cached fields, in access order. */
+    private final Map<Key, Entry> fields;
+    /** Last used field by mover id. */
+    private final Map<Integer, Entry> owners = new HashMap<>();
+    /** Steps followed by search. */
+    private final int lookahead;
+    /** Steps buffer. */
+    private final int[] steps;
+
+    /**
+     * Internal constructor.
+     * 
+     * @param map The map to be searched. Must have the {@link MapTilePath} feature.
+     * @param capacity The maximum cached fields (must be strictly positive).
+     * @param lookahead The steps followed by search (must be strictly positive).
+     * @throws com.b3dgs.lionengine.LionEngineException If invalid arguments.
+     */
+    PathFinderFlowField(MapTile map, int capacity, int lookahead)
+    {
+        super();
+
+        Check.superiorStrict(capacity, 0);
+        Check.superiorStrict(lookahead, 0);
+
+        this.lookahead = lookahead;
+        steps = new int[lookahead + 1];
+        mapSurface = map.getFeature(MapTileSurface.class);
+        mapPath = map.getFeature(MapTilePath.class);
+        mirror = new PathMirror(map);
+        fields = new LinkedHashMap<>(capacity, 0.75F, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest)
+            {
+                final boolean evict = size() > capacity;
+                if (evict)
+                {
+                    release(eldest.getValue());
+                }
+                return evict;
+            }
+        };
+
+        mapSurface.addListener(this);
+        mapPath.addListener(this);
+    }
+
+    /**
+     * Get the number of cached fields.
+     * 
+     * @return The cached fields number.
+     */
+    int getCached()
+    {
+        return fields.size();
+    }
+
+    /**
+     * Get the number of movers using a cached field.
+     * 
+     * @return The users number.
+     */
+    int getUsers()
+    {
+        return owners.size();
+    }
+
+    /**
+     * Get field toward destination, generated if not cached.
+     * 
+     * @param mover The mover reference.
+     * @param destination The destination tile index.
+     * @param start The mover tile index.
+     * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
+     * @return The field, <code>null</code> if no available destination.
+     */
+    private FlowField getField(Pathfindable mover, int destination, int start, boolean ignoreRef)
+    {
+        final Key key = new Key(destination, PathProfile.create(mover, mirror.getCategories()), ignoreRef);
+        final Integer id = mover.getFeature(Identifiable.class).getId();
+
+        Entry entry = fields.get(key);
+        final boolean joined = entry != null && entry.users().add(id);
+        if (entry == null || joined && (entry.field() == null || !entry.field().isReachable(start)))
+        {
+            final Set<Integer> users = entry == null ? new HashSet<>() : entry.users();
+            users.add(id);
+            final int[] ids = users.stream().mapToInt(Integer::intValue).toArray();
+            final PathSnapshot snapshot = mirror.getSnapshot();
+            final FlowField field = solver.solveField(snapshot, key.profile(), destination, start, ids, ignoreRef);
+            entry = new Entry(field, snapshot, users);
+            fields.put(key, entry);
+            for (final Integer user : users)
+            {
+                owners.put(user, entry);
+            }
+        }
+        final Entry last = owners.put(id, entry);
+        if (last != null && last != entry)
+        {
+            last.users().remove(id);
+        }
+        return entry.field();
+    }
+
+    /**
+     * Release removed field users.
+     * 
+     * @param entry The removed field.
+     */
+    private void release(Entry entry)
+    {
+        for (final Integer user : entry.users())
+        {
+            if (owners.get(user) == entry)
+            {
+                owners.remove(user);
+            }
+        }
+    }
+
+    @Override
+    public void dispose()
+    {
+        mapSurface.removeListener(this);
+        mapPath.removeListener(this);
+        mirror.dispose();
+        fields.clear();
+        owners.clear();
+    }
+
+    @Override
+    public void onTileSet(Tile tile)
+    {
+        fields.clear();
+        owners.clear();
+    }
+
+    @Override
+    public void notifyObjectsIdChanged(int tx, int ty)
+    {
+        final Set<Integer> ids = mapPath.getObjectsId(tx, ty);
+        final Iterator<Map.Entry<Key, Entry>> iterator = fields.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            final Map.Entry<Key, Entry> current = iterator.next();
+            if (!current.getKey().ignoreRef() && current.getValue().isBlockingChanged(tx, ty, ids))
+            {
+                release(current.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef)
+    {
+        return findPath(mover, dtx, dty, ignoreRef, null);
+    }
+
+    @Override
+    // CHECKSTYLE IGNORE LINE: ReturnCount
+    public Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef, Path reuse)
+    {
+        mirror.prepare();
+
+        final int width = mirror.getWidth();
+        final int height = mirror.getHeight();
+        final int stx = mover.getInTileX();
+        final int sty = mover.getInTileY();
+        if (stx < 0 || sty < 0 || stx >= width || sty >= height || dtx < 0 || dty < 0 || dtx >= width || dty >= height)
+        {
+            return null;
+        }
+
+        final int start = sty * width + stx;
+        final FlowField field = getField(mover, dty * width + dtx, start, ignoreRef);
+        if (field == null || start == field.getTarget() || !field.isReachable(start))
+        {
+            return null;
+        }
+
+        int length = 0;
+        for (int node = start; node != FlowField.NONE && length <= lookahead; node = field.getNext(node))
+        {
+            steps[length] = node;
+            length++;
+        }
+
+        final Path path;
+        if (reuse == null)
+        {
+            path = new Path();
+        }
+        else
+        {
+            path = reuse;
+            path.clear();
+        }
+        for (int i = length - 1; i >= 0; i--)
+        {
+            path.prependStep(steps[i] % width, steps[i] / width);
+        }
+        path.setPartial(steps[length - 1] != field.getTarget());
+
+        return path;
+    }
+
+    /**
+     * Cached field key.
+     * 
+     * @param destination The requested destination tile index.
+     * @param profile The mover profile.
+     * @param ignoreRef The ignore map array reference checking.
+     */
+    private record Key(int destination, PathProfile profile, boolean ignoreRef)
+    {
+    }
+
+    /**
+     * Cached field with its users.
+     * 
+     * @param field The field, <code>null</code> if no available destination.
+     * @param snapshot The snapshot used by field.
+     * @param users The objects id of movers using field.
+     */
+    private record Entry(FlowField field, PathSnapshot snapshot, Set<Integer> users)
+    {
+        /**
+         * Check if objects blocking of tile changed since field generation.
+         * 
+         * @param tx The horizontal tile.
+         * @param ty The vertical tile.
+         * @param ids The current objects id of tile.
+         * @return <code>true</code> if changed, <code>false</code> else.
+         */
+        boolean isBlockingChanged(int tx, int ty, Set<Integer> ids)
+        {
+            final int index = ty * snapshot.getWidth() + tx;
+            final byte occupation = snapshot.getOccupation(index);
+            final boolean old = occupation == PathSnapshot.MULTIPLE
+                                || occupation == PathSnapshot.SINGLE
+                                   && !users.contains(Integer.valueOf(snapshot.getObject(index)));
+            final boolean current = ids.size() > 1 || ids.size() == 1 && !users.containsAll(ids);
+            return old != current;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+
+/**
+ * A path finder implementation that uses the AStar algorithm, with nodes stored as primitive arrays indexed by tile.
+ * <p>
+ * Nodes are stored by {@link PathNodes}, allocated on first search, and grown if map size increased. It can be shared
+ * by all pathfindable of the same thread.
+ * </p>
+ */
+final class PathFinderHeap implements PathFinder
+{
+    /** Map reference. */
+    private final MapTile map;
+    /** Map path reference. */
+    private final MapTilePath mapPath;
+    /** Max distance to search. */
+    private final int maxSearchDistance;
+    /** Heuristic used. */
+    private final Heuristic heuristic;
+    /** Search nodes. */
+    private final PathNodes nodes = new PathNodes();
+
+    /** Depth by node. */
+    private int[] depths = new int[0];
+    /** Map width in tile. */
+    private int width;
+
+    /**
+     * Internal constructor.
+     * 
+     * @param map The map to be searched. Must have the {@link MapTilePath} feature.
+     * @param maxSearchDistance The maximum depth we'll search before giving up.
+     * @param heuristic The heuristic used to determine the search order of the map.
+     */
+    PathFinderHeap(MapTile map, int maxSearchDistance, Heuristic heuristic)
+    {
+        super();
+
+        this.map = map;
+        this.maxSearchDistance = maxSearchDistance;
+        this.heuristic = heuristic;
+        mapPath = map.getFeature(MapTilePath.class);
+    }
+
+    /**
+     * Prepare nodes storage and start a new search generation.
+     */
+    private void prepare()
+    {
+        final int count = map.getInTileWidth() * map.getInTileHeight();
+        width = map.getInTileWidth();
+        nodes.prepare(count);
+        if (depths.length < count)
+        {
+            depths = new int[count];
+        }
+    }
+
+    /**
+     * Check if a given location is valid for the supplied mover.
+     * 
+     * @param mover The mover that would hold a given location.
+     * @param stx The starting x coordinate.
+     * @param sty The starting y coordinate.
+     * @param dtx The x coordinate of the location to check.
+     * @param dty The y coordinate of the location to check.
+     * @param ignoreRef The ignore map reference array checking.
+     * @return <code>true</code> if the location is valid for the given mover, <code>false</code> else.
+     */
+    private boolean isValidLocation(Pathfindable mover, int stx, int sty, int dtx, int dty, boolean ignoreRef)
+    {
+        boolean invalid = dtx < 0 || dty < 0 || dtx >= map.getInTileWidth() || dty >= map.getInTileHeight();
+
+        if (!invalid && (stx != dtx || sty != dty))
+        {
+            invalid = mapPath.isBlocked(mover, dtx, dty, ignoreRef);
+        }
+
+        return !invalid;
+    }
+
+    /**
+     * Expand node neighbors.
+     * 
+     * @param mover The entity that will be moving along the path.
+     * @param stx The x coordinate of the start location.
+     * @param sty The y coordinate of the start location.
+     * @param dtx The x coordinate of the destination location.
+     * @param dty The y coordinate of the destination location.
+     * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
+     * @param current The current node index.
+     * @param maxDepth The last max depth.
+     * @return The next max depth.
+     */
+    private int expand(Pathfindable mover,
+                       int stx,
+                       int sty,
+                       int dtx,
+                       int dty,
+                       boolean ignoreRef,
+                       int current,
+                       int maxDepth)
+    {
+        int depth = maxDepth;
+        final int cx = current % width;
+        final int cy = current / width;
+        final Tile tile = map.getTile(cx, cy);
+        final String category = mapPath.getCategory(tile);
+        final double cost = nodes.getCost(current) + mapPath.getCost(mover, cx, cy);
+
+        for (int y = -1; y < 2; y++)
+        {
+            for (int x = -1; x < 2; x++)
+            {
+                if ((x != 0 || y != 0)
+                    && mover.isMovementAllowed(category, MovementTile.from(x, y))
+                    && isValidLocation(mover, stx, sty, cx + x, cy + y, ignoreRef))
+                {
+                    depth = Math.max(depth, relax(current, cx + x, cy + y, dtx, dty, cost));
+                }
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Update neighbor if reached with a lower cost.
+     * 
+     * @param current The current node index.
+     * @param tx The neighbor horizontal location.
+     * @param ty The neighbor vertical location.
+     * @param dtx The x coordinate of the destination location.
+     * @param dty The y coordinate of the destination location.
+     * @param cost The cost to reach neighbor from current.
+     * @return The neighbor depth.
+     */
+    private int relax(int current, int tx, int ty, int dtx, int dty, double cost)
+    {
+        final int neighbour = ty * width + tx;
+        if (!nodes.isVisited(neighbour))
+        {
+            nodes.open(neighbour, cost, heuristic.getCost(tx, ty, dtx, dty), current);
+            depths[neighbour] = depths[current] + 1;
+        }
+        else if (nodes.update(neighbour, cost, current))
+        {
+            depths[neighbour] = depths[current] + 1;
+        }
+        return depths[neighbour];
+    }
+
+    /**
+     * Find a path from the starting location provided to the destination location avoiding blockages and attempting to
+     * honor costs provided by the tile map.
+     * 
+     * @param mover The entity that will be moving along the path.
+     * @param dtx The x coordinate of the destination location.
+     * @param dty The y coordinate of the destination location.
+     * @param ignoreRef The ignore map array reference checking (<code>true</code> to ignore references).
+     * @param last The last available free tile used if blocked, <code>null</code> if none.
+     * @param reuse The path to reuse (can be <code>null</code>).
+     * @return The path found from start to end, or null if no path can be found.
+     */
+    // CHECKSTYLE IGNORE LINE: ReturnCount
+    private Path findPathRecursive(Pathfindable mover, int dtx, int dty, boolean ignoreRef, CoordTile last, Path reuse)
+    {
+        final int stx = mover.getInTileX();
+        final int sty = mover.getInTileY();
+
+        if (mapPath.isBlocked(mover, dtx, dty, false) && UtilMath.getDistance(stx, sty, dtx, dty) <= 1)
+        {
+            return null;
+        }
+        if (mapPath.isBlocked(mover, dtx, dty, ignoreRef))
+        {
+            final CoordTile tile = mapPath.getClosestAvailableTile(mover, dtx, dty, stx, sty, map.getInTileRadius());
+            if (tile == null || tile.equals(last))
+            {
+                return null;
+            }
+            return findPathRecursive(mover, tile.getX(), tile.getY(), ignoreRef, tile, reuse);
+        }
+        if (stx < 0 || sty < 0 || stx >= map.getInTileWidth() || sty >= map.getInTileHeight())
+        {
+            return null;
+        }
+
+        prepare();
+
+        final int start = sty * width + stx;
+        final int destination = dty * width + dtx;
+        nodes.open(start, 0.0, heuristic.getCost(stx, sty, dtx, dty), PathNodes.NONE);
+        depths[start] = 0;
+
+        int maxDepth = 0;
+        while (maxDepth < maxSearchDistance && !nodes.isEmpty())
+        {
+            final int current = nodes.pop();
+            if (current == destination)
+            {
+                break;
+            }
+            maxDepth = expand(mover, stx, sty, dtx, dty, ignoreRef, current, maxDepth);
+        }
+        if (destination == start || !nodes.isVisited(destination))
+        {
+            return null;
+        }
+
+        final Path path;
+        if (reuse == null)
+        {
+            path = new Path();
+        }
+        else
+        {
+            path = reuse;
+            path.clear();
+        }
+        for (int node = destination; node != PathNodes.NONE; node = nodes.getParent(node))
+        {
+            path.prependStep(node % width, node / width);
+        }
+        return path;
+    }
+
+    @Override
+    public Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef)
+    {
+        return findPathRecursive(mover, dtx, dty, ignoreRef, null, null);
+    }
+
+    @Override
+    public Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef, Path reuse)
+    {
+        return findPathRecursive(mover, dtx, dty, ignoreRef, null, reuse);
+    }
+}
@@ -0,0 +1,843 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
+
+/**
+ * A hierarchical path finder implementation (HPA*), suited for large maps.
+ * <p>
+ * Map is split into square clusters. Entrances are placed along walkable borders between adjacent clusters, and
+ * linked by intra cluster costs computed with a search bounded to the cluster. A search is first done on this abstract
+ * graph, then only the first segments are refined to tiles, and the path is flagged as partial until destination is
+ * included. Mover is expected to search again when end of partial path is reached, as done by
+ * {@link PathfindableModel}.
+ * </p>
+ * <p>
+ * An abstract graph is kept for each mover profile (blocking, cost and movements by category). Graph only depends on
+ * tiles, objects references are checked when refining. Clusters are invalidated on tile set, and lazily rebuilt on next
+ * search. Searches nodes are stored by {@link PathNodes}, reused between searches. {@link #dispose()} must be called
+ * when not needed anymore.
+ * </p>
+ */
+final class PathFinderHierarchical implements PathFinder, TileSetListener
+{
+    /** Number of clusters refined ahead. */
+    private static final int REFINED_CLUSTERS = 2;
+    /** Refine search depth factor. */
+    private static final int REFINE_DEPTH = 4;
+    /** Entrance length from which two transitions are used. */
+    private static final int ENTRANCE_LONG = 6;
+
+    /** Map reference. */
+    private final MapTile map;
+    /** Map surface reference. */
+    private final MapTileSurface mapSurface;
+    /** Map path reference. */
+    private final MapTilePath mapPath;
+    /** Cluster size in tile. */
+    private final int clusterSize;
+    /** Heuristic used. */
+    private final Heuristic heuristic;
+    /** Refine path finder. */
+    private final PathFinderHeap refine;
+    /** Abstract graphs by mover profile. */
+    private final Map<String, Graph> graphs = new HashMap<>();
+    /** Profile key builder. */
+    private final StringBuilder profile = new StringBuilder();
+    /** Local search nodes, indexed by cluster tile. */
+    private final PathNodes local = new PathNodes();
+    /** Abstract search nodes, indexed by map tile. */
+    private final PathNodes nodes = new PathNodes();
+
+    /** Cost to destination by cluster node. */
+    private double[] ends = new double[0];
+    /** Abstract search generation by cluster node reaching destination. */
+    private int[] endsGeneration = new int[0];
+    /** Clusters to rebuild. */
+    private boolean[] rebuild = new boolean[0];
+    /** Map width in tile. */
+    private int width;
+    /** Map height in tile. */
+    private int height;
+    /** Horizontal clusters number. */
+    private int clustersX;
+    /** Vertical clusters number. */
+    private int clustersY;
+
+    /**
+     * Internal constructor.
+     * 
+     * @param map The map to be searched. Must have the {@link MapTilePath} feature.
+     * @param clusterSize The cluster size in tile (must be strictly positive).
+     * @param heuristic The heuristic used to determine the search order of the map.
+     * @throws com.b3dgs.lionengine.LionEngineException If invalid arguments.
+     */
+    PathFinderHierarchical(MapTile map, int clusterSize, Heuristic heuristic)
+    {
+        super();
+
+        Check.superiorStrict(clusterSize, 0);
+
+        this.map = map;
+        this.clusterSize = clusterSize;
+        this.heuristic = heuristic;
+        mapSurface = map.getFeature(MapTileSurface.class);
+        mapPath = map.getFeature(MapTilePath.class);
+        refine = new PathFinderHeap(map, clusterSize * REFINED_CLUSTERS * REFINE_DEPTH, heuristic);
+
+        mapSurface.addListener(this);
+    }
+
+    /**
+     * Prepare clusters, reset graphs if map size changed.
+     */
+    private void prepare()
+    {
+        if (width != map.getInTileWidth() || height != map.getInTileHeight())
+        {
+            width = map.getInTileWidth();
+            height = map.getInTileHeight();
+            clustersX = (int) Math.ceil(width / (double) clusterSize);
+            clustersY = (int) Math.ceil(height / (double) clusterSize);
+            rebuild = new boolean[clustersX * clustersY];
+            graphs.clear();
+        }
+    }
+
+    /**
+     * Check if tile is blocked for the abstract graph, ignoring objects references.
+     * 
+     * @param mover The mover reference.
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     * @return <code>true</code> if blocked, <code>false</code> else.
+     */
+    private boolean isBlocked(Pathfindable mover, int tx, int ty)
+    {
+        return mapPath.isBlocked(mover, tx, ty, true);
+    }
+
+    /**
+     * Get the abstract graph of mover profile, created if needed.
+     * 
+     * @param mover The mover reference.
+     * @return The graph reference.
+     */
+    private Graph getGraph(Pathfindable mover)
+    {
+        profile.setLength(0);
+        for (final String category : mapPath.getCategories())
+        {
+            profile.append('|').append(category).append(':');
+            if (mover.isBlocking(category))
+            {
+                profile.append('#');
+            }
+            else
+            {
+                int movements = 0;
+                for (final MovementTile movement : MovementTile.values())
+                {
+                    if (mover.isMovementAllowed(category, movement))
+                    {
+                        movements |= 1 << movement.ordinal();
+                    }
+                }
+                profile.append(movements);
+                if (movements != 0)
+                {
+                    profile.append(':').append(mover.getCost(category));
+                }
+            }
+        }
+        return graphs.computeIfAbsent(profile.toString(), k -> new Graph(clustersX * clustersY, width * height));
+    }
+
+    /**
+     * Get the cluster index of tile.
+     * 
+     * @param tile The tile index.
+     * @return The cluster index.
+     */
+    private int getCluster(int tile)
+    {
+        return tile / width / clusterSize * clustersX + tile % width / clusterSize;
+    }
+
+    /**
+     * Rebuild invalidated clusters.
+     * 
+     * @param mover The mover reference.
+     * @param graph The graph to refresh.
+     */
+    private void refresh(Pathfindable mover, Graph graph)
+    {
+        final int count = clustersX * clustersY;
+        for (int cluster = 0; cluster < count; cluster++)
+        {
+            if (graph.dirty[cluster])
+            {
+                final int cx = cluster % clustersX;
+                final int cy = cluster / clustersX;
+                computeBorders(mover, graph, cluster);
+                rebuild[cluster] = true;
+                if (cx > 0)
+                {
+                    computeBorders(mover, graph, cluster - 1);
+                    rebuild[cluster - 1] = true;
+                }
+                if (cy > 0)
+                {
+                    computeBorders(mover, graph, cluster - clustersX);
+                    rebuild[cluster - clustersX] = true;
+                }
+                if (cx < clustersX - 1)
+                {
+                    rebuild[cluster + 1] = true;
+                }
+                if (cy < clustersY - 1)
+                {
+                    rebuild[cluster + clustersX] = true;
+                }
+                graph.dirty[cluster] = false;
+            }
+        }
+        for (int cluster = 0; cluster < count; cluster++)
+        {
+            if (rebuild[cluster])
+            {
+                computeEdges(mover, graph, cluster);
+                rebuild[cluster] = false;
+            }
+        }
+        graph.changed = false;
+    }
+
+    /**
+     * Compute right and bottom borders transitions of cluster.
+     * 
+     * @param mover The mover reference.
+     * @param graph The graph reference.
+     * @param cluster The cluster index.
+     */
+    private void computeBorders(Pathfindable mover, Graph graph, int cluster)
+    {
+        final int cx = cluster % clustersX * clusterSize;
+        final int cy = cluster / clustersX * clusterSize;
+        final int ex = Math.min(cx + clusterSize, width);
+        final int ey = Math.min(cy + clusterSize, height);
+
+        final List<Transition> right = graph.borders.get(cluster * 2);
+        right.clear();
+        if (ex < width)
+        {
+            computeBorder(mover, right, ex - 1, cy, 0, 1, ey - cy, 1, 0);
+        }
+        final List<Transition> bottom = graph.borders.get(cluster * 2 + 1);
+        bottom.clear();
+        if (ey < height)
+        {
+            computeBorder(mover, bottom, cx, ey - 1, 1, 0, ex - cx, 0, 1);
+        }
+    }
+
+    /**
+     * Compute border transitions, one at middle of each entrance, or one at each extremity of long entrances.
+     * 
+     * @param mover The mover reference.
+     * @param transitions The transitions found.
+     * @param sx The border starting horizontal tile, inside cluster.
+     * @param sy The border starting vertical tile, inside cluster.
+     * @param ax The border horizontal step.
+     * @param ay The border vertical step.
+     * @param length The border length.
+     * @param nx The horizontal direction to neighbor cluster.
+     * @param ny The vertical direction to neighbor cluster.
+     */
+    private void computeBorder(Pathfindable mover,
+                               List<Transition> transitions,
+                               int sx,
+                               int sy,
+                               int ax,
+                               int ay,
+                               int length,
+                               int nx,
+                               int ny)
+    {
+        int start = -1;
+        for (int i = 0; i <= length; i++)
+        {
+            final boolean passable = i < length && isPassable(mover, sx + ax * i, sy + ay * i, nx, ny);
+            if (passable && start < 0)
+            {
+                start = i;
+            }
+            else if (!passable && start > -1)
+            {
+                final int end = i - 1;
+                if (end - start + 1 >= ENTRANCE_LONG)
+                {
+                    addTransition(mover, transitions, sx + ax * start, sy + ay * start, nx, ny);
+                    addTransition(mover, transitions, sx + ax * end, sy + ay * end, nx, ny);
+                }
+                else
+                {
+                    final int middle = (start + end) / 2;
+                    addTransition(mover, transitions, sx + ax * middle, sy + ay * middle, nx, ny);
+                }
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Check if transition between tile and its neighbor can be crossed in at least one direction.
+     * 
+     * @param mover The mover reference.
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     * @param nx The horizontal direction to neighbor.
+     * @param ny The vertical direction to neighbor.
+     * @return <code>true</code> if passable, <code>false</code> else.
+     */
+    private boolean isPassable(Pathfindable mover, int tx, int ty, int nx, int ny)
+    {
+        return !isBlocked(mover, tx, ty)
+               && !isBlocked(mover, tx + nx, ty + ny)
+               && (isAllowed(mover, tx, ty, nx, ny) || isAllowed(mover, tx + nx, ty + ny, -nx, -ny));
+    }
+
+    /**
+     * Check if movement is allowed from tile.
+     * 
+     * @param mover The mover reference.
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     * @param mx The horizontal movement.
+     * @param my The vertical movement.
+     * @return <code>true</code> if allowed, <code>false</code> else.
+     */
+    private boolean isAllowed(Pathfindable mover, int tx, int ty, int mx, int my)
+    {
+        final Tile tile = map.getTile(tx, ty);
+        return mover.isMovementAllowed(mapPath.getCategory(tile), MovementTile.from(mx, my));
+    }
+
+    /**
+     * Add transition between tile and its neighbor.
+     * 
+     * @param mover The mover reference.
+     * @param transitions The transitions list.
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     * @param nx The horizontal direction to neighbor.
+     * @param ny The vertical direction to neighbor.
+     */
+    private void addTransition(Pathfindable mover, List<Transition> transitions, int tx, int ty, int nx, int ny)
+    {
+        transitions.add(new Transition(ty * width + tx,
+                                       (ty + ny) * width + tx + nx,
+                                       isAllowed(mover, tx, ty, nx, ny),
+                                       isAllowed(mover, tx + nx, ty + ny, -nx, -ny)));
+    }
+
+    /**
+     * Compute cluster nodes and their edges.
+     * 
+     * @param mover The mover reference.
+     * @param graph The graph reference.
+     * @param cluster The cluster index.
+     */
+    private void computeEdges(Pathfindable mover, Graph graph, int cluster)
+    {
+        final List<Integer> clusterNodes = graph.nodes.get(cluster);
+        for (final Integer node : clusterNodes)
+        {
+            graph.getEdges(node.intValue()).clear();
+        }
+        clusterNodes.clear();
+
+        addInterEdges(mover, graph, clusterNodes, graph.borders.get(cluster * 2), true);
+        addInterEdges(mover, graph, clusterNodes, graph.borders.get(cluster * 2 + 1), true);
+        if (cluster % clustersX > 0)
+        {
+            addInterEdges(mover, graph, clusterNodes, graph.borders.get((cluster - 1) * 2), false);
+        }
+        if (cluster >= clustersX)
+        {
+            addInterEdges(mover, graph, clusterNodes, graph.borders.get((cluster - clustersX) * 2 + 1), false);
+        }
+
+        for (final Integer node : clusterNodes)
+        {
+            search(mover, cluster, node.intValue());
+            final List<Edge> edges = graph.getEdges(node.intValue());
+            for (final Integer other : clusterNodes)
+            {
+                final double cost = getLocalCost(cluster, other.intValue());
+                if (!other.equals(node) && cost < Double.POSITIVE_INFINITY)
+                {
+                    edges.add(new Edge(other.intValue(), cost));
+                }
+            }
+        }
+    }
+
+    /**
+     * Add transitions side as cluster nodes, with edges crossing border.
+     * 
+     * @param mover The mover reference.
+     * @param graph The graph reference.
+     * @param clusterNodes The cluster nodes.
+     * @param transitions The border transitions.
+     * @param first <code>true</code> if cluster is the first side of transitions, <code>false</code> if second.
+     */
+    private void addInterEdges(Pathfindable mover,
+                               Graph graph,
+                               List<Integer> clusterNodes,
+                               List<Transition> transitions,
+                               boolean first)
+    {
+        for (final Transition transition : transitions)
+        {
+            final Integer node = Integer.valueOf(first ? transition.a() : transition.b());
+            final int other = first ? transition.b() : transition.a();
+            if (!clusterNodes.contains(node))
+            {
+                clusterNodes.add(node);
+            }
+            if (first ? transition.forward() : transition.backward())
+            {
+                final int tile = node.intValue();
+                final double cost = mapPath.getCost(mover, tile % width, tile / width);
+                graph.getEdges(tile).add(new Edge(other, cost));
+            }
+        }
+    }
+
+    /**
+     * Search costs from tile to all tiles of its cluster.
+     * 
+     * @param mover The mover reference.
+     * @param cluster The cluster index.
+     * @param from The starting tile index.
+     */
+    private void search(Pathfindable mover, int cluster, int from)
+    {
+        local.prepare(clusterSize * clusterSize);
+
+        final int cx = cluster % clustersX * clusterSize;
+        final int cy = cluster / clustersX * clusterSize;
+        final int ex = Math.min(cx + clusterSize, width);
+        final int ey = Math.min(cy + clusterSize, height);
+
+        final int start = (from / width - cy) * clusterSize + from % width - cx;
+        local.open(start, 0.0, 0.0, PathNodes.NONE);
+
+        while (!local.isEmpty())
+        {
+            final int current = local.pop();
+            final int tx = cx + current % clusterSize;
+            final int ty = cy + current / clusterSize;
+            final String category = mapPath.getCategory(map.getTile(tx, ty));
+            final double next = local.getCost(current) + mapPath.getCost(mover, tx, ty);
+
+            for (int y = Math.max(cy, ty - 1); y < Math.min(ey, ty + 2); y++)
+            {
+                for (int x = Math.max(cx, tx - 1); x < Math.min(ex, tx + 2); x++)
+                {
+                    final int neighbour = (y - cy) * clusterSize + x - cx;
+                    if ((x != tx || y != ty)
+                        && mover.isMovementAllowed(category, MovementTile.from(x - tx, y - ty))
+                        && !isBlocked(mover, x, y))
+                    {
+                        if (local.isVisited(neighbour))
+                        {
+                            local.update(neighbour, next, current);
+                        }
+                        else
+                        {
+                            local.open(neighbour, next, 0.0, current);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the last local search cost to tile.
+     * 
+     * @param cluster The searched cluster index.
+     * @param tile The tile index.
+     * @return The cost, {@link Double#POSITIVE_INFINITY} if not reached.
+     */
+    private double getLocalCost(int cluster, int tile)
+    {
+        final int cx = cluster % clustersX * clusterSize;
+        final int cy = cluster / clustersX * clusterSize;
+        final int index = (tile / width - cy) * clusterSize + tile % width - cx;
+        if (local.isVisited(index))
+        {
+            return local.getCost(index);
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Search abstract route from start to destination. Route is then read backward from destination with
+     * {@link PathNodes#getParent(int)}.
+     * 
+     * @param mover The mover reference.
+     * @param graph The graph reference.
+     * @param start The start tile index.
+     * @param destination The destination tile index.
+     * @return <code>true</code> if route found, <code>false</code> else.
+     */
+    private boolean searchAbstract(Pathfindable mover, Graph graph, int start, int destination)
+    {
+        final int count = width * height;
+        if (nodes.prepare(count))
+        {
+            if (ends.length < count)
+            {
+                ends = new double[count];
+                endsGeneration = new int[count];
+            }
+            else
+            {
+                Arrays.fill(endsGeneration, 0);
+            }
+        }
+        final int generation = nodes.getGeneration();
+        final int startCluster = getCluster(start);
+        final int destinationCluster = getCluster(destination);
+
+        final List<Integer> destinationNodes = graph.nodes.get(destinationCluster);
+        for (int i = 0; i < destinationNodes.size(); i++)
+        {
+            final int node = destinationNodes.get(i).intValue();
+            search(mover, destinationCluster, node);
+            final double cost = getLocalCost(destinationCluster, destination);
+            if (cost < Double.POSITIVE_INFINITY)
+            {
+                ends[node] = cost;
+                endsGeneration[node] = generation;
+            }
+        }
+        search(mover, startCluster, start);
+
+        nodes.open(start, 0.0, getHeuristic(start, destination), PathNodes.NONE);
+        while (!nodes.isEmpty())
+        {
+            final int current = nodes.pop();
+            if (current == destination)
+            {
+                break;
+            }
+            final double cost = nodes.getCost(current);
+            if (current == start)
+            {
+                relaxStart(graph, startCluster, destinationCluster, start, destination);
+            }
+            final List<Edge> edges = graph.findEdges(current);
+            for (int i = 0; i < edges.size(); i++)
+            {
+                final Edge edge = edges.get(i);
+                relax(current, edge.to(), cost + edge.cost(), destination);
+            }
+            if (endsGeneration[current] == generation)
+            {
+                relax(current, destination, cost + ends[current], destination);
+            }
+        }
+        return nodes.isVisited(destination);
+    }
+
+    /**
+     * Relax start edges, to its cluster nodes and destination if in same cluster, from last local search.
+     * 
+     * @param graph The graph reference.
+     * @param startCluster The start cluster index.
+     * @param destinationCluster The destination cluster index.
+     * @param start The start tile index.
+     * @param destination The destination tile index.
+     */
+    private void relaxStart(Graph graph, int startCluster, int destinationCluster, int start, int destination)
+    {
+        final List<Integer> startNodes = graph.nodes.get(startCluster);
+        for (int i = 0; i < startNodes.size(); i++)
+        {
+            final int node = startNodes.get(i).intValue();
+            final double cost = getLocalCost(startCluster, node);
+            if (cost < Double.POSITIVE_INFINITY)
+            {
+                relax(start, node, cost, destination);
+            }
+        }
+        if (startCluster == destinationCluster)
+        {
+            final double cost = getLocalCost(startCluster, destination);
+            if (cost < Double.POSITIVE_INFINITY)
+            {
+                relax(start, destination, cost, destination);
+            }
+        }
+    }
+
+    /**
+     * Update abstract node if reached with a lower cost.
+     * 
+     * @param current The current tile index.
+     * @param to The reached tile index.
+     * @param cost The cost to reached tile.
+     * @param destination The destination tile index.
+     */
+    private void relax(int current, int to, double cost, int destination)
+    {
+        if (nodes.isVisited(to))
+        {
+            nodes.update(to, cost, current);
+        }
+        else
+        {
+            nodes.open(to, cost, getHeuristic(to, destination), current);
+        }
+    }
+
+    /**
+     * Get heuristic cost between tiles.
+     * 
+     * @param tile The tile index.
+     * @param destination The destination tile index.
+     * @return The heuristic cost.
+     */
+    private double getHeuristic(int tile, int destination)
+    {
+        return heuristic.getCost(tile % width, tile / width, destination % width, destination / width);
+    }
+
+    /**
+     * Invalidate cluster containing tile.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     */
+    private void invalidate(int tx, int ty)
+    {
+        if (tx >= 0 && ty >= 0 && tx < width && ty < height)
+        {
+            final int cluster = ty / clusterSize * clustersX + tx / clusterSize;
+            for (final Graph graph : graphs.values())
+            {
+                graph.dirty[cluster] = true;
+                graph.changed = true;
+            }
+        }
+    }
+
+    @Override
+    public Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef)
+    {
+        return findPath(mover, dtx, dty, ignoreRef, null);
+    }
+
+    @Override
+    // CHECKSTYLE IGNORE LINE: ReturnCount
+    public Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef, Path reuse)
+    {
+        final int stx = mover.getInTileX();
+        final int sty = mover.getInTileY();
+        if (stx < 0 || sty < 0 || stx >= map.getInTileWidth() || sty >= map.getInTileHeight())
+        {
+            return null;
+        }
+        if (Math.max(Math.abs(dtx - stx), Math.abs(dty - sty)) <= clusterSize)
+        {
+            final Path path = refine.findPath(mover, dtx, dty, ignoreRef, reuse);
+            if (path != null)
+            {
+                return path;
+            }
+        }
+
+        int tx = dtx;
+        int ty = dty;
+        if (mapPath.isBlocked(mover, tx, ty, ignoreRef))
+        {
+            final CoordTile tile = mapPath.getClosestAvailableTile(mover, tx, ty, stx, sty, map.getInTileRadius());
+            if (tile == null)
+            {
+                return null;
+            }
+            tx = tile.getX();
+            ty = tile.getY();
+        }
+
+        prepare();
+
+        final Graph graph = getGraph(mover);
+        if (graph.changed)
+        {
+            refresh(mover, graph);
+        }
+
+        final int start = sty * width + stx;
+        final int destination = ty * width + tx;
+        if (!searchAbstract(mover, graph, start, destination))
+        {
+            return null;
+        }
+
+        int waypoint = destination;
+        for (int node = destination; node != PathNodes.NONE; node = nodes.getParent(node))
+        {
+            final int distance = Math.max(Math.abs(node % width - stx), Math.abs(node / width - sty));
+            if (distance >= clusterSize * REFINED_CLUSTERS)
+            {
+                waypoint = node;
+            }
+        }
+
+        final Path path = refine.findPath(mover, waypoint % width, waypoint / width, ignoreRef, reuse);
+        if (path != null)
+        {
+            path.setPartial(waypoint != destination);
+        }
+        return path;
+    }
+
+    @Override
+    public void dispose()
+    {
+        mapSurface.removeListener(this);
+    }
+
+    @Override
+    public void onTileSet(Tile tile)
+    {
+        invalidate(tile.getInTileX(), tile.getInTileY());
+    }
+
+    /**
+     * Abstract graph of a mover profile.
+     */
+    private static final class Graph
+    {
+        /** Dirty flag by cluster. */
+        private final boolean[] dirty;
+        /** Right and bottom border transitions by cluster. */
+        private final List<List<Transition>> borders;
+        /** Nodes by cluster. */
+        private final List<List<Integer>> nodes;
+        /** Edges index by tile, kept once tile has been a node. */
+        private final int[] ids;
+        /** Edges by index. */
+        private final List<List<Edge>> edges = new ArrayList<>();
+        /** Changed flag. */
+        private boolean changed = true;
+
+        /**
+         * Create graph, with all clusters invalidated.
+         * 
+         * @param clusters The clusters number.
+         * @param tiles The tiles number.
+         */
+        Graph(int clusters, int tiles)
+        {
+            super();
+
+            dirty = new boolean[clusters];
+            Arrays.fill(dirty, true);
+            borders = new ArrayList<>(clusters * 2);
+            nodes = new ArrayList<>(clusters);
+            for (int i = 0; i < clusters; i++)
+            {
+                borders.add(new ArrayList<>());
+                borders.add(new ArrayList<>());
+                nodes.add(new ArrayList<>());
+            }
+            ids = new int[tiles];
+            Arrays.fill(ids, PathNodes.NONE);
+        }
+
+        /**
+         * Get node edges, created if needed.
+         * 
+         * @param tile The node tile index.
+         * @return The node edges.
+         */
+        List<Edge> getEdges(int tile)
+        {
+            if (ids[tile] == PathNodes.NONE)
+            {
+                ids[tile] = edges.size();
+                edges.add(new ArrayList<>());
+            }
+            return edges.get(ids[tile]);
+        }
+
+        /**
+         * Find node edges.
+         * 
+         * @param tile The tile index.
+         * @return The node edges, empty if tile has never been a node.
+         */
+        List<Edge> findEdges(int tile)
+        {
+            if (ids[tile] == PathNodes.NONE)
+            {
+                return Collections.emptyList();
+            }
+            return edges.get(ids[tile]);
+        }
+    }
+
+    /**
+     * Border transition between two adjacent tiles of different clusters.
+     * 
+     * @param a The first tile index.
+     * @param b The second tile index.
+     * @param forward <code>true</code> if movement allowed from first to second.
+     * @param backward <code>true</code> if movement allowed from second to first.
+     */
+    private record Transition(int a, int b, boolean forward, boolean backward)
+    {
+    }
+
+    /**
+     * Abstract graph edge.
+     * 
+     * @param to The target node.
+     * @param cost The edge cost.
+     */
+    private record Edge(int to, double cost)
+    {
+    }
+}
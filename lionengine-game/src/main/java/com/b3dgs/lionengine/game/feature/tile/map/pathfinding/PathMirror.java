@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
+
+/**
+ * Live copy of map path data, kept up to date with tile set and objects id changes, and providing
+ * {@link PathSnapshot} copied only when changed. Must be used from update thread. {@link #dispose()} must be called when
+ * not needed anymore.
+ */
+final class PathMirror
+{
+    /** Map reference. */
+    private final MapTile map;
+    /** Map surface reference. */
+    private final MapTileSurface mapSurface;
+    /** Map path reference. */
+    private final MapTilePath mapPath;
+    /** Tile set listener. */
+    private final TileSetListener tileSetListener = this::onTileSet;
+    /** Objects id listener. */
+    private final MapTilePathListener objectsListener = this::onObjectsIdChanged;
+    /** Categories in index order. */
+    private final List<String> categories = new ArrayList<>();
+    /** Category index by name. */
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    /** Live category index by tile. */
+    private int[] tiles = new int[0];
+    /** Live occupation by tile. */
+    private byte[] occupations = new byte[0];
+    /** Live object id by tile. */
+    private int[] objects = new int[0];
+    /** Width in tile. */
+    private int width;
+    /** Height in tile. */
+    private int height;
+    /** Live data changed since last snapshot. */
+    private boolean changed;
+    /** Last snapshot. */
+    private PathSnapshot snapshot;
+
+    /**
+     * Create mirror.
+     * 
+     * @param map The map reference, with {@link MapTilePath} feature.
+     */
+    PathMirror(MapTile map)
+    {
+        super();
+
+        this.map = map;
+        mapSurface = map.getFeature(MapTileSurface.class);
+        mapPath = map.getFeature(MapTilePath.class);
+
+        mapSurface.addListener(tileSetListener);
+        mapPath.addListener(objectsListener);
+    }
+
+    /**
+     * Stop listening map changes.
+     */
+    void dispose()
+    {
+        mapSurface.removeListener(tileSetListener);
+        mapPath.removeListener(objectsListener);
+    }
+
+    /**
+     * Prepare live data, fully read if map size changed.
+     */
+    void prepare()
+    {
+        if (width != map.getInTileWidth() || height != map.getInTileHeight() || categories.isEmpty())
+        {
+            width = map.getInTileWidth();
+            height = map.getInTileHeight();
+            categories.clear();
+            indexes.clear();
+            for (final String category : mapPath.getCategories())
+            {
+                indexes.put(category, Integer.valueOf(categories.size()));
+                categories.add(category);
+            }
+            tiles = new int[width * height];
+            occupations = new byte[width * height];
+            objects = new int[width * height];
+            for (int ty = 0; ty < height; ty++)
+            {
+                for (int tx = 0; tx < width; tx++)
+                {
+                    updateTile(map.getTile(tx, ty), tx, ty);
+                    updateObjects(tx, ty);
+                }
+            }
+            changed = true;
+        }
+    }
+
+    /**
+     * Get categories in index order.
+     * 
+     * @return The categories.
+     */
+    List<String> getCategories()
+    {
+        return categories;
+    }
+
+    /**
+     * Get width in tile.
+     * 
+     * @return The width in tile.
+     */
+    int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * Get height in tile.
+     * 
+     * @return The height in tile.
+     */
+    int getHeight()
+    {
+        return height;
+    }
+
+    /**
+     * Get snapshot of live data, copied only if changed.
+     * 
+     * @return The snapshot.
+     */
+    PathSnapshot getSnapshot()
+    {
+        if (changed || snapshot == null)
+        {
+            snapshot = new PathSnapshot(width, height, tiles.clone(), occupations.clone(), objects.clone());
+            changed = false;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Update live category of tile.
+     * 
+     * @param tile The tile reference (can be <code>null</code>).
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     */
+    private void updateTile(Tile tile, int tx, int ty)
+    {
+        int category = PathSnapshot.NO_CATEGORY;
+        if (tile != null)
+        {
+            final Integer index = indexes.get(mapPath.getCategory(tile));
+            if (index != null)
+            {
+                category = index.intValue();
+            }
+        }
+        tiles[ty * width + tx] = category;
+    }
+
+    /**
+     * Update live objects of tile.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     */
+    private void updateObjects(int tx, int ty)
+    {
+        final int index = ty * width + tx;
+        final Set<Integer> ids = mapPath.getObjectsId(tx, ty);
+        if (ids.isEmpty())
+        {
+            occupations[index] = PathSnapshot.FREE;
+        }
+        else if (ids.size() == 1)
+        {
+            occupations[index] = PathSnapshot.SINGLE;
+            objects[index] = ids.iterator().next().intValue();
+        }
+        else
+        {
+            occupations[index] = PathSnapshot.MULTIPLE;
+        }
+    }
+
+    /**
+     * Called on tile set.
+     * 
+     * @param tile The tile set.
+     */
+    private void onTileSet(Tile tile)
+    {
+        final int tx = tile.getInTileX();
+        final int ty = tile.getInTileY();
+        if (tx >= 0 && ty >= 0 && tx < width && ty < height)
+        {
+            updateTile(tile, tx, ty);
+            changed = true;
+        }
+    }
+
+    /**
+     * Called on objects id change.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     */
+    private void onObjectsIdChanged(int tx, int ty)
+    {
+        if (tx >= 0 && ty >= 0 && tx < width && ty < height)
+        {
+            updateObjects(tx, ty);
+            changed = true;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Search nodes storage, as primitive arrays indexed by node, with an indexed binary min heap as open list.
+ * <p>
+ * Open list supports decrease key, ordered by estimated total cost then heuristic. Open and closed states are stamped
+ * with a search generation, so nothing is cleared between searches. Storage only grows, and is shared by successive
+ * searches. One instance must be used by one thread only.
+ * </p>
+ */
+final class PathNodes
+{
+    /** No parent index. */
+    static final int NONE = -1;
+    /** Not in heap index. */
+    private static final int OUTSIDE = -1;
+
+    /** Cost from start by node. */
+    private double[] costs = new double[0];
+    /** Heuristic cost by node. */
+    private double[] heuristics = new double[0];
+    /** Parent by node. */
+    private int[] parents = new int[0];
+    /** Visited generation by node. */
+    private int[] visited = new int[0];
+    /** Closed generation by node. */
+    private int[] closed = new int[0];
+    /** Heap position by node. */
+    private int[] positions = new int[0];
+    /** Open heap of node indexes. */
+    private int[] heap = new int[0];
+    /** Open heap size. */
+    private int size;
+    /** Current search generation. */
+    private int generation;
+
+    /**
+     * Create storage.
+     */
+    PathNodes()
+    {
+        super();
+    }
+
+    /**
+     * Start a new search generation, with storage for nodes indexes up to count excluded.
+     * 
+     * @param count The nodes count.
+     * @return <code>true</code> if storage was allocated or generations restarted, <code>false</code> else. Storage
+     *         stamped by caller with {@link #getGeneration()} must then be reset.
+     */
+    boolean prepare(int count)
+    {
+        boolean reset = false;
+        if (costs.length < count)
+        {
+            costs = new double[count];
+            heuristics = new double[count];
+            parents = new int[count];
+            visited = new int[count];
+            closed = new int[count];
+            positions = new int[count];
+            heap = new int[count];
+            generation = 0;
+            reset = true;
+        }
+        if (generation == Integer.MAX_VALUE)
+        {
+            Arrays.fill(visited, 0);
+            Arrays.fill(closed, 0);
+            generation = 0;
+            reset = true;
+        }
+        generation++;
+        size = 0;
+        return reset;
+    }
+
+    /**
+     * Open node reached for the first time in current search.
+     * 
+     * @param node The node index.
+     * @param cost The cost from start.
+     * @param heuristic The heuristic cost.
+     * @param parent The parent node index ({@link #NONE} if none).
+     */
+    void open(int node, double cost, double heuristic, int parent)
+    {
+        visited[node] = generation;
+        costs[node] = cost;
+        heuristics[node] = heuristic;
+        parents[node] = parent;
+        push(node);
+    }
+
+    /**
+     * Update visited node if reached with a lower cost, reopening it if closed.
+     * 
+     * @param node The node index.
+     * @param cost The cost from start.
+     * @param parent The parent node index.
+     * @return <code>true</code> if updated, <code>false</code> if cost is not lower.
+     */
+    boolean update(int node, double cost, int parent)
+    {
+        if (cost < costs[node])
+        {
+            costs[node] = cost;
+            parents[node] = parent;
+            if (closed[node] == generation)
+            {
+                closed[node] = 0;
+                push(node);
+            }
+            else
+            {
+                up(positions[node]);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove lowest node from open heap, and close it.
+     * 
+     * @return The lowest node index.
+     */
+    int pop()
+    {
+        final int node = heap[0];
+        positions[node] = OUTSIDE;
+        closed[node] = generation;
+        size--;
+        if (size > 0)
+        {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            down(0);
+        }
+        return node;
+    }
+
+    /**
+     * Check if open heap is empty.
+     * 
+     * @return <code>true</code> if no more open node, <code>false</code> else.
+     */
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Check if node has been reached in current search.
+     * 
+     * @param node The node index.
+     * @return <code>true</code> if visited, <code>false</code> else.
+     */
+    boolean isVisited(int node)
+    {
+        return visited[node] == generation;
+    }
+
+    /**
+     * Get the node cost from start. Valid only if {@link #isVisited(int)}.
+     * 
+     * @param node The node index.
+     * @return The node cost.
+     */
+    double getCost(int node)
+    {
+        return costs[node];
+    }
+
+    /**
+     * Get the node parent. Valid only if {@link #isVisited(int)}.
+     * 
+     * @param node The node index.
+     * @return The parent node index, {@link #NONE} if none.
+     */
+    int getParent(int node)
+    {
+        return parents[node];
+    }
+
+    /**
+     * Get the current search generation.
+     * 
+     * @return The current generation.
+     */
+    int getGeneration()
+    {
+        return generation;
+    }
+
+    /**
+     * Check if first node has priority over second.
+     * 
+     * @param a The first node index.
+     * @param b The second node index.
+     * @return <code>true</code> if first is lower, <code>false</code> else.
+     */
+    private boolean isLower(int a, int b)
+    {
+        final int res = Double.compare(costs[a] + heuristics[a], costs[b] + heuristics[b]);
+        if (res == 0)
+        {
+            return heuristics[a] < heuristics[b];
+        }
+        return res < 0;
+    }
+
+    /**
+     * Add node to open heap.
+     * 
+     * @param node The node index.
+     */
+    private void push(int node)
+    {
+        heap[size] = node;
+        positions[node] = size;
+        size++;
+        up(size - 1);
+    }
+
+    /**
+     * Move heap element up until ordered.
+     * 
+     * @param index The heap index.
+     */
+    private void up(int index)
+    {
+        final int node = heap[index];
+        int i = index;
+        while (i > 0)
+        {
+            final int parent = (i - 1) / 2;
+            if (!isLower(node, heap[parent]))
+            {
+                break;
+            }
+            heap[i] = heap[parent];
+            positions[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = node;
+        positions[node] = i;
+    }
+
+    /**
+     * Move heap element down until ordered.
+     * 
+     * @param index The heap index.
+     */
+    private void down(int index)
+    {
+        final int node = heap[index];
+        int i = index;
+        while (true)
+        {
+            int child = i * 2 + 1;
+            if (child >= size)
+            {
+                break;
+            }
+            if (child + 1 < size && isLower(heap[child + 1], heap[child]))
+            {
+                child++;
+            }
+            if (!isLower(heap[child], node))
+            {
+                break;
+            }
+            heap[i] = heap[child];
+            positions[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = node;
+        positions[node] = i;
+    }
+}
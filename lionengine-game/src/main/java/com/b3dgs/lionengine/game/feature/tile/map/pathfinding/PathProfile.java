@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable copy of mover pathfinding data by category index, which can be read from any thread.
+ */
+final class PathProfile
+{
+    /**
+     * Capture mover profile.
+     * 
+     * @param mover The mover reference.
+     * @param categories The categories, in index order.
+     * @return The captured profile.
+     */
+    static PathProfile create(Pathfindable mover, List<String> categories)
+    {
+        final int count = categories.size();
+        final boolean[] blocking = new boolean[count];
+        final int[] movements = new int[count];
+        final double[] costs = new double[count];
+        for (int i = 0; i < count; i++)
+        {
+            final String category = categories.get(i);
+            blocking[i] = mover.isBlocking(category);
+            for (final MovementTile movement : MovementTile.values())
+            {
+                if (mover.isMovementAllowed(category, movement))
+                {
+                    movements[i] |= 1 << movement.ordinal();
+                }
+            }
+            if (movements[i] != 0)
+            {
+                costs[i] = mover.getCost(category);
+            }
+        }
+        return new PathProfile(blocking, movements, costs);
+    }
+
+    /** Blocking flag by category. */
+    private final boolean[] blocking;
+    /** Allowed movements mask by category. */
+    private final int[] movements;
+    /** Cost by category. */
+    private final double[] costs;
+    /** Cached hash code. */
+    private final int hash;
+
+    /**
+     * Internal constructor.
+     * 
+     * @param blocking The blocking flag by category.
+     * @param movements The allowed movements mask by category.
+     * @param costs The cost by category.
+     */
+    private PathProfile(boolean[] blocking, int[] movements, double[] costs)
+    {
+        super();
+
+        this.blocking = blocking;
+        this.movements = movements;
+        this.costs = costs;
+        hash = (Arrays.hashCode(blocking) * 31 + Arrays.hashCode(movements)) * 31 + Arrays.hashCode(costs);
+    }
+
+    /**
+     * Check if category is blocking.
+     * 
+     * @param category The category index ({@link PathSnapshot#NO_CATEGORY} if none).
+     * @return <code>true</code> if blocking, <code>false</code> else.
+     */
+    boolean isBlocking(int category)
+    {
+        return category != PathSnapshot.NO_CATEGORY && blocking[category];
+    }
+
+    /**
+     * Check if movement is allowed from category.
+     * 
+     * @param category The category index ({@link PathSnapshot#NO_CATEGORY} if none).
+     * @param movement The movement.
+     * @return <code>true</code> if allowed, <code>false</code> else.
+     */
+    boolean isMovementAllowed(int category, MovementTile movement)
+    {
+        return category != PathSnapshot.NO_CATEGORY && (movements[category] & 1 << movement.ordinal()) != 0;
+    }
+
+    /**
+     * Get cost of category.
+     * 
+     * @param category The category index ({@link PathSnapshot#NO_CATEGORY} if none).
+     * @return The cost.
+     */
+    double getCost(int category)
+    {
+        if (category == PathSnapshot.NO_CATEGORY)
+        {
+            return 0.0;
+        }
+        return costs[category];
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (object == null || object.getClass() != getClass())
+        {
+            return false;
+        }
+        final PathProfile other = (PathProfile) object;
+        return hash == other.hash
+               && Arrays.equals(blocking, other.blocking)
+               && Arrays.equals(movements, other.movements)
+               && Arrays.equals(costs, other.costs);
+    }
+}
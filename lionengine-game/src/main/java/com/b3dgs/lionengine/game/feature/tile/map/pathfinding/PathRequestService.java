@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+
+/**
+ * Asynchronous path requests service.
+ * <p>
+ * Requests are queued, then dispatched on {@link #update(double)} to a bounded workers pool. Workers read an immutable
+ * {@link PathSnapshot} of map path data, taken on update thread only if map changed since last dispatch. Requests
+ * sharing destination and mover profile, with start in the same cluster, are coalesced and solved by a single search.
+ * Results are delivered on update thread, up to a budget per update.
+ * </p>
+ * <p>
+ * When added to {@link com.b3dgs.lionengine.game.feature.Services}, it is used by {@link PathfindableModel} to search
+ * paths. Objects id ignored by mover are not known by workers, only mover and coalesced movers id are ignored.
+ * {@link #close()} must be called when service is not needed anymore. Workers are daemon threads, so a missing close
+ * does not prevent application exit.
+ * </p>
+ */
+public class PathRequestService implements Updatable
+{
+    /** Default workers number. */
+    private static final int DEFAULT_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    /** Default delivered results per update. */
+    private static final int DEFAULT_BUDGET = 32;
+    /** Default coalescing cluster size in tile. */
+    private static final int DEFAULT_CLUSTER = 8;
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PathRequestService.class);
+
+    /** Workers pool. */
+    private final ExecutorService executor;
+    /** Solver by worker. */
+    private final ThreadLocal<PathSolver> solvers;
+    /** Pending requests. */
+    private final List<Request> pending = new ArrayList<>();
+    /** Solved results. */
+    private final Queue<Result> results = new ConcurrentLinkedQueue<>();
+    /** Delivered results per update. */
+    private final int budget;
+    /** Coalescing cluster size in tile. */
+    private final int clusterSize;
+    /** Live map path data. */
+    private final PathMirror mirror;
+
+    /** Requests not delivered yet. */
+    private int remaining;
+
+    /**
+     * Create service.
+     * <p>
+     * The {@link Services} must provide the following services:
+     * </p>
+     * <ul>
+     * <li>{@link MapTile}</li>
+     * </ul>
+     * 
+     * @param services The services reference (must not be <code>null</code>).
+     * @throws com.b3dgs.lionengine.LionEngineException If invalid argument or missing service.
+     */
+    public PathRequestService(Services services)
+    {
+        this(services.get(MapTile.class), DEFAULT_THREADS, DEFAULT_BUDGET, DEFAULT_CLUSTER);
+    }
+
+    /**
+     * Create service.
+     * 
+     * @param map The map reference, with {@link MapTilePath} feature (must not be <code>null</code>).
+     * @param threads The workers number (must be strictly positive).
+     * @param budget The delivered results per update (must be strictly positive).
+     * @param clusterSize The coalescing cluster size in tile (must be strictly positive).
+     * @throws com.b3dgs.lionengine.LionEngineException If invalid arguments.
+     */
+    public PathRequestService(MapTile map, int threads, int budget, int clusterSize)
+    {
+        super();
+
+        Check.notNull(map);
+        Check.superiorStrict(threads, 0);
+        Check.superiorStrict(budget, 0);
+        Check.superiorStrict(clusterSize, 0);
+
+        this.budget = budget;
+        this.clusterSize = clusterSize;
+        mirror = new PathMirror(map);
+        executor = Executors.newFixedThreadPool(threads, r ->
+        {
+            final Thread thread = new Thread(r, getClass().getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final Heuristic heuristic = Astar.createHeuristicClosest();
+        solvers = ThreadLocal.withInitial(() -> new PathSolver(heuristic));
+    }
+
+    /**
+     * Request a path from mover location to destination. Listener is notified on update thread, with <code>null</code>
+     * if no path found.
+     * 
+     * @param mover The mover reference (must not be <code>null</code>).
+     * @param dtx The destination horizontal tile.
+     * @param dty The destination vertical tile.
+     * @param listener The path listener (must not be <code>null</code>).
+     * @throws com.b3dgs.lionengine.LionEngineException If invalid arguments.
+     */
+    public void request(Pathfindable mover, int dtx, int dty, Consumer<Path> listener)
+    {
+        Check.notNull(mover);
+        Check.notNull(listener);
+
+        mirror.prepare();
+
+        final int width = mirror.getWidth();
+        final int height = mirror.getHeight();
+        final int stx = mover.getInTileX();
+        final int sty = mover.getInTileY();
+        remaining++;
+        if (stx < 0 || sty < 0 || stx >= width || sty >= height || dtx < 0 || dty < 0 || dtx >= width || dty >= height)
+        {
+            results.add(new Result(listener, null));
+        }
+        else
+        {
+            final int id = mover.getFeature(Identifiable.class).getId().intValue();
+            final PathProfile profile = PathProfile.create(mover, mirror.getCategories());
+            pending.add(new Request(sty * width + stx, dty * width + dtx, id, profile, listener));
+        }
+    }
+
+    /**
+     * Get the number of requests not delivered yet.
+     * 
+     * @return The requests number.
+     */
+    public int getRemaining()
+    {
+        return remaining;
+    }
+
+    /**
+     * Stop workers and map listening. Pending requests are not delivered.
+     */
+    public void close()
+    {
+        mirror.dispose();
+        executor.shutdownNow();
+        try
+        {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        catch (@SuppressWarnings("unused") final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Dispatch pending requests to workers, coalesced by group.
+     */
+    private void dispatch()
+    {
+        final int width = mirror.getWidth();
+        final Map<Group, List<Request>> groups = new LinkedHashMap<>();
+        for (final Request request : pending)
+        {
+            final int cluster = request.start() / width / clusterSize * width + request.start() % width / clusterSize;
+            groups.computeIfAbsent(new Group(request.destination(), request.profile(), cluster),
+                                   k -> new ArrayList<>())
+                  .add(request);
+        }
+        pending.clear();
+
+        final PathSnapshot current = mirror.getSnapshot();
+        for (final Map.Entry<Group, List<Request>> group : groups.entrySet())
+        {
+            final PathProfile profile = group.getKey().profile();
+            final int destination = group.getKey().destination();
+            final List<Request> requests = group.getValue();
+            executor.execute(() -> solve(current, profile, destination, requests));
+        }
+    }
+
+    /**
+     * Solve group requests, called by worker.
+     * 
+     * @param snapshot The map snapshot.
+     * @param profile The group profile.
+     * @param destination The group destination.
+     * @param requests The group requests.
+     */
+    private void solve(PathSnapshot snapshot, PathProfile profile, int destination, List<Request> requests)
+    {
+        final int count = requests.size();
+        final int[] starts = new int[count];
+        final int[] ids = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            starts[i] = requests.get(i).start();
+            ids[i] = requests.get(i).id();
+        }
+        Path[] paths;
+        try
+        {
+            paths = solvers.get().solve(snapshot, profile, destination, starts, ids);
+        }
+        catch (final RuntimeException exception)
+        {
+            LOGGER.error("solve error", exception);
+            paths = new Path[count];
+        }
+        for (int i = 0; i < count; i++)
+        {
+            results.add(new Result(requests.get(i).listener(), paths[i]));
+        }
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        if (!pending.isEmpty())
+        {
+            dispatch();
+        }
+        for (int i = 0; i < budget; i++)
+        {
+            final Result result = results.poll();
+            if (result == null)
+            {
+                break;
+            }
+            remaining--;
+            result.listener().accept(result.path());
+        }
+    }
+
+    /**
+     * Path request.
+     * 
+     * @param start The start tile index.
+     * @param destination The destination tile index.
+     * @param id The mover object id.
+     * @param profile The mover profile.
+     * @param listener The path listener.
+     */
+    private record Request(int start, int destination, int id, PathProfile profile, Consumer<Path> listener)
+    {
+    }
+
+    /**
+     * Coalesced requests key.
+     * 
+     * @param destination The destination tile index.
+     * @param profile The mover profile.
+     * @param cluster The start cluster index.
+     */
+    private record Group(int destination, PathProfile profile, int cluster)
+    {
+    }
+
+    /**
+     * Path result.
+     * 
+     * @param listener The path listener.
+     * @param path The path found, <code>null</code> if none.
+     */
+    private record Result(Consumer<Path> listener, Path path)
+    {
+    }
+}
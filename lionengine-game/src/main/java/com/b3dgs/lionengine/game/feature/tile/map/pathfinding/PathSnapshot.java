@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+/**
+ * Immutable copy of map path data (category and objects by tile), which can be read from any thread.
+ */
+final class PathSnapshot
+{
+    /** No category index. */
+    static final int NO_CATEGORY = -1;
+    /** Free tile occupation. */
+    static final byte FREE = 0;
+    /** Single object occupation. */
+    static final byte SINGLE = 1;
+    /** Multiple objects occupation. */
+    static final byte MULTIPLE = 2;
+
+    /** Width in tile. */
+    private final int width;
+    /** Height in tile. */
+    private final int height;
+    /** Category index by tile. */
+    private final int[] categories;
+    /** Occupation by tile. */
+    private final byte[] occupations;
+    /** Object id by tile, valid for single occupation only. */
+    private final int[] objects;
+
+    /**
+     * Create snapshot. Arrays are owned by snapshot and must not be modified after.
+     * 
+     * @param width The width in tile.
+     * @param height The height in tile.
+     * @param categories The category index by tile.
+     * @param occupations The occupation by tile.
+     * @param objects The object id by tile.
+     */
+    PathSnapshot(int width, int height, int[] categories, byte[] occupations, int[] objects)
+    {
+        super();
+
+        this.width = width;
+        this.height = height;
+        this.categories = categories;
+        this.occupations = occupations;
+        this.objects = objects;
+    }
+
+    /**
+     * Get width in tile.
+     * 
+     * @return The width in tile.
+     */
+    int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * Get height in tile.
+     * 
+     * @return The height in tile.
+     */
+    int getHeight()
+    {
+        return height;
+    }
+
+    /**
+     * Get category index of tile.
+     * 
+     * @param index The tile index.
+     * @return The category index, {@link #NO_CATEGORY} if none.
+     */
+    int getCategory(int index)
+    {
+        return categories[index];
+    }
+
+    /**
+     * Get occupation of tile.
+     * 
+     * @param index The tile index.
+     * @return The occupation ({@link #FREE}, {@link #SINGLE} or {@link #MULTIPLE}).
+     */
+    byte getOccupation(int index)
+    {
+        return occupations[index];
+    }
+
+    /**
+     * Get object id of single occupied tile.
+     * 
+     * @param index The tile index.
+     * @return The object id.
+     */
+    int getObject(int index)
+    {
+        return objects[index];
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Path solver working on a {@link PathSnapshot}, for a group of movers sharing the same profile and destination, or
+ * for a whole map {@link FlowField}.
+ * <p>
+ * A single reverse search is done from destination until all starts are reached, so coalesced requests cost one
+ * search, bounded by map only. Nodes are stored by {@link PathNodes}, as {@link PathFinderHeap}. One instance must be
+ * used by one thread only.
+ * </p>
+ */
+final class PathSolver
+{
+    /** No parent index. */
+    private static final int NONE = PathNodes.NONE;
+
+    /** Heuristic used. */
+    private final Heuristic heuristic;
+    /** Search nodes, parent being next node toward destination. */
+    private final PathNodes nodes = new PathNodes();
+
+    /** Start generation by node. */
+    private int[] targets = new int[0];
+    /** Path steps buffer. */
+    private int[] steps = new int[0];
+
+    /** Current snapshot. */
+    private PathSnapshot snapshot;
+    /** Current profile. */
+    private PathProfile profile;
+    /** Current group objects id. */
+    private int[] ids;
+    /** Current group starts. */
+    private int[] starts;
+    /** Current ignore objects flag. */
+    private boolean ignoreObjects;
+
+    /**
+     * Create solver.
+     * 
+     * @param heuristic The heuristic used to determine the search order of the map.
+     */
+    PathSolver(Heuristic heuristic)
+    {
+        super();
+
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Solve paths from each start to destination.
+     * 
+     * @param snapshot The map snapshot.
+     * @param profile The movers profile.
+     * @param destination The destination tile index.
+     * @param starts The start tile index of each mover.
+     * @param ids The object id of each mover.
+     * @return The path of each mover, <code>null</code> element if not found.
+     */
+    Path[] solve(PathSnapshot snapshot, PathProfile profile, int destination, int[] starts, int[] ids)
+    {
+        this.snapshot = snapshot;
+        this.profile = profile;
+        this.starts = starts;
+        this.ids = ids;
+
+        final Path[] paths = new Path[starts.length];
+        final int width = snapshot.getWidth();
+        final int target = getAvailable(destination % width, destination / width, starts[0]);
+        if (target != NONE)
+        {
+            search(target, false);
+            for (int i = 0; i < starts.length; i++)
+            {
+                paths[i] = createPath(starts[i], target);
+            }
+        }
+
+        this.snapshot = null;
+        this.profile = null;
+        this.starts = null;
+        this.ids = null;
+
+        return paths;
+    }
+
+    /**
+     * Solve flow field toward destination, covering the whole map.
+     * 
+     * @param snapshot The map snapshot.
+     * @param profile The movers profile.
+     * @param destination The destination tile index.
+     * @param start The start tile index, used to select closest available destination if blocked.
+     * @param ids The objects id ignored.
+     * @param ignoreObjects <code>true</code> to ignore all objects, <code>false</code> else.
+     * @return The flow field, <code>null</code> if no available destination.
+     */
+    FlowField solveField(PathSnapshot snapshot,
+                         PathProfile profile,
+                         int destination,
+                         int start,
+                         int[] ids,
+                         boolean ignoreObjects)
+    {
+        this.snapshot = snapshot;
+        this.profile = profile;
+        this.ids = ids;
+        this.ignoreObjects = ignoreObjects;
+        starts = new int[0];
+
+        final int width = snapshot.getWidth();
+        final int target = getAvailable(destination % width, destination / width, start);
+        FlowField field = null;
+        if (target != NONE)
+        {
+            search(target, true);
+
+            final int count = width * snapshot.getHeight();
+            final double[] integration = new double[count];
+            final int[] next = new int[count];
+            for (int i = 0; i < count; i++)
+            {
+                if (nodes.isVisited(i))
+                {
+                    integration[i] = nodes.getCost(i);
+                    next[i] = nodes.getParent(i);
+                }
+                else
+                {
+                    integration[i] = Double.POSITIVE_INFINITY;
+                    next[i] = NONE;
+                }
+            }
+            field = new FlowField(target, integration, next);
+        }
+
+        this.snapshot = null;
+        this.profile = null;
+        this.starts = null;
+        this.ids = null;
+        this.ignoreObjects = false;
+
+        return field;
+    }
+
+    /**
+     * Prepare nodes storage and start a new search generation.
+     * 
+     * @param count The nodes count.
+     */
+    private void prepare(int count)
+    {
+        if (nodes.prepare(count))
+        {
+            if (targets.length < count)
+            {
+                targets = new int[count];
+                steps = new int[count];
+            }
+            else
+            {
+                Arrays.fill(targets, 0);
+            }
+        }
+    }
+
+    /**
+     * Check if tile can be crossed by group.
+     * 
+     * @param index The tile index.
+     * @return <code>true</code> if available, <code>false</code> else.
+     */
+    // CHECKSTYLE IGNORE LINE: ReturnCount
+    private boolean isAvailable(int index)
+    {
+        if (profile.isBlocking(snapshot.getCategory(index)))
+        {
+            return false;
+        }
+        if (ignoreObjects)
+        {
+            return true;
+        }
+        final byte occupation = snapshot.getOccupation(index);
+        if (occupation == PathSnapshot.SINGLE)
+        {
+            final int object = snapshot.getObject(index);
+            for (final int id : ids)
+            {
+                if (id == object)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return occupation == PathSnapshot.FREE;
+    }
+
+    /**
+     * Get destination if available, else the closest available tile around it, nearest to start.
+     * 
+     * @param dtx The destination horizontal tile.
+     * @param dty The destination vertical tile.
+     * @param start The start tile index.
+     * @return The available tile index, {@link #NONE} if none.
+     */
+    private int getAvailable(int dtx, int dty, int start)
+    {
+        final int width = snapshot.getWidth();
+        final int height = snapshot.getHeight();
+        if (isAvailable(dty * width + dtx))
+        {
+            return dty * width + dtx;
+        }
+        final int stx = start % width;
+        final int sty = start / width;
+        final int radius = Math.max(width, height);
+        for (int r = 1; r < radius; r++)
+        {
+            int found = NONE;
+            double closest = Double.MAX_VALUE;
+            for (int ty = Math.max(0, dty - r); ty <= Math.min(height - 1, dty + r); ty++)
+            {
+                for (int tx = Math.max(0, dtx - r); tx <= Math.min(width - 1, dtx + r); tx++)
+                {
+                    final boolean ring = Math.abs(tx - dtx) == r || Math.abs(ty - dty) == r;
+                    final double distance = Math.hypot(tx - (double) stx, ty - (double) sty);
+                    if (ring && distance < closest && isAvailable(ty * width + tx))
+                    {
+                        found = ty * width + tx;
+                        closest = distance;
+                    }
+                }
+            }
+            if (found != NONE)
+            {
+                return found;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Search from destination until all starts are reached, or all map if flood.
+     * 
+     * @param destination The destination tile index.
+     * @param flood <code>true</code> to search all map, <code>false</code> to stop once starts reached.
+     */
+    private void search(int destination, boolean flood)
+    {
+        final int width = snapshot.getWidth();
+        prepare(width * snapshot.getHeight());
+
+        final int generation = nodes.getGeneration();
+        int remaining = 0;
+        for (final int start : starts)
+        {
+            if (targets[start] != generation)
+            {
+                targets[start] = generation;
+                remaining++;
+            }
+        }
+
+        nodes.open(destination, 0.0, getHeuristic(destination % width, destination / width), NONE);
+
+        while ((flood || remaining > 0) && !nodes.isEmpty())
+        {
+            final int current = nodes.pop();
+            if (targets[current] == generation)
+            {
+                remaining--;
+            }
+            expand(current);
+        }
+    }
+
+    /**
+     * Expand node predecessors.
+     * 
+     * @param current The current node index.
+     */
+    private void expand(int current)
+    {
+        final int width = snapshot.getWidth();
+        final int height = snapshot.getHeight();
+        final int cx = current % width;
+        final int cy = current / width;
+        final int generation = nodes.getGeneration();
+
+        for (int ty = Math.max(0, cy - 1); ty <= Math.min(height - 1, cy + 1); ty++)
+        {
+            for (int tx = Math.max(0, cx - 1); tx <= Math.min(width - 1, cx + 1); tx++)
+            {
+                final int neighbour = ty * width + tx;
+                final int category = snapshot.getCategory(neighbour);
+                if (neighbour != current
+                    && (targets[neighbour] == generation || isAvailable(neighbour))
+                    && profile.isMovementAllowed(category, MovementTile.from(cx - tx, cy - ty)))
+                {
+                    relax(current, neighbour, nodes.getCost(current) + profile.getCost(category));
+                }
+            }
+        }
+    }
+
+    /**
+     * Update neighbor if reached with a lower cost.
+     * 
+     * @param current The current node index.
+     * @param neighbour The neighbor node index.
+     * @param cost The cost to reach destination from neighbor.
+     */
+    private void relax(int current, int neighbour, double cost)
+    {
+        if (nodes.isVisited(neighbour))
+        {
+            nodes.update(neighbour, cost, current);
+        }
+        else
+        {
+            final int width = snapshot.getWidth();
+            nodes.open(neighbour, cost, getHeuristic(neighbour % width, neighbour / width), current);
+        }
+    }
+
+    /**
+     * Get heuristic cost to the closest start.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     * @return The heuristic cost.
+     */
+    private double getHeuristic(int tx, int ty)
+    {
+        if (starts.length == 0)
+        {
+            return 0.0;
+        }
+        final int width = snapshot.getWidth();
+        double min = Double.MAX_VALUE;
+        for (final int start : starts)
+        {
+            min = Math.min(min, heuristic.getCost(tx, ty, start % width, start / width));
+        }
+        return min;
+    }
+
+    /**
+     * Create path from start to destination by following parents.
+     * 
+     * @param start The start tile index.
+     * @param destination The destination tile index.
+     * @return The path, <code>null</code> if not found.
+     */
+    private Path createPath(int start, int destination)
+    {
+        if (start == destination || !nodes.isVisited(start))
+        {
+            return null;
+        }
+        int length = 0;
+        for (int node = start; node != NONE; node = nodes.getParent(node))
+        {
+            steps[length] = node;
+            length++;
+        }
+        final int width = snapshot.getWidth();
+        final Path path = new Path();
+        for (int i = length - 1; i >= 0; i--)
+        {
+            path.prependStep(steps[i] % width, steps[i] / width);
+        }
+        return path;
+    }
+}
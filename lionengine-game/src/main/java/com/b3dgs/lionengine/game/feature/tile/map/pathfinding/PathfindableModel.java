@@ -95,6 +95,8 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     private final Collection<Integer> ignoredIds = new HashSet<>(0);
     /** Pathfinder reference. */
     private final PathFinder pathfinder;
+    /** Asynchronous path requests, <code>null</code> if synchronous. */
+    private final PathRequestService requests;
     /** List of categories. */
     private final Map<String, PathData> categories;
     /** Object id. */
@@ -140,6 +142,8 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     private boolean reCheckRef;
     /** Render debug (draw additional path information). */
     private boolean renderDebug;
+    /** Last path request ticket. */
+    private int ticket;
 
     /**
      * Create feature.
@@ -165,6 +169,12 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
      * </ul>
      * 
      * <p>
+     * The {@link Services} can provide a {@link PathFinder} shared by all pathfindable, else a default one is created.
+     * If the {@link Services} provide a {@link PathRequestService}, paths are searched asynchronously through it, and
+     * {@link #setDestination(int, int)} returns <code>true</code> when search has been requested.
+     * </p>
+     * 
+     * <p>
      * If the {@link Featurable} is a {@link PathfindableListener}, it will automatically
      * {@link #addListener(PathfindableListener)} on it.
      * </p>
@@ -204,6 +214,12 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
      * </ul>
      * 
      * <p>
+     * The {@link Services} can provide a {@link PathFinder} shared by all pathfindable, else a default one is created.
+     * If the {@link Services} provide a {@link PathRequestService}, paths are searched asynchronously through it, and
+     * {@link #setDestination(int, int)} returns <code>true</code> when search has been requested.
+     * </p>
+     * 
+     * <p>
      * If the {@link Featurable} is a {@link PathfindableListener}, it will automatically
      * {@link #addListener(PathfindableListener)} on it.
      * </p>
@@ -233,9 +249,13 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         categories = PathfindableConfig.imports(setup);
         orientable = new OrientableModel(services, setup, transformable);
 
-        final int range = (int) Math.sqrt(map.getInTileWidth() * map.getInTileWidth()
-                                          + map.getInTileHeight() * (double) map.getInTileHeight());
-        pathfinder = Astar.createPathFinder(map, range, Astar.createHeuristicClosest());
+        pathfinder = services.getOptional(PathFinder.class).orElseGet(() ->
+        {
+            final int range = (int) Math.sqrt(map.getInTileWidth() * map.getInTileWidth()
+                                              + map.getInTileHeight() * (double) map.getInTileHeight());
+            return Astar.createPathFinder(map, range, Astar.createHeuristicClosest());
+        });
+        requests = services.getOptional(PathRequestService.class).orElse(null);
     }
 
     /**
@@ -439,6 +459,11 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
             {
                 currentStep = next;
             }
+            // Partial path fully walked, search next segments toward destination
+            if (!pathStoppedRequested && currentStep >= getMaxStep() && path.isPartial())
+            {
+                pathFoundChanged = true;
+            }
             // Check if a new path has been assigned (this allow the object to change its path before finishing it)
             if (currentStep > 0 && !skip)
             {
@@ -491,19 +516,33 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
             {
                 path.clear();
             }
-            path = pathfinder.findPath(this, destX, destY, false);
             pathFoundChanged = false;
             currentStep = 0;
             skip = false;
             reCheckRef = false;
 
-            if (path == null)
+            if (requests != null)
             {
-                pathStoppedRequested = true;
+                path = null;
+                moving = false;
+                moveX = 0.0;
+                moveY = 0.0;
+                if (!pathStoppedRequested)
+                {
+                    request(true);
+                }
             }
-            else if (currentStep < getMaxStep())
+            else
             {
-                removeObjectId(path.getX(currentStep), path.getY(currentStep));
+                path = pathfinder.findPath(this, destX, destY, false, path);
+                if (path == null)
+                {
+                    pathStoppedRequested = true;
+                }
+                else if (currentStep < getMaxStep())
+                {
+                    removeObjectId(path.getX(currentStep), path.getY(currentStep));
+                }
             }
         }
         if (pathStoppedRequested)
@@ -514,6 +553,61 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         }
     }
 
+    /**
+     * Request path to destination asynchronously.
+     * 
+     * @param changed <code>true</code> if path changed while moving, <code>false</code> if first path.
+     */
+    private void request(boolean changed)
+    {
+        ticket++;
+        final int current = ticket;
+        requests.request(this, destX, destY, found -> onPathFound(current, found, changed));
+    }
+
+    /**
+     * Called on path found asynchronously.
+     * 
+     * @param current The request ticket.
+     * @param found The path found, <code>null</code> if none.
+     * @param changed <code>true</code> if path changed while moving, <code>false</code> if first path.
+     */
+    private void onPathFound(int current, Path found, boolean changed)
+    {
+        if (current != ticket)
+        {
+            return;
+        }
+        if (found == null)
+        {
+            if (changed)
+            {
+                pathStopped = true;
+                onArrived();
+            }
+        }
+        else if (found.getX(0) != getInTileX() || found.getY(0) != getInTileY())
+        {
+            request(changed);
+        }
+        else
+        {
+            path = found;
+            currentStep = 0;
+            if (changed)
+            {
+                removeObjectId(path.getX(currentStep), path.getY(currentStep));
+            }
+            else
+            {
+                for (int i = 0; i < listenable.size(); i++)
+                {
+                    listenable.get(i).notifyStartMove(this);
+                }
+            }
+        }
+    }
+
     /**
      * Check if the object id location is available for the pathfindable.
      * 
@@ -685,6 +779,7 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     public void stopMoves()
     {
         pathStoppedRequested = true;
+        ticket++;
     }
 
     @Override
@@ -798,6 +893,14 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     {
         if (getInTileX() != tx || getInTileY() != ty)
         {
+            // Asynchronous first path, notified once found
+            if (requests != null && path == null)
+            {
+                prepareDestination(tx, ty);
+                request(false);
+                return true;
+            }
+
             // New first path, when object is not moving
             // CHECKSTYLE IGNORE LINE: InnerAssignment
             if (path == null && (path = pathfinder.findPath(this, tx, ty, false)) != null)
@@ -1010,6 +1113,7 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         path = null;
         moveX = 0.0;
         moveY = 0.0;
+        ticket++;
         sharedPathIds.clear();
     }
 }
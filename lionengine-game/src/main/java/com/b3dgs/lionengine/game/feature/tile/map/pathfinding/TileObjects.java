@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Sparse objects id by tile index, stored in a primitive open addressing table with linear probing. Each occupied tile
+ * holds a primitive array of its objects id, usually of one element, as several objects may share a tile while moving.
+ */
+final class TileObjects
+{
+    /** Empty slot. */
+    private static final int EMPTY = -1;
+    /** Minimum capacity (must be a power of two). */
+    private static final int MIN_CAPACITY = 16;
+    /** No objects id. */
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Get slot start of tile index.
+     * 
+     * @param index The tile index.
+     * @param mask The table mask.
+     * @return The slot start.
+     */
+    private static int hash(int index, int mask)
+    {
+        final int hash = index * 0x9E37_79B9;
+        return (hash ^ hash >>> Integer.SIZE / 2) & mask;
+    }
+
+    /**
+     * Get id position in array.
+     * 
+     * @param ids The objects id.
+     * @param id The object id.
+     * @return The id position, <code>-1</code> if not found.
+     */
+    private static int indexOf(int[] ids, int id)
+    {
+        for (int i = 0; i < ids.length; i++)
+        {
+            if (ids[i] == id)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Tile index by slot, {@link #EMPTY} if slot free. */
+    private int[] keys = new int[MIN_CAPACITY];
+    /** Objects id by slot. */
+    private int[][] values = new int[MIN_CAPACITY][];
+    /** Occupied slots. */
+    private int size;
+
+    /**
+     * Create objects.
+     */
+    TileObjects()
+    {
+        super();
+
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Add object id on tile.
+     * 
+     * @param index The tile index (must be superior or equal to 0).
+     * @param id The object id.
+     * @return <code>true</code> if added, <code>false</code> if already on tile.
+     */
+    boolean add(int index, int id)
+    {
+        int slot = find(index);
+        if (slot < 0)
+        {
+            if ((size + 1) * 2 > keys.length)
+            {
+                rehash(keys.length * 2);
+            }
+            slot = ~find(index);
+            keys[slot] = index;
+            values[slot] = new int[]
+            {
+                id
+            };
+            size++;
+            return true;
+        }
+        final int[] ids = values[slot];
+        if (indexOf(ids, id) > -1)
+        {
+            return false;
+        }
+        final int[] added = Arrays.copyOf(ids, ids.length + 1);
+        added[ids.length] = id;
+        values[slot] = added;
+        return true;
+    }
+
+    /**
+     * Remove object id from tile.
+     * 
+     * @param index The tile index (must be superior or equal to 0).
+     * @param id The object id.
+     * @return <code>true</code> if removed, <code>false</code> if not on tile.
+     */
+    boolean remove(int index, int id)
+    {
+        final int slot = find(index);
+        if (slot < 0)
+        {
+            return false;
+        }
+        final int[] ids = values[slot];
+        final int i = indexOf(ids, id);
+        if (i < 0)
+        {
+            return false;
+        }
+        if (ids.length == 1)
+        {
+            delete(slot);
+        }
+        else
+        {
+            final int[] removed = new int[ids.length - 1];
+            System.arraycopy(ids, 0, removed, 0, i);
+            System.arraycopy(ids, i + 1, removed, i, removed.length - i);
+            values[slot] = removed;
+        }
+        return true;
+    }
+
+    /**
+     * Get objects id on tile.
+     * 
+     * @param index The tile index.
+     * @return The objects id, empty if none. Must not be modified.
+     */
+    int[] get(int index)
+    {
+        final int slot = find(index);
+        if (slot < 0)
+        {
+            return NONE;
+        }
+        return values[slot];
+    }
+
+    /**
+     * Get objects id on tile as a read only set view.
+     * 
+     * @param index The tile index.
+     * @return The objects id, empty if none.
+     */
+    Set<Integer> getSet(int index)
+    {
+        final int[] ids = get(index);
+        if (ids.length == 0)
+        {
+            return Collections.emptySet();
+        }
+        return new Ids(ids);
+    }
+
+    /**
+     * Remove all objects id.
+     */
+    void clear()
+    {
+        keys = new int[MIN_CAPACITY];
+        values = new int[MIN_CAPACITY][];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Get number of occupied tiles.
+     * 
+     * @return The occupied tiles.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Find tile slot.
+     * 
+     * @param index The tile index.
+     * @return The slot, or bitwise complement of free slot where it would be if not found.
+     */
+    private int find(int index)
+    {
+        final int mask = keys.length - 1;
+        int slot = hash(index, mask);
+        while (keys[slot] != EMPTY)
+        {
+            if (keys[slot] == index)
+            {
+                return slot;
+            }
+            slot = slot + 1 & mask;
+        }
+        return ~slot;
+    }
+
+    /**
+     * Delete slot, moving back following entries of its probe sequence.
+     * 
+     * @param slot The slot to delete.
+     */
+    private void delete(int slot)
+    {
+        final int mask = keys.length - 1;
+        int free = slot;
+        int next = free + 1 & mask;
+        while (keys[next] != EMPTY)
+        {
+            final int start = hash(keys[next], mask);
+            if ((next - start & mask) >= (next - free & mask))
+            {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+            next = next + 1 & mask;
+        }
+        keys[free] = EMPTY;
+        values[free] = null;
+        size--;
+    }
+
+    /**
+     * Resize table.
+     * 
+     * @param capacity The new capacity (must be a power of two).
+     */
+    private void rehash(int capacity)
+    {
+        final int[] oldKeys = keys;
+        final int[][] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity][];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            if (oldKeys[i] != EMPTY)
+            {
+                final int slot = ~find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Read only set view of objects id.
+     */
+    private static final class Ids extends AbstractSet<Integer>
+    {
+        /** Objects id. */
+        private final int[] ids;
+
+        /**
+         * Create view.
+         * 
+         * @param ids The objects id.
+         */
+        Ids(int[] ids)
+        {
+            super();
+
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            return object instanceof final Integer id && indexOf(ids, id.intValue()) > -1;
+        }
+
+        @Override
+        public Iterator<Integer> iterator()
+        {
+            return new Iterator<>()
+            {
+                /** Next position. */
+                private int next;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return next < ids.length;
+                }
+
+                @Override
+                public Integer next()
+                {
+                    if (next >= ids.length)
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    return Integer.valueOf(ids[next++]);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return ids.length;
+        }
+    }
+}
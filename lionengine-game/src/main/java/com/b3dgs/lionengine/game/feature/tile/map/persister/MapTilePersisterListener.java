@@ -26,6 +26,19 @@ public interface MapTilePersisterListener
      */
     void notifyMapLoadStart();
 
+    /**
+     * Called on map region loaded, when map is loaded by region.
+     * 
+     * @param tx The horizontal tile of region.
+     * @param ty The vertical tile of region.
+     * @param width The region width in tile.
+     * @param height The region height in tile.
+     */
+    default void notifyMapRegionLoaded(int tx, int ty, int width, int height)
+    {
+        // Nothing by default
+    }
+
     /**
      * Called on map loaded.
      */
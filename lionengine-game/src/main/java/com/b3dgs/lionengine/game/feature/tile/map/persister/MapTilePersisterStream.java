@@ -0,0 +1,664 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.persister;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.ListenableModel;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.game.FeatureProvider;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.FeatureAbstract;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Handle the map persistence with a chunk indexed format, where each chunk of tiles is compressed separately.
+ * 
+ * <p>
+ * Map can be fully loaded with {@link #load(FileReading)}, or streamed by region:
+ * </p>
+ * <ul>
+ * <li>{@link #open(Media)} creates the map from header and index only</li>
+ * <li>{@link #loadRegion(int, int, int)} loads chunks around a location, such as camera</li>
+ * <li>{@link #loadRemaining()} decodes other chunks in background</li>
+ * <li>{@link #update(double)} sets decoded chunks on map, must be called until {@link #isLoading()} is
+ * <code>false</code></li>
+ * <li>{@link #close()} stops background decoding, must be called if map is not needed anymore before fully loaded</li>
+ * </ul>
+ * <p>
+ * Listeners are notified for each loaded chunk with
+ * {@link MapTilePersisterListener#notifyMapRegionLoaded(int, int, int, int)}.
+ * </p>
+ */
+public class MapTilePersisterStream extends FeatureAbstract implements MapTilePersister, Updatable
+{
+    /** Default chunk size in tile. */
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+    /** Default maximum chunks set on map per update. */
+    public static final int DEFAULT_BUDGET = 4;
+    /** Not opened error. */
+    static final String ERROR_NOT_OPENED = "Map stream not opened !";
+    /** Invalid chunk error. */
+    static final String ERROR_CHUNK = "Invalid map chunk: ";
+    /** Logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapTilePersisterStream.class);
+    /** No tile number. */
+    private static final int NONE = -1;
+    /** Header size in byte, before index. */
+    private static final int HEADER = Character.BYTES * 3 + Integer.BYTES * 2;
+
+    /** Listeners. */
+    private final ListenableModel<MapTilePersisterListener> listenable = new ListenableModel<>();
+    /** Decoded chunks waiting to be set on map. */
+    private final Queue<Chunk> decoded = new ConcurrentLinkedQueue<>();
+    /** Chunk size in tile. */
+    private final int chunkSize;
+    /** Maximum chunks set on map per update. */
+    private final int budget;
+
+    /** Map surface reference. */
+    private MapTileSurface map;
+    /** Opened map data (<code>null</code> if not opened). */
+    private ByteBuffer data;
+    /** Chunks offset in data. */
+    private int[] offsets;
+    /** Chunks compressed length. */
+    private int[] lengths;
+    /** Chunks already claimed for loading. */
+    private boolean[] claimed;
+    /** Opened chunk size in tile. */
+    private int size;
+    /** Opened map width in chunk. */
+    private int widthInChunk;
+    /** Chunks not set on map yet. */
+    private int remaining;
+    /** Background decoder (<code>null</code> if none). */
+    private ExecutorService executor;
+
+    /**
+     * Create feature with default chunk size and budget.
+     * 
+     * <p>
+     * The {@link Featurable} must have:
+     * </p>
+     * <ul>
+     * <li>{@link MapTileSurface}</li>
+     * </ul>
+     */
+    public MapTilePersisterStream()
+    {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_BUDGET);
+    }
+
+    /**
+     * Create feature.
+     * 
+     * <p>
+     * The {@link Featurable} must have:
+     * </p>
+     * <ul>
+     * <li>{@link MapTileSurface}</li>
+     * </ul>
+     * 
+     * @param chunkSize The chunk size in tile used on save (must be strictly positive).
+     * @param budget The maximum chunks set on map per update (must be strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public MapTilePersisterStream(int chunkSize, int budget)
+    {
+        super();
+
+        Check.superiorStrict(chunkSize, 0);
+        Check.inferiorOrEqual(chunkSize, Character.MAX_VALUE);
+        Check.superiorStrict(budget, 0);
+
+        this.chunkSize = chunkSize;
+        this.budget = budget;
+    }
+
+    /**
+     * Open a map saved with {@link #save(FileWriting)}. Map is created without any tile, only header and index are
+     * read. Data are memory mapped if media is a file.
+     * 
+     * @param media The map media (must not be <code>null</code>).
+     * @throws IOException If error on reading.
+     * @throws LionEngineException If invalid argument.
+     */
+    public void open(Media media) throws IOException
+    {
+        Check.notNull(media);
+
+        close();
+
+        final File file = media.getFile();
+        if (file.isFile())
+        {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+            {
+                data = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        else
+        {
+            try (InputStream input = media.getInputStream())
+            {
+                data = ByteBuffer.wrap(input.readAllBytes());
+            }
+        }
+
+        final int tileWidth = data.getChar(0);
+        final int tileHeight = data.getChar(Character.BYTES);
+        final int widthInTile = data.getInt(Character.BYTES * 2);
+        final int heightInTile = data.getInt(Character.BYTES * 2 + Integer.BYTES);
+        size = data.getChar(Character.BYTES * 2 + Integer.BYTES * 2);
+
+        map.create(tileWidth, tileHeight, widthInTile, heightInTile);
+        notifyMapLoadStart();
+
+        widthInChunk = (int) Math.ceil(widthInTile / (double) size);
+        final int count = widthInChunk * (int) Math.ceil(heightInTile / (double) size);
+        offsets = new int[count];
+        lengths = new int[count];
+        claimed = new boolean[count];
+        remaining = count;
+
+        int offset = HEADER + Integer.BYTES * count;
+        for (int i = 0; i < count; i++)
+        {
+            lengths[i] = data.getInt(HEADER + Integer.BYTES * i);
+            offsets[i] = offset;
+            offset += lengths[i];
+        }
+        checkLoaded();
+    }
+
+    /**
+     * Load chunks intersecting area, and set them on map. Chunks already decoded in background are set on next
+     * {@link #update(double)}.
+     * 
+     * @param tx The horizontal tile center.
+     * @param ty The vertical tile center.
+     * @param radius The area radius in tile.
+     * @throws LionEngineException If not opened or invalid data.
+     */
+    public void loadRegion(int tx, int ty, int radius)
+    {
+        if (data == null)
+        {
+            throw new LionEngineException(ERROR_NOT_OPENED);
+        }
+        final int heightInChunk = offsets.length / Math.max(1, widthInChunk);
+        final int minX = Math.max(0, (tx - radius) / size);
+        final int minY = Math.max(0, (ty - radius) / size);
+        final int maxX = Math.min(widthInChunk - 1, (tx + radius) / size);
+        final int maxY = Math.min(heightInChunk - 1, (ty + radius) / size);
+
+        for (int cy = minY; cy <= maxY; cy++)
+        {
+            for (int cx = minX; cx <= maxX; cx++)
+            {
+                final int index = cy * widthInChunk + cx;
+                if (claim(index))
+                {
+                    apply(decode(index));
+                }
+            }
+        }
+        checkLoaded();
+    }
+
+    /**
+     * Decode remaining chunks in background, on a daemon thread. They are set on map by {@link #update(double)}.
+     * Background decoding is stopped once fully loaded, or by {@link #close()}, which must be called if map is not
+     * needed anymore before.
+     * 
+     * @throws LionEngineException If not opened.
+     */
+    public void loadRemaining()
+    {
+        if (data == null)
+        {
+            throw new LionEngineException(ERROR_NOT_OPENED);
+        }
+        if (executor == null)
+        {
+            executor = Executors.newSingleThreadExecutor(r ->
+            {
+                final Thread thread = new Thread(r, getClass().getSimpleName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            final int count = offsets.length;
+            executor.execute(() ->
+            {
+                try
+                {
+                    for (int i = 0; i < count && !Thread.currentThread().isInterrupted(); i++)
+                    {
+                        if (claim(i))
+                        {
+                            decoded.add(decode(i));
+                        }
+                    }
+                }
+                catch (final LionEngineException exception)
+                {
+                    LOGGER.error("loadRemaining error", exception);
+                }
+            });
+        }
+    }
+
+    /**
+     * Check if map is still loading after {@link #open(Media)}.
+     * 
+     * @return <code>true</code> if chunks remain to be set, <code>false</code> else.
+     */
+    public boolean isLoading()
+    {
+        return data != null;
+    }
+
+    /**
+     * Close opened map, stop background loading.
+     */
+    public void close()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+            try
+            {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            }
+            catch (@SuppressWarnings("unused") final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+        decoded.clear();
+        data = null;
+        offsets = null;
+        lengths = null;
+        claimed = null;
+    }
+
+    /**
+     * Claim chunk for loading.
+     * 
+     * @param index The chunk index.
+     * @return <code>true</code> if claimed, <code>false</code> if already claimed.
+     */
+    private synchronized boolean claim(int index)
+    {
+        if (claimed[index])
+        {
+            return false;
+        }
+        claimed[index] = true;
+        return true;
+    }
+
+    /**
+     * Decode chunk from opened data.
+     * 
+     * @param index The chunk index.
+     * @return The decoded chunk.
+     * @throws LionEngineException If invalid data.
+     */
+    private Chunk decode(int index)
+    {
+        final byte[] compressed = new byte[lengths[index]];
+        data.get(offsets[index], compressed);
+
+        return new Chunk(index, inflate(compressed, size * size, index));
+    }
+
+    /**
+     * Set chunk tiles on map, and notify listeners.
+     * 
+     * @param chunk The chunk to set.
+     */
+    private void apply(Chunk chunk)
+    {
+        final int tx = chunk.index() % widthInChunk * size;
+        final int ty = chunk.index() / widthInChunk * size;
+        final int tw = Math.min(size, map.getInTileWidth() - tx);
+        final int th = Math.min(size, map.getInTileHeight() - ty);
+        final int[] numbers = chunk.numbers();
+
+        for (int y = 0; y < th; y++)
+        {
+            for (int x = 0; x < tw; x++)
+            {
+                final int number = numbers[y * size + x];
+                if (number != NONE)
+                {
+                    map.setTile(tx + x, ty + y, number);
+                }
+            }
+        }
+        remaining--;
+
+        final int n = listenable.size();
+        for (int i = 0; i < n; i++)
+        {
+            listenable.get(i).notifyMapRegionLoaded(tx, ty, tw, th);
+        }
+    }
+
+    /**
+     * Close and notify map loaded if all chunks are set.
+     */
+    private void checkLoaded()
+    {
+        if (remaining == 0)
+        {
+            close();
+            notifyMapLoaded();
+        }
+    }
+
+    /**
+     * Notify listeners map load start.
+     */
+    private void notifyMapLoadStart()
+    {
+        final int n = listenable.size();
+        for (int i = 0; i < n; i++)
+        {
+            listenable.get(i).notifyMapLoadStart();
+        }
+    }
+
+    /**
+     * Notify listeners map loaded.
+     */
+    private void notifyMapLoaded()
+    {
+        final int n = listenable.size();
+        for (int i = 0; i < n; i++)
+        {
+            listenable.get(i).notifyMapLoaded();
+        }
+    }
+
+    /**
+     * Compress chunk tiles number.
+     * 
+     * @param tx The horizontal chunk tile.
+     * @param ty The vertical chunk tile.
+     * @param deflater The deflater to use.
+     * @return The compressed chunk.
+     */
+    private byte[] deflate(int tx, int ty, Deflater deflater)
+    {
+        final ByteBuffer raw = ByteBuffer.allocate(chunkSize * chunkSize * Integer.BYTES);
+        for (int y = 0; y < chunkSize; y++)
+        {
+            for (int x = 0; x < chunkSize; x++)
+            {
+                final Tile tile = map.getTile(tx + x, ty + y);
+                if (tile == null)
+                {
+                    raw.putInt(NONE);
+                }
+                else
+                {
+                    raw.putInt(tile.getNumber());
+                }
+            }
+        }
+
+        deflater.reset();
+        deflater.setInput(raw.array());
+        deflater.finish();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[raw.capacity()];
+        while (!deflater.finished())
+        {
+            output.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Decompress chunk tiles number.
+     * 
+     * @param compressed The compressed chunk.
+     * @param count The tiles number in chunk.
+     * @param index The chunk index.
+     * @return The tiles number.
+     * @throws LionEngineException If invalid data.
+     */
+    private static int[] inflate(byte[] compressed, int count, int index)
+    {
+        final Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(compressed);
+            final byte[] raw = new byte[count * Integer.BYTES];
+            int read = 0;
+            while (read < raw.length && !inflater.finished())
+            {
+                final int n = inflater.inflate(raw, read, raw.length - read);
+                if (n == 0 && inflater.needsInput())
+                {
+                    break;
+                }
+                read += n;
+            }
+            if (read < raw.length)
+            {
+                throw new LionEngineException(ERROR_CHUNK + index);
+            }
+            final int[] numbers = new int[count];
+            ByteBuffer.wrap(raw).asIntBuffer().get(numbers);
+            return numbers;
+        }
+        catch (final DataFormatException exception)
+        {
+            throw new LionEngineException(exception, ERROR_CHUNK + index);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public void prepare(FeatureProvider provider)
+    {
+        super.prepare(provider);
+
+        map = provider.getFeature(MapTileSurface.class);
+    }
+
+    @Override
+    public void addListener(MapTilePersisterListener listener)
+    {
+        Check.notNull(listener);
+
+        listenable.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(MapTilePersisterListener listener)
+    {
+        Check.notNull(listener);
+
+        listenable.removeListener(listener);
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        if (data != null)
+        {
+            for (int i = 0; i < budget; i++)
+            {
+                final Chunk chunk = decoded.poll();
+                if (chunk == null)
+                {
+                    break;
+                }
+                apply(chunk);
+            }
+            checkLoaded();
+        }
+    }
+
+    /**
+     * Save map to specified file as binary data. Each chunk is compressed separately, and indexed in header:
+     * 
+     * <pre>
+     * <code>(char)</code> tile width
+     * <code>(char)</code> tile height
+     * <code>(int)</code> width in tiles
+     * <code>(int)</code> height in tiles
+     * <code>(char)</code> chunk size in tiles
+     * for each chunk, by line
+     *   <code>(int)</code> compressed chunk length
+     * for each chunk, by line
+     *   <code>(byte[])</code> deflated chunk tiles number by line (<code>(int)</code> number, -1 if no tile)
+     * </pre>
+     * 
+     * @param output The output level file.
+     * @throws IOException If error on writing.
+     */
+    @Override
+    public void save(FileWriting output) throws IOException
+    {
+        Check.notNull(output);
+
+        final int widthInTile = map.getInTileWidth();
+        final int heightInTile = map.getInTileHeight();
+        final int width = (int) Math.ceil(widthInTile / (double) chunkSize);
+        final int height = (int) Math.ceil(heightInTile / (double) chunkSize);
+
+        final byte[][] chunks = new byte[width * height][];
+        final Deflater deflater = new Deflater();
+        try
+        {
+            for (int cy = 0; cy < height; cy++)
+            {
+                for (int cx = 0; cx < width; cx++)
+                {
+                    chunks[cy * width + cx] = deflate(cx * chunkSize, cy * chunkSize, deflater);
+                }
+            }
+        }
+        finally
+        {
+            deflater.end();
+        }
+
+        output.writeChar((char) map.getTileWidth());
+        output.writeChar((char) map.getTileHeight());
+        output.writeInteger(widthInTile);
+        output.writeInteger(heightInTile);
+        output.writeChar((char) chunkSize);
+
+        for (final byte[] chunk : chunks)
+        {
+            output.writeInteger(chunk.length);
+        }
+        for (final byte[] chunk : chunks)
+        {
+            output.writeBytes(chunk);
+        }
+    }
+
+    /**
+     * Load a map from a specified file as binary data, fully and sequentially (see {@link #save(FileWriting)} order).
+     * Use {@link #open(Media)} to load by region.
+     * 
+     * @param input The input level file.
+     * @throws IOException If error on reading.
+     */
+    @Override
+    public void load(FileReading input) throws IOException
+    {
+        Check.notNull(input);
+
+        close();
+
+        final int tileWidth = input.readChar();
+        final int tileHeight = input.readChar();
+        final int widthInTile = input.readInteger();
+        final int heightInTile = input.readInteger();
+        final int chunk = input.readChar();
+
+        map.create(tileWidth, tileHeight, widthInTile, heightInTile);
+        notifyMapLoadStart();
+
+        final int width = (int) Math.ceil(widthInTile / (double) chunk);
+        final int count = width * (int) Math.ceil(heightInTile / (double) chunk);
+        final int[] chunks = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            chunks[i] = input.readInteger();
+        }
+
+        size = chunk;
+        widthInChunk = width;
+        remaining = count;
+        for (int i = 0; i < count; i++)
+        {
+            final byte[] compressed = new byte[chunks[i]];
+            input.readBytes(compressed);
+            apply(new Chunk(i, inflate(compressed, chunk * chunk, i)));
+        }
+        notifyMapLoaded();
+    }
+
+    /**
+     * Decoded chunk.
+     * 
+     * @param index The chunk index.
+     * @param numbers The tiles number by line.
+     */
+    private record Chunk(int index, int[] numbers)
+    {
+    }
+}
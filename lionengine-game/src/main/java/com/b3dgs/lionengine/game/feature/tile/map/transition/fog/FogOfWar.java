@@ -25,6 +25,7 @@ import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.viewer.MapTileViewer;
 import com.b3dgs.lionengine.geom.Area;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
@@ -40,6 +41,10 @@ import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
  * <li>{@link #setEnabled(boolean, boolean)}</li>
  * <li>{@link #create(Media)}</li>
  * </ul>
+ * 
+ * <p>
+ * If the map has a {@link MapTileViewer} when created, changed fog tiles are invalidated on its chunks cache.
+ * </p>
  */
 @FeatureInterface
 public class FogOfWar extends FeatureAbstract implements MapTileRenderer, Listenable<RevealedListener>
@@ -63,6 +68,8 @@ public class FogOfWar extends FeatureAbstract implements MapTileRenderer, Listen
 
     /** Map surface reference. */
     private MapTileSurface map;
+    /** Map viewer reference (<code>null</code> if none). */
+    private MapTileViewer viewer;
 
     /**
      * Create feature.
@@ -70,6 +77,22 @@ public class FogOfWar extends FeatureAbstract implements MapTileRenderer, Listen
     public FogOfWar()
     {
         super();
+
+        mapHidden.addTileSetListener(this::invalidate);
+        mapFogged.addTileSetListener(this::invalidate);
+    }
+
+    /**
+     * Invalidate fog tile on map viewer.
+     * 
+     * @param tile The changed fog tile.
+     */
+    private void invalidate(Tile tile)
+    {
+        if (viewer != null)
+        {
+            viewer.invalidate(tile.getInTileX(), tile.getInTileY());
+        }
     }
 
     /**
@@ -81,6 +104,10 @@ public class FogOfWar extends FeatureAbstract implements MapTileRenderer, Listen
     {
         tw = map.getTileWidth();
         th = map.getTileHeight();
+        if (hasFeature(MapTileViewer.class))
+        {
+            viewer = getFeature(MapTileViewer.class);
+        }
         mapHidden.create(map, config, hideTiles);
         mapFogged.create(map, config, fogTiles);
     }
@@ -32,6 +32,7 @@ import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
 import com.b3dgs.lionengine.game.feature.tile.map.transition.MapTileTransition;
 import com.b3dgs.lionengine.game.feature.tile.map.transition.MapTileTransitionModel;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
@@ -259,6 +260,16 @@ public class MapTileFog implements Listenable<RevealedListener>
         return map.getTile(tx, ty);
     }
 
+    /**
+     * Add a fog tile set listener.
+     * 
+     * @param listener The listener to add.
+     */
+    void addTileSetListener(TileSetListener listener)
+    {
+        map.addListener(listener);
+    }
+
     @Override
     public void addListener(RevealedListener listener)
     {
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.viewer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+
+/**
+ * Map tile chunks cache. Tiles are rendered by square chunk into a buffer, which is drawn while not invalidated.
+ * Least recently drawn chunks are disposed when capacity is reached.
+ */
+final class MapTileChunks
+{
+    /** Chunks by index, in access order. */
+    private final Map<Integer, ImageBuffer> chunks;
+    /** Map reference. */
+    private final MapTileSurface map;
+    /** Tile renderers. */
+    private final List<MapTileRenderer> renderers;
+    /** Chunk size in tile. */
+    private final int size;
+
+    /** Map width in tile when cached. */
+    private int widthInTile;
+    /** Map height in tile when cached. */
+    private int heightInTile;
+    /** Tile width when cached. */
+    private int tileWidth;
+    /** Tile height when cached. */
+    private int tileHeight;
+    /** Map width in chunk. */
+    private int widthInChunk;
+
+    /**
+     * Create chunks cache.
+     * 
+     * @param map The map reference.
+     * @param renderers The tile renderers.
+     * @param size The chunk size in tile (must be strictly positive).
+     * @param capacity The maximum cached chunks (must be strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    MapTileChunks(MapTileSurface map, List<MapTileRenderer> renderers, int size, int capacity)
+    {
+        super();
+
+        Check.superiorStrict(size, 0);
+        Check.superiorStrict(capacity, 0);
+
+        this.map = map;
+        this.renderers = renderers;
+        this.size = size;
+        chunks = new LinkedHashMap<>(capacity, 0.75F, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ImageBuffer> eldest)
+            {
+                if (size() > capacity)
+                {
+                    eldest.getValue().dispose();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Render visible area by chunk. Only visible part of chunks is drawn.
+     * 
+     * @param g The graphic output.
+     * @param sx The first visible horizontal tile.
+     * @param sy The first visible vertical tile.
+     * @param ex The last visible horizontal tile.
+     * @param ey The last visible vertical tile.
+     * @param viewX The horizontal view offset.
+     * @param viewY The vertical view offset.
+     */
+    void render(Graphic g, int sx, int sy, int ex, int ey, double viewX, double viewY)
+    {
+        check();
+
+        for (int cy = sy / size; cy <= ey / size; cy++)
+        {
+            final int ty0 = Math.max(sy, cy * size);
+            final int ty1 = Math.min(ey, cy * size + size - 1);
+            final int sy1 = (cy * size + size - 1 - ty1) * tileHeight;
+            final int sy2 = (cy * size + size - ty0) * tileHeight;
+            final int dy = (int) Math.round(-ty1 * (double) tileHeight + viewY - tileHeight);
+
+            for (int cx = sx / size; cx <= ex / size; cx++)
+            {
+                final int tx0 = Math.max(sx, cx * size);
+                final int tx1 = Math.min(ex, cx * size + size - 1);
+                final int sx1 = (tx0 - cx * size) * tileWidth;
+                final int sx2 = (tx1 + 1 - cx * size) * tileWidth;
+                final int dx = (int) Math.round(tx0 * (double) tileWidth - viewX);
+
+                final ImageBuffer chunk = getChunk(cx, cy);
+                g.drawImage(chunk, dx, dy, dx + sx2 - sx1, dy + sy2 - sy1, sx1, sy1, sx2, sy2);
+            }
+        }
+    }
+
+    /**
+     * Invalidate chunk containing tile.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     */
+    void invalidate(int tx, int ty)
+    {
+        if (tx >= 0 && ty >= 0 && tx < widthInTile && ty < heightInTile)
+        {
+            final ImageBuffer chunk = chunks.remove(Integer.valueOf(ty / size * widthInChunk + tx / size));
+            if (chunk != null)
+            {
+                chunk.dispose();
+            }
+        }
+    }
+
+    /**
+     * Dispose all chunks.
+     */
+    void clear()
+    {
+        for (final ImageBuffer chunk : chunks.values())
+        {
+            chunk.dispose();
+        }
+        chunks.clear();
+    }
+
+    /**
+     * Get the cached chunks number.
+     * 
+     * @return The cached chunks number.
+     */
+    int getCached()
+    {
+        return chunks.size();
+    }
+
+    /**
+     * Clear chunks if map size changed since cached.
+     */
+    private void check()
+    {
+        if (widthInTile != map.getInTileWidth()
+            || heightInTile != map.getInTileHeight()
+            || tileWidth != map.getTileWidth()
+            || tileHeight != map.getTileHeight())
+        {
+            clear();
+            widthInTile = map.getInTileWidth();
+            heightInTile = map.getInTileHeight();
+            tileWidth = map.getTileWidth();
+            tileHeight = map.getTileHeight();
+            widthInChunk = (int) Math.ceil(widthInTile / (double) size);
+        }
+    }
+
+    /**
+     * Get chunk, rendered if not cached.
+     * 
+     * @param cx The horizontal chunk.
+     * @param cy The vertical chunk.
+     * @return The chunk buffer.
+     */
+    private ImageBuffer getChunk(int cx, int cy)
+    {
+        final Integer key = Integer.valueOf(cy * widthInChunk + cx);
+        ImageBuffer chunk = chunks.get(key);
+        if (chunk == null)
+        {
+            chunk = Graphics.createImageBufferAlpha(size * tileWidth, size * tileHeight);
+            final Graphic g = chunk.createGraphic();
+            final int tx0 = cx * size;
+            final int ty0 = cy * size;
+            final int tx1 = Math.min(widthInTile, tx0 + size);
+            final int ty1 = Math.min(heightInTile, ty0 + size);
+
+            for (int ty = ty0; ty < ty1; ty++)
+            {
+                final int y = (ty0 + size - 1 - ty) * tileHeight;
+                for (int tx = tx0; tx < tx1; tx++)
+                {
+                    final Tile tile = map.getTile(tx, ty);
+                    if (tile != null)
+                    {
+                        final int x = (tx - tx0) * tileWidth;
+                        for (int i = 0; i < renderers.size(); i++)
+                        {
+                            renderers.get(i).renderTile(g, tile, x, y);
+                        }
+                    }
+                }
+            }
+            g.dispose();
+            chunks.put(key, chunk);
+        }
+        return chunk;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.viewer;
 
+import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.game.feature.Displayable;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
@@ -44,4 +45,34 @@ public interface MapTileViewer extends Displayable, MapTileRenderer
      * Remove all renderers.
      */
     void clear();
+
+    /**
+     * Enable chunk cache. Tiles are rendered by square chunk into buffers, then only visible parts of chunks are drawn.
+     * A chunk is rendered again only when one of its tiles is set or removed, when renderers change, or when
+     * invalidated by {@link #invalidate(int, int)} (a renderer showing dynamic content, such as a fog, must invalidate
+     * changed tiles).
+     * 
+     * @param chunkSize The chunk size in tile (must be strictly positive).
+     * @param capacity The maximum cached chunks, least recently drawn are disposed (must be strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    void enableCache(int chunkSize, int capacity);
+
+    /**
+     * Disable chunk cache, and dispose cached chunks. Tiles are rendered one by one (default).
+     */
+    void disableCache();
+
+    /**
+     * Invalidate chunk containing tile, rendered again on next render. Does nothing if cache is disabled.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     */
+    void invalidate(int tx, int ty);
+
+    /**
+     * Invalidate all chunks, such as after sheets loading. Does nothing if cache is disabled.
+     */
+    void invalidate();
 }
@@ -29,6 +29,7 @@ import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
 
@@ -45,6 +46,8 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
 
     /** Map tile surface. */
     private MapTileSurface map;
+    /** Chunks cache (<code>null</code> if disabled). */
+    private MapTileChunks chunks;
 
     /**
      * Create feature.
@@ -120,12 +123,49 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
         }
     }
 
+    /**
+     * Render visible tiles with chunks cache.
+     * 
+     * @param g The graphic output.
+     * @param sy The first vertical tile location.
+     * @param inTileHeight The vertical tiles number.
+     * @param viewY The vertical view offset.
+     */
+    private void renderChunks(Graphic g, int sy, int inTileHeight, double viewY)
+    {
+        final int inTileWidth = (int) Math.ceil(viewer.getWidth() / (double) map.getTileWidth());
+        final int sx = (int) Math.floor((viewer.getX() + viewer.getViewX()) / map.getTileWidth());
+        final int minX = Math.max(0, sx);
+        final int minY = Math.max(0, sy);
+        final int maxX = Math.min(map.getInTileWidth() - 1, sx + inTileWidth);
+        final int maxY = Math.min(map.getInTileHeight() - 1, sy + inTileHeight);
+
+        if (minX <= maxX && minY <= maxY)
+        {
+            chunks.render(g, minX, minY, maxX, maxY, viewer.getX(), viewY);
+        }
+    }
+
     @Override
     public void prepare(FeatureProvider provider)
     {
         super.prepare(provider);
 
         map = provider.getFeature(MapTileSurface.class);
+        map.addListener(new TileSetListener()
+        {
+            @Override
+            public void onTileSet(Tile tile)
+            {
+                invalidate(tile.getInTileX(), tile.getInTileY());
+            }
+
+            @Override
+            public void onTileRemoved(int tx, int ty)
+            {
+                invalidate(tx, ty);
+            }
+        });
         renderers.add(this);
     }
 
@@ -135,6 +175,7 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
         Check.notNull(renderer);
 
         renderers.add(renderer);
+        invalidate();
     }
 
     @Override
@@ -143,12 +184,49 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
         Check.notNull(renderer);
 
         renderers.remove(renderer);
+        invalidate();
     }
 
     @Override
     public void clear()
     {
         renderers.clear();
+        invalidate();
+    }
+
+    @Override
+    public void enableCache(int chunkSize, int capacity)
+    {
+        disableCache();
+        chunks = new MapTileChunks(map, renderers, chunkSize, capacity);
+    }
+
+    @Override
+    public void disableCache()
+    {
+        if (chunks != null)
+        {
+            chunks.clear();
+            chunks = null;
+        }
+    }
+
+    @Override
+    public void invalidate(int tx, int ty)
+    {
+        if (chunks != null)
+        {
+            chunks.invalidate(tx, ty);
+        }
+    }
+
+    @Override
+    public void invalidate()
+    {
+        if (chunks != null)
+        {
+            chunks.clear();
+        }
     }
 
     @Override
@@ -160,14 +238,21 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
             final int sy = (int) Math.floor((viewer.getY() - viewer.getViewY()) / map.getTileHeight());
             final double viewY = viewer.getY() + viewer.getScreenHeight();
 
-            for (int v = 0; v <= inTileHeight; v++)
+            if (chunks == null)
             {
-                final int ty = v + sy;
-                if (ty >= 0 && ty < map.getInTileHeight())
+                for (int v = 0; v <= inTileHeight; v++)
                 {
-                    renderHorizontal(g, ty, viewY);
+                    final int ty = v + sy;
+                    if (ty >= 0 && ty < map.getInTileHeight())
+                    {
+                        renderHorizontal(g, ty, viewY);
+                    }
                 }
             }
+            else
+            {
+                renderChunks(g, sy, inTileHeight, viewY);
+            }
         }
     }
 
@@ -20,7 +20,9 @@ import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -223,6 +225,57 @@ final class ComponentRefreshableTest
         assertEquals(0, layerable.getLayerRefresh().intValue());
     }
 
+    /**
+     * Test parallel update with deferred notifications.
+     */
+    @Test
+    void testParallel()
+    {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final ComponentRefreshable component = new ComponentRefreshable(pool);
+        final Thread thread = Thread.currentThread();
+        final List<Transformable> notified = new ArrayList<>();
+        final List<Transformable> expected = new ArrayList<>();
+        final AtomicInteger serial = new AtomicInteger();
+
+        for (int i = 0; i < 500; i++)
+        {
+            final FeaturableModel object = new FeaturableModel(services, setup);
+            final Transformable transformable = object.addFeature(TransformableModel.class, services, setup);
+            transformable.addListener(t ->
+            {
+                assertEquals(thread, Thread.currentThread());
+                notified.add(t);
+            });
+            object.addFeature(new RefreshableModel(extrp ->
+            {
+                transformable.updateBefore();
+                transformable.moveLocation(extrp, 1.0, 0.0);
+                transformable.updateAfter();
+            }, true));
+            component.notifyHandlableAdded(object);
+            expected.add(transformable);
+        }
+        final FeaturableModel object = new FeaturableModel(services, setup);
+        object.addFeature(new RefreshableModel(extrp ->
+        {
+            assertEquals(thread, Thread.currentThread());
+            assertEquals(expected.size(), notified.size());
+            serial.incrementAndGet();
+        }));
+        component.notifyHandlableAdded(object);
+
+        component.update(1.0, null);
+
+        assertEquals(expected, notified);
+        assertEquals(1, serial.get());
+        for (final Transformable transformable : expected)
+        {
+            assertEquals(1.0, transformable.getX());
+        }
+        pool.shutdown();
+    }
+
     /**
      * Create a test object.
      * 
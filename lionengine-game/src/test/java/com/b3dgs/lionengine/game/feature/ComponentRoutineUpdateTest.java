@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+
+/**
+ * Test {@link ComponentRoutineUpdate}.
+ */
+final class ComponentRoutineUpdateTest
+{
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilTestSetup.createConfig(ComponentRoutineUpdateTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final List<String> calls = new ArrayList<>();
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+
+    /**
+     * Test routines are updated by priority and type, for each step.
+     */
+    @Test
+    void testUpdate()
+    {
+        final ComponentRoutineUpdate component = new ComponentRoutineUpdate();
+        final Handler handler = new Handler(services);
+        handler.addComponent(component);
+
+        final Featurable first = createFeaturable("a");
+        final Featurable second = createFeaturable("b");
+        handler.add(first);
+        handler.add(second);
+        handler.update(1.0);
+
+        assertEquals(3, component.getGroups());
+        assertEquals(Arrays.asList("before a0",
+                                   "before b0",
+                                   "before a1",
+                                   "before b1",
+                                   "before a2",
+                                   "before b2",
+                                   "update a0",
+                                   "update b0",
+                                   "update a1",
+                                   "update b1",
+                                   "update a2",
+                                   "update b2",
+                                   "after a0",
+                                   "after b0",
+                                   "after a1",
+                                   "after b1",
+                                   "after a2",
+                                   "after b2"),
+                     calls);
+
+        calls.clear();
+        first.getFeature(Identifiable.class).destroy();
+        handler.update(1.0);
+
+        assertEquals(Arrays.asList("before b0",
+                                   "before b1",
+                                   "before b2",
+                                   "update b0",
+                                   "update b1",
+                                   "update b2",
+                                   "after b0",
+                                   "after b1",
+                                   "after b2"),
+                     calls);
+
+        calls.clear();
+        handler.removeAll();
+        handler.update(1.0);
+
+        assertTrue(calls.isEmpty());
+    }
+
+    /**
+     * Create featurable with routines added in reverse priority order.
+     * 
+     * @param name The featurable name.
+     * @return The created featurable.
+     */
+    private Featurable createFeaturable(String name)
+    {
+        final Featurable featurable = new FeaturableModel(services, setup);
+        featurable.addFeature(new RoutineLow(services, setup, calls, name + "2"));
+        featurable.addFeature(new RoutineHigh(services, setup, calls, name + "0"));
+        featurable.addFeature(new RoutineMedium(services, setup, calls, name + "1"));
+        return featurable;
+    }
+
+    /**
+     * Routine mock recording its calls.
+     */
+    private abstract static class RoutineMock extends FeatureModel implements RoutineUpdate
+    {
+        /** Calls reference. */
+        private final List<String> calls;
+        /** Routine name. */
+        private final String name;
+        /** Routine priority. */
+        private final int priority;
+
+        /**
+         * Create routine.
+         * 
+         * @param services The services reference.
+         * @param setup The setup reference.
+         * @param calls The calls reference.
+         * @param name The routine name.
+         * @param priority The routine priority.
+         */
+        RoutineMock(Services services, Setup setup, List<String> calls, String name, int priority)
+        {
+            super(services, setup);
+
+            this.calls = calls;
+            this.name = name;
+            this.priority = priority;
+        }
+
+        @Override
+        public void updateBefore()
+        {
+            calls.add("before " + name);
+        }
+
+        @Override
+        public void update(double extrp)
+        {
+            calls.add("update " + name);
+        }
+
+        @Override
+        public void updateAfter()
+        {
+            calls.add("after " + name);
+        }
+
+        @Override
+        public int getPriotityUpdate()
+        {
+            return priority;
+        }
+    }
+
+    /**
+     * Routine mock with state priority.
+     */
+    @FeatureInterface
+    private static final class RoutineHigh extends RoutineMock
+    {
+        /**
+         * Create routine.
+         * 
+         * @param services The services reference.
+         * @param setup The setup reference.
+         * @param calls The calls reference.
+         * @param name The routine name.
+         */
+        RoutineHigh(Services services, Setup setup, List<String> calls, String name)
+        {
+            super(services, setup, calls, name, RoutineUpdate.STATE);
+        }
+    }
+
+    /**
+     * Routine mock with custom priority.
+     */
+    @FeatureInterface
+    private static final class RoutineMedium extends RoutineMock
+    {
+        /**
+         * Create routine.
+         * 
+         * @param services The services reference.
+         * @param setup The setup reference.
+         * @param calls The calls reference.
+         * @param name The routine name.
+         */
+        RoutineMedium(Services services, Setup setup, List<String> calls, String name)
+        {
+            super(services, setup, calls, name, RoutineUpdate.CUSTOM);
+        }
+    }
+
+    /**
+     * Routine mock with transformable priority.
+     */
+    @FeatureInterface
+    private static final class RoutineLow extends RoutineMock
+    {
+        /**
+         * Create routine.
+         * 
+         * @param services The services reference.
+         * @param setup The setup reference.
+         * @param calls The calls reference.
+         * @param name The routine name.
+         */
+        RoutineLow(Services services, Setup setup, List<String> calls, String name)
+        {
+            super(services, setup, calls, name, RoutineUpdate.TRANSFORMABLE);
+        }
+    }
+}
@@ -20,8 +20,15 @@ import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
 import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -159,6 +166,48 @@ final class HandlablesImplTest
         assertEquals(1, i);
     }
 
+    /**
+     * Test typed items removal keeps other items.
+     */
+    @Test
+    void testRemoveMany()
+    {
+        final Featurable first = new ObjectComplex(services, setup);
+        final Featurable second = new ObjectComplex(services, setup);
+        final Featurable third = new ObjectComplex(services, setup);
+        featurables.add(first);
+        featurables.add(second);
+        featurables.add(third);
+        featurables.add(second);
+
+        featurables.remove(first, first.getFeature(Identifiable.class).getId());
+
+        final Set<Updatable> updatables = new HashSet<>();
+        for (final Updatable updatable : featurables.get(Updatable.class))
+        {
+            updatables.add(updatable);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(second, third)), updatables);
+
+        final Handlables.Typed<Updatable> typed = featurables.get(Updatable.class);
+
+        assertEquals(2, typed.size());
+        assertEquals(updatables, new HashSet<>(Arrays.asList(typed.get(0), typed.get(1))));
+
+        featurables.remove(third, third.getFeature(Identifiable.class).getId());
+        featurables.remove(second, second.getFeature(Identifiable.class).getId());
+
+        final Iterator<ObjectComplex> iterator = featurables.get(ObjectComplex.class).iterator();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next, null);
+        assertEquals(0, typed.size());
+        assertEquals(0, featurables.get(String.class).size());
+
+        first.getFeature(Identifiable.class).notifyDestroyed();
+        second.getFeature(Identifiable.class).notifyDestroyed();
+        third.getFeature(Identifiable.class).notifyDestroyed();
+    }
+
     /**
      * Complex object with interface.
      */
@@ -23,6 +23,9 @@ import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
+import com.b3dgs.lionengine.Viewer;
+import com.b3dgs.lionengine.ViewerMock;
+
 /**
  * Test {@link Services}.
  */
@@ -127,6 +130,34 @@ final class ServicesTest
         assertFalse(services.getOptional(String.class).isPresent());
     }
 
+    /**
+     * Test the service get by super types, first added first.
+     */
+    @Test
+    void testSuperTypes()
+    {
+        final Services services = new Services();
+        final Camera camera = services.add(new Camera());
+        final ViewerMock viewer = services.add(new ViewerMock());
+
+        assertEquals(camera, services.get(Viewer.class));
+        assertEquals(camera, services.get(Object.class));
+        assertEquals(camera, services.get(FeaturableAbstract.class));
+        assertEquals(viewer, services.get(ViewerMock.class));
+
+        services.add(camera);
+        services.remove(camera);
+
+        assertEquals(viewer, services.get(Viewer.class));
+        assertFalse(services.getOptional(Camera.class).isPresent());
+        assertFalse(services.getOptional(FeaturableAbstract.class).isPresent());
+
+        services.add(camera);
+
+        assertEquals(viewer, services.get(Viewer.class));
+        assertEquals(camera, services.get(Camera.class));
+    }
+
     /**
      * Service without constructor.
      */
@@ -32,6 +32,7 @@ import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.Version;
 import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageCache;
 
 /**
  * Test {@link Setup}.
@@ -143,6 +144,40 @@ final class SetupTest
         assertEquals(11, setup.getIcon().getHeight());
     }
 
+    /**
+     * Test the setup dispose releasing shared surface and icon.
+     */
+    @Test
+    void testDispose()
+    {
+        ImageCache.setEnabled(true);
+        ImageCache.setBudget(0L);
+        try
+        {
+            final Media config = Medias.create("Object.xml");
+            final Setup setup1 = new Setup(config);
+            final Setup setup2 = new Setup(config);
+
+            assertEquals(setup1.getSurface(), setup2.getSurface());
+            assertEquals(setup1.getIcon(), setup2.getIcon());
+
+            setup1.dispose();
+            setup1.dispose();
+
+            assertEquals(2 * 7L * 11L * 4L, ImageCache.getBytes());
+
+            setup2.dispose();
+
+            assertEquals(0L, ImageCache.getBytes());
+        }
+        finally
+        {
+            ImageCache.setEnabled(false);
+            ImageCache.setBudget(ImageCache.DEFAULT_BUDGET);
+            ImageCache.clear();
+        }
+    }
+
     /**
      * Test the setup with no surface.
      */
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.collidable;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.ViewerMock;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.ComponentUpdater;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.UtilTestSetup;
+import com.b3dgs.lionengine.geom.Geom;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+
+/**
+ * Test {@link SpatialHash}.
+ */
+final class SpatialHashTest
+{
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    static void beforeTests()
+    {
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilTestSetup.createConfig(SpatialHashTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Graphics.setFactoryGraphic(null);
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Handler handler = new Handler(services);
+    private final SpatialHash hash = new SpatialHash(new ViewerMock(), 2, 3);
+    private final ComponentCollision component = new ComponentCollision(hash);
+    private final AtomicInteger count = new AtomicInteger();
+
+    private Featurable featurable1;
+    private Transformable transformable1;
+    private Featurable featurable2;
+    private Transformable transformable2;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        services.add(new Camera());
+
+        featurable1 = create(1, 0);
+        transformable1 = featurable1.getFeature(Transformable.class);
+        featurable2 = create(0, 1);
+        transformable2 = featurable2.getFeature(Transformable.class);
+
+        handler.addComponent((ComponentUpdater) component);
+        handler.add(featurable1);
+        handler.add(featurable2);
+
+        featurable2.getFeature(Collidable.class).addListener((c, w, b) -> count.incrementAndGet());
+    }
+
+    /**
+     * Create collidable featurable.
+     * 
+     * @param group The collidable group.
+     * @param accept The accepted group.
+     * @return The created featurable.
+     */
+    private Featurable create(int group, int accept)
+    {
+        final Featurable featurable = CollidableModelTest.createFeaturable(config, services);
+        final Collidable collidable = featurable.getFeature(Collidable.class);
+        collidable.setGroup(Integer.valueOf(group));
+        collidable.addAccept(Integer.valueOf(accept));
+        collidable.addCollision(new Collision("test", 0, 0, 8, 8, false));
+        collidable.setEnabled(true);
+
+        return featurable;
+    }
+
+    /**
+     * Test constructor with invalid arguments.
+     */
+    @Test
+    void testConstructorInvalid()
+    {
+        assertThrows(() -> new SpatialHash(new ViewerMock(), 0, 1), "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> new SpatialHash(new ViewerMock(), 1, 0), "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test couple sharing many cells is computed only once.
+     */
+    @Test
+    void testComputeOnce()
+    {
+        transformable1.teleport(10.0, 10.0);
+        transformable2.teleport(11.0, 11.0);
+
+        handler.update(1.0);
+
+        assertEquals(2, hash.size());
+        assertEquals(2, count.get());
+    }
+
+    /**
+     * Test collidables in different cells are not computed.
+     */
+    @Test
+    void testComputeFar()
+    {
+        transformable1.teleport(10.0, 10.0);
+        transformable2.teleport(100.0, 100.0);
+
+        handler.update(1.0);
+
+        assertEquals(0, count.get());
+
+        transformable2.teleport(12.0, 12.0);
+        transformable2.check(true);
+        handler.update(1.0);
+
+        assertEquals(2, count.get());
+    }
+
+    /**
+     * Test removed collidable is not computed anymore.
+     */
+    @Test
+    void testRemove()
+    {
+        transformable1.teleport(10.0, 10.0);
+        transformable2.teleport(11.0, 11.0);
+        handler.remove(featurable1);
+        handler.update(1.0);
+
+        assertEquals(1, hash.size());
+        assertEquals(0, count.get());
+
+        handler.update(1.0);
+
+        assertEquals(0, count.get());
+    }
+
+    /**
+     * Test get inside fills caller list once per collidable.
+     */
+    @Test
+    void testGetInside()
+    {
+        transformable1.teleport(20.0, 20.0);
+        transformable2.teleport(40.0, 40.0);
+        handler.update(1.0);
+
+        final List<Collidable> inside = new ArrayList<>();
+        component.getInside(Geom.createArea(0, 0, 8, 8), inside);
+
+        assertTrue(inside.isEmpty());
+
+        component.getInside(Geom.createArea(15, 15, 16, 16), inside);
+
+        assertEquals(1, inside.size());
+        assertEquals(featurable1.getFeature(Collidable.class), inside.get(0));
+
+        inside.clear();
+        component.getInside(Geom.createArea(-1000, -1000, 2000, 2000), inside);
+
+        assertEquals(2, inside.size());
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.networkable;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.FeaturableModel;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.TransformableModel;
+import com.b3dgs.lionengine.game.feature.UtilTestSetup;
+import com.b3dgs.lionengine.network.UtilNetwork;
+
+/**
+ * Test {@link InterestGrid}.
+ */
+final class InterestGridTest
+{
+    private static final Integer CLIENT1 = Integer.valueOf(1);
+    private static final Integer CLIENT2 = Integer.valueOf(2);
+
+    /** Object config test. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilTestSetup.createConfig(InterestGridTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final List<Networkable> networkables = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+    private final InterestGrid.Listener listener = new InterestGrid.Listener()
+    {
+        @Override
+        public void notifyEntered(Integer clientId, Integer dataId)
+        {
+            events.add("+" + clientId + ":" + dataId);
+        }
+
+        @Override
+        public void notifyLeft(Integer clientId, Integer dataId)
+        {
+            events.add("-" + clientId + ":" + dataId);
+        }
+    };
+
+    /**
+     * Create synced networkable.
+     * 
+     * @param dataId The data id.
+     * @param clientId The owner client id.
+     * @param located <code>true</code> to add {@link Transformable}, <code>false</code> else.
+     * @param x The horizontal location.
+     * @return The networkable.
+     */
+    private Networkable create(int dataId, Integer clientId, boolean located, double x)
+    {
+        final FeaturableModel featurable = new FeaturableModel(services, setup);
+        if (located)
+        {
+            featurable.addFeature(TransformableModel.class, services, setup).teleport(x, 0.0);
+        }
+        final Networkable networkable = featurable.addFeature(NetworkableModel.class, services, setup);
+        networkable.setDataId(dataId);
+        networkable.setClientId(clientId);
+        networkable.setSynced(true);
+        networkables.add(networkable);
+
+        return networkable;
+    }
+
+    /**
+     * Update grid and get notified events.
+     * 
+     * @param grid The grid to update.
+     * @return The events.
+     */
+    private List<String> update(InterestGrid grid)
+    {
+        events.clear();
+        grid.update(networkables, listener);
+        return events;
+    }
+
+    /**
+     * Test area around owned networkables, with enter and leave margin.
+     */
+    @Test
+    void testOwned()
+    {
+        final InterestGrid grid = new InterestGrid(100.0, 32);
+        create(0, CLIENT1, true, 0.0);
+        final Networkable near = create(1, UtilNetwork.SERVER_ID, true, 50.0);
+        create(2, UtilNetwork.SERVER_ID, true, 500.0);
+        create(3, UtilNetwork.SERVER_ID, true, 101.0);
+
+        assertTrue(grid.isRelevant(CLIENT1, 2));
+
+        grid.addClient(CLIENT1);
+
+        assertFalse(grid.isRelevant(CLIENT1, 0));
+        assertEquals(List.of("+1:1"), update(grid));
+        assertTrue(grid.isRelevant(CLIENT1, 0));
+        assertTrue(grid.isRelevant(CLIENT1, 1));
+        assertFalse(grid.isRelevant(CLIENT1, 2));
+        assertFalse(grid.isRelevant(CLIENT1, 3));
+
+        near.getFeature(Transformable.class).teleportX(-130.0);
+
+        assertTrue(update(grid).isEmpty());
+        assertTrue(grid.isRelevant(CLIENT1, 1));
+
+        near.getFeature(Transformable.class).teleportX(-140.0);
+
+        assertEquals(List.of("-1:1"), update(grid));
+        assertFalse(grid.isRelevant(CLIENT1, 1));
+
+        grid.removeClient(CLIENT1);
+
+        assertTrue(grid.isRelevant(CLIENT1, 2));
+    }
+
+    /**
+     * Test owned networkables bucketed again on each update, and areas stable between updates.
+     */
+    @Test
+    void testOwnerChanged()
+    {
+        final InterestGrid grid = new InterestGrid(100.0, 32);
+        final Networkable owned = create(6, CLIENT1, true, 0.0);
+        create(7, UtilNetwork.SERVER_ID, true, 1000.0);
+        grid.addClient(CLIENT1);
+        grid.addClient(CLIENT2);
+
+        assertTrue(update(grid).isEmpty());
+        assertTrue(update(grid).isEmpty());
+        assertTrue(grid.isRelevant(CLIENT1, 6));
+        assertFalse(grid.isRelevant(CLIENT2, 6));
+
+        owned.setClientId(CLIENT2);
+
+        assertEquals(List.of("-1:6"), update(grid));
+        assertFalse(grid.isRelevant(CLIENT1, 6));
+        assertTrue(grid.isRelevant(CLIENT2, 6));
+
+        owned.getFeature(Transformable.class).teleportX(1000.0);
+
+        assertEquals(List.of("+2:7"), update(grid));
+        assertTrue(grid.isRelevant(CLIENT2, 7));
+
+        owned.setClientId(CLIENT1);
+
+        assertEquals(List.of("+1:7", "-2:6", "-2:7"), update(grid));
+        assertTrue(grid.isRelevant(CLIENT1, 6));
+        assertTrue(grid.isRelevant(CLIENT1, 7));
+        assertFalse(grid.isRelevant(CLIENT2, 7));
+    }
+
+    /**
+     * Test area around viewer, and networkables without location.
+     */
+    @Test
+    void testViewer()
+    {
+        final InterestGrid grid = new InterestGrid(64.0, 16);
+        create(4, UtilNetwork.SERVER_ID, true, -1000.0);
+        create(5, UtilNetwork.SERVER_ID, false, 0.0);
+        grid.addClient(CLIENT2);
+
+        assertEquals(List.of("+2:5"), update(grid));
+
+        final Transformable viewer = new TransformableModel(services, setup);
+        viewer.teleport(-1010.0, 10.0);
+        grid.setViewer(CLIENT2, viewer);
+
+        assertEquals(List.of("+2:4"), update(grid));
+        assertTrue(grid.isRelevant(CLIENT2, 4));
+
+        grid.setViewer(CLIENT2, null);
+
+        assertEquals(List.of("-2:4"), update(grid));
+        assertTrue(grid.isRelevant(CLIENT2, 5));
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.networkable;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrowsIo;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.network.BitReader;
+import com.b3dgs.lionengine.network.BitWriter;
+import com.b3dgs.lionengine.network.Message;
+import com.b3dgs.lionengine.network.UtilNetwork;
+
+/**
+ * Test {@link Snapshot}, {@link SnapshotServer} and {@link SnapshotClient}.
+ */
+final class SnapshotTest
+{
+    /**
+     * Create snapshot.
+     * 
+     * @param sequence The sequence.
+     * @param values The data id, x and y of each networkable.
+     * @return The snapshot.
+     */
+    private static Snapshot create(int sequence, int... values)
+    {
+        final int count = values.length / 3;
+        final int[] ids = new int[count];
+        final int[] xs = new int[count];
+        final int[] ys = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            ids[i] = values[i * 3];
+            xs[i] = values[i * 3 + 1];
+            ys[i] = values[i * 3 + 2];
+        }
+        return new Snapshot(sequence, ids, xs, ys);
+    }
+
+    /**
+     * Decode written changes.
+     * 
+     * @param writer The written changes.
+     * @param baseline The baseline.
+     * @return The decoded snapshot.
+     * @throws IOException If error.
+     */
+    private static Snapshot decode(BitWriter writer, Snapshot baseline) throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(writer.getBytes());
+        writer.copy(buffer);
+        return Snapshot.decode(1, baseline, new BitReader(buffer, 0));
+    }
+
+    /**
+     * Check snapshots content.
+     * 
+     * @param expected The expected snapshot.
+     * @param snapshot The snapshot to check.
+     */
+    private static void assertSnapshot(Snapshot expected, Snapshot snapshot)
+    {
+        assertEquals(expected.size(), snapshot.size());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            assertEquals(expected.getId(i), snapshot.getId(i));
+            assertEquals(expected.getX(i), snapshot.getX(i));
+            assertEquals(expected.getY(i), snapshot.getY(i));
+        }
+    }
+
+    /**
+     * Test quantization.
+     */
+    @Test
+    void testQuantize()
+    {
+        assertEquals(16, Snapshot.quantize(1.0));
+        assertEquals(-24, Snapshot.quantize(-1.5));
+        assertEquals(1.5, Snapshot.dequantize(Snapshot.quantize(1.5)));
+        assertEquals(0.0625, Snapshot.dequantize(Snapshot.quantize(0.07)));
+    }
+
+    /**
+     * Test encode and decode with new, updated, unchanged and removed networkables.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testDelta() throws IOException
+    {
+        final Snapshot baseline = create(1, 1, 10, 20, 2, 30, 40, 5, 50, 60);
+        final Snapshot current = create(2, 1, 11, 20, 2, 30, 40, 7, 70, 80);
+        final BitWriter full = new BitWriter();
+
+        assertSnapshot(current, Snapshot.encode(current, Snapshot.EMPTY, full, Integer.MAX_VALUE, 0));
+        assertSnapshot(current, decode(full, Snapshot.EMPTY));
+
+        final BitWriter delta = new BitWriter();
+        final Snapshot sent = Snapshot.encode(current, baseline, delta, Integer.MAX_VALUE, 0);
+
+        assertSnapshot(current, sent);
+        assertEquals(-1, sent.getSkipped());
+        assertSnapshot(current, decode(delta, baseline));
+        assertTrue(delta.getBits() < full.getBits());
+
+        final BitWriter same = new BitWriter();
+        Snapshot.encode(current, current, same, Integer.MAX_VALUE, 0);
+
+        assertEquals(1, same.getBits());
+    }
+
+    /**
+     * Test budget skipping changes, and next encoding starting from first skipped.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testBudget() throws IOException
+    {
+        final int[] values = new int[100 * 3];
+        for (int i = 0; i < 100; i++)
+        {
+            values[i * 3] = i;
+            values[i * 3 + 1] = i * 100;
+            values[i * 3 + 2] = -i * 100;
+        }
+        final Snapshot current = create(1, values);
+        final BitWriter writer = new BitWriter();
+        final int budget = 256;
+
+        Snapshot known = Snapshot.EMPTY;
+        int start = 0;
+        int messages = 0;
+        do
+        {
+            writer.clear();
+            final Snapshot sent = Snapshot.encode(current, known, writer, budget, start);
+
+            assertTrue(writer.getBits() <= budget);
+            assertSnapshot(sent, decode(writer, known));
+
+            known = sent;
+            start = Math.max(0, sent.getSkipped());
+            messages++;
+        }
+        while (known.size() < current.size());
+
+        assertSnapshot(current, known);
+        assertTrue(messages > 1);
+    }
+
+    /**
+     * Test decode with invalid changes.
+     */
+    @Test
+    void testDecodeInvalid()
+    {
+        final BitWriter writer = new BitWriter();
+        Snapshot.encode(create(1, 3, 1, 1), create(0, 3, 0, 0), writer, Integer.MAX_VALUE, 0);
+
+        assertThrowsIo(() -> decode(writer, Snapshot.EMPTY), "Invalid snapshot change: 3 kind=0 known=false");
+
+        writer.clear();
+        writer.writeBool(true);
+
+        assertThrowsIo(() -> decode(writer, Snapshot.EMPTY), "Unable to read 6 bits at 3/8");
+    }
+
+    /**
+     * Test server sending to client, interpolated and acknowledged.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testServerClient() throws IOException
+    {
+        final List<Message> messages = new ArrayList<>();
+        final SnapshotServer server = new SnapshotServer((message, clientId) -> messages.add(message),
+                                                         (clientId, dataId) -> true,
+                                                         1024);
+        final SnapshotClient client = new SnapshotClient(2);
+        final Integer clientId = Integer.valueOf(1);
+
+        server.send(create(1, 4, 0, 0));
+
+        assertTrue(messages.isEmpty());
+
+        server.addClient(clientId);
+        server.send(create(2, 4, 0, 0));
+        final ByteBuffer first = messages.get(0).create();
+
+        assertEquals(-1, first.getInt(SnapshotDelta.INDEX_BASELINE));
+        assertTrue(client.receive(2, first));
+
+        server.ack(clientId, 2);
+        server.send(create(3, 4, 32, 0));
+        final ByteBuffer second = messages.get(1).create();
+
+        assertEquals(2, second.getInt(SnapshotDelta.INDEX_BASELINE));
+        assertEquals(3, second.getInt(UtilNetwork.INDEX_DATA_ID));
+        assertTrue(client.receive(3, second));
+        assertEquals(0.0, client.getX(0));
+
+        client.update();
+
+        assertEquals(1.0, client.getX(0));
+
+        client.update();
+        client.update();
+
+        assertEquals(2.0, client.getX(0));
+        assertEquals(0.0, client.getY(0));
+
+        server.removeClient(clientId);
+        server.send(create(4, 4, 0, 0));
+
+        assertEquals(2, messages.size());
+    }
+
+    /**
+     * Test client dropping changes with unknown baseline.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testClientBaselineMissing() throws IOException
+    {
+        final BitWriter writer = new BitWriter();
+        Snapshot.encode(create(3, 1, 0, 0), create(2, 1, 1, 1), writer, Integer.MAX_VALUE, 0);
+        final SnapshotClient client = new SnapshotClient(1);
+
+        assertFalse(client.receive(3, new SnapshotDelta(3, 2, writer).create()));
+        assertEquals(0, client.getLatest().size());
+        assertThrowsIo(() -> client.receive(-1, ByteBuffer.allocate(0)), "Invalid snapshot sequence: -1");
+    }
+}
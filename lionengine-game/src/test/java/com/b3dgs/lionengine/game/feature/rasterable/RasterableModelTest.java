@@ -136,4 +136,44 @@ final class RasterableModelTest
 
         assertEquals(1, rasterable.getRasterAnim(0).getFrame());
     }
+
+    /**
+     * Test rasters sprites are shared between instances of same setup.
+     */
+    @Test
+    void testShared()
+    {
+        services.add(new ViewerMock());
+
+        final SetupSurfaceRastered setup = new SetupSurfaceRastered(Medias.create(OBJECT_XML));
+        final Rasterable rasterable1 = createRasterable(setup);
+        final Rasterable rasterable2 = createRasterable(setup);
+
+        assertTrue(setup.getRastersAnim() == setup.getRastersAnim());
+        assertTrue(setup.getSurfaceAnim() == rasterable1.getRasterAnim(0));
+
+        final int n = setup.getRastersAnim().size() + 1;
+        for (int i = 0; i < n; i++)
+        {
+            assertTrue(rasterable1.getRasterAnim(i) == rasterable2.getRasterAnim(i));
+        }
+    }
+
+    /**
+     * Create rasterable.
+     * 
+     * @param setup The setup reference.
+     * @return The created rasterable.
+     */
+    private Rasterable createRasterable(SetupSurfaceRastered setup)
+    {
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeature(TransformableModel.class, services, setup);
+        final Animatable animatable = featurable.addFeature(AnimatableModel.class, services, setup);
+        final Mirrorable mirrorable = featurable.addFeature(MirrorableModel.class, services, setup);
+
+        final Rasterable rasterable = new RasterableModel(services, setup, transformable, mirrorable, animatable);
+        rasterable.prepare(featurable);
+        return rasterable;
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link TileIndex}.
+ */
+final class TileIndexTest
+{
+    /**
+     * Test constructor with invalid width.
+     */
+    @Test
+    void testConstructorInvalidWidth()
+    {
+        assertThrows(() -> new TileIndex<>(0, 1), "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test constructor with invalid height.
+     */
+    @Test
+    void testConstructorInvalidHeight()
+    {
+        assertThrows(() -> new TileIndex<>(1, 0), "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test index with tiles read from a wider image.
+     */
+    @Test
+    void testIndex()
+    {
+        // 3 tiles of 2x2 on a 6x2 image, first and last are identical
+        final int[] rgb = new int[]
+        {
+            1, 2, 5, 6, 1, 2,
+            3, 4, 7, 8, 3, 4
+        };
+        final TileIndex<Integer> index = new TileIndex<>(2, 2);
+
+        assertNull(index.get(rgb, 0, 6));
+        assertTrue(index.put(rgb, 0, 6, Integer.valueOf(0)));
+        assertTrue(index.put(rgb, 2, 6, Integer.valueOf(1)));
+        assertFalse(index.put(rgb, 4, 6, Integer.valueOf(2)));
+
+        assertEquals(2, index.size());
+        assertEquals(Integer.valueOf(0), index.get(rgb, 0, 6));
+        assertEquals(Integer.valueOf(1), index.get(rgb, 2, 6));
+        assertEquals(Integer.valueOf(0), index.get(rgb, 4, 6));
+        assertEquals(Integer.valueOf(0), index.get(new int[]
+        {
+            1, 2, 3, 4
+        }, 0, 2));
+        assertNull(index.get(new int[]
+        {
+            1, 2, 3, 5
+        }, 0, 2));
+    }
+
+    /**
+     * Test index with hash collision.
+     */
+    @Test
+    void testCollision()
+    {
+        // 31 * a + b collides when a + 1 and b - 31
+        final int[] rgb = new int[]
+        {
+            1, 32, 2, 1
+        };
+        assertEquals(TileIndex.hash(2, 1, rgb, 0, 4), TileIndex.hash(2, 1, rgb, 2, 4));
+
+        final TileIndex<Integer> index = new TileIndex<>(2, 1);
+
+        assertTrue(index.put(rgb, 0, 4, Integer.valueOf(0)));
+        assertTrue(index.put(rgb, 2, 4, Integer.valueOf(1)));
+
+        assertEquals(2, index.size());
+        assertEquals(Integer.valueOf(0), index.get(rgb, 0, 4));
+        assertEquals(Integer.valueOf(1), index.get(rgb, 2, 4));
+    }
+}
@@ -42,6 +42,8 @@ import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.geom.Geom;
 import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBufferMock;
+import com.b3dgs.lionengine.graphic.drawable.Drawable;
 
 /**
  * Test {@link MapTileGame}.
@@ -267,4 +269,114 @@ final class MapTileGameTest
 
         assertNull(set.get());
     }
+
+    /**
+     * Test compact map storage.
+     */
+    @Test
+    void testCompact()
+    {
+        final MapTileGame compact = new MapTileGame(true);
+
+        assertFalse(compact.isCreated());
+
+        compact.create(16, 16, 3, 2);
+        compact.loadSheets(Arrays.asList(Drawable.loadSpriteTiled(new ImageBufferMock(32, 32), 16, 16),
+                                         Drawable.loadSpriteTiled(new ImageBufferMock(32, 32), 16, 16)));
+
+        assertTrue(compact.isCreated());
+
+        final AtomicReference<Tile> set = new AtomicReference<>();
+        compact.addListener(tile -> set.set(tile));
+        compact.setTile(2, 1, 5);
+        final Tile tile = compact.getTile(2, 1);
+
+        assertEquals(tile, set.get());
+        assertEquals(5, tile.getNumber());
+        assertEquals(1, tile.getSheet());
+        assertEquals(32.0, tile.getX());
+        assertEquals(16.0, tile.getY());
+        assertEquals(1, compact.getTilesNumber());
+        assertNull(compact.getTile(0, 0));
+
+        set.set(null);
+        compact.setTile(2, 1, 5);
+
+        assertNull(set.get());
+        assertThrows(() -> compact.setTile(0, 0, -1), "Invalid argument: -1 is not superior or equal to 0");
+
+        compact.getFeature(MapTileSurface.class).resize(4, 3);
+
+        assertEquals(tile, compact.getTile(2, 1));
+        assertNull(compact.getTile(3, 2));
+
+        compact.removeTile(2, 1);
+
+        assertNull(compact.getTile(2, 1));
+
+        compact.setTile(0, 0, 0);
+        compact.clear();
+
+        assertEquals(0, compact.getTilesNumber());
+    }
+
+    /**
+     * Test compact map storage shares tile instance until location is set.
+     */
+    @Test
+    void testCompactSameTile()
+    {
+        final MapTileGame compact = new MapTileGame(true);
+        compact.create(16, 16, 3, 2);
+        compact.setTile(1, 1, 2);
+        final Tile tile = compact.getTile(1, 1);
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertTrue(tile == compact.getTile(1, 1));
+        }
+
+        compact.setTile(1, 1, 3);
+        final Tile other = compact.getTile(1, 1);
+
+        assertFalse(tile == other);
+        assertEquals(3, other.getNumber());
+        assertTrue(other == compact.getTile(1, 1));
+
+        compact.removeTile(1, 1);
+        compact.setTile(1, 1, 3);
+
+        assertFalse(other == compact.getTile(1, 1));
+    }
+
+    /**
+     * Test compact map storage keeps a bounded number of tiles after a full map scan.
+     */
+    @Test
+    void testCompactBounded()
+    {
+        final MapTileGame compact = new MapTileGame(true);
+        compact.create(16, 16, 32, 32);
+        for (int ty = 0; ty < compact.getInTileHeight(); ty++)
+        {
+            for (int tx = 0; tx < compact.getInTileWidth(); tx++)
+            {
+                compact.setTile(tx, ty, 1);
+            }
+        }
+        final Tile first = compact.getTile(0, 0);
+
+        assertTrue(first == compact.getTile(0, 0));
+
+        for (int ty = 0; ty < compact.getInTileHeight(); ty++)
+        {
+            for (int tx = 0; tx < compact.getInTileWidth(); tx++)
+            {
+                assertEquals(1, compact.getTile(tx, ty).getNumber());
+            }
+        }
+
+        assertFalse(first == compact.getTile(0, 0));
+        assertEquals(first, compact.getTile(0, 0));
+    }
 }
@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.collision;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.FeaturableModel;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.TransformableModel;
+import com.b3dgs.lionengine.game.feature.UtilTestSetup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link MapTileCollisionComputer}.
+ */
+final class MapTileCollisionComputerTest
+{
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilTestSetup.createConfig(MapTileCollisionComputerTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final CollisionFormula top = new CollisionFormula("top",
+                                                              new CollisionRange(Axis.Y, 0, 15, 0, 15),
+                                                              new CollisionFunctionLinear(0.0, 15.0),
+                                                              new CollisionConstraint());
+    private final CollisionFormula slope = new CollisionFormula("slope",
+                                                                new CollisionRange(Axis.Y, 0, 15, 0, 15),
+                                                                new CollisionFunctionLinear(0.5, 2.0),
+                                                                new CollisionConstraint());
+    private final CollisionFormula steep = new CollisionFormula("steep",
+                                                                new CollisionRange(Axis.Y, 4, 11, 0, 15),
+                                                                new CollisionFunctionLinear(-2.0, 24.0),
+                                                                new CollisionConstraint());
+    private final CollisionFormula left = new CollisionFormula("left",
+                                                               new CollisionRange(Axis.X, 0, 15, 0, 15),
+                                                               new CollisionFunctionLinear(0.0, 0.0),
+                                                               new CollisionConstraint());
+    private final CollisionFormula wall = new CollisionFormula("wall",
+                                                               new CollisionRange(Axis.X, 0, 15, 2, 13),
+                                                               new CollisionFunctionLinear(-0.25, 8.0),
+                                                               new CollisionConstraint());
+    private final List<CollisionFormula> formulas = Arrays.asList(top, slope, steep, left, wall);
+    private final CollisionGroup ground = new CollisionGroup(UtilMap.GROUND, Arrays.asList(top, left));
+    private final CollisionGroup tree = new CollisionGroup(UtilMap.TREE, Arrays.asList(slope, steep, wall));
+    private final CollisionCategory categoryY = new CollisionCategory("y",
+                                                                      Axis.Y,
+                                                                      0,
+                                                                      0,
+                                                                      false,
+                                                                      Arrays.asList(ground, tree));
+    private final CollisionCategory categoryYGlue = new CollisionCategory("yGlue",
+                                                                          Axis.Y,
+                                                                          3,
+                                                                          -2,
+                                                                          true,
+                                                                          Arrays.asList(tree));
+    private final CollisionCategory categoryX = new CollisionCategory("x",
+                                                                      Axis.X,
+                                                                      -1,
+                                                                      4,
+                                                                      false,
+                                                                      Arrays.asList(ground, tree));
+    private final CollisionCategory categoryXGlue = new CollisionCategory("xGlue",
+                                                                          Axis.X,
+                                                                          2,
+                                                                          0,
+                                                                          true,
+                                                                          Arrays.asList(ground));
+    private final List<CollisionCategory> categories = Arrays.asList(categoryY,
+                                                                     categoryYGlue,
+                                                                     categoryX,
+                                                                     categoryXGlue);
+    private final Services services = new Services();
+    private final MapTileGame map = services.add(new MapTileGame());
+    private final MapTileCollisionLoader loader = new MapTileCollisionLoader();
+    private Transformable transformable;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        final Setup setup = new Setup(config);
+        transformable = new FeaturableModel(services, setup).addFeature(TransformableModel.class, services, setup);
+
+        map.addFeature(new MapTileGroupModel());
+        map.create(16, 16, 8, 8);
+        UtilMap.setGroups(map);
+        for (int tx = 0; tx < map.getInTileWidth(); tx++)
+        {
+            for (int ty = 0; ty < map.getInTileHeight(); ty++)
+            {
+                final int kind = (tx * 3 + ty) % 5;
+                if (kind == 1 || kind == 4)
+                {
+                    map.setTile(tx, ty, UtilMap.TILE_GROUND);
+                }
+                else if (kind == 2)
+                {
+                    map.setTile(tx, ty, UtilMap.TILE_TREE);
+                }
+                else if (kind == 3)
+                {
+                    map.setTile(tx, ty, UtilMap.TILE_WATER);
+                }
+            }
+        }
+        loader.loadCollisions(map,
+                              map.getFeature(MapTileGroupModel.class),
+                              new CollisionFormulaConfig(Map.of(top.getName(),
+                                                                top,
+                                                                slope.getName(),
+                                                                slope,
+                                                                steep.getName(),
+                                                                steep,
+                                                                left.getName(),
+                                                                left,
+                                                                wall.getName(),
+                                                                wall)),
+                              new CollisionGroupConfig(Map.of(ground.getName(), ground, tree.getName(), tree)));
+    }
+
+    /**
+     * Test baked tables give same results than formulas evaluation.
+     */
+    @Test
+    void testBakedEquivalence()
+    {
+        final MapTileCollisionComputer expected = new MapTileCollisionComputer(false);
+        final MapTileCollisionComputer baked = new MapTileCollisionComputer(true);
+        final double[] speeds =
+        {
+            -21.0, -7.0, -1.5, 0.0, 0.5, 3.0, 11.0
+        };
+
+        int found = 0;
+        for (int x = -8; x < 136; x += 5)
+        {
+            for (int y = -8; y < 136; y += 5)
+            {
+                for (final double vx : speeds)
+                {
+                    for (final double vy : speeds)
+                    {
+                        for (final CollisionCategory category : categories)
+                        {
+                            transformable.teleport(x, y);
+                            transformable.moveLocation(1.0, vx, vy);
+                            final CollisionResult result = expected.computeCollision(map,
+                                                                                     loader::getCollisionFormulasList,
+                                                                                     transformable,
+                                                                                     category);
+                            final CollisionResult other = baked.computeCollision(map,
+                                                                                 loader::getCollisionFormulasList,
+                                                                                 transformable,
+                                                                                 category);
+                            if (result != null)
+                            {
+                                assertResult(result, other);
+                                found++;
+                            }
+                            else
+                            {
+                                assertNull(other);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(found > 0);
+    }
+
+    /**
+     * Test baked tables are updated on invalidation.
+     */
+    @Test
+    void testInvalidate()
+    {
+        final MapTileCollisionComputer baked = new MapTileCollisionComputer(true);
+        final CollisionCategory category = categoryY;
+
+        transformable.teleport(20.0, 40.0);
+        transformable.moveLocation(1.0, 0.0, -10.0);
+        assertNotNull(baked.computeCollision(map, loader::getCollisionFormulasList, transformable, category));
+
+        map.setTile(1, 1, UtilMap.TILE_WATER);
+        loader.update(map, map.getFeature(MapTileGroupModel.class), map.getTile(1, 1));
+        baked.invalidate(map.getTile(1, 1));
+        assertNull(baked.computeCollision(map, loader::getCollisionFormulasList, transformable, category));
+
+        map.setTile(1, 1, UtilMap.TILE_GROUND);
+        loader.update(map, map.getFeature(MapTileGroupModel.class), map.getTile(1, 1));
+        baked.clear();
+        assertNotNull(baked.computeCollision(map, loader::getCollisionFormulasList, transformable, category));
+    }
+
+    /**
+     * Test categories imported for each spawned collidable share baked tables.
+     */
+    @Test
+    void testBakedShared()
+    {
+        final MapTileCollisionComputer baked = new MapTileCollisionComputer(true);
+
+        for (int i = 0; i < 100; i++)
+        {
+            for (final CollisionCategory category : categories)
+            {
+                final CollisionCategory spawned = new CollisionCategory(category.getName(),
+                                                                        category.getAxis(),
+                                                                        category.getOffsetX(),
+                                                                        category.getOffsetY(),
+                                                                        category.isGlue(),
+                                                                        new ArrayList<>(category.getGroups()));
+                transformable.teleport(20.0 + i % 80, 40.0);
+                transformable.moveLocation(1.0, 3.0, -10.0);
+                baked.computeCollision(map, loader::getCollisionFormulasList, transformable, spawned);
+            }
+        }
+
+        assertEquals(categories.size(), baked.getBaked());
+
+        baked.clear();
+
+        assertEquals(0, baked.getBaked());
+    }
+
+    /**
+     * Assert results are equal.
+     * 
+     * @param expected The expected result.
+     * @param result The result to check.
+     */
+    private void assertResult(CollisionResult expected, CollisionResult result)
+    {
+        assertNotNull(result);
+        assertEquals(expected.getX(), result.getX());
+        assertEquals(expected.getY(), result.getY());
+        assertEquals(expected.getTile(), result.getTile());
+        for (final CollisionFormula formula : formulas)
+        {
+            assertEquals(expected.startWithX(formula.getName()), result.startWithX(formula.getName()));
+            assertEquals(expected.startWithY(formula.getName()), result.startWithY(formula.getName()));
+        }
+    }
+}
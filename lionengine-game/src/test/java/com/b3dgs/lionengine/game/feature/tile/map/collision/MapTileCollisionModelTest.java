@@ -134,6 +134,27 @@ final class MapTileCollisionModelTest
         assertEquals(2.0, result.getY());
     }
 
+    /**
+     * Test the map tile collision is updated when tile is set.
+     */
+    @Test
+    void testTileSet()
+    {
+        transformable.teleport(1.0, 3.0);
+        transformable.moveLocation(1.0, 0.0, -2.0);
+
+        assertEquals(2.0, mapCollision.computeCollision(transformable, categoryY).getY());
+
+        for (int ty = 0; ty < map.getInTileHeight(); ty++)
+        {
+            map.setTile(1, ty, UtilMap.TILE_WATER);
+        }
+        transformable.teleport(1.0, 3.0);
+        transformable.moveLocation(1.0, 0.0, -2.0);
+
+        assertNull(mapCollision.computeCollision(transformable, categoryY));
+    }
+
     /**
      * Test the map tile collision from top wit fast speed.
      */
@@ -73,6 +73,19 @@ final class AstarTest
         assertNotNull(Astar.createPathFinder(map, 1, new HeuristicClosest()));
     }
 
+    /**
+     * Test the create path finder heap.
+     */
+    @Test
+    void testCreatePathFinderHeap()
+    {
+        final MapTileGame map = new MapTileGame();
+        map.addFeature(new MapTileGroupModel());
+        map.addFeature(new MapTilePathModel());
+
+        assertEquals(PathFinderHeap.class, Astar.createPathFinderHeap(map, 1, new HeuristicClosest()).getClass());
+    }
+
     /**
      * Test the create heuristic closest.
      */
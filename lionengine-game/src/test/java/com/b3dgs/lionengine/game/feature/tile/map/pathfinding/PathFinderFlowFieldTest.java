@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.EngineMock;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Version;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link PathFinderFlowField}.
+ */
+final class PathFinderFlowFieldTest
+{
+    /** Map size. */
+    private static final int SIZE = 16;
+    /** Steps followed by search. */
+    private static final int LOOKAHEAD = 4;
+
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Start engine.
+     */
+    @BeforeAll
+    static void beforeAll()
+    {
+        Engine.start(new EngineMock(PathFinderFlowFieldTest.class.getSimpleName(), new Version(1, 0, 0)));
+
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilPathfinding.createConfig(PathFinderFlowFieldTest.class, 1.0);
+    }
+
+    /**
+     * Terminate engine.
+     */
+    @AfterAll
+    static void afterAll()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+
+        Engine.terminate();
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private MapTileGame map;
+    private PathFinderFlowField flow;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        services.add(new Camera());
+        map = UtilPathfinding.createMap(services, SIZE);
+        flow = new PathFinderFlowField(map, 2, LOOKAHEAD);
+    }
+
+    /**
+     * Test constructor with invalid arguments.
+     */
+    @Test
+    void testConstructorInvalid()
+    {
+        assertThrows(() -> Astar.createPathFinderFlowField(map, 0, 1),
+                     "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> Astar.createPathFinderFlowField(map, 1, 0),
+                     "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test field steering has the same length than reference implementation.
+     */
+    @Test
+    void testFindPath()
+    {
+        UtilPathfinding.wall(map, 8, SIZE - 1);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Path expected = Astar.createPathFinder(map, SIZE * SIZE, Astar.createHeuristicClosest())
+                                   .findPath(mover, 12, 1, false);
+
+        assertEquals(LOOKAHEAD + 1, flow.findPath(mover, 12, 1, false).getLength());
+        assertEquals(expected.getLength() - 1, UtilPathfinding.walk(flow, map, mover, 12, 1));
+
+        mover.setLocation(12, 1);
+
+        assertNull(flow.findPath(mover, 12, 1, false));
+        assertNull(flow.findPath(mover, -1, 1, false));
+    }
+
+    /**
+     * Test field shared by movers, and least recently used eviction releasing users.
+     */
+    @Test
+    void testCache()
+    {
+        final Pathfindable mover1 = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Pathfindable mover2 = UtilPathfinding.createPathfindable(services, setup, 2, 1);
+
+        assertNotNull(flow.findPath(mover1, 12, 12, false));
+        assertNotNull(flow.findPath(mover2, 12, 12, false));
+        assertEquals(1, flow.getCached());
+        assertEquals(2, flow.getUsers());
+
+        assertNotNull(flow.findPath(mover1, 10, 12, false));
+        assertEquals(2, flow.getUsers());
+
+        assertNotNull(flow.findPath(mover1, 8, 12, false));
+        assertEquals(2, flow.getCached());
+        assertEquals(1, flow.getUsers());
+    }
+
+    /**
+     * Test cache cleared on tile set.
+     */
+    @Test
+    void testInvalidateTile()
+    {
+        UtilPathfinding.wall(map, 8, SIZE - 1);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        assertNotNull(flow.findPath(mover, 12, 1, false));
+
+        map.setTile(8, SIZE - 1, UtilMap.TILE_TREE);
+
+        assertEquals(0, flow.getCached());
+        assertEquals(0, flow.getUsers());
+        assertNull(flow.findPath(mover, 12, 1, false));
+    }
+
+    /**
+     * Test field invalidated by other objects only.
+     */
+    @Test
+    void testInvalidateObjects()
+    {
+        UtilPathfinding.wall(map, 8, SIZE - 1);
+        final MapTilePath mapPath = map.getFeature(MapTilePath.class);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        assertNotNull(flow.findPath(mover, 12, 1, false));
+
+        mover.setLocation(2, 2);
+
+        assertEquals(1, flow.getCached());
+
+        mapPath.addObjectId(8, SIZE - 1, Integer.valueOf(-1));
+
+        assertEquals(0, flow.getCached());
+        assertNull(flow.findPath(mover, 12, 1, false));
+        assertNotNull(flow.findPath(mover, 12, 1, true));
+
+        mapPath.removeObjectId(8, SIZE - 1, Integer.valueOf(-1));
+
+        assertEquals(1, flow.getCached());
+        assertNotNull(flow.findPath(mover, 12, 1, false));
+    }
+
+    /**
+     * Test map is not listened anymore once disposed.
+     */
+    @Test
+    void testDispose()
+    {
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        assertNotNull(flow.findPath(mover, 12, 1, false));
+
+        flow.dispose();
+
+        assertEquals(0, flow.getCached());
+        assertEquals(0, flow.getUsers());
+        assertNotNull(flow.findPath(mover, 12, 1, false));
+
+        map.setTile(8, SIZE - 1, UtilMap.TILE_TREE);
+
+        assertEquals(1, flow.getCached());
+    }
+
+    /**
+     * Test pathfindable steered by field.
+     */
+    @Test
+    void testPathfindable()
+    {
+        services.add(flow);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        mover.setSpeed(1.0, 1.0);
+
+        assertTrue(mover.setDestination(10, 12));
+
+        for (int i = 0; i < SIZE * 4 && !mover.isDestinationReached(); i++)
+        {
+            mover.update(1.0);
+        }
+
+        assertTrue(mover.isDestinationReached());
+        assertEquals(10, mover.getInTileX());
+        assertEquals(12, mover.getInTileY());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.EngineMock;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Version;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link PathFinderHeap}.
+ */
+final class PathFinderHeapTest
+{
+    /** Map size. */
+    private static final int SIZE = 12;
+
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Start engine.
+     */
+    @BeforeAll
+    static void beforeAll()
+    {
+        Engine.start(new EngineMock(PathFinderHeapTest.class.getSimpleName(), new Version(1, 0, 0)));
+
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilPathfinding.createConfig(PathFinderHeapTest.class, 1.0);
+    }
+
+    /**
+     * Terminate engine.
+     */
+    @AfterAll
+    static void afterAll()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+
+        Engine.terminate();
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private MapTileGame map;
+    private PathFinder heap;
+    private PathFinder reference;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        services.add(new Camera());
+        map = UtilPathfinding.createMap(services, SIZE);
+        heap = Astar.createPathFinderHeap(map, SIZE * SIZE, Astar.createHeuristicManhattan(0));
+        reference = Astar.createPathFinder(map, SIZE * SIZE, Astar.createHeuristicManhattan(0));
+    }
+
+    /**
+     * Test path in open field.
+     */
+    @Test
+    void testFindPath()
+    {
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Path path = heap.findPath(mover, 8, 1, false);
+
+        UtilPathfinding.assertPath(map, path, 1, 1, 8, 1);
+        assertEquals(8, path.getLength());
+    }
+
+    /**
+     * Test path around a wall has the same length than reference implementation.
+     */
+    @Test
+    void testFindPathWall()
+    {
+        for (int ty = 0; ty < SIZE - 1; ty++)
+        {
+            map.setTile(5, ty, UtilMap.TILE_TREE);
+        }
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Path expected = reference.findPath(mover, 9, 1, false);
+        final Path path = heap.findPath(mover, 9, 1, false);
+
+        UtilPathfinding.assertPath(map, path, 1, 1, 9, 1);
+        assertEquals(expected.getLength(), path.getLength());
+
+        final Path again = heap.findPath(mover, 9, 1, false);
+
+        assertEquals(path.getLength(), again.getLength());
+    }
+
+    /**
+     * Test no path when destination is unreachable.
+     */
+    @Test
+    void testFindPathNone()
+    {
+        for (int ty = 0; ty < SIZE; ty++)
+        {
+            map.setTile(5, ty, UtilMap.TILE_TREE);
+        }
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        assertNull(heap.findPath(mover, 9, 1, false));
+        assertNull(heap.findPath(mover, 1, 1, false));
+        assertNotNull(heap.findPath(mover, 3, 3, false));
+    }
+
+    /**
+     * Test path reuse.
+     */
+    @Test
+    void testReuse()
+    {
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Path reuse = new Path();
+        reuse.prependStep(0, 0);
+
+        final Path path = heap.findPath(mover, 1, 4, false, reuse);
+
+        assertEquals(reuse, path);
+        UtilPathfinding.assertPath(map, path, 1, 1, 1, 4);
+        assertEquals(4, path.getLength());
+    }
+
+    /**
+     * Test shared path finder from services.
+     */
+    @Test
+    void testShared()
+    {
+        services.add(heap);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        assertTrue(mover.setDestination(4, 4));
+        assertTrue(mover.isPathAvailable(6, 6));
+    }
+}
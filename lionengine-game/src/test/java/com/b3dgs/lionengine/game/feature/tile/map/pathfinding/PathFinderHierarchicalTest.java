@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.EngineMock;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Version;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link PathFinderHierarchical}.
+ */
+final class PathFinderHierarchicalTest
+{
+    /** Map size. */
+    private static final int SIZE = 40;
+    /** Cluster size. */
+    private static final int CLUSTER = 8;
+
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Start engine.
+     */
+    @BeforeAll
+    static void beforeAll()
+    {
+        Engine.start(new EngineMock(PathFinderHierarchicalTest.class.getSimpleName(), new Version(1, 0, 0)));
+
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilPathfinding.createConfig(PathFinderHierarchicalTest.class, 1.0);
+    }
+
+    /**
+     * Terminate engine.
+     */
+    @AfterAll
+    static void afterAll()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+
+        Engine.terminate();
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private MapTileGame map;
+    private PathFinder hierarchical;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        services.add(new Camera());
+        map = UtilPathfinding.createMap(services, SIZE);
+        hierarchical = Astar.createPathFinderHierarchical(map, CLUSTER, Astar.createHeuristicManhattan(0));
+    }
+
+    /**
+     * Test constructor with invalid cluster size.
+     */
+    @Test
+    void testConstructorInvalid()
+    {
+        assertThrows(() -> Astar.createPathFinderHierarchical(map, 0, Astar.createHeuristicClosest()),
+                     "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test short path is complete.
+     */
+    @Test
+    void testFindPathShort()
+    {
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Path path = hierarchical.findPath(mover, 6, 1, false);
+
+        UtilPathfinding.assertPath(map, path, 1, 1, 6, 1);
+        assertFalse(path.isPartial());
+        assertEquals(6, path.getLength());
+    }
+
+    /**
+     * Test long path is refined by segments.
+     */
+    @Test
+    void testFindPathPartial()
+    {
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Path path = hierarchical.findPath(mover, SIZE - 2, SIZE - 2, false);
+
+        assertTrue(path.isPartial());
+        assertTrue(path.getLength() < SIZE - 2);
+
+        assertEquals(SIZE - 3, UtilPathfinding.walk(hierarchical, map, mover, SIZE - 2, SIZE - 2));
+    }
+
+    /**
+     * Test path through a wall gap.
+     */
+    @Test
+    void testFindPathWall()
+    {
+        UtilPathfinding.wall(map, SIZE / 2, SIZE - 1);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        assertTrue(UtilPathfinding.walk(hierarchical, map, mover, SIZE - 2, 1) >= (SIZE - 2) * 2);
+    }
+
+    /**
+     * Test no path when destination is unreachable, and cluster invalidation on tile set.
+     */
+    @Test
+    void testInvalidateTile()
+    {
+        UtilPathfinding.wall(map, SIZE / 2, SIZE - 1);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        assertNotNull(hierarchical.findPath(mover, SIZE - 2, 1, false));
+
+        map.setTile(SIZE / 2, SIZE - 1, UtilMap.TILE_TREE);
+
+        assertNull(hierarchical.findPath(mover, SIZE - 2, 1, false));
+
+        map.setTile(SIZE / 2, SIZE - 1, UtilMap.TILE_GROUND);
+
+        assertNotNull(hierarchical.findPath(mover, SIZE - 2, 1, false));
+    }
+
+    /**
+     * Test objects are ignored by abstract graph, and checked when refining.
+     */
+    @Test
+    void testObjects()
+    {
+        UtilPathfinding.wall(map, SIZE / 2, SIZE - 1);
+        final MapTilePath mapPath = map.getFeature(MapTilePath.class);
+        final Pathfindable far = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Pathfindable near = UtilPathfinding.createPathfindable(services, setup, SIZE / 2 - 2, SIZE - 1);
+
+        mapPath.addObjectId(SIZE / 2, SIZE - 1, Integer.valueOf(-1));
+
+        assertTrue(hierarchical.findPath(far, SIZE - 2, 1, false).isPartial());
+        assertNull(hierarchical.findPath(near, SIZE / 2 + 2, SIZE - 1, false));
+        assertNotNull(hierarchical.findPath(near, SIZE / 2 + 2, SIZE - 1, true));
+
+        mapPath.removeObjectId(SIZE / 2, SIZE - 1, Integer.valueOf(-1));
+
+        assertNotNull(hierarchical.findPath(near, SIZE / 2 + 2, SIZE - 1, false));
+    }
+
+    /**
+     * Test tile set is not listened anymore once disposed.
+     */
+    @Test
+    void testDispose()
+    {
+        UtilPathfinding.wall(map, SIZE / 2, SIZE - 1);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+
+        assertNotNull(hierarchical.findPath(mover, SIZE - 2, 1, false));
+
+        hierarchical.dispose();
+        map.setTile(SIZE / 2, SIZE - 1, UtilMap.TILE_TREE);
+
+        assertNull(Astar.createPathFinderHierarchical(map, CLUSTER, Astar.createHeuristicManhattan(0))
+                        .findPath(mover, SIZE - 2, 1, false));
+        assertNotNull(hierarchical.findPath(mover, SIZE - 2, 1, false));
+    }
+
+    /**
+     * Test partial path walked by pathfindable.
+     */
+    @Test
+    void testPathfindable()
+    {
+        services.add(hierarchical);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        mover.setSpeed(1.0, 1.0);
+
+        assertTrue(mover.setDestination(SIZE - 2, SIZE - 2));
+
+        for (int i = 0; i < SIZE * 4 && !mover.isDestinationReached(); i++)
+        {
+            mover.update(1.0);
+        }
+
+        assertTrue(mover.isDestinationReached());
+        assertEquals(SIZE - 2, mover.getInTileX());
+        assertEquals(SIZE - 2, mover.getInTileY());
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.EngineMock;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.UtilTests;
+import com.b3dgs.lionengine.Version;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link PathRequestService}.
+ */
+final class PathRequestServiceTest
+{
+    /** Map size. */
+    private static final int SIZE = 16;
+    /** Max updates waiting for results. */
+    private static final int MAX_UPDATES = 1000;
+
+    /** Test configuration. */
+    private static Media config;
+
+    /**
+     * Start engine.
+     */
+    @BeforeAll
+    static void beforeAll()
+    {
+        Engine.start(new EngineMock(PathRequestServiceTest.class.getSimpleName(), new Version(1, 0, 0)));
+
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilPathfinding.createConfig(PathRequestServiceTest.class, 1.0);
+    }
+
+    /**
+     * Terminate engine.
+     */
+    @AfterAll
+    static void afterAll()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+
+        Engine.terminate();
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final List<Path> found = new ArrayList<>();
+    private MapTileGame map;
+    private PathRequestService service;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        services.add(new Camera());
+        map = UtilPathfinding.createMap(services, SIZE);
+        service = new PathRequestService(map, 2, 2, 4);
+    }
+
+    /**
+     * Clean test.
+     */
+    @AfterEach
+    public void clean()
+    {
+        service.close();
+    }
+
+    /**
+     * Update service until all requests are delivered.
+     */
+    private void deliver()
+    {
+        for (int i = 0; i < MAX_UPDATES && service.getRemaining() > 0; i++)
+        {
+            final int remaining = service.getRemaining();
+            service.update(1.0);
+
+            assertTrue(remaining - service.getRemaining() <= 2);
+
+            UtilTests.pause(1L);
+        }
+        assertEquals(0, service.getRemaining());
+    }
+
+    /**
+     * Test constructor with invalid arguments.
+     */
+    @Test
+    void testConstructorInvalid()
+    {
+        assertThrows(() -> new PathRequestService(map, 0, 1, 1), "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> new PathRequestService(map, 1, 0, 1), "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> new PathRequestService(map, 1, 1, 0), "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test request around a wall, result delivered on update only.
+     */
+    @Test
+    void testRequest()
+    {
+        for (int ty = 0; ty < SIZE - 1; ty++)
+        {
+            map.setTile(8, ty, UtilMap.TILE_TREE);
+        }
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        final Path expected = Astar.createPathFinder(map, SIZE * SIZE, Astar.createHeuristicClosest())
+                                   .findPath(mover, 12, 1, false);
+        service.request(mover, 12, 1, found::add);
+
+        assertEquals(1, service.getRemaining());
+        assertTrue(found.isEmpty());
+
+        deliver();
+
+        assertEquals(1, found.size());
+        UtilPathfinding.assertPath(map, found.get(0), 1, 1, 12, 1);
+        assertEquals(expected.getLength(), found.get(0).getLength());
+    }
+
+    /**
+     * Test coalesced requests and delivery budget.
+     */
+    @Test
+    void testCoalesce()
+    {
+        final List<Pathfindable> movers = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+        {
+            final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, i, 1);
+            movers.add(mover);
+            service.request(mover, 12, 12, found::add);
+        }
+        final Pathfindable far = UtilPathfinding.createPathfindable(services, setup, 14, 1);
+        service.request(far, 12, 12, found::add);
+
+        deliver();
+
+        assertEquals(4, found.size());
+        for (int i = 0; i < found.size(); i++)
+        {
+            assertEquals(12, found.get(i).getX(found.get(i).getLength() - 1));
+            assertEquals(12, found.get(i).getY(found.get(i).getLength() - 1));
+        }
+    }
+
+    /**
+     * Test unreachable and invalid requests, and snapshot taken after tile set.
+     */
+    @Test
+    void testNotFound()
+    {
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        service.request(mover, 1, 1, found::add);
+        service.request(mover, -1, 1, found::add);
+        deliver();
+
+        assertEquals(2, found.size());
+        assertNull(found.get(0));
+        assertNull(found.get(1));
+
+        for (int ty = 0; ty < SIZE; ty++)
+        {
+            map.setTile(8, ty, UtilMap.TILE_TREE);
+        }
+        found.clear();
+        service.request(mover, 12, 1, found::add);
+        deliver();
+
+        assertNull(found.get(0));
+    }
+
+    /**
+     * Test pathfindable using service.
+     */
+    @Test
+    void testPathfindable()
+    {
+        services.add(service);
+        final Pathfindable mover = UtilPathfinding.createPathfindable(services, setup, 1, 1);
+        mover.setSpeed(1.0, 1.0);
+
+        assertTrue(mover.setDestination(10, 12));
+        assertFalse(mover.isMoving());
+
+        for (int i = 0; i < MAX_UPDATES && !mover.isDestinationReached(); i++)
+        {
+            service.update(1.0);
+            mover.update(1.0);
+            UtilTests.pause(1L);
+        }
+
+        assertTrue(mover.isDestinationReached());
+        assertEquals(10, mover.getInTileX());
+        assertEquals(12, mover.getInTileY());
+    }
+}
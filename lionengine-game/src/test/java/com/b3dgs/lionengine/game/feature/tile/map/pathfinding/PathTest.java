@@ -17,6 +17,9 @@
 package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -41,4 +44,52 @@ final class PathTest
         assertEquals(1, path.getX(0));
         assertEquals(2, path.getY(0));
     }
+
+    /**
+     * Test the path growing and reused after clear.
+     */
+    @Test
+    void testPathGrow()
+    {
+        final Path path = new Path();
+        for (int i = 0; i < 100; i++)
+        {
+            path.prependStep(i, -i);
+        }
+
+        assertEquals(100, path.getLength());
+        assertEquals(99, path.getX(0));
+        assertEquals(-99, path.getY(0));
+        assertEquals(0, path.getX(99));
+        assertEquals(0, path.getY(99));
+
+        path.clear();
+
+        assertEquals(0, path.getLength());
+        assertThrows(IndexOutOfBoundsException.class, () -> path.getX(0), "Index: 0, Size: 0");
+
+        path.prependStep(3, 4);
+
+        assertEquals(3, path.getX(0));
+        assertEquals(4, path.getY(0));
+    }
+
+    /**
+     * Test path partial flag.
+     */
+    @Test
+    void testPathPartial()
+    {
+        final Path path = new Path();
+
+        assertFalse(path.isPartial());
+
+        path.setPartial(true);
+
+        assertTrue(path.isPartial());
+
+        path.clear();
+
+        assertFalse(path.isPartial());
+    }
 }
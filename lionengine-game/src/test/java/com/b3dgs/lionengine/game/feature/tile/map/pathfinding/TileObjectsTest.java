@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link TileObjects}.
+ */
+final class TileObjectsTest
+{
+    /**
+     * Test add and remove on same tile.
+     */
+    @Test
+    void testMultiple()
+    {
+        final TileObjects objects = new TileObjects();
+
+        assertTrue(objects.add(5, 1));
+        assertFalse(objects.add(5, 1));
+        assertTrue(objects.add(5, 2));
+        assertEquals(Set.of(Integer.valueOf(1), Integer.valueOf(2)), objects.getSet(5));
+        assertEquals(1, objects.size());
+
+        assertTrue(objects.remove(5, 1));
+        assertFalse(objects.remove(5, 1));
+        assertEquals(Set.of(Integer.valueOf(2)), objects.getSet(5));
+
+        assertTrue(objects.remove(5, 2));
+        assertTrue(objects.getSet(5).isEmpty());
+        assertEquals(0, objects.get(5).length);
+        assertEquals(0, objects.size());
+    }
+
+    /**
+     * Test many tiles, with growth and removal keeping other tiles reachable.
+     */
+    @Test
+    void testMany()
+    {
+        final TileObjects objects = new TileObjects();
+        final int count = 1000;
+        for (int i = 0; i < count; i++)
+        {
+            assertTrue(objects.add(i * 7, i));
+        }
+
+        assertEquals(count, objects.size());
+
+        for (int i = 0; i < count; i += 2)
+        {
+            assertTrue(objects.remove(i * 7, i));
+        }
+
+        assertEquals(count / 2, objects.size());
+
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals(i % 2 == 1, objects.getSet(i * 7).contains(Integer.valueOf(i)));
+        }
+
+        objects.clear();
+
+        assertEquals(0, objects.size());
+        assertTrue(objects.getSet(7).isEmpty());
+    }
+}
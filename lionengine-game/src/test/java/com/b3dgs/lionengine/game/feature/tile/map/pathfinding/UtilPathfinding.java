@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Xml;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.FeaturableModel;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.TransformableModel;
+import com.b3dgs.lionengine.game.feature.tile.TileGroupsConfig;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Pathfinding test utility.
+ */
+final class UtilPathfinding
+{
+    /**
+     * Create the pathfinding configuration, with {@link UtilMap#GROUND} and {@link UtilMap#TREE} categories.
+     * 
+     * @return The pathfinding configuration.
+     */
+    public static Media createPathfinding()
+    {
+        final Xml root = new Xml(PathfindingConfig.NODE_PATHFINDING);
+        for (final String category : new String[]
+        {
+            UtilMap.GROUND, UtilMap.TREE
+        })
+        {
+            final Xml node = root.createChild(PathfindingConfig.NODE_TILE_PATH);
+            node.writeString(PathfindingConfig.ATT_CATEGORY, category);
+            node.createChild(TileGroupsConfig.NODE_GROUP).setText(category);
+        }
+        final Media media = Medias.create(PathfindingConfig.FILENAME);
+        root.save(media);
+
+        return media;
+    }
+
+    /**
+     * Create the pathfindable configuration, walking on ground with all movements and blocked by tree.
+     * 
+     * @param caller The caller class.
+     * @param cost The ground cost.
+     * @return The pathfindable configuration.
+     */
+    public static Media createConfig(Class<?> caller, double cost)
+    {
+        final Map<String, PathData> data = new HashMap<>();
+        data.put(UtilMap.GROUND,
+                 new PathData(UtilMap.GROUND, cost, false, EnumSet.complementOf(EnumSet.of(MovementTile.NONE))));
+        data.put(UtilMap.TREE, new PathData(UtilMap.TREE, cost, true, EnumSet.noneOf(MovementTile.class)));
+
+        final Xml root = new Xml(Constant.XML_PREFIX + "featurable");
+        root.add(PathfindableConfig.exports(data));
+
+        final Media media = Medias.create("Object" + caller.getSimpleName() + Factory.FILE_DATA_DOT_EXTENSION);
+        root.save(media);
+
+        return media;
+    }
+
+    /**
+     * Create a ground map with 1x1 tiles and pathfinding loaded.
+     * 
+     * @param services The services reference.
+     * @param size The map size in tile.
+     * @return The created map.
+     */
+    public static MapTileGame createMap(Services services, int size)
+    {
+        final MapTileGame map = services.add(new MapTileGame());
+        map.addFeature(new MapTileGroupModel());
+        map.create(1, 1, size, size);
+        UtilMap.setGroups(map);
+        UtilMap.fill(map, UtilMap.TILE_GROUND);
+
+        final MapTilePath mapPath = map.addFeature(new MapTilePathModel());
+        mapPath.prepare(map);
+
+        final Media pathfinding = createPathfinding();
+        mapPath.loadPathfinding(pathfinding);
+        pathfinding.getFile().delete();
+
+        return map;
+    }
+
+    /**
+     * Create a pathfindable at tile location.
+     * 
+     * @param services The services reference.
+     * @param setup The setup reference.
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The pathfindable.
+     */
+    public static Pathfindable createPathfindable(Services services, Setup setup, int tx, int ty)
+    {
+        final FeaturableModel object = new FeaturableModel(services, setup);
+        final Transformable transformable = object.addFeature(TransformableModel.class, services, setup);
+        transformable.setSize(1, 1);
+        transformable.teleport(tx, ty);
+
+        return object.addFeature(PathfindableModel.class, services, setup);
+    }
+
+    /**
+     * Check path is continuous from start to destination and avoid trees.
+     * 
+     * @param map The map reference.
+     * @param path The path to check.
+     * @param stx The starting horizontal tile.
+     * @param sty The starting vertical tile.
+     * @param dtx The destination horizontal tile.
+     * @param dty The destination vertical tile.
+     */
+    public static void assertPath(MapTile map, Path path, int stx, int sty, int dtx, int dty)
+    {
+        assertNotNull(path);
+        assertEquals(stx, path.getX(0));
+        assertEquals(sty, path.getY(0));
+        assertEquals(dtx, path.getX(path.getLength() - 1));
+        assertEquals(dty, path.getY(path.getLength() - 1));
+
+        for (int i = 1; i < path.getLength(); i++)
+        {
+            assertTrue(Math.abs(path.getX(i) - path.getX(i - 1)) <= 1);
+            assertTrue(Math.abs(path.getY(i) - path.getY(i - 1)) <= 1);
+            assertFalse(map.getTile(path.getX(i), path.getY(i)).getNumber() == UtilMap.TILE_TREE);
+        }
+    }
+
+    /**
+     * Walk partial paths until destination, checking each path.
+     * 
+     * @param finder The path finder reference.
+     * @param map The map reference.
+     * @param mover The mover reference.
+     * @param dtx The destination horizontal tile.
+     * @param dty The destination vertical tile.
+     * @return The number of steps walked.
+     */
+    public static int walk(PathFinder finder, MapTile map, Pathfindable mover, int dtx, int dty)
+    {
+        int steps = 0;
+        Path path = finder.findPath(mover, dtx, dty, false);
+        while (path.isPartial())
+        {
+            final int end = path.getLength() - 1;
+            assertPath(map, path, mover.getInTileX(), mover.getInTileY(), path.getX(end), path.getY(end));
+
+            steps += end;
+            mover.setLocation(path.getX(end), path.getY(end));
+            path = finder.findPath(mover, dtx, dty, false, path);
+        }
+        assertPath(map, path, mover.getInTileX(), mover.getInTileY(), dtx, dty);
+
+        return steps + path.getLength() - 1;
+    }
+
+    /**
+     * Fill column with trees, except at specified line.
+     * 
+     * @param map The map reference.
+     * @param tx The column.
+     * @param gap The line left free.
+     */
+    public static void wall(MapTile map, int tx, int gap)
+    {
+        for (int ty = 0; ty < map.getInTileHeight(); ty++)
+        {
+            if (ty != gap)
+            {
+                map.setTile(tx, ty, UtilMap.TILE_TREE);
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.persister;
+
+import static com.b3dgs.lionengine.UtilAssert.assertArrayEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.UtilTests;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Test {@link MapTilePersisterStream}.
+ */
+final class MapTilePersisterStreamTest
+{
+    /** Chunk size. */
+    private static final int CHUNK = 4;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    static void afterTests()
+    {
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final List<int[]> regions = new ArrayList<>();
+    private final AtomicBoolean loaded = new AtomicBoolean();
+    private final Media level = Medias.create("level");
+    private final MapTileGame mapLoaded = new MapTileGame();
+    private MapTileGame map;
+    private MapTilePersisterStream persister;
+
+    /**
+     * Prepare test.
+     * 
+     * @throws IOException If error.
+     */
+    @BeforeEach
+    public void prepare() throws IOException
+    {
+        map = new MapTileGame();
+        map.addFeature(new MapTilePersisterStream(CHUNK, 1));
+        map.create(16, 32, 10, 7);
+        map.loadSheets(new ArrayList<>());
+        for (int tx = 0; tx < map.getInTileWidth(); tx++)
+        {
+            for (int ty = 1; ty < map.getInTileHeight(); ty++)
+            {
+                map.setTile(tx, ty, tx * ty);
+            }
+        }
+        try (FileWriting output = new FileWriting(level))
+        {
+            map.getFeature(MapTilePersister.class).save(output);
+        }
+
+        persister = mapLoaded.addFeature(new MapTilePersisterStream());
+        persister.addListener(new MapTilePersisterListener()
+        {
+            @Override
+            public void notifyMapLoadStart()
+            {
+                loaded.set(false);
+            }
+
+            @Override
+            public void notifyMapRegionLoaded(int tx, int ty, int width, int height)
+            {
+                regions.add(new int[]
+                {
+                    tx, ty, width, height
+                });
+            }
+
+            @Override
+            public void notifyMapLoaded()
+            {
+                loaded.set(true);
+            }
+        });
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterEach
+    public void clean()
+    {
+        persister.close();
+        assertTrue(level.getFile().delete());
+    }
+
+    /**
+     * Check loaded map is the saved one.
+     * 
+     * @param loaded The loaded map.
+     */
+    private void assertMap(MapTile loaded)
+    {
+        assertEquals(map.getTileWidth(), loaded.getTileWidth());
+        assertEquals(map.getTileHeight(), loaded.getTileHeight());
+        assertEquals(map.getInTileWidth(), loaded.getInTileWidth());
+        assertEquals(map.getInTileHeight(), loaded.getInTileHeight());
+        for (int tx = 0; tx < loaded.getInTileWidth(); tx++)
+        {
+            for (int ty = 0; ty < loaded.getInTileHeight(); ty++)
+            {
+                assertEquals(map.getTile(tx, ty), loaded.getTile(tx, ty));
+            }
+        }
+        assertEquals(map.getTilesNumber(), loaded.getTilesNumber());
+    }
+
+    /**
+     * Test constructor with invalid arguments.
+     */
+    @Test
+    void testConstructorInvalid()
+    {
+        assertThrows(() -> new MapTilePersisterStream(0, 1), "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> new MapTilePersisterStream(1, 0), "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test the save and full load.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testSaveLoad() throws IOException
+    {
+        try (FileReading input = new FileReading(level))
+        {
+            persister.load(input);
+        }
+
+        assertMap(mapLoaded);
+        assertTrue(loaded.get());
+        assertEquals(6, regions.size());
+        assertFalse(persister.isLoading());
+    }
+
+    /**
+     * Test the region loading then remaining streaming.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testOpenRegion() throws IOException
+    {
+        assertThrows(() -> persister.loadRegion(0, 0, 0), MapTilePersisterStream.ERROR_NOT_OPENED);
+        assertThrows(() -> persister.loadRemaining(), MapTilePersisterStream.ERROR_NOT_OPENED);
+
+        persister.open(level);
+
+        assertTrue(persister.isLoading());
+        assertEquals(map.getInTileWidth(), mapLoaded.getInTileWidth());
+        assertEquals(0, mapLoaded.getTilesNumber());
+
+        persister.loadRegion(9, 5, 0);
+
+        assertEquals(1, regions.size());
+        assertArrayEquals(new int[]
+        {
+            8, 4, 2, 3
+        }, regions.get(0));
+        assertEquals(map.getTile(9, 5), mapLoaded.getTile(9, 5));
+        assertNull(mapLoaded.getTile(1, 1));
+
+        persister.loadRegion(9, 5, 1);
+
+        assertEquals(1, regions.size());
+
+        persister.loadRemaining();
+        final long timeout = System.currentTimeMillis() + 5000L;
+        while (persister.isLoading() && System.currentTimeMillis() < timeout)
+        {
+            persister.update(1.0);
+            UtilTests.pause(1L);
+        }
+
+        assertFalse(persister.isLoading());
+        assertTrue(loaded.get());
+        assertEquals(6, regions.size());
+        assertMap(mapLoaded);
+    }
+
+    /**
+     * Test the region loading of whole map.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    void testOpenFull() throws IOException
+    {
+        persister.open(level);
+        persister.loadRegion(0, 0, 10);
+
+        assertFalse(persister.isLoading());
+        assertTrue(loaded.get());
+        assertMap(mapLoaded);
+    }
+}
@@ -16,11 +16,16 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.viewer;
 
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -33,9 +38,12 @@ import com.b3dgs.lionengine.game.feature.Camera;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.GraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBufferMock;
+import com.b3dgs.lionengine.graphic.ImageSurface;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
 
 /**
@@ -50,6 +58,7 @@ final class MapTileViewerModelTest
     static void beforeTests()
     {
         Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
     }
 
     /**
@@ -59,6 +68,7 @@ final class MapTileViewerModelTest
     static void afterTests()
     {
         Medias.setResourcesDirectory(null);
+        Graphics.setFactoryGraphic(null);
     }
 
     private final Services services = new Services();
@@ -129,4 +139,109 @@ final class MapTileViewerModelTest
         map.clear();
         mapViewer.render(g);
     }
+
+    /**
+     * Test the chunks cache.
+     */
+    @Test
+    void testCache()
+    {
+        map.loadSheets(Arrays.asList(Drawable.loadSpriteTiled(new ImageBufferMock(80, 80), 40, 40)));
+        map.create(40, 40, 4, 4);
+        for (int tx = 0; tx < 4; tx++)
+        {
+            for (int ty = 0; ty < 4; ty++)
+            {
+                map.setTile(tx, ty, 0);
+            }
+        }
+
+        final AtomicInteger rendered = new AtomicInteger();
+        final int[] location = new int[2];
+        mapViewer.addRenderer((g, tile, x, y) ->
+        {
+            rendered.incrementAndGet();
+            if (tile.getInTileX() == 0 && tile.getInTileY() == 1)
+            {
+                location[0] = x;
+                location[1] = y;
+            }
+        });
+
+        assertThrows(() -> mapViewer.enableCache(0, 1), "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> mapViewer.enableCache(1, 0), "Invalid argument: 0 is not strictly superior to 0");
+
+        mapViewer.enableCache(2, 4);
+        final List<int[]> drawn = new ArrayList<>();
+        final Graphic g = new GraphicMock()
+        {
+            @Override
+            public void drawImage(ImageSurface image,
+                                  int dx1,
+                                  int dy1,
+                                  int dx2,
+                                  int dy2,
+                                  int sx1,
+                                  int sy1,
+                                  int sx2,
+                                  int sy2)
+            {
+                drawn.add(new int[]
+                {
+                    dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2
+                });
+            }
+        };
+        mapViewer.render(g);
+
+        assertEquals(16, rendered.get());
+        assertEquals(4, drawn.size());
+
+        final int[] chunk = drawn.get(0);
+
+        assertEquals(80, chunk[2] - chunk[0]);
+        assertEquals(80, chunk[3] - chunk[1]);
+        assertTrue(Arrays.equals(new int[]
+        {
+            0, 0, 80, 80
+        }, Arrays.copyOfRange(chunk, 4, 8)));
+
+        mapViewer.render(g);
+
+        assertEquals(16, rendered.get());
+
+        map.setTile(0, 0, 1);
+        mapViewer.render(g);
+
+        assertEquals(20, rendered.get());
+
+        map.removeTile(3, 3);
+        mapViewer.render(g);
+
+        assertEquals(23, rendered.get());
+
+        mapViewer.invalidate(2, 0);
+        mapViewer.invalidate(-1, 0);
+        mapViewer.render(g);
+
+        assertEquals(27, rendered.get());
+
+        mapViewer.invalidate();
+        mapViewer.render(g);
+
+        assertEquals(42, rendered.get());
+
+        mapViewer.enableCache(2, 2);
+        mapViewer.render(g);
+        mapViewer.render(g);
+
+        assertEquals(72, rendered.get());
+
+        mapViewer.disableCache();
+        mapViewer.render(g);
+
+        assertEquals(87, rendered.get());
+        assertEquals(chunk[0], location[0]);
+        assertEquals(chunk[1], location[1]);
+    }
 }